@@ -0,0 +1,64 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the scheduling, cancellation and processing of timed actions by a
+ * {@link GameLoop} with many pending actions. Every action schedules itself
+ * again when it is executed, so the number of pending actions stays the same
+ * while some of them become due in every tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameLoopBenchmark {
+  private static final int UPDATE_RATE = 60;
+  private static final int MIN_DELAY = 1000;
+  private static final int MAX_DELAY = 60000;
+
+  @Param({ "100000" })
+  private int pendingActions;
+
+  private final Random random = new Random(42);
+  private GameLoop loop;
+  private Runnable action;
+
+  @Setup
+  public void setup() {
+    this.loop = new GameLoop("Benchmark Loop", UPDATE_RATE);
+    this.action = () -> this.loop.execute(this.randomDelay(), this.action);
+    for (int i = 0; i < this.pendingActions; i++) {
+      this.loop.execute(this.randomDelay(), this.action);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.loop.close();
+  }
+
+  @Benchmark
+  public boolean executeAndCancel() {
+    return this.loop.cancel(this.loop.execute(this.randomDelay(), this.action));
+  }
+
+  @Benchmark
+  public void tick() {
+    this.loop.process(1000 / UPDATE_RATE);
+  }
+
+  private int randomDelay() {
+    return MIN_DELAY + this.random.nextInt(MAX_DELAY - MIN_DELAY);
+  }
+}
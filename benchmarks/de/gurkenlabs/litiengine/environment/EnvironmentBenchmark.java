@@ -0,0 +1,103 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.ICombatEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.Prop;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+/**
+ * Measures the entity queries of the {@link Environment}, i.e. the spatial
+ * searches as well as the lookups by name and type, for a world whose size
+ * grows with the number of entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnvironmentBenchmark {
+  private static final double ENTITIES_PER_SQUARE_TILE = 0.1;
+  private static final double TILE_SIZE = 16;
+
+  @Param({ "1000", "10000", "100000" })
+  private int entities;
+
+  private final Random random = new Random(42);
+  private Environment environment;
+  private double worldSize;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    this.worldSize = Math.sqrt(this.entities / ENTITIES_PER_SQUARE_TILE) * TILE_SIZE;
+    this.environment = new Environment((IMap) null);
+    for (int i = 0; i < this.entities; i++) {
+      // every second entity is a combat entity
+      final IEntity entity = i % 2 == 0 ? new Creature() : new Prop(null);
+      entity.setName("entity" + i);
+      entity.setSize(TILE_SIZE, TILE_SIZE);
+      entity.setLocation(this.random.nextDouble() * this.worldSize, this.random.nextDouble() * this.worldSize);
+      this.environment.add(entity);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.terminate();
+  }
+
+  @Benchmark
+  public Collection<ICombatEntity> findCombatEntitiesInRectangle() {
+    return this.environment.findCombatEntities(this.randomArea());
+  }
+
+  @Benchmark
+  public Collection<ICombatEntity> findCombatEntitiesInEllipse() {
+    final Rectangle2D area = this.randomArea();
+    return this.environment.findCombatEntities(new Ellipse2D.Double(area.getX(), area.getY(), area.getWidth(), area.getHeight()));
+  }
+
+  @Benchmark
+  public Collection<IEntity> findEntities() {
+    return this.environment.findEntities(this.randomArea());
+  }
+
+  @Benchmark
+  public List<IEntity> findNearestEntities() {
+    return this.environment.findNearestEntities(new Point2D.Double(this.random.nextDouble() * this.worldSize, this.random.nextDouble() * this.worldSize), 10);
+  }
+
+  @Benchmark
+  public IEntity getByName() {
+    return this.environment.get("entity" + this.random.nextInt(this.entities));
+  }
+
+  @Benchmark
+  public Collection<Creature> getByType() {
+    return this.environment.getByType(Creature.class);
+  }
+
+  private Rectangle2D randomArea() {
+    final double size = TILE_SIZE * 8;
+    return new Rectangle2D.Double(this.random.nextDouble() * (this.worldSize - size), this.random.nextDouble() * (this.worldSize - size), size, size);
+  }
+}
@@ -0,0 +1,103 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.graphics.RenderType;
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+
+/**
+ * Measures the iteration over the tiles of a map by the {@link MapRenderer}
+ * for a viewport of a typical screen size. The map is generated with two
+ * random tile layers and rendered into an offscreen image.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapRendererBenchmark {
+  private static final String TILESET_IMAGE = "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/tiles-test.png";
+  private static final int TILE_SIZE = 16;
+  private static final int LAYERS = 2;
+
+  @Param({ "64", "256" })
+  private int mapSize;
+
+  private File directory;
+  private IMap map;
+  private BufferedImage image;
+  private Graphics2D graphics;
+  private Rectangle2D viewport;
+
+  @Setup
+  public void setup() throws IOException {
+    this.directory = Files.createTempDirectory("litiengine-benchmark").toFile();
+    Files.copy(Paths.get(TILESET_IMAGE), new File(this.directory, "tiles-test.png").toPath());
+
+    final File mapFile = new File(this.directory, "benchmark-map.tmx");
+    Files.write(mapFile.toPath(), this.createMap().getBytes(StandardCharsets.UTF_8));
+    this.map = Resources.maps().get(mapFile.getPath());
+
+    this.image = new BufferedImage(960, 640, BufferedImage.TYPE_INT_ARGB);
+    this.graphics = this.image.createGraphics();
+
+    final double center = this.mapSize * TILE_SIZE / 2.0;
+    this.viewport = new Rectangle2D.Double(center - this.image.getWidth() / 2.0, center - this.image.getHeight() / 2.0, this.image.getWidth(), this.image.getHeight());
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.graphics.dispose();
+    Resources.maps().clear();
+    FileUtilities.deleteDir(this.directory);
+  }
+
+  @Benchmark
+  public void render() {
+    MapRenderer.render(this.graphics, this.map, this.viewport, RenderType.GROUND);
+  }
+
+  private String createMap() {
+    final Random random = new Random(42);
+    final StringBuilder tmx = new StringBuilder();
+    tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    tmx.append(String.format("<map version=\"1.0\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"%d\" height=\"%d\" tilewidth=\"%d\" tileheight=\"%d\" infinite=\"0\" nextobjectid=\"1\">%n", this.mapSize, this.mapSize, TILE_SIZE, TILE_SIZE));
+    tmx.append(String.format(" <tileset firstgid=\"1\" name=\"tiles\" tilewidth=\"%d\" tileheight=\"%d\" tilecount=\"2\" columns=\"2\">%n", TILE_SIZE, TILE_SIZE));
+    tmx.append(String.format("  <image source=\"tiles-test.png\" width=\"%d\" height=\"%d\"/>%n", TILE_SIZE * 2, TILE_SIZE));
+    tmx.append(" </tileset>\n");
+    for (int layer = 0; layer < LAYERS; layer++) {
+      tmx.append(String.format(" <layer name=\"layer%d\" width=\"%d\" height=\"%d\">%n  <data encoding=\"csv\">%n", layer, this.mapSize, this.mapSize));
+      for (int i = 0; i < this.mapSize * this.mapSize; i++) {
+        if (i > 0) {
+          tmx.append(',');
+        }
+
+        // the upper layer is sparse, like decoration on top of the ground
+        tmx.append(layer == 0 || random.nextInt(4) == 0 ? 1 + random.nextInt(2) : 0);
+      }
+
+      tmx.append("\n  </data>\n </layer>\n");
+    }
+
+    tmx.append("</map>\n");
+    return tmx.toString();
+  }
+}
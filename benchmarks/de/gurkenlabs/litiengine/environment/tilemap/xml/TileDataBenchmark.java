@@ -0,0 +1,120 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the parsing of tile layer data in all encodings that are supported
+ * by the TMX format. The <code>decode</code> benchmarks only decode the raw
+ * grid ids, like the tiles of a layer are loaded, while the
+ * <code>parse</code> benchmarks additionally create a tile for each id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileDataBenchmark {
+  @Param({ "10000", "100000", "1000000" })
+  private int tiles;
+
+  private String csv;
+  private String base64;
+  private String base64Gzip;
+  private String base64Zlib;
+
+  @Setup
+  public void setup() throws IOException {
+    final Random random = new Random(42);
+    final ByteBuffer buffer = ByteBuffer.allocate(this.tiles * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    final StringBuilder csvBuilder = new StringBuilder();
+    for (int i = 0; i < this.tiles; i++) {
+      // mostly small grid ids with an occasional flipped tile, like in a typical map
+      int gid = random.nextInt(64);
+      if (random.nextInt(100) == 0) {
+        gid |= Tile.FLIPPED_HORIZONTALLY_FLAG;
+      }
+
+      buffer.putInt(gid);
+      if (i > 0) {
+        csvBuilder.append(',');
+      }
+
+      csvBuilder.append(Integer.toUnsignedString(gid));
+    }
+
+    final byte[] raw = buffer.array();
+    this.csv = csvBuilder.toString();
+    this.base64 = Base64.getEncoder().encodeToString(raw);
+
+    final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(gzip)) {
+      out.write(raw);
+    }
+
+    this.base64Gzip = Base64.getEncoder().encodeToString(gzip.toByteArray());
+
+    final ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(zlib)) {
+      out.write(raw);
+    }
+
+    this.base64Zlib = Base64.getEncoder().encodeToString(zlib.toByteArray());
+  }
+
+  @Benchmark
+  public List<Tile> parseCsv() throws InvalidTileLayerException {
+    return TileData.parseCsvData(this.csv);
+  }
+
+  @Benchmark
+  public List<Tile> parseBase64() throws InvalidTileLayerException {
+    return TileData.parseBase64Data(this.base64, null);
+  }
+
+  @Benchmark
+  public List<Tile> parseBase64Gzip() throws InvalidTileLayerException {
+    return TileData.parseBase64Data(this.base64Gzip, TileData.COMPRESSION_GZIP);
+  }
+
+  @Benchmark
+  public List<Tile> parseBase64Zlib() throws InvalidTileLayerException {
+    return TileData.parseBase64Data(this.base64Zlib, TileData.COMPRESSION_ZLIB);
+  }
+
+  @Benchmark
+  public int[] decodeCsv() throws InvalidTileLayerException {
+    return TileData.parseCsvGids(this.csv);
+  }
+
+  @Benchmark
+  public int[] decodeBase64() throws InvalidTileLayerException {
+    return TileData.parseBase64Gids(this.base64, null);
+  }
+
+  @Benchmark
+  public int[] decodeBase64Gzip() throws InvalidTileLayerException {
+    return TileData.parseBase64Gids(this.base64Gzip, TileData.COMPRESSION_GZIP);
+  }
+
+  @Benchmark
+  public int[] decodeBase64Zlib() throws InvalidTileLayerException {
+    return TileData.parseBase64Gids(this.base64Zlib, TileData.COMPRESSION_ZLIB);
+  }
+}
@@ -0,0 +1,95 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITile;
+
+/**
+ * Measures the loading of and the access to the tiles of large tile layers.
+ * The memory that is required for the tiles can be measured by running the
+ * benchmark with the GC profiler (<code>-PjmhProfilers=gc</code>), which
+ * reports the allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileLayerBenchmark {
+  @Param({ "1000" })
+  private int size;
+
+  @Param({ "6" })
+  private int layers;
+
+  private final Random random = new Random(42);
+  private String[] values;
+  private TileLayer layer;
+
+  @Setup
+  public void setup() {
+    this.values = new String[this.layers];
+    for (int i = 0; i < this.layers; i++) {
+      final ByteBuffer buffer = ByteBuffer.allocate(this.size * this.size * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (int tile = 0; tile < this.size * this.size; tile++) {
+        buffer.putInt(this.random.nextInt(4) == 0 ? Tile.NONE : 1 + this.random.nextInt(256));
+      }
+
+      this.values[i] = Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    this.layer = this.createLayer(this.values[0]);
+    this.layer.getTile(0, 0);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public TileLayer[] load() {
+    final TileLayer[] loaded = new TileLayer[this.layers];
+    for (int i = 0; i < this.layers; i++) {
+      loaded[i] = this.createLayer(this.values[i]);
+      loaded[i].getTile(0, 0);
+    }
+
+    return loaded;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public ITile getTile() {
+    return this.layer.getTile(this.random.nextInt(this.size), this.random.nextInt(this.size));
+  }
+
+  @Benchmark
+  public void iterateTiles(final Blackhole blackhole) {
+    for (int y = 0; y < this.size; y++) {
+      for (int x = 0; x < this.size; x++) {
+        blackhole.consume(this.layer.getTile(x, y));
+      }
+    }
+  }
+
+  private TileLayer createLayer(final String value) {
+    final TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_BASE64);
+    data.setValue(value);
+
+    final TileLayer tileLayer = new TileLayer(data);
+    tileLayer.setWidth(this.size);
+    tileLayer.setHeight(this.size);
+    return tileLayer;
+  }
+}
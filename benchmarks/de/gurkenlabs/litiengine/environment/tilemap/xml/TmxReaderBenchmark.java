@@ -0,0 +1,178 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+
+/**
+ * Compares the loading of a large map by the {@link TmxReader} with plain JAXB
+ * unmarshalling. Besides the loading time, the additional heap that was used
+ * at most while a map was loaded is reported as <code>peakHeapKb</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TmxReaderBenchmark {
+  private static final int LAYERS = 4;
+
+  @Param({ "512", "2048" })
+  private int mapSize;
+
+  @Param({ "csv", "base64", "zlib" })
+  private String encoding;
+
+  private File directory;
+  private String mapPath;
+
+  @Setup
+  public void setup() throws IOException {
+    this.directory = Files.createTempDirectory("litiengine-benchmark").toFile();
+    final File mapFile = new File(this.directory, "benchmark-map.tmx");
+    Files.write(mapFile.toPath(), this.createMap().getBytes(StandardCharsets.UTF_8));
+    this.mapPath = mapFile.getPath();
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtilities.deleteDir(this.directory);
+  }
+
+  @Benchmark
+  public Map readJaxb(final Heap heap) throws JAXBException {
+    return heap.record(parseTiles(XmlUtilities.readFromFile(Map.class, this.mapPath)));
+  }
+
+  @Benchmark
+  public Map readStreaming(final Heap heap) throws JAXBException {
+    return heap.record(parseTiles(TmxReader.read(Map.class, this.mapPath)));
+  }
+
+  private static Map parseTiles(final Map map) {
+    for (ITileLayer layer : map.getTileLayers()) {
+      layer.getTile(0, 0);
+    }
+
+    return map;
+  }
+
+  private String createMap() throws IOException {
+    final Random random = new Random(42);
+    final StringBuilder tmx = new StringBuilder();
+    tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    tmx.append(String.format("<map version=\"1.0\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"%d\" height=\"%d\" tilewidth=\"16\" tileheight=\"16\" infinite=\"0\" nextobjectid=\"1\">%n", this.mapSize, this.mapSize));
+    for (int layer = 0; layer < LAYERS; layer++) {
+      final int[] gids = new int[this.mapSize * this.mapSize];
+      for (int i = 0; i < gids.length; i++) {
+        gids[i] = random.nextInt(4) == 0 ? Tile.NONE : 1 + random.nextInt(256);
+      }
+
+      tmx.append(String.format(" <layer name=\"layer%d\" width=\"%d\" height=\"%d\">%n", layer, this.mapSize, this.mapSize));
+      if (this.encoding.equals(TileData.ENCODING_CSV)) {
+        tmx.append("  <data encoding=\"csv\">\n");
+        for (int i = 0; i < gids.length; i++) {
+          tmx.append(gids[i]).append(i % this.mapSize == this.mapSize - 1 ? ",\n" : ",");
+        }
+
+        tmx.setLength(tmx.length() - 2);
+        tmx.append('\n');
+      } else {
+        final boolean zlib = this.encoding.equals(TileData.COMPRESSION_ZLIB);
+        tmx.append(zlib ? "  <data encoding=\"base64\" compression=\"zlib\">\n" : "  <data encoding=\"base64\">\n");
+        tmx.append("   ").append(Base64.getEncoder().encodeToString(toBytes(gids, zlib))).append('\n');
+      }
+
+      tmx.append("  </data>\n </layer>\n");
+    }
+
+    tmx.append("</map>\n");
+    return tmx.toString();
+  }
+
+  private static byte[] toBytes(final int[] gids, final boolean compress) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(gids.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asIntBuffer().put(gids);
+    if (!compress) {
+      return buffer.array();
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DeflaterOutputStream deflater = new DeflaterOutputStream(bytes)) {
+      deflater.write(buffer.array());
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reports the largest increase of the used heap over all loads of an
+   * iteration. The heap is collected before each load, so the increase is
+   * the memory that was required by the load, including its garbage.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Heap {
+    public long peakHeapKb;
+
+    private long baseline;
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+      this.peakHeapKb = 0;
+    }
+
+    @Setup(Level.Invocation)
+    public void resetInvocation() {
+      System.gc();
+      long used = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          pool.resetPeakUsage();
+          used += pool.getUsage().getUsed();
+        }
+      }
+
+      this.baseline = used;
+    }
+
+    private Map record(final Map map) {
+      long peak = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          peak += pool.getPeakUsage().getUsed();
+        }
+      }
+
+      this.peakHeapKb = Math.max(this.peakHeapKb, (peak - this.baseline) / 1024);
+      return map;
+    }
+  }
+}
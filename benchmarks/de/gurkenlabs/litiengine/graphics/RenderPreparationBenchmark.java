@@ -0,0 +1,101 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.Rectangle2D;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.util.geom.SpatialGrid;
+
+/**
+ * Measures the preparation of the entities for rendering, i.e. the Y-ordering
+ * by the {@link EntityRenderOrder} and the extraction of a
+ * {@link RenderSnapshot}. Before every invocation, some of the entities move a
+ * little, like they would between two frames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderPreparationBenchmark {
+  private static final double WORLD_SIZE = 4096;
+  private static final double MOVING_ENTITIES = 0.05;
+
+  @Param({ "5000" })
+  private int entities;
+
+  private final Random random = new Random(42);
+  private final Map<RenderType, EntityRenderOrder> renderOrders = new EnumMap<>(RenderType.class);
+  private final Rectangle2D viewport = new Rectangle2D.Double(WORLD_SIZE / 2, WORLD_SIZE / 2, 800, 600);
+  private final Rectangle2D world = new Rectangle2D.Double(0, 0, WORLD_SIZE, WORLD_SIZE);
+  private SpatialGrid<IEntity> index;
+  private RenderStateBuffer renderState;
+  private IEntity[] movingEntities;
+  private long tick;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    this.index = new SpatialGrid<>();
+    final EntityRenderOrder renderOrder = new EntityRenderOrder(this.index);
+    this.renderOrders.put(RenderType.NORMAL, renderOrder);
+    this.renderState = new RenderStateBuffer();
+    this.movingEntities = new IEntity[(int) (this.entities * MOVING_ENTITIES)];
+
+    for (int i = 0; i < this.entities; i++) {
+      final Creature creature = new Creature();
+      creature.setSize(16, 16);
+      creature.setLocation(this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE);
+      this.index.add(creature, creature.getBoundingBox());
+      renderOrder.add(creature);
+      if (i < this.movingEntities.length) {
+        this.movingEntities[i] = creature;
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.terminate();
+  }
+
+  @Benchmark
+  public List<IEntity> sortVisibleEntities() {
+    this.move();
+    return this.renderOrders.get(RenderType.NORMAL).getEntities(this.viewport, true);
+  }
+
+  @Benchmark
+  public List<IEntity> sortAllEntities() {
+    this.move();
+    return this.renderOrders.get(RenderType.NORMAL).getEntities(this.world, true);
+  }
+
+  @Benchmark
+  public void extractSnapshot() {
+    this.move();
+    this.renderState.extract(this.renderOrders, this.viewport, ++this.tick);
+  }
+
+  private void move() {
+    for (final IEntity entity : this.movingEntities) {
+      entity.setLocation(entity.getX() + this.random.nextDouble() * 2 - 1, entity.getY() + this.random.nextDouble() * 2 - 1);
+      this.index.update(entity, entity.getBoundingBox());
+    }
+  }
+}
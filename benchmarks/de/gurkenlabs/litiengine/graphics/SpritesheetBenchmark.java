@@ -0,0 +1,125 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.Imaging;
+
+/**
+ * Measures the startup cost of a large texture atlas of 16x16 sprites, of which
+ * a quarter is empty. <code>eager</code> slices every sprite on the calling
+ * thread, like the resources used to be loaded, <code>warmUp</code> slices
+ * them in parallel and <code>lazy</code> only requests the first sprite.
+ * <code>isEmptyRgb</code> checks all sprites for emptiness per pixel by
+ * <code>getRGB</code>, like it was done before the emptiness was read from the
+ * raster by <code>isEmptyRaster</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpritesheetBenchmark {
+  private static final int SPRITE_SIZE = 16;
+
+  @Param({ "1024", "4096" })
+  private int atlasSize;
+
+  private BufferedImage image;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    this.image = new BufferedImage(this.atlasSize, this.atlasSize, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < this.atlasSize; y += SPRITE_SIZE) {
+      for (int x = 0; x < this.atlasSize; x += SPRITE_SIZE) {
+        if (random.nextInt(4) != 0) {
+          // a single visible pixel in the bottom right corner is the worst case for the emptiness check
+          this.image.setRGB(x + SPRITE_SIZE - 1, y + SPRITE_SIZE - 1, 0xFF000000 | random.nextInt());
+        }
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Resources.spritesheets().clear();
+  }
+
+  @Benchmark
+  public int eager() {
+    final Spritesheet sheet = this.load();
+    int sprites = 0;
+    for (int i = 0; i < sheet.getTotalNumberOfSprites(); i++) {
+      if (sheet.getSprite(i) != null) {
+        sprites++;
+      }
+    }
+
+    return sprites;
+  }
+
+  @Benchmark
+  public int warmUp() {
+    return this.load().warmUp();
+  }
+
+  @Benchmark
+  public BufferedImage lazy() {
+    return this.load().getSprite(0);
+  }
+
+  @Benchmark
+  public int isEmptyRgb() {
+    int sprites = 0;
+    for (int y = 0; y < this.atlasSize; y += SPRITE_SIZE) {
+      for (int x = 0; x < this.atlasSize; x += SPRITE_SIZE) {
+        if (!isEmpty(this.image.getSubimage(x, y, SPRITE_SIZE, SPRITE_SIZE))) {
+          sprites++;
+        }
+      }
+    }
+
+    return sprites;
+  }
+
+  @Benchmark
+  public int isEmptyRaster() {
+    int sprites = 0;
+    for (int y = 0; y < this.atlasSize; y += SPRITE_SIZE) {
+      for (int x = 0; x < this.atlasSize; x += SPRITE_SIZE) {
+        if (!Imaging.isEmpty(this.image.getSubimage(x, y, SPRITE_SIZE, SPRITE_SIZE))) {
+          sprites++;
+        }
+      }
+    }
+
+    return sprites;
+  }
+
+  private Spritesheet load() {
+    return new Spritesheet(this.image, "benchmark-atlas", SPRITE_SIZE, SPRITE_SIZE);
+  }
+
+  private static boolean isEmpty(final BufferedImage image) {
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        if (image.getRGB(x, y) >> 24 != 0x00) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,105 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.resources.TextureAtlas;
+import de.gurkenlabs.litiengine.resources.TextureAtlasPacker;
+
+/**
+ * Renders every sprite of 256 small spritesheets of 32x32 pixels, either from
+ * their own images or, if <code>packed</code>, from the texture atlases they
+ * were packed into by the {@link TextureAtlasPacker}. <code>pack</code>
+ * measures the packing itself, including the creation of the spritesheets
+ * and the copy of their pixels into the atlases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextureAtlasBenchmark {
+  private static final int SPRITESHEETS = 256;
+  private static final int SHEET_SIZE = 32;
+  private static final int SPRITE_SIZE = 16;
+
+  @Param({ "false", "true" })
+  private boolean packed;
+
+  private final List<Spritesheet> spritesheets = new ArrayList<>();
+  private BufferedImage target;
+  private Graphics2D graphics;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    for (int i = 0; i < SPRITESHEETS; i++) {
+      this.spritesheets.add(new Spritesheet(createImage(random), "benchmark-sheet-" + i, SPRITE_SIZE, SPRITE_SIZE));
+    }
+
+    if (this.packed) {
+      // the packer logs the number of atlases and their packing efficiency
+      new TextureAtlasPacker().pack(this.spritesheets);
+    }
+
+    this.spritesheets.forEach(Spritesheet::warmUp);
+    this.target = new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_ARGB);
+    this.graphics = this.target.createGraphics();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.graphics.dispose();
+    Resources.spritesheets().clear();
+  }
+
+  @Benchmark
+  public BufferedImage render() {
+    int x = 0;
+    int y = 0;
+    for (final Spritesheet spritesheet : this.spritesheets) {
+      for (int i = 0; i < spritesheet.getTotalNumberOfSprites(); i++) {
+        ImageRenderer.render(this.graphics, spritesheet.getSprite(i), x, y);
+        x = (x + SPRITE_SIZE) % this.target.getWidth();
+        y = x == 0 ? (y + SPRITE_SIZE) % this.target.getHeight() : y;
+      }
+    }
+
+    return this.target;
+  }
+
+  @Benchmark
+  public List<TextureAtlas> pack() {
+    final Random random = new Random(42);
+    final List<Spritesheet> sheets = new ArrayList<>();
+    for (int i = 0; i < SPRITESHEETS; i++) {
+      sheets.add(new Spritesheet(createImage(random), "benchmark-packed-" + i, SPRITE_SIZE, SPRITE_SIZE));
+    }
+
+    return new TextureAtlasPacker().pack(sheets);
+  }
+
+  private static BufferedImage createImage(final Random random) {
+    final BufferedImage image = new BufferedImage(SHEET_SIZE, SHEET_SIZE, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < SHEET_SIZE; y++) {
+      for (int x = 0; x < SHEET_SIZE; x++) {
+        image.setRGB(x, y, 0xFF000000 | random.nextInt());
+      }
+    }
+
+    return image;
+  }
+}
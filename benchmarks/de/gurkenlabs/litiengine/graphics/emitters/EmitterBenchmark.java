@@ -0,0 +1,62 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.Particle;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.RectangleFillParticle;
+
+/**
+ * Measures the update of an {@link Emitter} with a constant number of
+ * particles that never expire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmitterBenchmark {
+  @Param({ "100", "1000", "10000" })
+  private int particles;
+
+  private Emitter emitter;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    this.emitter = new BenchmarkEmitter();
+    this.emitter.setMaxParticles(this.particles);
+    for (int i = 0; i < this.particles; i++) {
+      this.emitter.addParticle(this.emitter.createNewParticle());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.terminate();
+  }
+
+  @Benchmark
+  public void update() {
+    this.emitter.update();
+  }
+
+  private static class BenchmarkEmitter extends Emitter {
+    @Override
+    protected Particle createNewParticle() {
+      final RectangleFillParticle particle = new RectangleFillParticle(2, 2, DEFAULT_PARTICLE_COLOR, 0);
+      particle.setDeltaX(0.1f);
+      particle.setDeltaY(0.1f);
+      return particle;
+    }
+  }
+}
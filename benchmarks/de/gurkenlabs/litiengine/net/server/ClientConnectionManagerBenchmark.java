@@ -0,0 +1,65 @@
+package de.gurkenlabs.litiengine.net.server;
+
+import java.net.InetAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the lookup of client connections and the timeout sweep of the
+ * {@link ClientConnectionManager} with many connected clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClientConnectionManagerBenchmark {
+  private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+  @Param({ "10000" })
+  private int clients;
+
+  private ClientConnectionManager manager;
+  private ClientConnection[] connections;
+
+  @Setup
+  public void setup() {
+    this.manager = new ClientConnectionManager(TimeUnit.HOURS.toMillis(1));
+    this.connections = new ClientConnection[this.clients];
+    for (int i = 0; i < this.clients; i++) {
+      this.connections[i] = new ClientConnection(LOOPBACK, 1024 + i, "client" + i);
+      this.manager.add(this.connections[i]);
+    }
+  }
+
+  @Benchmark
+  public ClientConnection getById() {
+    return this.manager.get(this.randomConnection().getId());
+  }
+
+  @Benchmark
+  public ClientConnection getByAddress() {
+    return this.manager.get(LOOPBACK, this.randomConnection().getPort());
+  }
+
+  @Benchmark
+  public void setSignOfLife() {
+    this.manager.setSignOfLife(this.randomConnection().getId());
+  }
+
+  @Benchmark
+  public void sweepTimeouts() {
+    this.manager.update();
+  }
+
+  private ClientConnection randomConnection() {
+    return this.connections[ThreadLocalRandom.current().nextInt(this.connections.length)];
+  }
+}
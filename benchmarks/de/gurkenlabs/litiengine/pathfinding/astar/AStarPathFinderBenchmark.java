@@ -0,0 +1,69 @@
+package de.gurkenlabs.litiengine.pathfinding.astar;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.pathfinding.Path;
+
+/**
+ * Measures the {@link AStarPathFinder} on a map with walls that force the
+ * path through a single gap in each wall, so a direct path is never possible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AStarPathFinderBenchmark {
+  private static final int NODE_SIZE = 16;
+  private static final int WALL_DISTANCE = 128;
+
+  @Param({ "512", "1024" })
+  private int mapSize;
+
+  private AStarPathFinder pathFinder;
+  private Creature creature;
+  private Point2D target;
+
+  @Setup
+  public void setup() {
+    Game.physics().clear();
+
+    // vertical walls with alternating gaps at the top and the bottom
+    for (int x = WALL_DISTANCE; x < this.mapSize; x += WALL_DISTANCE) {
+      final boolean gapAtTop = x / WALL_DISTANCE % 2 == 0;
+      final double y = gapAtTop ? NODE_SIZE * 2 : 0;
+      Game.physics().add(new CollisionBox(x, y, NODE_SIZE, this.mapSize - NODE_SIZE * 2));
+    }
+
+    Game.physics().update();
+
+    this.pathFinder = new AStarPathFinder(new Dimension(this.mapSize, this.mapSize), NODE_SIZE);
+    this.creature = new Creature();
+    this.creature.setSize(NODE_SIZE, NODE_SIZE);
+    this.creature.setLocation(NODE_SIZE / 2.0, this.mapSize / 2.0);
+    this.target = new Point2D.Double(this.mapSize - NODE_SIZE / 2.0, this.mapSize / 2.0);
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.physics().clear();
+  }
+
+  @Benchmark
+  public Path findPath() {
+    return this.pathFinder.findPath(this.creature, this.target);
+  }
+}
@@ -0,0 +1,85 @@
+package de.gurkenlabs.litiengine.physics;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+
+/**
+ * Measures the collision checks, raycasts and movements of the
+ * {@link PhysicsEngine} against a number of randomly placed static collision
+ * boxes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhysicsEngineBenchmark {
+  private static final double WORLD_SIZE = 2048;
+
+  @Param({ "100", "1000" })
+  private int colliders;
+
+  private final Random random = new Random(42);
+  private PhysicsEngine engine;
+  private Creature creature;
+  private Point2D[] moveTargets;
+  private int moves;
+
+  @Setup
+  public void setup() {
+    this.engine = new PhysicsEngine();
+    this.engine.setBounds(new Rectangle2D.Double(0, 0, WORLD_SIZE, WORLD_SIZE));
+    for (int i = 0; i < this.colliders; i++) {
+      this.engine.add(new CollisionBox(this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE, 16 + this.random.nextInt(48), 16 + this.random.nextInt(48)));
+    }
+
+    this.engine.update();
+
+    this.creature = new Creature();
+    this.creature.setSize(16, 16);
+    this.creature.setCollisionBoxWidth(10);
+    this.creature.setCollisionBoxHeight(8);
+    this.creature.setLocation(WORLD_SIZE / 2, WORLD_SIZE / 2);
+    this.engine.add(this.creature);
+
+    // the creature moves back and forth so its location stays stable over all iterations
+    this.moveTargets = new Point2D[] { new Point2D.Double(WORLD_SIZE / 2 + 2, WORLD_SIZE / 2), new Point2D.Double(WORLD_SIZE / 2, WORLD_SIZE / 2) };
+  }
+
+  @Benchmark
+  public boolean collidesRectangle() {
+    return this.engine.collides(new Rectangle2D.Double(this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE, 32, 32));
+  }
+
+  @Benchmark
+  public boolean collidesLine() {
+    return this.engine.collides(this.randomLine());
+  }
+
+  @Benchmark
+  public RaycastHit raycast() {
+    return this.engine.raycast(this.randomLine());
+  }
+
+  @Benchmark
+  public boolean move() {
+    return this.engine.move(this.creature, this.moveTargets[this.moves++ & 1]);
+  }
+
+  private Line2D randomLine() {
+    return new Line2D.Double(this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE, this.random.nextDouble() * WORLD_SIZE);
+  }
+}
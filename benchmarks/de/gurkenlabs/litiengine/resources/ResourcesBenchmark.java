@@ -0,0 +1,108 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Map;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+
+/**
+ * Measures {@link Resources#load(String)} for a game resource file that
+ * contains the maps of the test resources and a few spritesheets, stored as
+ * plain XML, compressed XML or binary bundle.
+ *
+ * <p>
+ * The cold start additionally requests one map and one spritesheet, which is
+ * when the resources of a binary bundle are decoded. The asynchronous load
+ * waits until the resource loader decoded all resources of the file. All
+ * containers are cleared after each invocation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResourcesBenchmark {
+  private static final String[] MAPS = {
+      "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx",
+      "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-mapobject.tmx" };
+
+  private static final String[] SPRITES = {
+      "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/tiles-test.png",
+      "tests/de/gurkenlabs/litiengine/util/prop-flag.png",
+      "tests/de/gurkenlabs/litiengine/util/prop-flag-2rows.png" };
+
+  // the width and height of the sprites of each spritesheet
+  private static final int[][] SPRITE_SIZES = { { 16, 16 }, { 15, 16 }, { 15, 16 } };
+
+  @Param({ "xml", "gzip", "binary" })
+  private String format;
+
+  private File directory;
+  private String resourceFile;
+  private String mapName;
+  private String spriteName;
+
+  @Setup
+  public void setup() throws IOException {
+    final ResourceBundle bundle = new ResourceBundle();
+    for (final String map : MAPS) {
+      bundle.getMaps().add((Map) Resources.maps().get(map));
+    }
+
+    for (int i = 0; i < SPRITES.length; i++) {
+      bundle.getSpriteSheets().add(new SpritesheetResource(Resources.spritesheets().load(SPRITES[i], SPRITE_SIZES[i][0], SPRITE_SIZES[i][1])));
+    }
+
+    this.mapName = bundle.getMaps().get(0).getName();
+    this.spriteName = bundle.getSpriteSheets().get(0).getName();
+
+    this.directory = Files.createTempDirectory("litiengine-benchmark").toFile();
+    final String fileName = new File(this.directory, "game").getPath();
+    this.resourceFile = this.format.equals("binary") ? BinaryResourceBundle.save(bundle, fileName) : bundle.save(fileName, this.format.equals("gzip"));
+    this.clear();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.clear();
+    FileUtilities.deleteDir(this.directory);
+  }
+
+  @TearDown(Level.Invocation)
+  public void clear() {
+    Resources.maps().clear();
+    Resources.spritesheets().clear();
+    Resources.images().clear();
+  }
+
+  @Benchmark
+  public void load() {
+    Resources.load(this.resourceFile);
+  }
+
+  @Benchmark
+  public void loadAsync() {
+    Resources.loadAsync(this.resourceFile).join();
+  }
+
+  @Benchmark
+  public IMap coldStart() {
+    Resources.load(this.resourceFile);
+    Resources.spritesheets().get(this.spriteName).getSprite(0);
+    return Resources.maps().get(this.mapName);
+  }
+}
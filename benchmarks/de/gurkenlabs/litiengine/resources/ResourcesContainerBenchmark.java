@@ -0,0 +1,77 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the overhead of the usage tracking of an eviction policy on
+ * requests for resources that are already loaded, which is the common case
+ * while a game is running. <code>churn</code> cycles through four times as
+ * many resources as fit the memory budget, so with an eviction policy every
+ * request loads a resource and evicts another one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourcesContainerBenchmark {
+  private static final int RESOURCES = 1024;
+  private static final int RESOURCE_SIZE = 1024;
+
+  @Param({ "none", "lru", "lfu" })
+  private String policy;
+
+  private final String[] names = new String[RESOURCES];
+  private final String[] churnNames = new String[RESOURCES * 4];
+  private ResourcesContainer<byte[]> container;
+  private int next;
+
+  @Setup
+  public void setup() {
+    this.container = new ResourcesContainer<byte[]>() {
+      @Override
+      protected byte[] load(String resourceName) {
+        return new byte[RESOURCE_SIZE];
+      }
+
+      @Override
+      protected long estimateSize(byte[] resource) {
+        return resource.length;
+      }
+    };
+
+    if (this.policy.equals("lru")) {
+      this.container.setEvictionPolicy(EvictionPolicy.LEAST_RECENTLY_USED, (long) RESOURCES * RESOURCE_SIZE);
+    } else if (this.policy.equals("lfu")) {
+      this.container.setEvictionPolicy(EvictionPolicy.LEAST_FREQUENTLY_USED, (long) RESOURCES * RESOURCE_SIZE);
+    }
+
+    for (int i = 0; i < RESOURCES; i++) {
+      this.names[i] = "resource" + i;
+      this.container.get(this.names[i]);
+    }
+
+    for (int i = 0; i < this.churnNames.length; i++) {
+      this.churnNames[i] = "churn" + i;
+    }
+  }
+
+  @Benchmark
+  public byte[] hit() {
+    this.next = (this.next + 1) % RESOURCES;
+    return this.container.get(this.names[this.next]);
+  }
+
+  @Benchmark
+  public byte[] churn() {
+    this.next = (this.next + 1) % this.churnNames.length;
+    return this.container.get(this.churnNames[this.next]);
+  }
+}
@@ -0,0 +1,75 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures queries and updates of the {@link SpatialGrid} for a world whose
+ * size grows with the number of items, so the density stays the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpatialGridBenchmark {
+  private static final double ITEM_SIZE = 16;
+  private static final double ITEMS_PER_CELL = 4;
+
+  @Param({ "1000", "10000", "100000" })
+  private int items;
+
+  private final Random random = new Random(42);
+  private final List<Integer> result = new ArrayList<>();
+  private SpatialGrid<Integer> grid;
+  private Rectangle2D[] bounds;
+  private double worldSize;
+
+  @Setup
+  public void setup() {
+    this.worldSize = Math.sqrt(this.items / ITEMS_PER_CELL) * SpatialGrid.DEFAULT_CELL_SIZE;
+    this.grid = new SpatialGrid<>();
+    this.bounds = new Rectangle2D[this.items];
+    for (int i = 0; i < this.items; i++) {
+      this.bounds[i] = this.randomBounds();
+      this.grid.add(i, this.bounds[i]);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> queryViewport() {
+    this.result.clear();
+    final double x = this.random.nextDouble() * Math.max(0, this.worldSize - 800);
+    final double y = this.random.nextDouble() * Math.max(0, this.worldSize - 600);
+    this.grid.query(new Rectangle2D.Double(x, y, 800, 600), item -> true, this.result);
+    return this.result;
+  }
+
+  @Benchmark
+  public List<Integer> queryNearest() {
+    return this.grid.nearest(new Point2D.Double(this.random.nextDouble() * this.worldSize, this.random.nextDouble() * this.worldSize), 10, item -> true);
+  }
+
+  @Benchmark
+  public void updateItem() {
+    final int item = this.random.nextInt(this.items);
+    final Rectangle2D current = this.bounds[item];
+    current.setRect(current.getX() + this.random.nextDouble() * 4 - 2, current.getY() + this.random.nextDouble() * 4 - 2, ITEM_SIZE, ITEM_SIZE);
+    this.grid.update(item, current);
+  }
+
+  private Rectangle2D randomBounds() {
+    return new Rectangle2D.Double(this.random.nextDouble() * this.worldSize, this.random.nextDouble() * this.worldSize, ITEM_SIZE, ITEM_SIZE);
+  }
+}
@@ -0,0 +1,49 @@
+package de.gurkenlabs.litiengine.util.io;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link CompressionUtilities} for data that resembles serialized
+ * game data, i.e. with a limited set of distinct byte values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressionUtilitiesBenchmark {
+  @Param({ "1024", "65536", "1048576" })
+  private int size;
+
+  private byte[] data;
+  private byte[] compressed;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    this.data = new byte[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.data[i] = (byte) random.nextInt(16);
+    }
+
+    this.compressed = CompressionUtilities.compress(this.data);
+  }
+
+  @Benchmark
+  public byte[] compress() {
+    return CompressionUtilities.compress(this.data);
+  }
+
+  @Benchmark
+  public byte[] decompress() {
+    return CompressionUtilities.decompress(this.compressed);
+  }
+}
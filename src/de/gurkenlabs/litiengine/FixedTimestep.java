@@ -0,0 +1,199 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * The Class FixedTimestep schedules steps (e.g. ticks or frames) at a fixed
+ * rate with nanosecond precision.
+ *
+ * <p>
+ * The step deadlines are derived from {@link System#nanoTime()} and advanced
+ * by exactly one step duration, so rounding errors and the time that is
+ * required to process a step don't accumulate and let the rate drift. If the
+ * processing falls behind, the missed steps are reported by
+ * {@link #advance()} so they can be caught up, but never more than the
+ * configured maximum at once; the remaining backlog is dropped to prevent a
+ * spiral of death.
+ * </p>
+ *
+ * <p>
+ * Waiting for the next step parks the thread for the most part and only
+ * yields for the last slice, because the parking precision of most operating
+ * systems is too coarse for exact deadlines.
+ * </p>
+ *
+ * @see GameLoop
+ * @see RenderLoop
+ */
+public class FixedTimestep {
+  public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+  private static final long SPIN_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int maxCatchUpSteps;
+  private final LongSupplier clock;
+
+  private volatile long stepNanos;
+  private volatile long lastStep;
+  private long nextStep;
+  private boolean started;
+  private long droppedSteps;
+
+  /**
+   * Instantiates a new fixed timestep with the default maximum of catch up
+   * steps.
+   *
+   * @param stepsPerSecond
+   *          the number of steps per second
+   */
+  public FixedTimestep(final double stepsPerSecond) {
+    this(stepsPerSecond, DEFAULT_MAX_CATCH_UP_STEPS);
+  }
+
+  /**
+   * Instantiates a new fixed timestep.
+   *
+   * @param stepsPerSecond
+   *          the number of steps per second
+   * @param maxCatchUpSteps
+   *          the maximum number of steps that are reported at once if the
+   *          processing fell behind
+   */
+  public FixedTimestep(final double stepsPerSecond, final int maxCatchUpSteps) {
+    this(stepsPerSecond, maxCatchUpSteps, System::nanoTime);
+  }
+
+  /**
+   * Instantiates a new fixed timestep that reads the time from the specified
+   * clock, which allows the schedule to be tested without depending on the
+   * actual time.
+   *
+   * @param stepsPerSecond
+   *          the number of steps per second
+   * @param maxCatchUpSteps
+   *          the maximum number of steps that are reported at once if the
+   *          processing fell behind
+   * @param clock
+   *          the clock that provides the current time in nanoseconds
+   */
+  FixedTimestep(final double stepsPerSecond, final int maxCatchUpSteps, final LongSupplier clock) {
+    if (maxCatchUpSteps < 1) {
+      throw new IllegalArgumentException("At least one step needs to be processed at once but was " + maxCatchUpSteps);
+    }
+
+    this.maxCatchUpSteps = maxCatchUpSteps;
+    this.clock = clock;
+    this.setStepsPerSecond(stepsPerSecond);
+  }
+
+  /**
+   * Determines the number of steps that are due and schedules the next step.
+   * Starts the schedule on the first call.
+   *
+   * @return the number of steps that need to be processed now
+   */
+  public int advance() {
+    final long now = this.clock.getAsLong();
+    if (!this.started) {
+      this.started = true;
+      this.nextStep = now;
+    }
+
+    if (now < this.nextStep) {
+      return 0;
+    }
+
+    final long due = (now - this.nextStep) / this.stepNanos + 1;
+    final int steps = (int) Math.min(due, this.maxCatchUpSteps);
+    if (due > steps) {
+      this.droppedSteps += due - steps;
+      this.nextStep = now + this.stepNanos;
+    } else {
+      this.nextStep += steps * this.stepNanos;
+    }
+
+    this.lastStep = this.nextStep - this.stepNanos;
+    return steps;
+  }
+
+  /**
+   * Blocks the calling thread until the next step is due.
+   *
+   * @return false if the thread was interrupted while waiting; otherwise true
+   */
+  public boolean waitForNextStep() {
+    long remaining;
+    while ((remaining = this.nextStep - this.clock.getAsLong()) > 0) {
+      if (Thread.currentThread().isInterrupted()) {
+        return false;
+      }
+
+      if (remaining > SPIN_THRESHOLD) {
+        LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+      } else {
+        Thread.yield();
+      }
+    }
+
+    return !Thread.currentThread().isInterrupted();
+  }
+
+  /**
+   * Gets the progress from the most recent step towards the next step. This
+   * can be used to interpolate between the states of the two most recent steps
+   * when rendering.
+   *
+   * @return a value between 0 (a step was just processed) and 1 (the next step
+   *         is due)
+   */
+  public double getAlpha() {
+    if (!this.started) {
+      return 0;
+    }
+
+    final double alpha = (this.clock.getAsLong() - this.lastStep) / (double) this.stepNanos;
+    return Math.max(0, Math.min(1, alpha));
+  }
+
+  public long getStepNanos() {
+    return this.stepNanos;
+  }
+
+  /**
+   * Gets the total number of steps that were dropped because the processing
+   * fell behind by more than the maximum catch up steps.
+   *
+   * @return the number of dropped steps
+   */
+  public long getDroppedSteps() {
+    return this.droppedSteps;
+  }
+
+  public int getMaxCatchUpSteps() {
+    return this.maxCatchUpSteps;
+  }
+
+  /**
+   * Sets the rate of this timestep. The next step is rescheduled relative to
+   * the most recent step.
+   *
+   * @param stepsPerSecond
+   *          the number of steps per second
+   */
+  public void setStepsPerSecond(final double stepsPerSecond) {
+    if (stepsPerSecond <= 0) {
+      throw new IllegalArgumentException("The steps per second need to be greater than 0 but were " + stepsPerSecond);
+    }
+
+    final long nanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / stepsPerSecond));
+    if (nanos == this.stepNanos) {
+      return;
+    }
+
+    this.stepNanos = nanos;
+    if (this.started) {
+      this.nextStep = this.lastStep + nanos;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package de.gurkenlabs.litiengine;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Class FlightRecorderEvents emits custom Java Flight Recorder events for
+ * ticks and frames that exceed their time budget, so they can be correlated
+ * with GC pauses, lock contention or I/O in a recording.
+ *
+ * <p>
+ * The engine still needs to run on Java 8 which doesn't provide the
+ * <code>jdk.jfr</code> API, so the event types are defined at runtime via the
+ * <code>jdk.jfr.EventFactory</code> if it is available. Otherwise, the events
+ * are silently dropped.
+ * </p>
+ */
+final class FlightRecorderEvents {
+  private static final Logger log = Logger.getLogger(FlightRecorderEvents.class.getName());
+  private static final String CATEGORY = "LITIengine";
+
+  private static final EventType slowTick = EventType.create("de.gurkenlabs.litiengine.SlowTick", "Slow Tick", "tick");
+  private static final EventType slowFrame = EventType.create("de.gurkenlabs.litiengine.SlowFrame", "Slow Frame", "frame");
+
+  private FlightRecorderEvents() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Emits an event for a tick that took longer than its budget.
+   *
+   * @param tick
+   *          the tick
+   * @param nanos
+   *          the time in nanoseconds that was required to process the tick
+   * @param budgetNanos
+   *          the time in nanoseconds that was available for the tick
+   */
+  static void slowTick(final long tick, final long nanos, final long budgetNanos) {
+    if (slowTick != null) {
+      slowTick.commit(tick, nanos, budgetNanos);
+    }
+  }
+
+  /**
+   * Emits an event for a frame that took longer than its budget.
+   *
+   * @param frame
+   *          the frame
+   * @param nanos
+   *          the time in nanoseconds that was required to render the frame
+   * @param budgetNanos
+   *          the time in nanoseconds that was available for the frame
+   */
+  static void slowFrame(final long frame, final long nanos, final long budgetNanos) {
+    if (slowFrame != null) {
+      slowFrame.commit(frame, nanos, budgetNanos);
+    }
+  }
+
+  private static final class EventType {
+    private final Object factory;
+    private final Method newEvent;
+    private final Method shouldCommit;
+    private final Method set;
+    private final Method commit;
+
+    private EventType(final Object factory, final Method newEvent, final Method shouldCommit, final Method set, final Method commit) {
+      this.factory = factory;
+      this.newEvent = newEvent;
+      this.shouldCommit = shouldCommit;
+      this.set = set;
+      this.commit = commit;
+    }
+
+    private static EventType create(final String name, final String label, final String counterName) {
+      try {
+        final Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+        final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+        final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+        final Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+        final Constructor<?> annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+        final Constructor<?> valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+
+        final List<Object> annotations = Arrays.asList(
+            annotationElement.newInstance(annotation("jdk.jfr.Name"), name),
+            annotationElement.newInstance(annotation("jdk.jfr.Label"), label),
+            annotationElement.newInstance(annotation("jdk.jfr.Category"), new String[] { CATEGORY }));
+
+        final List<Object> timespan = Collections.singletonList(annotationElement.newInstance(annotation("jdk.jfr.Timespan"), "NANOSECONDS"));
+        final List<Object> fields = Arrays.asList(
+            valueDescriptor.newInstance(long.class, counterName, Collections.emptyList()),
+            valueDescriptor.newInstance(long.class, "time", timespan),
+            valueDescriptor.newInstance(long.class, "budget", timespan));
+
+        final Object factory = factoryClass.getMethod("create", List.class, List.class).invoke(null, annotations, fields);
+        return new EventType(factory, factoryClass.getMethod("newEvent"), eventClass.getMethod("shouldCommit"), eventClass.getMethod("set", int.class, Object.class), eventClass.getMethod("commit"));
+      } catch (final ClassNotFoundException e) {
+        log.log(Level.FINE, "Java Flight Recorder events are not available in this runtime.");
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+        log.log(Level.WARNING, e.getMessage(), e);
+      }
+
+      return null;
+    }
+
+    private static Class<? extends Annotation> annotation(final String className) throws ClassNotFoundException {
+      return Class.forName(className).asSubclass(Annotation.class);
+    }
+
+    private void commit(final long counter, final long nanos, final long budgetNanos) {
+      try {
+        final Object event = this.newEvent.invoke(this.factory);
+        if (!(boolean) this.shouldCommit.invoke(event)) {
+          return;
+        }
+
+        this.set.invoke(event, 0, counter);
+        this.set.invoke(event, 1, nanos);
+        this.set.invoke(event, 2, budgetNanos);
+        this.commit.invoke(event);
+      } catch (final ReflectiveOperationException e) {
+        log.log(Level.WARNING, e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -142,8 +142,8 @@ public final class Game {
    * This flag indicates whether the game should display the <code>GameWindow</code> or not.
    * This can only be set before the game has been initialized with the <code>Game.init(String...)</code> method. Afterwards it doesn't have an effect
    * anymore.
-   * If enabled, the <code>ScreenManager#setVisible(boolean)</code> method won't be set to true and the <code>RenderLoop</code> won't be started.
-   * Also the <code>Camera</code> won't be updated.
+   * If enabled, the game runs headless: neither the <code>GameWindow</code> nor the <code>RenderLoop</code> are created, the <code>Camera</code> won't be
+   * updated and no input devices are initialized. This allows to run the game's simulation, e.g. on a dedicated server, without touching AWT.
    * 
    * @param noGui
    *          If set to true, the GUI will be hidden.
@@ -151,6 +151,7 @@ public final class Game {
    * @see Game#init(String...)
    * @see RenderLoop
    * @see Camera
+   * @see HeadlessServer
    */
   public static void hideGUI(boolean noGui) {
     noGUIMode = noGui;
@@ -287,14 +288,20 @@ public final class Game {
    * <i>It is also possible to manually register static collision <code>Rectangles</code> that can further restrict the game world.</i>
    * </p>
    * 
+   * <p>
+   * <i>If a <code>SimulationContext</code> is bound to the current thread, its <code>PhysicsEngine</code> is returned instead.</i>
+   * </p>
+   * 
    * @return The engine's <code>PhysicsEngine</code> component.
    * 
    * @see PhysicsEngine
    * @see PhysicsEngine#move(IMobileEntity, float)
    * @see ICollisionEntity
+   * @see SimulationContext
    */
   public static PhysicsEngine physics() {
-    return physicsEngine;
+    final SimulationContext context = SimulationContext.current();
+    return context != null ? context.physics() : physicsEngine;
   }
 
   /**
@@ -327,6 +334,9 @@ public final class Game {
    * This prevents them from interfering with each other and also properly separates tasks by their category.</i>
    * </p>
    * 
+   * <p>
+   * <i>If a <code>SimulationContext</code> is bound to the current thread, its loop is returned instead.</i>
+   * </p>
    * 
    * @return The game's main loop.
    *
@@ -336,9 +346,11 @@ public final class Game {
    * @see ILoop#detach(IUpdateable)
    * @see Game#inputLoop()
    * @see Game#renderLoop()
+   * @see SimulationContext
    */
   public static IGameLoop loop() {
-    return gameLoop;
+    final SimulationContext context = SimulationContext.current();
+    return context != null ? context.loop() : gameLoop;
   }
 
   /**
@@ -410,6 +422,10 @@ public final class Game {
    * <i>This is typically used to provide some per-level logic or to trigger
    * general loading behavior.</i>
    * 
+   * <p>
+   * <i>If a <code>SimulationContext</code> is bound to the current thread, its <code>GameWorld</code> is returned instead.</i>
+   * </p>
+   * 
    * @return The game's environment manager.
    * 
    * @see GameWorld
@@ -417,9 +433,11 @@ public final class Game {
    * @see Camera
    * @see GameWorld#environment()
    * @see GameWorld#camera()
+   * @see SimulationContext
    */
   public static GameWorld world() {
-    return world;
+    final SimulationContext context = SimulationContext.current();
+    return context != null ? context.world() : world;
   }
 
   public static boolean hasStarted() {
@@ -456,23 +474,31 @@ public final class Game {
     config().load();
     Locale.setDefault(new Locale(config().client().getCountry(), config().client().getLanguage()));
 
+    metrics().setInstrumentationEnabled(config().client().instrumentation());
+    if (config().client().getMetricsDumpFile() != null && !config().client().getMetricsDumpFile().isEmpty()) {
+      metrics().startDump(new File(config().client().getMetricsDumpFile()), config().client().getMetricsDumpInterval());
+    }
+
     gameLoop = new GameLoop("Main Update Loop", config().client().getUpdaterate());
     loop().attach(physics());
     loop().attach(world());
 
-    final ScreenManager scrMgr = new ScreenManager();
-
-    // setup default exception handling for render and update loop
-    renderLoop = new RenderLoop("Render Loop");
     inputLoop = new GameLoop("Input Loop", loop().getUpdateRate());
+    screenManager = new ScreenManager();
+
+    if (!isInNoGUIMode()) {
+      renderLoop = new RenderLoop("Render Loop");
+      gameWindow = new GameWindow();
+    }
 
+    // setup default exception handling for render and update loop
     setUncaughtExceptionHandler(new DefaultUncaughtExceptionHandler(config().client().exitOnError()));
 
-    screenManager = scrMgr;
-    gameWindow = new GameWindow();
+    if (!isInNoGUIMode()) {
+      // initialize  the game window
+      window().init();
+    }
 
-    // initialize  the game window
-    window().init();
     world.setCamera(new Camera());
 
     // init logging
@@ -517,7 +543,10 @@ public final class Game {
 
   public static void setUncaughtExceptionHandler(UncaughtExceptionHandler uncaughtExceptionHandler) {
     gameLoop.setUncaughtExceptionHandler(uncaughtExceptionHandler);
-    renderLoop.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+    if (renderLoop != null) {
+      renderLoop.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+    }
+
     Thread.setDefaultUncaughtExceptionHandler(uncaughtExceptionHandler);
   }
 
@@ -543,14 +572,13 @@ public final class Game {
     }
 
     gameLoop.start();
-    inputLoop.start();
 
     if (!isInNoGUIMode()) {
+      inputLoop.start();
       renderLoop.start();
+      soundEngine.start();
     }
 
-    soundEngine.start();
-
     for (final GameListener listener : gameListeners) {
       listener.started();
     }
@@ -574,12 +602,12 @@ public final class Game {
 
     config().save();
     gameLoop.terminate();
-    inputLoop.terminate();
-
-    soundEngine.terminate();
+    metrics().stopDump();
 
     world().clear();
     if (!isInNoGUIMode()) {
+      inputLoop.terminate();
+      soundEngine.terminate();
       renderLoop.terminate();
     }
 
@@ -1,8 +1,13 @@
 package de.gurkenlabs.litiengine;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 
@@ -17,12 +22,30 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
    */
   public static final int TICK_DELTATIME_LAG = 67;
 
-  private static int executionIndex = -1;
+  /**
+   * The minimum number of cancelled actions at which the queue of pending actions is compacted.
+   */
+  private static final int COMPACTION_THRESHOLD = 64;
+
+  private static final String TICK_TIMER = "update.tick";
+
+  private static final AtomicInteger executionIndex = new AtomicInteger(-1);
 
-  private final List<TimedAction> actions;
+  // pending actions are ordered by their execution tick; cancelled actions are only marked and skipped when they become
+  // due, which allows to cancel and reschedule them without searching the queue
+  private final PriorityQueue<TimedAction> actions;
+  private final Map<Integer, TimedAction> actionsByIndex;
+  private final List<TimedAction> dueActions;
+  private final Object actionLock = new Object();
+  private final List<Consumer<Long>> tickConsumer;
+  private final TickStatistics tickStatistics;
+  private final FixedTimestep timestep;
   private final int updateRate;
 
+  private int cancelledActions;
+  private long actionSequence;
   private long deltaTime;
+  private double deltaTimeRemainder;
 
   private long lastUpsTime;
 
@@ -33,7 +56,12 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
 
   public GameLoop(String name, final int updateRate) {
     super(name);
-    this.actions = new CopyOnWriteArrayList<>();
+    this.actions = new PriorityQueue<>();
+    this.actionsByIndex = new HashMap<>();
+    this.dueActions = new ArrayList<>();
+    this.tickConsumer = new CopyOnWriteArrayList<>();
+    this.tickStatistics = new TickStatistics();
+    this.timestep = new FixedTimestep(updateRate);
     this.updateRate = updateRate;
     this.setTimeScale(1.0F);
   }
@@ -57,10 +85,26 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
   public int execute(int delay, Runnable action) {
     final long d = this.convertToTicks(delay);
 
-    TimedAction a = new TimedAction(this.getTicks() + d, action);
-    this.actions.add(a);
+    synchronized (this.actionLock) {
+      TimedAction a = new TimedAction(this.getTicks() + d, action, executionIndex.incrementAndGet(), ++this.actionSequence);
+      this.actions.add(a);
+      this.actionsByIndex.put(a.getIndex(), a);
 
-    return a.getIndex();
+      return a.getIndex();
+    }
+  }
+
+  @Override
+  public boolean cancel(int index) {
+    synchronized (this.actionLock) {
+      final TimedAction action = this.actionsByIndex.remove(index);
+      if (action == null) {
+        return false;
+      }
+
+      this.markCancelled(action);
+      return true;
+    }
   }
 
   @Override
@@ -73,11 +117,21 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
     return this.convertToMs(this.totalTicks - ticks);
   }
 
+  @Override
+  public double getInterpolationAlpha() {
+    return this.timestep.getAlpha();
+  }
+
   @Override
   public long getTicks() {
     return this.totalTicks;
   }
 
+  @Override
+  public TickStatistics getTickStatistics() {
+    return this.tickStatistics;
+  }
+
   @Override
   public float getTimeScale() {
     return this.timeScale;
@@ -92,30 +146,31 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
   public void run() {
     while (!interrupted()) {
       final float scale = this.getTimeScale() > 0 ? this.getTimeScale() : 1;
-      final long tickWait = (long) (1.0 / (this.getUpdateRate() * scale) * 1000);
-      final long updateStart = System.nanoTime();
+      this.timestep.setStepsPerSecond(this.getUpdateRate() * scale);
 
-      if (this.getTimeScale() > 0) {
-        ++this.totalTicks;
-        this.update();
-        this.executeTimedActions();
-      }
+      // if a tick took too long, the missed ticks are caught up (up to a limit) to keep the game time in sync
+      final int steps = this.timestep.advance();
+      for (int i = 0; i < steps; i++) {
+        this.deltaTime = this.nextDeltaTime();
+        if (this.getTimeScale() > 0) {
+          this.tick();
+        }
 
-      ++this.updateCount;
+        ++this.updateCount;
+      }
 
-      final long currentMillis = System.currentTimeMillis();
-      this.trackUpdateRate(currentMillis);
+      this.trackUpdateRate(System.currentTimeMillis());
 
-      final long lastUpdateTime = currentMillis;
-      final long updateTime = (long) TimeUtilities.nanoToMs(System.nanoTime() - updateStart);
-      try {
-        sleep(Math.max(0, tickWait - updateTime));
-      } catch (final InterruptedException e) {
-        interrupt();
+      if (!this.timestep.waitForNextStep()) {
         break;
       }
+    }
+  }
 
-      this.deltaTime = System.currentTimeMillis() - lastUpdateTime + updateTime;
+  @Override
+  public void onTicked(final Consumer<Long> tickConsumer) {
+    if (!this.tickConsumer.contains(tickConsumer)) {
+      this.tickConsumer.add(tickConsumer);
     }
   }
 
@@ -131,24 +186,108 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
 
   @Override
   public void updateExecutionTime(int index, long ticks) {
-    for (TimedAction action : this.actions) {
-      if (action.getIndex() == index) {
-        action.setExecutionTicks(ticks);
+    synchronized (this.actionLock) {
+      final TimedAction action = this.actionsByIndex.get(index);
+      if (action == null || action.getExecutionTick() == ticks) {
+        return;
       }
+
+      // the queue cannot reorder an element in place, so the action is replaced by a copy with the new execution tick
+      this.markCancelled(action);
+      final TimedAction rescheduled = new TimedAction(ticks, action.getAction(), index, ++this.actionSequence);
+      this.actions.add(rescheduled);
+      this.actionsByIndex.put(index, rescheduled);
     }
   }
 
-  private void executeTimedActions() {
-    final List<TimedAction> executed = new ArrayList<>();
-    for (final TimedAction action : this.actions) {
-      if (action.getExecutionTick() <= this.totalTicks) {
+  /**
+   * Processes a single tick of this loop on the calling thread. This allows to
+   * drive loops that are not started as an own thread, e.g. by a
+   * {@link SimulationScheduler}.
+   *
+   * @param deltaTime
+   *          the time in ms that passed since the previous tick
+   */
+  void process(final long deltaTime) {
+    this.deltaTime = deltaTime;
+    if (this.getTimeScale() > 0) {
+      this.tick();
+    }
+  }
+
+  private void tick() {
+    final long tickStart = System.nanoTime();
+    ++this.totalTicks;
+    this.update();
+    this.executeTimedActions();
 
-        action.getAction().run();
-        executed.add(action);
+    for (final Consumer<Long> consumer : this.tickConsumer) {
+      consumer.accept(this.totalTicks);
+    }
+
+    final long tickTime = System.nanoTime() - tickStart;
+    this.tickStatistics.record(tickTime);
+    this.trackMetrics(tickTime);
+  }
+
+  private void executeTimedActions() {
+    synchronized (this.actionLock) {
+      while (!this.actions.isEmpty() && this.actions.peek().getExecutionTick() <= this.totalTicks) {
+        final TimedAction action = this.actions.poll();
+        if (action.isCancelled()) {
+          this.cancelledActions--;
+          continue;
+        }
+
+        this.actionsByIndex.remove(action.getIndex());
+        this.dueActions.add(action);
       }
     }
 
-    this.actions.removeAll(executed);
+    // the actions are executed outside of the lock because they might schedule further actions
+    for (final TimedAction action : this.dueActions) {
+      action.getAction().run();
+    }
+
+    this.dueActions.clear();
+  }
+
+  private void markCancelled(TimedAction action) {
+    action.cancel();
+    this.cancelledActions++;
+    if (this.cancelledActions >= COMPACTION_THRESHOLD && this.cancelledActions > this.actions.size() / 2) {
+      this.actions.removeIf(TimedAction::isCancelled);
+      this.cancelledActions = 0;
+    }
+  }
+
+  /**
+   * Every tick accounts for exactly one step of the fixed timestep. Since the delta time is provided in whole ms, the
+   * fraction is carried over to the next tick so that the delta times add up to the real time on average.
+   * 
+   * @return the delta time in ms for the next tick
+   */
+  private long nextDeltaTime() {
+    final double exactDeltaTime = TimeUtilities.nanoToMs(this.timestep.getStepNanos()) + this.deltaTimeRemainder;
+    final long delta = (long) exactDeltaTime;
+    this.deltaTimeRemainder = exactDeltaTime - delta;
+    return delta;
+  }
+
+  private void trackMetrics(final long tickTime) {
+    // only the game's own loop reports to the metrics, loops of simulation contexts are not displayed
+    if (Game.loop() != this) {
+      return;
+    }
+
+    for (final UpdatePhase phase : UpdatePhase.values()) {
+      Game.metrics().trackUpdateTime(phase, this.getUpdateTime(phase));
+    }
+
+    Game.metrics().timer(TICK_TIMER).record(tickTime);
+    if (tickTime > this.timestep.getStepNanos()) {
+      FlightRecorderEvents.slowTick(this.totalTicks, tickTime, this.timestep.getStepNanos());
+    }
   }
 
   private void trackUpdateRate(long currentMillis) {
@@ -159,15 +298,18 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
     }
   }
 
-  private class TimedAction {
+  private static class TimedAction implements Comparable<TimedAction> {
     private final Runnable action;
-    private long execution;
+    private final long execution;
     private final int index;
+    private final long sequence;
+    private boolean cancelled;
 
-    private TimedAction(final long execution, final Runnable action) {
+    private TimedAction(final long execution, final Runnable action, final int index, final long sequence) {
       this.execution = execution;
       this.action = action;
-      this.index = ++executionIndex;
+      this.index = index;
+      this.sequence = sequence;
     }
 
     public Runnable getAction() {
@@ -178,12 +320,23 @@ public class GameLoop extends UpdateLoop implements IGameLoop, AutoCloseable {
       return this.execution;
     }
 
-    public void setExecutionTicks(long ticks) {
-      this.execution = ticks;
-    }
-
     public int getIndex() {
       return index;
     }
+
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    public void cancel() {
+      this.cancelled = true;
+    }
+
+    @Override
+    public int compareTo(TimedAction other) {
+      // actions that are due at the same tick are executed in the order in which they were scheduled
+      final int result = Long.compare(this.execution, other.execution);
+      return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+    }
   }
 }
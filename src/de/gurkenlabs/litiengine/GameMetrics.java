@@ -3,10 +3,15 @@ package de.gurkenlabs.litiengine;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import de.gurkenlabs.litiengine.configuration.ClientConfiguration;
@@ -21,6 +26,9 @@ public final class GameMetrics implements IRenderable {
   private final List<Long> bytesReceived;
   private final List<Long> bytesSent;
   private final List<RenderMetrics> renderMetrics;
+  private final double[] updateTimes;
+  private final Map<String, MetricTimer> timers;
+  private final MetricTimer[] updateTimers;
 
   private final Runtime runtime;
 
@@ -41,10 +49,20 @@ public final class GameMetrics implements IRenderable {
 
   private float usedMemory;
 
+  private volatile boolean instrumentationEnabled;
+  private MetricsExporter exporter;
+
   GameMetrics() {
     this.bytesSent = new CopyOnWriteArrayList<>();
     this.bytesReceived = new CopyOnWriteArrayList<>();
     this.renderMetrics = new CopyOnWriteArrayList<>();
+    this.updateTimes = new double[UpdatePhase.values().length];
+    this.timers = new ConcurrentSkipListMap<>();
+    this.updateTimers = new MetricTimer[UpdatePhase.values().length];
+    for (final UpdatePhase phase : UpdatePhase.values()) {
+      this.updateTimers[phase.ordinal()] = this.timer("update." + phase.name().toLowerCase());
+    }
+
     this.runtime = Runtime.getRuntime();
   }
 
@@ -80,6 +98,18 @@ public final class GameMetrics implements IRenderable {
     return this.usedMemory;
   }
 
+  /**
+   * Gets the time that the game loop required to update the specified phase
+   * during its most recent tick.
+   *
+   * @param phase
+   *          the update phase
+   * @return the update time in ms
+   */
+  public double getUpdateTime(final UpdatePhase phase) {
+    return this.updateTimes[phase.ordinal()];
+  }
+
   public Color getRenderColor() {
     return this.renderColor;
   }
@@ -92,6 +122,95 @@ public final class GameMetrics implements IRenderable {
     this.bytesSent.add(size);
   }
 
+  public void trackUpdateTime(final UpdatePhase phase, final double updateTime) {
+    this.updateTimes[phase.ordinal()] = updateTime;
+    this.updateTimers[phase.ordinal()].record((long) (updateTime * 1000000));
+  }
+
+  /**
+   * Gets the timer with the specified name. The timer is created if it doesn't
+   * exist yet.
+   *
+   * @param name
+   *          the name of the timer, e.g. <code>physics.raycast</code>
+   * @return the timer with the specified name
+   * 
+   * @see #setInstrumentationEnabled(boolean)
+   */
+  public MetricTimer timer(final String name) {
+    final MetricTimer timer = this.timers.get(name);
+    if (timer != null) {
+      return timer;
+    }
+
+    return this.timers.computeIfAbsent(name, n -> new MetricTimer(n, this.instrumentationEnabled));
+  }
+
+  /**
+   * Gets all timers, ordered by their name.
+   *
+   * @return the timers
+   */
+  public Collection<MetricTimer> getTimers() {
+    return Collections.unmodifiableCollection(this.timers.values());
+  }
+
+  public boolean isInstrumentationEnabled() {
+    return this.instrumentationEnabled;
+  }
+
+  /**
+   * Enables or disables the recording of all timers. The instrumentation is
+   * disabled by default.
+   *
+   * @param enabled
+   *          true to record the timers; otherwise false
+   * 
+   * @see #timer(String)
+   */
+  public void setInstrumentationEnabled(final boolean enabled) {
+    this.instrumentationEnabled = enabled;
+    for (final MetricTimer timer : this.timers.values()) {
+      timer.setEnabled(enabled);
+    }
+  }
+
+  /**
+   * Resets the statistics of all timers.
+   */
+  public void resetTimers() {
+    for (final MetricTimer timer : this.timers.values()) {
+      timer.reset();
+    }
+  }
+
+  /**
+   * Starts to periodically dump the statistics of all timers to the specified
+   * file. A previously started dump is stopped.
+   *
+   * @param file
+   *          the file; ending with <code>.json</code> for JSON, otherwise CSV
+   *          is written
+   * @param interval
+   *          the interval in ms
+   * 
+   * @see MetricsExporter
+   */
+  public synchronized void startDump(final File file, final long interval) {
+    this.stopDump();
+    this.exporter = new MetricsExporter(this, file, interval);
+  }
+
+  /**
+   * Stops the periodic dump and writes the final statistics.
+   */
+  public synchronized void stopDump() {
+    if (this.exporter != null) {
+      this.exporter.close();
+      this.exporter = null;
+    }
+  }
+
   public void trackRenderTime(String name, double renderTime, RenderInfo... infos) {
     this.renderMetrics.add(new RenderMetrics(name, renderTime, infos));
   }
@@ -127,6 +246,12 @@ public final class GameMetrics implements IRenderable {
     this.drawMetric(g, "in        : " + this.getPackagesReceived() + " - " + downStream + " kb/s");
     this.drawMetric(g, "out       : " + this.getPackagesSent() + " - " + upStream + " kb/s");
 
+    // render update metrics
+    this.drawTitle(g, "[update]");
+    for (final UpdatePhase phase : UpdatePhase.values()) {
+      this.drawMetric(g, String.format("%-10.10s: %-4.4f ms", phase.name().toLowerCase(), this.getUpdateTime(phase)));
+    }
+
     // render rendering metrics
     if (!this.renderMetrics.isEmpty()) {
       this.drawTitle(g, "[rendering]");
@@ -0,0 +1,219 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.resources.Resources;
+
+/**
+ * The Class HeadlessServer runs the game's simulation without any GUI, e.g. on
+ * a dedicated server. It initializes the <code>Game</code> in no-GUI mode, so
+ * neither a window, a render loop nor any input devices are created and AWT is
+ * never initialized.
+ *
+ * <p>
+ * Every hosted match is simulated in an own <code>SimulationContext</code>, so
+ * several matches can be hosted concurrently, even on the same map, without
+ * interfering with each other. All matches are ticked at the configured update
+ * rate on a shared pool of threads.
+ * </p>
+ *
+ * @see Game#hideGUI(boolean)
+ * @see SimulationContext
+ * @see SimulationScheduler
+ */
+public class HeadlessServer implements ILaunchable {
+  private static final Logger log = Logger.getLogger(HeadlessServer.class.getName());
+
+  private final List<SimulationContext> matches;
+  private final AtomicInteger matchIdSequence;
+  private SimulationScheduler scheduler;
+  private int threads;
+  private int reportInterval;
+  private ScheduledExecutorService reporter;
+
+  /**
+   * Instantiates a new headless server and initializes the game in no-GUI mode.
+   *
+   * @param args
+   *          the arguments that are passed to {@link Game#init(String...)}
+   */
+  public HeadlessServer(final String... args) {
+    this.matches = new CopyOnWriteArrayList<>();
+    this.matchIdSequence = new AtomicInteger();
+    this.threads = Runtime.getRuntime().availableProcessors();
+
+    System.setProperty("java.awt.headless", "true");
+    Game.hideGUI(true);
+    Game.init(args);
+  }
+
+  /**
+   * Starts to simulate all hosted matches.
+   */
+  @Override
+  public void start() {
+    if (this.scheduler != null) {
+      return;
+    }
+
+    this.scheduler = new SimulationScheduler(this.threads);
+    for (final SimulationContext match : this.matches) {
+      this.scheduler.schedule(match);
+    }
+
+    if (this.reportInterval > 0) {
+      this.reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "Server Statistics Thread");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      this.reporter.scheduleAtFixedRate(this::report, this.reportInterval, this.reportInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Closes all hosted matches and stops the simulation.
+   */
+  @Override
+  public void terminate() {
+    for (final SimulationContext match : this.matches) {
+      this.close(match);
+    }
+
+    if (this.reporter != null) {
+      this.reporter.shutdownNow();
+      this.reporter = null;
+    }
+
+    if (this.scheduler != null) {
+      this.scheduler.close();
+      this.scheduler = null;
+    }
+  }
+
+  /**
+   * Hosts a new match on the map with the specified name. The map is loaded by
+   * the {@link Resources#maps()} container.
+   *
+   * @param mapName
+   *          the name of the map
+   * @return the simulation context of the new match or null if the map could
+   *         not be found
+   */
+  public SimulationContext host(final String mapName) {
+    final IMap map = Resources.maps().get(mapName);
+    if (map == null) {
+      log.log(Level.WARNING, "Could not host a match because the map {0} could not be found.", new Object[] { mapName });
+      return null;
+    }
+
+    final SimulationContext match = this.createMatch();
+    match.execute(() -> match.load(new Environment(map)));
+    return this.host(match);
+  }
+
+  /**
+   * Hosts a match in the specified context. The context is simulated until the
+   * match is closed.
+   *
+   * @param match
+   *          the simulation context of the match
+   * @return the specified context
+   */
+  public SimulationContext host(final SimulationContext match) {
+    this.matches.add(match);
+    if (this.scheduler != null) {
+      this.scheduler.schedule(match);
+    }
+
+    return match;
+  }
+
+  /**
+   * Creates a new simulation context for a match that runs at the configured
+   * update rate. The context can be prepared before it is passed to
+   * {@link #host(SimulationContext)}.
+   *
+   * @return a new simulation context
+   */
+  public SimulationContext createMatch() {
+    return new SimulationContext("Match #" + this.matchIdSequence.incrementAndGet(), Game.config().client().getUpdaterate());
+  }
+
+  /**
+   * Closes the specified match and unloads its environment.
+   *
+   * @param match
+   *          the simulation context of the match
+   */
+  public void close(final SimulationContext match) {
+    if (this.matches.remove(match)) {
+      if (this.scheduler != null) {
+        this.scheduler.cancel(match);
+      }
+
+      match.close();
+    }
+  }
+
+  public Collection<SimulationContext> getMatches() {
+    return Collections.unmodifiableList(this.matches);
+  }
+
+  /**
+   * Gets the statistics about the time that was required to simulate the
+   * recent ticks of all hosted matches.
+   *
+   * @return the tick statistics over all matches or null if the server has not
+   *         been started yet
+   */
+  public TickStatistics getTickStatistics() {
+    return this.scheduler != null ? this.scheduler.getTickStatistics() : null;
+  }
+
+  public int getThreads() {
+    return this.threads;
+  }
+
+  public int getReportInterval() {
+    return this.reportInterval;
+  }
+
+  /**
+   * Sets the number of threads that simulate the matches. This has to be set
+   * before the server is started.
+   *
+   * @param threads
+   *          the number of threads
+   */
+  public void setThreads(final int threads) {
+    this.threads = threads;
+  }
+
+  /**
+   * Sets the interval in which the tick statistics are logged. This has to be
+   * set before the server is started.
+   *
+   * @param reportInterval
+   *          the interval in ms or 0 to disable the reports
+   */
+  public void setReportInterval(final int reportInterval) {
+    this.reportInterval = reportInterval;
+  }
+
+  private void report() {
+    log.log(Level.INFO, "{0} matches, {1}", new Object[] { this.matches.size(), this.getTickStatistics() });
+  }
+}
@@ -1,5 +1,7 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.function.Consumer;
+
 public interface IGameLoop extends ILoop {
 
   public long convertToMs(final long ticks);
@@ -8,6 +10,15 @@ public interface IGameLoop extends ILoop {
 
   public int execute(int delay, Runnable action);
 
+  /**
+   * Cancels the pending action with the specified index so that it won't be executed.
+   *
+   * @param index
+   *          The index of the action that was returned by {@link #execute(int, Runnable)}.
+   * @return True if the action was pending and has been cancelled; otherwise false.
+   */
+  public boolean cancel(int index);
+
   public void updateExecutionTime(int index, long ticks);
 
   /**
@@ -29,9 +40,36 @@ public interface IGameLoop extends ILoop {
 
   public long getTicks();
 
+  /**
+   * Gets the progress from the most recent tick towards the next tick. Renderers can use this to interpolate between
+   * the states of the two most recent ticks, which results in smooth movement even if more frames are rendered than
+   * ticks are processed.
+   *
+   * @return A value between 0 (a tick was just processed) and 1 (the next tick is due).
+   */
+  public double getInterpolationAlpha();
+
+  /**
+   * Gets the statistics about the time that was required to process the
+   * recent ticks of this loop.
+   *
+   * @return The tick statistics of this loop.
+   */
+  public TickStatistics getTickStatistics();
+
   public float getTimeScale();
 
   public int getUpdateRate();
 
   public void setTimeScale(float timeScale);
+
+  /**
+   * Registers a callback that is executed at the end of every tick, after all
+   * attached instances have been updated and all due actions have been
+   * executed.
+   *
+   * @param tickConsumer
+   *          The callback that is provided with the current ticks.
+   */
+  public void onTicked(Consumer<Long> tickConsumer);
 }
\ No newline at end of file
@@ -11,6 +11,19 @@ public interface ILoop extends ILaunchable {
    */
   public void attach(final IUpdateable updatable);
 
+  /**
+   * Attaches the update method of the specified IUpdatable instance to be called
+   * every tick in the specified phase.
+   * 
+   * @param updatable
+   *          The instance that will be registered for the update event.
+   * @param phase
+   *          The phase of the tick in which the instance will be updated.
+   * 
+   * @see UpdatePhase
+   */
+  public void attach(final IUpdateable updatable, final UpdatePhase phase);
+
   /**
    * Detaches the specified instance from the game loop.
    * 
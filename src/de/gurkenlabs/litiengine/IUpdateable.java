@@ -12,4 +12,27 @@ public interface IUpdateable {
    * Game.GameLoop.TICKS_PER_SECOND times per second.
    */
   public void update();
+
+  /**
+   * Gets the phase of a tick in which this instance is updated if it is
+   * attached to a loop without specifying a phase explicitly.
+   *
+   * @return the update phase of this instance
+   */
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.DEFAULT;
+  }
+
+  /**
+   * Determines whether this instance can be updated concurrently with other
+   * instances of the same phase. Only thread-safe instances are updated in
+   * parallel if parallel execution is enabled for their phase.
+   *
+   * @return true if this instance can be updated concurrently; otherwise false
+   * 
+   * @see UpdateLoop#setParallel(UpdatePhase, boolean)
+   */
+  public default boolean isThreadSafe() {
+    return false;
+  }
 }
@@ -0,0 +1,108 @@
+package de.gurkenlabs.litiengine;
+
+import de.gurkenlabs.litiengine.util.Histogram;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+
+/**
+ * The Class MetricTimer records the durations of a named operation, e.g. an
+ * update phase, a render pass or a path search, into a histogram.
+ *
+ * <p>
+ * A timer is used by calling {@link #start()} before and {@link #stop(long)}
+ * after the operation. While the instrumentation is disabled, this doesn't
+ * even query the system time, so timers can remain in hot code paths.
+ * </p>
+ *
+ * @see GameMetrics#timer(String)
+ * @see GameMetrics#setInstrumentationEnabled(boolean)
+ */
+public class MetricTimer {
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private final String name;
+  private final Histogram histogram;
+  private volatile boolean enabled;
+
+  MetricTimer(final String name, final boolean enabled) {
+    this.name = name;
+    this.histogram = new Histogram();
+    this.enabled = enabled;
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public Histogram getHistogram() {
+    return this.histogram;
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Starts to time an operation.
+   *
+   * @return the start time that needs to be passed to {@link #stop(long)}
+   */
+  public long start() {
+    return this.enabled ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Stops to time an operation and records its duration.
+   *
+   * @param start
+   *          the start time, as returned by {@link #start()}
+   */
+  public void stop(final long start) {
+    if (start != NOT_STARTED) {
+      this.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records the duration of an operation that was measured elsewhere.
+   *
+   * @param nanos
+   *          the duration in nanoseconds
+   */
+  public void record(final long nanos) {
+    if (this.enabled) {
+      this.histogram.record(nanos);
+    }
+  }
+
+  public long getCount() {
+    return this.histogram.getCount();
+  }
+
+  public double getMean() {
+    return TimeUtilities.nanoToMs((long) this.histogram.getMean());
+  }
+
+  public double getMax() {
+    return TimeUtilities.nanoToMs(this.histogram.getMax());
+  }
+
+  /**
+   * Gets the duration in ms below which the specified percentage of the
+   * recorded durations lie.
+   *
+   * @param percentile
+   *          the percentile between 0 and 100
+   * @return the duration in ms
+   */
+  public double getPercentile(final double percentile) {
+    return TimeUtilities.nanoToMs(this.histogram.getValueAtPercentile(percentile));
+  }
+
+  public void reset() {
+    this.histogram.reset();
+  }
+
+  void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+}
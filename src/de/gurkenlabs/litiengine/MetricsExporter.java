@@ -0,0 +1,171 @@
+package de.gurkenlabs.litiengine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Class MetricsExporter periodically writes the statistics of all metric
+ * timers to a file, which allows to evaluate headless runs, e.g. of a server
+ * or a benchmark.
+ *
+ * <p>
+ * The format is chosen by the file extension: files ending with
+ * <code>.json</code> are written as JSON, all others as CSV. Each dump
+ * replaces the previous content of the file with the statistics accumulated
+ * since the timers were last reset.
+ * </p>
+ *
+ * @see GameMetrics#getTimers()
+ */
+public class MetricsExporter implements AutoCloseable {
+  private static final Logger log = Logger.getLogger(MetricsExporter.class.getName());
+  private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+  private final GameMetrics metrics;
+  private final File file;
+  private final ScheduledExecutorService executor;
+
+  /**
+   * Instantiates a new metrics exporter and starts to dump the metrics in the
+   * specified interval.
+   *
+   * @param metrics
+   *          the metrics to export
+   * @param file
+   *          the file to write to
+   * @param interval
+   *          the interval in ms
+   */
+  public MetricsExporter(final GameMetrics metrics, final File file, final long interval) {
+    this.metrics = metrics;
+    this.file = file;
+    this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "Metrics Exporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.executor.scheduleAtFixedRate(this::dump, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Writes the current statistics to the file of this exporter. The file is
+   * replaced at once (atomically if the file system supports it), so readers
+   * don't see a partially written dump.
+   */
+  public synchronized void dump() {
+    final File temp = new File(this.file.getAbsoluteFile().getParentFile(), this.file.getName() + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+      if (this.file.getName().toLowerCase(Locale.ROOT).endsWith(".json")) {
+        writeJson(writer, this.metrics.getTimers());
+      } else {
+        writeCsv(writer, this.metrics.getTimers());
+      }
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+      return;
+    }
+
+    try {
+      try {
+        Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Stops the periodic export and writes a final dump.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+    this.dump();
+  }
+
+  /**
+   * Writes the statistics of the specified timers as CSV with one line per
+   * timer. All durations are in ms.
+   *
+   * @param writer
+   *          the writer
+   * @param timers
+   *          the timers
+   * @throws IOException
+   *           if the statistics could not be written
+   */
+  public static void writeCsv(final Writer writer, final Collection<MetricTimer> timers) throws IOException {
+    writer.write("timer,count,mean,p50,p90,p99,p999,max\n");
+    for (final MetricTimer timer : timers) {
+      final StringBuilder line = new StringBuilder();
+      line.append(timer.getName()).append(',').append(timer.getCount()).append(',').append(format(timer.getMean()));
+      for (final double percentile : PERCENTILES) {
+        line.append(',').append(format(timer.getPercentile(percentile)));
+      }
+
+      line.append(',').append(format(timer.getMax())).append('\n');
+      writer.write(line.toString());
+    }
+  }
+
+  /**
+   * Writes the statistics of the specified timers as JSON object with one
+   * property per timer. All durations are in ms.
+   *
+   * @param writer
+   *          the writer
+   * @param timers
+   *          the timers
+   * @throws IOException
+   *           if the statistics could not be written
+   */
+  public static void writeJson(final Writer writer, final Collection<MetricTimer> timers) throws IOException {
+    final StringBuilder json = new StringBuilder();
+    json.append("{\n  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n  \"timers\": {");
+    boolean first = true;
+    for (final MetricTimer timer : timers) {
+      json.append(first ? "\n" : ",\n");
+      first = false;
+
+      json.append("    \"").append(escape(timer.getName())).append("\": { ");
+      json.append("\"count\": ").append(timer.getCount());
+      json.append(", \"mean\": ").append(format(timer.getMean()));
+      json.append(", \"p50\": ").append(format(timer.getPercentile(50)));
+      json.append(", \"p90\": ").append(format(timer.getPercentile(90)));
+      json.append(", \"p99\": ").append(format(timer.getPercentile(99)));
+      json.append(", \"p999\": ").append(format(timer.getPercentile(99.9)));
+      json.append(", \"max\": ").append(format(timer.getMax()));
+      json.append(" }");
+    }
+
+    json.append(first ? "}\n}\n" : "\n  }\n}\n");
+    writer.write(json.toString());
+  }
+
+  private static String format(final double value) {
+    return String.format(Locale.ROOT, "%.4f", value);
+  }
+
+  private static String escape(final String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+}
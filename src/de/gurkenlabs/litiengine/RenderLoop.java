@@ -3,38 +3,54 @@ package de.gurkenlabs.litiengine;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 public class RenderLoop extends UpdateLoop {
+  private static final String FRAME_TIMER = "render.frame";
 
+  private final FixedTimestep timestep;
   private int maxFps;
+  private long frames;
 
   public RenderLoop(String name) {
     super(name);
     this.maxFps = Game.config().client().getMaxFps();
+
+    // frames that were missed are never caught up, the loop just continues with the next frame
+    this.timestep = new FixedTimestep(Math.max(1, this.maxFps), 1);
   }
 
   @Override
   public void run() {
     while (!interrupted()) {
-      final long fpsWait = (long) (1000.0 / this.maxFps);
+      this.timestep.setStepsPerSecond(Math.max(1, this.maxFps));
+      if (this.timestep.advance() == 0) {
+        if (!this.timestep.waitForNextStep()) {
+          break;
+        }
+
+        continue;
+      }
+
       final long renderStart = System.nanoTime();
       Game.world().camera().updateFocus();
       this.update();
 
       Game.window().getRenderComponent().render();
 
-      final double renderTime = TimeUtilities.nanoToMs(System.nanoTime() - renderStart);
+      final long frameTime = System.nanoTime() - renderStart;
+      final double renderTime = TimeUtilities.nanoToMs(frameTime);
+      Game.metrics().timer(FRAME_TIMER).record(frameTime);
+      if (frameTime > this.timestep.getStepNanos()) {
+        FlightRecorderEvents.slowFrame(this.frames, frameTime, this.timestep.getStepNanos());
+      }
+
+      ++this.frames;
 
       Game.metrics().setEstimatedMaxFramesPerSecond((int) (1000.0 / renderTime));
       if (Game.config().debug().trackRenderTimes()) {
         Game.metrics().trackRenderTime("total", renderTime);
       }
 
-      long wait = Math.max(0, fpsWait - (long) renderTime);
-      if (wait != 0) {
-        try {
-          sleep(wait);
-        } catch (InterruptedException e) {
-          break;
-        }
+      if (!this.timestep.waitForNextStep()) {
+        break;
       }
     }
   }
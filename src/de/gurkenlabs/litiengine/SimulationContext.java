@@ -0,0 +1,209 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.function.Supplier;
+
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.GameWorld;
+import de.gurkenlabs.litiengine.physics.PhysicsEngine;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+
+/**
+ * The Class SimulationContext is an independent instance of the game's
+ * simulation with its own <code>PhysicsEngine</code>, <code>GameLoop</code> and
+ * <code>GameWorld</code>. This allows to simulate several environments (e.g.
+ * one per match on a server) in the same process without them interfering with
+ * each other.
+ *
+ * <p>
+ * While a context is ticked or executes an action, it is bound to the current
+ * thread and the static accessors {@link Game#physics()}, {@link Game#loop()}
+ * and {@link Game#world()} return the components of this context. On all other
+ * threads they keep returning the game's default components, so entities don't
+ * need to know which context they live in.
+ * </p>
+ *
+ * @see SimulationScheduler
+ */
+public class SimulationContext implements AutoCloseable {
+  private static final ThreadLocal<SimulationContext> boundContext = new ThreadLocal<>();
+
+  private final String name;
+  private final PhysicsEngine physicsEngine;
+  private final GameLoop gameLoop;
+  private final GameWorld world;
+
+  private long lastTick;
+
+  /**
+   * Instantiates a new simulation context.
+   *
+   * @param name
+   *          the name of the context
+   * @param updateRate
+   *          the number of ticks per second at which the context is simulated
+   */
+  public SimulationContext(final String name, final int updateRate) {
+    this.name = name;
+    this.physicsEngine = new PhysicsEngine();
+    this.gameLoop = new GameLoop(name, updateRate);
+    this.world = new GameWorld();
+
+    this.gameLoop.attach(this.physicsEngine);
+    this.gameLoop.attach(this.world);
+  }
+
+  /**
+   * Gets the context that is bound to the current thread.
+   *
+   * @return the current context or null if the current thread uses the game's
+   *         default components
+   */
+  public static SimulationContext current() {
+    return boundContext.get();
+  }
+
+  public String getName() {
+    return this.name;
+  }
+
+  public PhysicsEngine physics() {
+    return this.physicsEngine;
+  }
+
+  public IGameLoop loop() {
+    return this.gameLoop;
+  }
+
+  public GameWorld world() {
+    return this.world;
+  }
+
+  /**
+   * Gets the currently loaded environment of this context.
+   *
+   * @return the environment of this context
+   */
+  public Environment environment() {
+    return this.world.environment();
+  }
+
+  /**
+   * Loads the environment for the map with the specified name in this context.
+   * This implicitly unloads the previously loaded environment.
+   *
+   * @param mapName
+   *          the name of the map
+   * @return the loaded environment
+   */
+  public Environment load(final String mapName) {
+    return this.execute(() -> {
+      this.world.loadEnvironment(mapName);
+      return this.world.environment();
+    });
+  }
+
+  /**
+   * Loads the specified environment in this context. This implicitly unloads
+   * the previously loaded environment.
+   *
+   * @param environment
+   *          the environment
+   */
+  public void load(final Environment environment) {
+    this.execute(() -> this.world.loadEnvironment(environment));
+  }
+
+  /**
+   * Executes the specified action with this context being bound to the current
+   * thread. The action is never executed concurrently with a tick of this
+   * context.
+   *
+   * @param action
+   *          the action to execute
+   */
+  public void execute(final Runnable action) {
+    this.execute(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Executes the specified action with this context being bound to the current
+   * thread. The action is never executed concurrently with a tick of this
+   * context.
+   *
+   * @param <T>
+   *          the type of the result
+   * @param action
+   *          the action to execute
+   * @return the result of the action
+   */
+  public synchronized <T> T execute(final Supplier<T> action) {
+    final SimulationContext previous = bind(this);
+    try {
+      return action.get();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * Binds the specified context to the current thread without acquiring its
+   * lock. This is used to propagate a context that is already being executed to
+   * worker threads, e.g. when updating in parallel.
+   *
+   * @param context
+   *          the context to bind; null to use the game's default components
+   * @return the context that was previously bound to the current thread
+   * 
+   * @see #restore(SimulationContext)
+   */
+  static SimulationContext bind(final SimulationContext context) {
+    final SimulationContext previous = boundContext.get();
+    if (context != null) {
+      boundContext.set(context);
+    } else {
+      boundContext.remove();
+    }
+
+    return previous;
+  }
+
+  /**
+   * Restores the context that was bound to the current thread before
+   * {@link #bind(SimulationContext)} was called.
+   *
+   * @param previous
+   *          the previously bound context
+   */
+  static void restore(final SimulationContext previous) {
+    bind(previous);
+  }
+
+  /**
+   * Processes a single tick of this context on the calling thread.
+   */
+  public void tick() {
+    this.execute(() -> {
+      final long now = System.nanoTime();
+      final long deltaTime = this.lastTick != 0 ? (long) TimeUtilities.nanoToMs(now - this.lastTick) : this.gameLoop.convertToMs(1);
+      this.lastTick = now;
+      this.gameLoop.process(deltaTime);
+    });
+  }
+
+  /**
+   * Unloads the environment of this context.
+   */
+  @Override
+  public void close() {
+    this.execute(() -> this.world.unloadEnvironment());
+    this.gameLoop.terminate();
+  }
+
+  @Override
+  public String toString() {
+    return this.getName();
+  }
+}
@@ -0,0 +1,112 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Class SimulationScheduler ticks any number of
+ * <code>SimulationContexts</code> at their update rate on a shared pool of
+ * threads. A context is never ticked by more than one thread at a time, but
+ * different contexts are ticked in parallel.
+ *
+ * @see SimulationContext
+ */
+public class SimulationScheduler implements AutoCloseable {
+  private static final Logger log = Logger.getLogger(SimulationScheduler.class.getName());
+
+  private final ScheduledExecutorService executor;
+  private final Map<SimulationContext, ScheduledFuture<?>> contexts;
+  private final TickStatistics tickStatistics;
+
+  /**
+   * Instantiates a new simulation scheduler with one thread per available
+   * processor.
+   */
+  public SimulationScheduler() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Instantiates a new simulation scheduler.
+   *
+   * @param threads
+   *          the number of threads that tick the contexts
+   */
+  public SimulationScheduler(final int threads) {
+    final AtomicInteger threadIndex = new AtomicInteger();
+    this.executor = Executors.newScheduledThreadPool(threads, r -> {
+      final Thread thread = new Thread(r, "Simulation Thread #" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.contexts = new ConcurrentHashMap<>();
+    this.tickStatistics = new TickStatistics();
+  }
+
+  /**
+   * Starts to tick the specified context at its update rate.
+   *
+   * @param context
+   *          the context to schedule
+   */
+  public void schedule(final SimulationContext context) {
+    final long period = TimeUnit.SECONDS.toNanos(1) / context.loop().getUpdateRate();
+    this.contexts.computeIfAbsent(context, c -> this.executor.scheduleAtFixedRate(() -> this.tick(c), 0, period, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Stops to tick the specified context. A tick that is currently processed is
+   * completed.
+   *
+   * @param context
+   *          the context to cancel
+   */
+  public void cancel(final SimulationContext context) {
+    final ScheduledFuture<?> future = this.contexts.remove(context);
+    if (future != null) {
+      future.cancel(false);
+    }
+  }
+
+  public Collection<SimulationContext> getContexts() {
+    return Collections.unmodifiableSet(this.contexts.keySet());
+  }
+
+  /**
+   * Gets the statistics about the time that was required to process the recent
+   * ticks of all scheduled contexts.
+   *
+   * @return the tick statistics of this scheduler
+   */
+  public TickStatistics getTickStatistics() {
+    return this.tickStatistics;
+  }
+
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+    this.contexts.clear();
+  }
+
+  private void tick(final SimulationContext context) {
+    final long tickStart = System.nanoTime();
+    try {
+      context.tick();
+    } catch (final Exception e) {
+      // an exception must not cancel the periodic execution of the context
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+
+    this.tickStatistics.record(System.nanoTime() - tickStart);
+  }
+}
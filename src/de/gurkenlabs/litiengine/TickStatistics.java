@@ -0,0 +1,139 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.Arrays;
+
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+
+/**
+ * The Class TickStatistics keeps the durations of the most recent ticks of a
+ * loop and provides percentiles over them. This allows to judge how much
+ * headroom a loop has left, which the average update rate alone can't tell.
+ */
+public class TickStatistics {
+  public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+  private final long[] samples;
+  private int index;
+  private int count;
+  private long totalTicks;
+
+  public TickStatistics() {
+    this(DEFAULT_SAMPLE_SIZE);
+  }
+
+  /**
+   * Instantiates a new tick statistics instance.
+   *
+   * @param sampleSize
+   *          the number of most recent ticks that are considered for the
+   *          percentiles
+   */
+  public TickStatistics(final int sampleSize) {
+    if (sampleSize <= 0) {
+      throw new IllegalArgumentException("The sample size must be greater than 0.");
+    }
+
+    this.samples = new long[sampleSize];
+  }
+
+  /**
+   * Records the duration of a tick.
+   *
+   * @param nanos
+   *          the duration of the tick in nanoseconds
+   */
+  public synchronized void record(final long nanos) {
+    this.samples[this.index] = nanos;
+    this.index = (this.index + 1) % this.samples.length;
+    this.count = Math.min(this.count + 1, this.samples.length);
+    ++this.totalTicks;
+  }
+
+  public synchronized void reset() {
+    this.index = 0;
+    this.count = 0;
+    this.totalTicks = 0;
+  }
+
+  /**
+   * Gets the number of ticks that are currently considered for the statistics.
+   *
+   * @return the number of samples
+   */
+  public synchronized int getSampleCount() {
+    return this.count;
+  }
+
+  /**
+   * Gets the number of ticks that were recorded since the last reset.
+   *
+   * @return the total number of recorded ticks
+   */
+  public synchronized long getTotalTicks() {
+    return this.totalTicks;
+  }
+
+  /**
+   * Gets the tick duration in ms below which the specified percentage of the
+   * recent ticks lie (nearest rank method).
+   *
+   * @param percentile
+   *          the percentile in the range (0, 100]
+   * @return the tick duration in ms or 0 if no tick was recorded yet
+   */
+  public double getPercentile(final double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException("The percentile must be in the range (0, 100].");
+    }
+
+    final long[] sorted = this.getSortedSamples();
+    if (sorted.length == 0) {
+      return 0;
+    }
+
+    final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return TimeUtilities.nanoToMs(sorted[Math.max(0, rank - 1)]);
+  }
+
+  public double getMedian() {
+    return this.getPercentile(50);
+  }
+
+  /**
+   * Gets the longest recent tick duration.
+   *
+   * @return the maximum tick duration in ms
+   */
+  public double getMax() {
+    return this.getPercentile(100);
+  }
+
+  /**
+   * Gets the average recent tick duration.
+   *
+   * @return the mean tick duration in ms
+   */
+  public synchronized double getMean() {
+    if (this.count == 0) {
+      return 0;
+    }
+
+    long sum = 0;
+    for (int i = 0; i < this.count; i++) {
+      sum += this.samples[i];
+    }
+
+    return TimeUtilities.nanoToMs(sum / this.count);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ticks: %d, mean: %.3fms, p50: %.3fms, p90: %.3fms, p99: %.3fms, max: %.3fms", this.getTotalTicks(), this.getMean(), this.getMedian(), this.getPercentile(90), this.getPercentile(99), this.getMax());
+  }
+
+  private synchronized long[] getSortedSamples() {
+    final long[] sorted = Arrays.copyOf(this.samples, this.count);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+}
@@ -1,18 +1,65 @@
 package de.gurkenlabs.litiengine;
 
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+
+/**
+ * The Class UpdateLoop updates all attached {@link IUpdateable} instances on
+ * every tick.
+ *
+ * <p>
+ * The instances are updated phase by phase in the order defined by
+ * {@link UpdatePhase} and within a phase in the order in which they were
+ * attached. For phases that have parallel execution enabled, the instances that
+ * are declared thread-safe are distributed among a shared work-stealing pool
+ * after all other instances of the phase were updated sequentially.
+ * </p>
+ *
+ * @see IUpdateable#getUpdatePhase()
+ * @see IUpdateable#isThreadSafe()
+ */
 public abstract class UpdateLoop extends Thread implements ILoop {
   private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
-  private final Set<IUpdateable> updatables;
+  private static final UpdatePhase[] PHASES = UpdatePhase.values();
+  private static final IUpdateable[] EMPTY = new IUpdateable[0];
+
+  /**
+   * The maximum number of instances that a single task of a parallel phase
+   * updates without splitting up its work any further.
+   */
+  private static final int PARALLEL_BATCH_SIZE = 32;
+
+  private static ForkJoinPool updatePool;
+
+  private final Map<IUpdateable, UpdatePhase> updatables;
+  private final Map<UpdatePhase, Set<IUpdateable>> phases;
+  private final boolean[] parallelPhases;
+  private final double[] updateTimes;
+
+  // the phases are copied to arrays which are reused until an instance is attached or detached
+  private volatile PhaseSnapshot snapshot;
 
   protected UpdateLoop(String name) {
     super(name);
-    this.updatables = Collections.newSetFromMap(new ConcurrentHashMap<IUpdateable, Boolean>());
+    this.updatables = new ConcurrentHashMap<>();
+    this.phases = new EnumMap<>(UpdatePhase.class);
+    for (final UpdatePhase phase : PHASES) {
+      this.phases.put(phase, new LinkedHashSet<>());
+    }
+
+    this.parallelPhases = new boolean[PHASES.length];
+    this.updateTimes = new double[PHASES.length];
   }
 
   @Override
@@ -26,30 +73,200 @@ public abstract class UpdateLoop extends Thread implements ILoop {
       return;
     }
 
-    if (!this.updatables.add(updatable)) {
-      log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
+    this.attach(updatable, updatable.getUpdatePhase());
+  }
+
+  @Override
+  public void attach(final IUpdateable updatable, final UpdatePhase phase) {
+    if (updatable == null) {
       return;
     }
+
+    final UpdatePhase updatePhase = phase != null ? phase : UpdatePhase.DEFAULT;
+    synchronized (this.phases) {
+      if (this.updatables.putIfAbsent(updatable, updatePhase) != null) {
+        log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
+        return;
+      }
+
+      this.phases.get(updatePhase).add(updatable);
+      this.snapshot = null;
+    }
   }
 
   @Override
   public void detach(final IUpdateable updatable) {
-    this.updatables.remove(updatable);
+    if (updatable == null) {
+      return;
+    }
+
+    synchronized (this.phases) {
+      final UpdatePhase phase = this.updatables.remove(updatable);
+      if (phase != null) {
+        this.phases.get(phase).remove(updatable);
+        this.snapshot = null;
+      }
+    }
+  }
+
+  /**
+   * Gets the time that was required to update all instances of the specified
+   * phase during the most recent tick.
+   *
+   * @param phase
+   *          the update phase
+   * @return the update time in ms
+   */
+  public double getUpdateTime(final UpdatePhase phase) {
+    return this.updateTimes[phase.ordinal()];
+  }
+
+  public boolean isParallel(final UpdatePhase phase) {
+    return this.parallelPhases[phase.ordinal()];
+  }
+
+  /**
+   * Enables or disables the parallel execution of the specified phase. If
+   * enabled, the instances of the phase that are declared thread-safe are
+   * updated concurrently on a work-stealing pool after all other instances of
+   * the phase were updated. This is disabled for all phases by default, because
+   * listeners that are notified from thread-safe instances are executed
+   * concurrently as well.
+   *
+   * @param phase
+   *          the update phase
+   * @param parallel
+   *          true to update the thread-safe instances of the phase in parallel
+   * 
+   * @see IUpdateable#isThreadSafe()
+   */
+  public void setParallel(final UpdatePhase phase, final boolean parallel) {
+    this.parallelPhases[phase.ordinal()] = parallel;
   }
 
   protected Set<IUpdateable> getUpdatables() {
-    return this.updatables;
+    return Collections.unmodifiableSet(this.updatables.keySet());
   }
 
   protected void update() {
-    for (IUpdateable updatable : this.getUpdatables()) {
+    final PhaseSnapshot current = this.getSnapshot();
+    for (final UpdatePhase phase : PHASES) {
+      final int index = phase.ordinal();
+      if (current.all[index].length == 0) {
+        this.updateTimes[index] = 0;
+        continue;
+      }
+
+      final long start = System.nanoTime();
+      if (this.parallelPhases[index] && current.threadSafe[index].length > 1) {
+        this.update(current.sequential[index], 0, current.sequential[index].length);
+        this.updateParallel(current.threadSafe[index]);
+      } else {
+        this.update(current.all[index], 0, current.all[index].length);
+      }
+
+      this.updateTimes[index] = TimeUtilities.nanoToMs(System.nanoTime() - start);
+    }
+  }
+
+  private void update(final IUpdateable[] phaseUpdatables, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      final IUpdateable updatable = phaseUpdatables[i];
+
+      // instances that were detached by a previous update of this tick are skipped
+      if (!this.updatables.containsKey(updatable)) {
+        continue;
+      }
+
       try {
-        if (updatable != null) {
-          updatable.update();
-        }
+        updatable.update();
       } catch (final Exception e) {
         log.log(Level.SEVERE, e.getMessage(), e);
       }
     }
   }
+
+  private void updateParallel(final IUpdateable[] phaseUpdatables) {
+    // the workers need to resolve the same components via the static accessors as the thread of this loop
+    getUpdatePool().invoke(new ParallelUpdate(SimulationContext.current(), phaseUpdatables, 0, phaseUpdatables.length));
+  }
+
+  private PhaseSnapshot getSnapshot() {
+    PhaseSnapshot current = this.snapshot;
+    if (current != null) {
+      return current;
+    }
+
+    synchronized (this.phases) {
+      current = new PhaseSnapshot(this.phases);
+      this.snapshot = current;
+      return current;
+    }
+  }
+
+  private static synchronized ForkJoinPool getUpdatePool() {
+    if (updatePool == null) {
+      updatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        final ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("Update Worker " + worker.getPoolIndex());
+        worker.setDaemon(true);
+        return worker;
+      }, null, false);
+    }
+
+    return updatePool;
+  }
+
+  private static class PhaseSnapshot {
+    private final IUpdateable[][] all;
+    private final IUpdateable[][] sequential;
+    private final IUpdateable[][] threadSafe;
+
+    private PhaseSnapshot(final Map<UpdatePhase, Set<IUpdateable>> phases) {
+      this.all = new IUpdateable[PHASES.length][];
+      this.sequential = new IUpdateable[PHASES.length][];
+      this.threadSafe = new IUpdateable[PHASES.length][];
+
+      for (final UpdatePhase phase : PHASES) {
+        final Set<IUpdateable> phaseUpdatables = phases.get(phase);
+        final int index = phase.ordinal();
+        this.all[index] = phaseUpdatables.toArray(EMPTY);
+        this.threadSafe[index] = phaseUpdatables.stream().filter(IUpdateable::isThreadSafe).toArray(IUpdateable[]::new);
+        this.sequential[index] = phaseUpdatables.stream().filter(u -> !u.isThreadSafe()).toArray(IUpdateable[]::new);
+      }
+    }
+  }
+
+  private class ParallelUpdate extends RecursiveAction {
+    private static final long serialVersionUID = -2491738235386153207L;
+
+    private final transient SimulationContext context;
+    private final transient IUpdateable[] phaseUpdatables;
+    private final int from;
+    private final int to;
+
+    private ParallelUpdate(final SimulationContext context, final IUpdateable[] phaseUpdatables, final int from, final int to) {
+      this.context = context;
+      this.phaseUpdatables = phaseUpdatables;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= PARALLEL_BATCH_SIZE) {
+        final SimulationContext previous = SimulationContext.bind(this.context);
+        try {
+          update(this.phaseUpdatables, this.from, this.to);
+        } finally {
+          SimulationContext.restore(previous);
+        }
+
+        return;
+      }
+
+      final int middle = (this.from + this.to) >>> 1;
+      invokeAll(new ParallelUpdate(this.context, this.phaseUpdatables, this.from, middle), new ParallelUpdate(this.context, this.phaseUpdatables, middle, this.to));
+    }
+  }
 }
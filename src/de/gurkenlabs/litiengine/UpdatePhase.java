@@ -0,0 +1,56 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * The enum UpdatePhase defines the phases of a tick in which the attached
+ * {@link IUpdateable} instances are updated. The phases are processed in the
+ * order of their declaration, which makes the sequence of updates within a
+ * tick deterministic, e.g. an entity is always moved after its AI decided
+ * where to go and it is always animated after it was moved.
+ *
+ * @see UpdateLoop#attach(IUpdateable, UpdatePhase)
+ * @see UpdateLoop#setParallel(UpdatePhase, boolean)
+ */
+public enum UpdatePhase {
+  /**
+   * Processes user input, e.g. keyboard or gamepad controllers.
+   */
+  INPUT,
+
+  /**
+   * Processes the artificial intelligence, e.g. behavior or state controllers.
+   */
+  AI,
+
+  /**
+   * Processes all general game logic that doesn't belong to any specific phase.
+   * This is the phase of an {@link IUpdateable} unless it specifies otherwise.
+   */
+  DEFAULT,
+
+  /**
+   * Processes the movement of entities, e.g. movement controllers or path
+   * navigation.
+   */
+  MOVEMENT,
+
+  /**
+   * Processes the physics, e.g. collision detection and trigger overlaps.
+   */
+  PHYSICS,
+
+  /**
+   * Processes the animations of entities.
+   */
+  ANIMATION,
+
+  /**
+   * Processes particle emitters.
+   */
+  EMITTERS,
+
+  /**
+   * Extracts the state that is required for rendering, after all other phases
+   * were processed.
+   */
+  EXTRACT;
+}
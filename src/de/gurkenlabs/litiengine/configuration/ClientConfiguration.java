@@ -20,6 +20,12 @@ public class ClientConfiguration extends ConfigurationGroup {
 
   private boolean exitOnError;
 
+  private boolean instrumentation;
+
+  private String metricsDumpFile;
+
+  private int metricsDumpInterval;
+
   /**
    * Instantiates a new client configuration.
    */
@@ -29,6 +35,9 @@ public class ClientConfiguration extends ConfigurationGroup {
     this.setMaxFps(60);
     this.setShowGameMetrics(false);
     this.setExitOnError(false);
+    this.setInstrumentation(false);
+    this.setMetricsDumpFile("");
+    this.setMetricsDumpInterval(10000);
 
     this.setLanguage(Locale.getDefault().getLanguage());
     this.setCountry(Locale.getDefault().getCountry());
@@ -119,4 +128,50 @@ public class ClientConfiguration extends ConfigurationGroup {
   public boolean exitOnError() {
     return this.exitOnError;
   }
+
+  /**
+   * Determines whether the metric timers of the engine record their durations.
+   *
+   * @return true if the instrumentation is enabled; otherwise false
+   * 
+   * @see de.gurkenlabs.litiengine.GameMetrics#setInstrumentationEnabled(boolean)
+   */
+  public boolean instrumentation() {
+    return this.instrumentation;
+  }
+
+  /**
+   * Gets the file to which the metric timers are periodically dumped. This is
+   * intended for headless runs.
+   *
+   * @return the dump file or an empty string if the metrics are not dumped
+   */
+  public String getMetricsDumpFile() {
+    return this.metricsDumpFile;
+  }
+
+  /**
+   * Gets the interval in which the metric timers are dumped.
+   *
+   * @return the interval in ms
+   */
+  public int getMetricsDumpInterval() {
+    return this.metricsDumpInterval;
+  }
+
+  public void setInstrumentation(boolean instrumentation) {
+    this.instrumentation = instrumentation;
+  }
+
+  public void setMetricsDumpFile(String metricsDumpFile) {
+    this.metricsDumpFile = metricsDumpFile;
+  }
+
+  public void setMetricsDumpInterval(int metricsDumpInterval) {
+    if (metricsDumpInterval < 1) {
+      return;
+    }
+
+    this.metricsDumpInterval = metricsDumpInterval;
+  }
 }
\ No newline at end of file
@@ -26,6 +26,8 @@ public class GraphicConfiguration extends ConfigurationGroup {
 
   private boolean colorInterpolation;
 
+  private boolean movementInterpolation;
+
   /**
    * Instantiates a new graphic configuration.
    */
@@ -33,13 +35,17 @@ public class GraphicConfiguration extends ConfigurationGroup {
     this.graphicQuality = Quality.LOW;
     this.fullscreen = false;
     this.renderDynamicShadows = false;
-    Dimension d = Toolkit.getDefaultToolkit().getScreenSize();
-    this.resolutionWidth = d.width;
-    this.resolutionHeight = d.height - 100;
+    if (!GraphicsEnvironment.isHeadless()) {
+      Dimension d = Toolkit.getDefaultToolkit().getScreenSize();
+      this.resolutionWidth = d.width;
+      this.resolutionHeight = d.height - 100;
+    }
+
     this.setEnableResolutionScale(true);
     this.setReduceFramesWhenNotFocused(true);
     this.setAntiAliasing(false);
     this.setColorInterpolation(false);
+    this.setMovementInterpolation(true);
   }
 
   /**
@@ -96,6 +102,19 @@ public class GraphicConfiguration extends ConfigurationGroup {
     return this.colorInterpolation;
   }
 
+  /**
+   * Determines whether entities are rendered at a location that is interpolated between their locations of the two
+   * most recent ticks. This results in smooth movement if more frames are rendered than ticks are processed at the cost
+   * of displaying the entities one tick behind.
+   * 
+   * @return True if the movement of entities is interpolated; otherwise false.
+   * 
+   * @see de.gurkenlabs.litiengine.entities.IEntity#getRenderLocation()
+   */
+  public boolean movementInterpolation() {
+    return this.movementInterpolation;
+  }
+
   /**
    * Sets the fullscreen.
    *
@@ -155,4 +174,8 @@ public class GraphicConfiguration extends ConfigurationGroup {
   public void setColorInterpolation(boolean colorInterpolation) {
     this.colorInterpolation = colorInterpolation;
   }
+
+  public void setMovementInterpolation(boolean movementInterpolation) {
+    this.movementInterpolation = movementInterpolation;
+  }
 }
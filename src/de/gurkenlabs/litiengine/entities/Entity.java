@@ -12,6 +12,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IGameLoop;
 import de.gurkenlabs.litiengine.annotation.Action;
 import de.gurkenlabs.litiengine.annotation.EntityInfo;
 import de.gurkenlabs.litiengine.annotation.Tag;
@@ -56,6 +57,10 @@ public abstract class Entity implements IEntity {
 
   private Point2D mapLocation;
 
+  // the location at the end of the previous tick and the tick at which the entity was moved most recently
+  private Point2D previousLocation;
+  private long locationTick = -1;
+
   private String name;
 
   private RenderType renderType;
@@ -219,6 +224,21 @@ public abstract class Entity implements IEntity {
     return this.mapLocation;
   }
 
+  @Override
+  public Point2D getRenderLocation() {
+    final IGameLoop loop = Game.loop();
+    final Point2D previous = this.previousLocation;
+    final Point2D current = this.getLocation();
+
+    // if the entity wasn't moved during the most recent tick, its location didn't change between the two ticks
+    if (previous == null || loop == null || this.locationTick != loop.getTicks() || !Game.config().graphics().movementInterpolation()) {
+      return current;
+    }
+
+    final double alpha = loop.getInterpolationAlpha();
+    return new Point2D.Double(previous.getX() + (current.getX() - previous.getX()) * alpha, previous.getY() + (current.getY() - previous.getY()) * alpha);
+  }
+
   @Override
   public int getMapId() {
     return this.mapId;
@@ -294,6 +314,12 @@ public abstract class Entity implements IEntity {
    */
   @Override
   public void setLocation(final Point2D location) {
+    final IGameLoop loop = Game.loop();
+    if (loop != null && loop.getTicks() != this.locationTick) {
+      this.previousLocation = this.mapLocation;
+      this.locationTick = loop.getTicks();
+    }
+
     this.mapLocation = location;
     this.boundingBox = null;
     this.fireLocationChangedEvent();
@@ -310,7 +336,14 @@ public abstract class Entity implements IEntity {
 
   @Override
   public void setName(final String name) {
+    final String previousName = this.name;
     this.name = name;
+
+    if (previousName == null ? name != null : !previousName.equals(name)) {
+      for (EntityListener listener : this.listeners) {
+        listener.nameChanged(this, previousName);
+      }
+    }
   }
 
   @Override
@@ -6,18 +6,22 @@ public class EntityYComparator implements Comparator<IEntity> {
 
   @Override
   public int compare(final IEntity m1, final IEntity m2) {
-    ICollisionEntity coll1 = null;
-    ICollisionEntity coll2 = null;
-    if (m1 instanceof ICollisionEntity) {
-      coll1 = (ICollisionEntity) m1;
-    }
+    return Double.compare(getMaxY(m1), getMaxY(m2));
+  }
 
-    if (m2 instanceof ICollisionEntity) {
-      coll2 = (ICollisionEntity) m2;
+  /**
+   * Gets the max Y coordinate by which the specified entity is ordered. This is the bottom of the collision box for
+   * collision entities and the bottom of the bounding box for all other entities.
+   * 
+   * @param entity
+   *          The entity.
+   * @return The max Y coordinate of the entity.
+   */
+  public static double getMaxY(final IEntity entity) {
+    if (entity instanceof ICollisionEntity) {
+      return ((ICollisionEntity) entity).getCollisionBox().getMaxY();
     }
 
-    final double m1MaxY = coll1 != null ? coll1.getCollisionBox().getMaxY() : m1.getBoundingBox().getMaxY();
-    final double m2MaxY = coll2 != null ? coll2.getCollisionBox().getMaxY() : m2.getBoundingBox().getMaxY();
-    return Double.valueOf(m1MaxY).compareTo(m2MaxY);
+    return entity.getBoundingBox().getMaxY();
   }
 }
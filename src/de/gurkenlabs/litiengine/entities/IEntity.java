@@ -98,6 +98,18 @@ public interface IEntity {
 
   public Point2D getLocation();
 
+  /**
+   * Gets the location at which this entity is rendered. If the movement interpolation is enabled, this is interpolated
+   * between the location of the entity at the previous tick and its current location by the interpolation alpha of the
+   * game loop.
+   * 
+   * @return The location at which this entity is rendered.
+   * 
+   * @see de.gurkenlabs.litiengine.IGameLoop#getInterpolationAlpha()
+   * @see de.gurkenlabs.litiengine.configuration.GraphicConfiguration#movementInterpolation()
+   */
+  public Point2D getRenderLocation();
+
   public int getMapId();
 
   /***
@@ -15,6 +15,7 @@ import java.util.function.Predicate;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.annotation.EntityInfo;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectProperty;
 import de.gurkenlabs.litiengine.environment.tilemap.TmxProperty;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
@@ -305,7 +306,8 @@ public class LightSource extends Entity implements IRenderable {
    *          the center
    */
   private void renderShadows(final Graphics2D g) {
-    if (!Game.world().environment().getCombatEntities().stream().anyMatch(isInRange(this.getCenter(), SHADOW_GRADIENT_SIZE))) {
+    final Environment environment = this.getEnvironment();
+    if (environment == null || Game.world().camera() == null || !environment.getCombatEntities().stream().anyMatch(isInRange(this.getCenter(), SHADOW_GRADIENT_SIZE))) {
       return;
     }
 
@@ -317,7 +319,7 @@ public class LightSource extends Entity implements IRenderable {
     g.setPaint(gradientPaint);
 
     // for each entity
-    for (final ICombatEntity mob : Game.world().environment().getCombatEntities()) {
+    for (final ICombatEntity mob : environment.getCombatEntities()) {
       if (mob.isDead() || !isInRange(this.getCenter(), SHADOW_GRADIENT_SIZE).test(mob)) {
         continue;
       }
@@ -341,12 +343,13 @@ public class LightSource extends Entity implements IRenderable {
       return;
     }
 
-    if (Game.world().environment() != null && Game.world().environment().getAmbientLight() != null) {
-      Game.world().environment().getAmbientLight().updateSection(this.getBoundingBox());
+    final Environment environment = this.getEnvironment();
+    if (environment != null && environment.getAmbientLight() != null) {
+      environment.getAmbientLight().updateSection(this.getBoundingBox());
     }
 
-    if (Game.world().environment() != null && Game.world().environment().getStaticShadowLayer() != null) {
-      Game.world().environment().getStaticShadowLayer().updateSection(this.getBoundingBox());
+    if (environment != null && environment.getStaticShadowLayer() != null) {
+      environment.getStaticShadowLayer().updateSection(this.getBoundingBox());
     }
   }
 
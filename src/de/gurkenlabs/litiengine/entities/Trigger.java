@@ -2,7 +2,10 @@ package de.gurkenlabs.litiengine.entities;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,7 +29,9 @@ public class Trigger extends CollisionEntity implements IUpdateable {
   public static final String INTERACT_MESSAGE = "interact";
   private static final Logger log = Logger.getLogger(Trigger.class.getName());
 
-  private List<IEntity> activated;
+  private Set<IEntity> activated;
+  private Set<IEntity> overlaps;
+  private boolean overlapsManaged;
   private final Collection<TriggerActivatedListener> activatedListeners;
   private final Collection<TriggerDeactivatedListener> deactivatedListeners;
   private final Collection<TriggerActivatingCondition> activatingConditions;
@@ -67,7 +72,8 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     this.deactivatedListeners = new CopyOnWriteArrayList<>();
     this.activators = new CopyOnWriteArrayList<>();
     this.targets = new CopyOnWriteArrayList<>();
-    this.activated = new CopyOnWriteArrayList<>();
+    this.activated = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.overlaps = Collections.newSetFromMap(new IdentityHashMap<>());
     this.message = message;
     this.isOneTimeTrigger = isOneTime;
     this.activationType = activation;
@@ -220,12 +226,48 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 
   @Override
   public void update() {
-    if (Game.world().environment() == null || this.activationType != TriggerActivation.COLLISION) {
+    // the overlaps of triggers within an environment are determined once per tick for all triggers by the TriggerOverlapStage
+    if (this.overlapsManaged || Game.world().environment() == null || this.activationType != TriggerActivation.COLLISION) {
       return;
     }
 
-    final List<IEntity> collEntities = this.getEntitiesInCollisionBox();
-    for (final IEntity ent : collEntities) {
+    for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
+      if (this.overlaps(coll)) {
+        this.addOverlap(coll);
+      }
+    }
+
+    this.updateActivations();
+  }
+
+  /**
+   * Checks whether the specified entity is an allowed activator of this trigger
+   * and currently overlaps with its collision box.
+   * 
+   * @param entity
+   *          The entity.
+   * @return True if the entity overlaps with this trigger; otherwise false.
+   */
+  boolean overlaps(final ICollisionEntity entity) {
+    return entity != this && (this.activators.isEmpty() || this.activators.contains(entity.getMapId())) && entity.getCollisionBox().intersects(this.getCollisionBox());
+  }
+
+  void addOverlap(final IEntity entity) {
+    this.overlaps.add(entity);
+  }
+
+  void setOverlapsManaged(final boolean managed) {
+    this.overlapsManaged = managed;
+  }
+
+  /**
+   * Activates this trigger for all entities that started to overlap with it
+   * since the last tick and sends deactivation events for all entities that
+   * stopped to overlap with it. The overlaps that were added for the current
+   * tick are consumed by this method.
+   */
+  void updateActivations() {
+    for (final IEntity ent : this.overlaps) {
       if (this.activated.contains(ent)) {
         continue;
       }
@@ -235,7 +277,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 
     // send deactivation event
     for (final IEntity ent : this.activated) {
-      if (!collEntities.contains(ent)) {
+      if (!this.overlaps.contains(ent)) {
         List<Integer> triggerTargets = this.getTargets();
         if (triggerTargets.isEmpty()) {
           triggerTargets = new ArrayList<>();
@@ -249,7 +291,11 @@ public class Trigger extends CollisionEntity implements IUpdateable {
       }
     }
 
-    this.activated = collEntities;
+    // swap the sets to avoid allocations on every tick
+    final Set<IEntity> previous = this.activated;
+    this.activated = this.overlaps;
+    this.overlaps = previous;
+    this.overlaps.clear();
   }
 
   private boolean activate(final IEntity activator, final int tar) {
@@ -309,21 +355,6 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     return true;
   }
 
-  private List<IEntity> getEntitiesInCollisionBox() {
-    final List<IEntity> collEntities = new CopyOnWriteArrayList<>();
-    for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
-      if (coll == this || !this.activators.isEmpty() && !this.activators.contains(coll.getMapId())) {
-        continue;
-      }
-
-      if (coll.getCollisionBox().intersects(this.getCollisionBox())) {
-        collEntities.add(coll);
-      }
-    }
-
-    return collEntities;
-  }
-
   private List<Integer> getTargets(int optionalTarget) {
     // always take local targets if there are any
     List<Integer> localTargets = this.getTargets();
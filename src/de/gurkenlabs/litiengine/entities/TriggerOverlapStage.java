@@ -0,0 +1,113 @@
+package de.gurkenlabs.litiengine.entities;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
+import de.gurkenlabs.litiengine.entities.Trigger.TriggerActivation;
+import de.gurkenlabs.litiengine.util.geom.SpatialGrid;
+
+/**
+ * The Class TriggerOverlapStage determines the overlaps between all collision
+ * activated triggers and the collision entities of the physics engine once per
+ * tick. Instead of testing every trigger against every collision entity, the
+ * triggers are kept in a broad phase grid which is queried with the collision
+ * box of each entity.
+ *
+ * <p>
+ * The registered triggers then dispatch their activation and deactivation
+ * events based on the difference to the overlaps of the previous tick.
+ * </p>
+ *
+ * @see Trigger#addActivatedListener(TriggerActivatedListener)
+ * @see Trigger#addDeactivatedListener(TriggerDeactivatedListener)
+ */
+public class TriggerOverlapStage implements IUpdateable {
+  private final Collection<Trigger> triggers = new CopyOnWriteArrayList<>();
+  private final SpatialGrid<Trigger> triggerIndex = new SpatialGrid<>();
+  private final List<Trigger> candidates = new ArrayList<>();
+
+  /**
+   * Adds the specified trigger to this stage. Triggers that are not activated
+   * by collision are ignored.
+   *
+   * @param trigger
+   *          the trigger
+   */
+  public void add(final Trigger trigger) {
+    if (trigger == null || trigger.getActivationType() != TriggerActivation.COLLISION || this.triggers.contains(trigger)) {
+      return;
+    }
+
+    this.triggers.add(trigger);
+    this.triggerIndex.add(trigger, trigger.getCollisionBox());
+    trigger.setOverlapsManaged(true);
+  }
+
+  /**
+   * Removes the specified trigger from this stage. Afterwards, the trigger
+   * determines its overlaps by itself again.
+   *
+   * @param trigger
+   *          the trigger
+   */
+  public void remove(final Trigger trigger) {
+    if (trigger == null || !this.triggers.remove(trigger)) {
+      return;
+    }
+
+    this.triggerIndex.remove(trigger);
+    trigger.setOverlapsManaged(false);
+  }
+
+  public void clear() {
+    for (final Trigger trigger : this.triggers) {
+      trigger.setOverlapsManaged(false);
+    }
+
+    this.triggers.clear();
+    this.triggerIndex.clear();
+  }
+
+  public Collection<Trigger> getTriggers() {
+    return Collections.unmodifiableCollection(this.triggers);
+  }
+
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.PHYSICS;
+  }
+
+  @Override
+  public void update() {
+    if (this.triggers.isEmpty()) {
+      return;
+    }
+
+    // the collision box of a trigger is updated after its transform events are fired, so the index is refreshed here;
+    // this is cheap because the grid only moves a trigger if it occupies different cells
+    for (final Trigger trigger : this.triggers) {
+      this.triggerIndex.update(trigger, trigger.getCollisionBox());
+    }
+
+    for (final ICollisionEntity entity : Game.physics().getCollisionEntities()) {
+      final Rectangle2D collisionBox = entity.getCollisionBox();
+      this.triggerIndex.query(collisionBox, trigger -> trigger.overlaps(entity), this.candidates);
+      for (final Trigger trigger : this.candidates) {
+        trigger.addOverlap(entity);
+      }
+
+      this.candidates.clear();
+    }
+
+    for (final Trigger trigger : this.triggers) {
+      trigger.updateActivations();
+    }
+  }
+}
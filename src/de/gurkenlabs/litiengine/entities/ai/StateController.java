@@ -15,4 +15,14 @@ public class StateController<T extends IEntity> extends StateMachine implements
   public T getEntity() {
     return this.entity;
   }
+
+  /**
+   * A state controller only changes the state of its own entity and can
+   * therefore be updated concurrently with the controllers of other entities.
+   * Subclasses whose states access shared data need to override this.
+   */
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
 }
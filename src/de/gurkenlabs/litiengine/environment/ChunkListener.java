@@ -0,0 +1,40 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.util.EventListener;
+
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileChunk;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
+
+/**
+ * This listener provides callbacks for when the <code>ChunkStreamer</code> of an infinite map loaded or unloaded a
+ * chunk of tiles, e.g. to update an <code>AStarGrid</code> for the area of the chunk.
+ *
+ * <p>
+ * The callbacks are called on the game loop.
+ * </p>
+ *
+ * @see ChunkStreamer#addListener(ChunkListener)
+ * @see TileLayer#getChunkBounds(TileChunk)
+ */
+public interface ChunkListener extends EventListener {
+
+  /**
+   * This method is called after the tiles of a chunk were loaded.
+   *
+   * @param layer
+   *          The tile layer that contains the chunk.
+   * @param chunk
+   *          The chunk that was loaded.
+   */
+  public default void chunkLoaded(TileLayer layer, TileChunk chunk) {}
+
+  /**
+   * This method is called after the tiles of a chunk were unloaded.
+   *
+   * @param layer
+   *          The tile layer that contains the chunk.
+   * @param chunk
+   *          The chunk that was unloaded.
+   */
+  public default void chunkUnloaded(TileLayer layer, TileChunk chunk) {}
+}
@@ -0,0 +1,186 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.environment.tilemap.IGroupLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.ILayerList;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.MapUtilities;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.InvalidTileLayerException;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileChunk;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
+import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.resources.ResourceLoader;
+import de.gurkenlabs.litiengine.resources.Resources;
+
+/**
+ * The <code>ChunkStreamer</code> pages the chunks of an infinite map in and out around the viewport of the camera.
+ * <p>
+ * Chunks that come within the load distance of the viewport are loaded on the threads of the <code>ResourceLoader</code>
+ * while chunks beyond the unload distance are released. Until a chunk is loaded, its tiles are <code>null</code> and
+ * thus not rendered.
+ * </p>
+ *
+ * @see Environment#getChunkStreamer()
+ * @see TileLayer#setChunkStore(de.gurkenlabs.litiengine.environment.tilemap.xml.ChunkStore)
+ */
+public class ChunkStreamer implements IUpdateable {
+  private static final Logger log = Logger.getLogger(ChunkStreamer.class.getName());
+
+  public static final int DEFAULT_LOAD_DISTANCE = 1;
+  public static final int DEFAULT_UNLOAD_DISTANCE = 2;
+
+  private final IMap map;
+  private final Collection<ChunkListener> listeners = new CopyOnWriteArrayList<>();
+  private final Set<TileChunk> loading = ConcurrentHashMap.newKeySet();
+  private final Queue<Runnable> loadedEvents = new ConcurrentLinkedQueue<>();
+
+  private int loadDistance = DEFAULT_LOAD_DISTANCE;
+  private int unloadDistance = DEFAULT_UNLOAD_DISTANCE;
+
+  /**
+   * Instantiates a new chunk streamer for the specified map.
+   *
+   * @param map
+   *          The infinite map whose chunks are streamed.
+   */
+  public ChunkStreamer(final IMap map) {
+    this.map = map;
+  }
+
+  public void addListener(ChunkListener listener) {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(ChunkListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  public IMap getMap() {
+    return this.map;
+  }
+
+  public int getLoadDistance() {
+    return this.loadDistance;
+  }
+
+  public int getUnloadDistance() {
+    return this.unloadDistance;
+  }
+
+  /**
+   * Sets the distances around the viewport, measured in chunks, in which chunks are loaded or beyond which they are
+   * unloaded.
+   *
+   * @param loadDistance
+   *          The number of chunks around the viewport that are loaded in advance.
+   * @param unloadDistance
+   *          The number of chunks around the viewport that are kept in memory; must not be less than the load distance to
+   *          prevent chunks from being loaded and unloaded repeatedly.
+   */
+  public void setDistances(final int loadDistance, final int unloadDistance) {
+    if (loadDistance < 0 || unloadDistance < loadDistance) {
+      throw new IllegalArgumentException("The unload distance must not be less than the load distance, which must not be negative.");
+    }
+
+    this.loadDistance = loadDistance;
+    this.unloadDistance = unloadDistance;
+  }
+
+  @Override
+  public void update() {
+    final ICamera camera = Game.world().camera();
+    if (camera == null || this.map == null || !this.map.isInfinite()) {
+      this.fireLoadedEvents();
+      return;
+    }
+
+    this.update(MapUtilities.getEnclosingTiles(this.map, camera.getViewport()));
+  }
+
+  /**
+   * Loads all chunks around the specified tiles and unloads the chunks that are far from them. Chunks are loaded
+   * asynchronously; the listeners are notified about loaded chunks by the next update.
+   *
+   * @param visibleTiles
+   *          The tiles that are currently visible.
+   */
+  public void update(final Rectangle visibleTiles) {
+    this.fireLoadedEvents();
+    for (final TileLayer layer : getTileLayers(this.map)) {
+      for (final TileChunk chunk : layer.getChunks()) {
+        final Rectangle bounds = layer.getChunkBounds(chunk);
+        if (grow(visibleTiles, bounds, this.loadDistance).intersects(bounds)) {
+          this.load(layer, chunk);
+        } else if (chunk.isLoaded() && !this.loading.contains(chunk) && !grow(visibleTiles, bounds, this.unloadDistance).intersects(bounds)) {
+          layer.unloadChunk(chunk);
+          if (!chunk.isLoaded()) {
+            this.listeners.forEach(l -> l.chunkUnloaded(layer, chunk));
+          }
+        }
+      }
+    }
+  }
+
+  private void load(final TileLayer layer, final TileChunk chunk) {
+    if (chunk.isLoaded() || !this.loading.add(chunk)) {
+      return;
+    }
+
+    Resources.loader().submit(null, layer.getName(), ResourceLoader.PRIORITY_HIGH, () -> {
+      try {
+        layer.loadChunk(chunk);
+      } catch (InvalidTileLayerException e) {
+        log.log(Level.SEVERE, e.getMessage(), e);
+      }
+
+      return chunk;
+    }).whenComplete((c, e) -> {
+      this.loading.remove(chunk);
+      if (chunk.isLoaded()) {
+        this.loadedEvents.add(() -> this.listeners.forEach(l -> l.chunkLoaded(layer, chunk)));
+      }
+    });
+  }
+
+  private void fireLoadedEvents() {
+    Runnable event;
+    while ((event = this.loadedEvents.poll()) != null) {
+      event.run();
+    }
+  }
+
+  private static Rectangle grow(final Rectangle tiles, final Rectangle chunk, final int distance) {
+    final Rectangle area = new Rectangle(tiles);
+    area.grow(chunk.width * distance, chunk.height * distance);
+    return area;
+  }
+
+  private static List<TileLayer> getTileLayers(final ILayerList layers) {
+    final List<TileLayer> tileLayers = new ArrayList<>();
+    for (final ITileLayer layer : layers.getTileLayers()) {
+      if (layer instanceof TileLayer) {
+        tileLayers.add((TileLayer) layer);
+      }
+    }
+
+    for (final IGroupLayer group : layers.getGroupLayers()) {
+      tileLayers.addAll(getTileLayers(group));
+    }
+
+    return tileLayers;
+  }
+}
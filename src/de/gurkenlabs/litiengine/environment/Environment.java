@@ -10,24 +10,29 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.GameMetrics;
+import de.gurkenlabs.litiengine.IGameLoop;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.annotation.EntityInfo;
 import de.gurkenlabs.litiengine.configuration.Quality;
 import de.gurkenlabs.litiengine.entities.CollisionBox;
 import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.EntityListener;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -38,6 +43,8 @@ import de.gurkenlabs.litiengine.entities.Prop;
 import de.gurkenlabs.litiengine.entities.Spawnpoint;
 import de.gurkenlabs.litiengine.entities.StaticShadow;
 import de.gurkenlabs.litiengine.entities.Trigger;
+import de.gurkenlabs.litiengine.entities.TriggerOverlapStage;
+import de.gurkenlabs.litiengine.environment.tilemap.ILayer;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.environment.tilemap.IMapObject;
 import de.gurkenlabs.litiengine.environment.tilemap.IMapObjectLayer;
@@ -47,9 +54,13 @@ import de.gurkenlabs.litiengine.environment.tilemap.MapUtilities;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
 import de.gurkenlabs.litiengine.graphics.AmbientLight;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
+import de.gurkenlabs.litiengine.graphics.EntityRenderOrder;
+import de.gurkenlabs.litiengine.graphics.ICamera;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderComponent;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
+import de.gurkenlabs.litiengine.graphics.RenderSnapshot;
+import de.gurkenlabs.litiengine.graphics.RenderStateBuffer;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.StaticShadowLayer;
 import de.gurkenlabs.litiengine.graphics.StaticShadowType;
@@ -59,26 +70,56 @@ import de.gurkenlabs.litiengine.physics.IMovementController;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.SpatialGrid;
 
 public final class Environment implements IRenderable {
   private static final Map<String, IMapObjectLoader> mapObjectLoaders = new ConcurrentHashMap<>();
   private static final String GRAVITY_IDENTIFIER = "GRAVITY";
+  private static final Map<Class<?>, Collection<Class<?>>> typeHierarchies = new ConcurrentHashMap<>();
+  private static final String[] renderTimers = Arrays.stream(RenderType.values()).map(t -> "render." + t.name().toLowerCase()).toArray(String[]::new);
 
   private final Map<Integer, ICombatEntity> combatEntities = new ConcurrentHashMap<>();
   private final Map<Integer, IMobileEntity> mobileEntities = new ConcurrentHashMap<>();
   private final Map<Integer, GravityForce> gravityForces = new ConcurrentHashMap<>();
   private final Map<RenderType, Map<Integer, IEntity>> entities = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
   private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
+  private final Map<String, Collection<IEntity>> entitiesByName = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Collection<IEntity>> entitiesByType = new ConcurrentHashMap<>();
+  private final EntityListener nameIndexUpdater = new EntityListener() {
+    @Override
+    public void nameChanged(IEntity entity, String previousName) {
+      removeFromNameIndex(entity, previousName);
+      addToNameIndex(entity);
+    }
+  };
+
+  private final SpatialGrid<IEntity> entityIndex = new SpatialGrid<>();
+  private final SpatialGrid<ICombatEntity> combatEntityIndex = new SpatialGrid<>();
+  private final EntityTransformListener spatialIndexUpdater = new EntityTransformListener() {
+    @Override
+    public void locationChanged(IEntity entity) {
+      updateSpatialIndex(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      updateSpatialIndex(entity);
+    }
+  };
 
   private final Map<RenderType, Collection<EnvironmentRenderListener>> renderListeners = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
   private final List<EnvironmentListener> listeners = new CopyOnWriteArrayList<>();
   private final List<EnvironmentEntityListener> entityListeners = new CopyOnWriteArrayList<>();
 
   private final Map<RenderType, Collection<IRenderable>> renderables = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
+  private final Map<RenderType, EntityRenderOrder> renderOrders = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
   private final Collection<CollisionBox> colliders = ConcurrentHashMap.newKeySet();
   private final Collection<LightSource> lightSources = ConcurrentHashMap.newKeySet();
   private final Collection<StaticShadow> staticShadows = ConcurrentHashMap.newKeySet();
   private final Collection<Trigger> triggers = ConcurrentHashMap.newKeySet();
+  private final TriggerOverlapStage triggerOverlaps = new TriggerOverlapStage();
+  private final RenderStateBuffer renderState = new RenderStateBuffer();
+  private final IUpdateable renderStateExtraction = this::extractRenderState;
   private final Collection<Prop> props = ConcurrentHashMap.newKeySet();
   private final Collection<Emitter> emitters = ConcurrentHashMap.newKeySet();
   private final Collection<Creature> creatures = ConcurrentHashMap.newKeySet();
@@ -87,6 +128,8 @@ public final class Environment implements IRenderable {
 
   private AmbientLight ambientLight;
   private StaticShadowLayer staticShadowLayer;
+  private ChunkStreamer chunkStreamer;
+  private IGameLoop loop;
   private boolean loaded;
   private boolean initialized;
   private IMap map;
@@ -112,6 +155,9 @@ public final class Environment implements IRenderable {
     if (this.getMap() != null) {
       Game.physics().setBounds(this.getMap().getBounds());
       this.setGravity(this.getMap().getIntValue(MapProperty.GRAVITY));
+      if (this.getMap().isInfinite()) {
+        this.chunkStreamer = new ChunkStreamer(this.getMap());
+      }
     }
   }
 
@@ -124,6 +170,7 @@ public final class Environment implements IRenderable {
       this.entities.put(renderType, new ConcurrentHashMap<>());
       this.renderListeners.put(renderType, ConcurrentHashMap.newKeySet());
       this.renderables.put(renderType, ConcurrentHashMap.newKeySet());
+      this.renderOrders.put(renderType, new EntityRenderOrder(this.entityIndex));
     }
   }
 
@@ -178,6 +225,7 @@ public final class Environment implements IRenderable {
 
     if (entity instanceof ICombatEntity) {
       this.combatEntities.put(entity.getMapId(), (ICombatEntity) entity);
+      this.combatEntityIndex.add((ICombatEntity) entity, getHitBoxBounds((ICombatEntity) entity));
     }
 
     if (entity instanceof IMobileEntity) {
@@ -202,6 +250,7 @@ public final class Environment implements IRenderable {
 
     if (entity instanceof Trigger) {
       this.triggers.add((Trigger) entity);
+      this.triggerOverlaps.add((Trigger) entity);
     }
 
     if (entity instanceof Spawnpoint) {
@@ -233,7 +282,23 @@ public final class Environment implements IRenderable {
       this.load(entity);
     }
 
-    this.entities.get(entity.getRenderType()).put(entity.getMapId(), entity);
+    final IEntity replaced = this.entities.get(entity.getRenderType()).put(entity.getMapId(), entity);
+    if (replaced != null && replaced != entity) {
+      this.renderOrders.get(replaced.getRenderType()).remove(replaced);
+      this.removeFromNameIndex(replaced, replaced.getName());
+      this.removeFromTypeIndex(replaced);
+      this.entityIndex.remove(replaced);
+      replaced.removeTransformListener(this.spatialIndexUpdater);
+      replaced.removeListener(this.nameIndexUpdater);
+    }
+
+    this.entityIndex.add(entity, entity.getBoundingBox());
+    entity.addTransformListener(this.spatialIndexUpdater);
+    this.renderOrders.get(entity.getRenderType()).add(entity);
+
+    this.addToNameIndex(entity);
+    this.addToTypeIndex(entity);
+    entity.addListener(this.nameIndexUpdater);
 
     this.fireEntityEvent(l -> l.entityAdded(entity));
   }
@@ -293,6 +358,11 @@ public final class Environment implements IRenderable {
 
   public void clear() {
     Game.physics().clear();
+    for (final IEntity entity : this.getEntities()) {
+      entity.removeTransformListener(this.spatialIndexUpdater);
+      entity.removeListener(this.nameIndexUpdater);
+    }
+
     dispose(this.getEntities());
     dispose(this.getTriggers());
     this.getCombatEntities().clear();
@@ -302,12 +372,23 @@ public final class Environment implements IRenderable {
     this.getSpawnPoints().clear();
     this.getAreas().clear();
     this.getTriggers().clear();
+    this.triggerOverlaps.clear();
     this.getEntitiesByTag().clear();
+    this.entityIndex.clear();
+    this.combatEntityIndex.clear();
+    this.entitiesByName.clear();
+    for (Collection<IEntity> type : this.entitiesByType.values()) {
+      type.clear();
+    }
 
     for (Map<Integer, IEntity> type : this.entities.values()) {
       type.clear();
     }
 
+    for (EntityRenderOrder renderOrder : this.renderOrders.values()) {
+      renderOrder.clear();
+    }
+
     this.initialized = false;
 
     this.fireEvent(l -> l.cleared(this));
@@ -338,7 +419,7 @@ public final class Environment implements IRenderable {
     // for rectangle we can just use the intersects method
     if (shape instanceof Rectangle2D) {
       final Rectangle2D rect = (Rectangle2D) shape;
-      for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
+      for (final ICombatEntity combatEntity : this.combatEntityIndex.query(rect, condition)) {
         if (combatEntity.getHitBox().intersects(rect)) {
           foundCombatEntities.add(combatEntity);
         }
@@ -349,7 +430,7 @@ public final class Environment implements IRenderable {
 
     // for other shapes, we check if the shape's bounds intersect the hitbox and
     // if so, we then check if the actual shape intersects the hitbox
-    for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
+    for (final ICombatEntity combatEntity : this.combatEntityIndex.query(shape.getBounds(), condition)) {
       if (combatEntity.getHitBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
         foundCombatEntities.add(combatEntity);
       }
@@ -365,7 +446,7 @@ public final class Environment implements IRenderable {
     }
     if (shape instanceof Rectangle2D) {
       final Rectangle2D rect = (Rectangle2D) shape;
-      for (final IEntity entity : this.getEntities()) {
+      for (final IEntity entity : this.entityIndex.query(rect)) {
         if (entity.getBoundingBox().intersects(rect)) {
           foundEntities.add(entity);
         }
@@ -375,7 +456,7 @@ public final class Environment implements IRenderable {
     // for other shapes, we check if the shape's bounds intersect the hitbox
     // and
     // if so, we then check if the actual shape intersects the hitbox
-    for (final IEntity entity : this.getEntities()) {
+    for (final IEntity entity : this.entityIndex.query(shape.getBounds())) {
       if (entity.getBoundingBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(entity.getBoundingBox(), shape)) {
         foundEntities.add(entity);
       }
@@ -384,6 +465,39 @@ public final class Environment implements IRenderable {
     return foundEntities;
   }
 
+  /**
+   * Searches for the entities whose centers are closest to the specified
+   * point.
+   * 
+   * @param point
+   *          The point from which to measure the distance.
+   * @param count
+   *          The maximum number of entities to find.
+   * @return A list of up to the specified number of entities, ordered by their
+   *         distance to the point.
+   */
+  public List<IEntity> findNearestEntities(final Point2D point, final int count) {
+    return this.entityIndex.nearest(point, count, entity -> true);
+  }
+
+  /**
+   * Searches for the combat entities whose hitBox centers are closest to the
+   * specified point.
+   * 
+   * @param point
+   *          The point from which to measure the distance.
+   * @param count
+   *          The maximum number of combat entities to find.
+   * @param condition
+   *          An additional condition that allows to specify a condition which
+   *          determines if a {@link ICombatEntity} should be considered.
+   * @return A list of up to the specified number of combat entities, ordered by
+   *         their distance to the point.
+   */
+  public List<ICombatEntity> findNearestCombatEntities(final Point2D point, final int count, final Predicate<ICombatEntity> condition) {
+    return this.combatEntityIndex.nearest(point, count, condition);
+  }
+
   public IEntity get(final int mapId) {
     for (Map<Integer, IEntity> type : this.entities.values()) {
       IEntity entity = type.get(mapId);
@@ -430,28 +544,26 @@ public final class Environment implements IRenderable {
   }
 
   public IEntity get(final String name) {
+    return this.get(IEntity.class, name);
+  }
+
+  public <T extends IEntity> T get(Class<T> clss, String name) {
     if (name == null || name.isEmpty()) {
       return null;
     }
 
-    for (Map<Integer, IEntity> type : this.entities.values()) {
-      for (final IEntity entity : type.values()) {
-        if (entity.getName() != null && entity.getName().equals(name)) {
-          return entity;
-        }
-      }
+    final Collection<IEntity> named = this.entitiesByName.get(name);
+    if (named == null) {
+      return null;
     }
 
-    return null;
-  }
-
-  public <T extends IEntity> T get(Class<T> clss, String name) {
-    IEntity ent = this.get(name);
-    if (ent == null || !clss.isInstance(ent)) {
-      return null;
+    for (final IEntity entity : named) {
+      if (clss.isInstance(entity)) {
+        return clss.cast(entity);
+      }
     }
 
-    return clss.cast(ent);
+    return null;
   }
 
   public Collection<IEntity> getByTag(String... tags) {
@@ -466,11 +578,12 @@ public final class Environment implements IRenderable {
 
   public <T extends IEntity> Collection<T> getByTag(Class<? extends T> clss, String... tags) {
     Collection<T> foundEntities = new ArrayList<>();
+    Set<IEntity> distinctEntities = Collections.newSetFromMap(new IdentityHashMap<>());
     for (String rawTag : tags) {
       String tag = rawTag.toLowerCase();
 
       for (IEntity ent : this.getEntitiesByTag().getOrDefault(tag, Arrays.asList())) {
-        if (!foundEntities.contains(ent) && clss.isInstance(ent)) {
+        if (clss.isInstance(ent) && distinctEntities.add(ent)) {
           foundEntities.add(clss.cast(ent));
         }
       }
@@ -480,6 +593,15 @@ public final class Environment implements IRenderable {
     return foundEntities;
   }
 
+  /**
+   * Gets the streamer that loads the chunks of an infinite map around the camera while this environment is loaded.
+   * 
+   * @return The chunk streamer or null if the map of this environment isn't infinite.
+   */
+  public ChunkStreamer getChunkStreamer() {
+    return this.chunkStreamer;
+  }
+
   public AmbientLight getAmbientLight() {
     return this.ambientLight;
   }
@@ -505,11 +627,11 @@ public final class Environment implements IRenderable {
   }
 
   public Emitter getEmitter(int mapId) {
-    return getById(this.getEmitters(), mapId);
+    return this.get(Emitter.class, mapId);
   }
 
   public Emitter getEmitter(String name) {
-    return getByName(this.getEmitters(), name);
+    return this.get(Emitter.class, name);
   }
 
   public Collection<CollisionBox> getCollisionBoxes() {
@@ -517,11 +639,11 @@ public final class Environment implements IRenderable {
   }
 
   public CollisionBox getCollisionBox(int mapId) {
-    return getById(this.getCollisionBoxes(), mapId);
+    return this.get(CollisionBox.class, mapId);
   }
 
   public CollisionBox getCollisionBox(String name) {
-    return getByName(this.getCollisionBoxes(), name);
+    return this.get(CollisionBox.class, name);
   }
 
   public Collection<ICombatEntity> getCombatEntities() {
@@ -529,13 +651,18 @@ public final class Environment implements IRenderable {
   }
 
   public ICombatEntity getCombatEntity(final int mapId) {
-    return getById(this.getCombatEntities(), mapId);
+    return this.get(ICombatEntity.class, mapId);
   }
 
   public ICombatEntity getCombatEntity(String name) {
-    return getByName(this.getCombatEntities(), name);
+    return this.get(ICombatEntity.class, name);
   }
 
+  /**
+   * Gets all entities of this environment.
+   * 
+   * @return A new list with all entities of this environment, ordered by their render type.
+   */
   public Collection<IEntity> getEntities() {
     final ArrayList<IEntity> ent = new ArrayList<>();
     for (Map<Integer, IEntity> type : this.entities.values()) {
@@ -553,15 +680,18 @@ public final class Environment implements IRenderable {
     return this.entitiesByTag;
   }
 
+  /**
+   * Gets all entities of this environment that are instances of the specified type. This includes entities of all
+   * subclasses and implementations of the type.
+   * 
+   * @param cls
+   *          The type of the entities.
+   * @return An unmodifiable live view on the entities of the specified type.
+   */
+  @SuppressWarnings("unchecked")
   public <T> Collection<T> getByType(Class<? extends T> cls) {
-    Collection<T> foundEntities = new ArrayList<>();
-    for (IEntity ent : this.getEntities()) {
-      if (cls.isInstance(ent)) {
-        foundEntities.add(cls.cast(ent));
-      }
-    }
-
-    return foundEntities;
+    // the collection for the type is also created if there are no entities of the type yet, so the view stays up to date
+    return Collections.unmodifiableCollection((Collection<T>) this.entitiesByType.computeIfAbsent(cls, t -> ConcurrentHashMap.newKeySet()));
   }
 
   public Collection<LightSource> getLightSources() {
@@ -569,11 +699,11 @@ public final class Environment implements IRenderable {
   }
 
   public LightSource getLightSource(final int mapId) {
-    return getById(this.getLightSources(), mapId);
+    return this.get(LightSource.class, mapId);
   }
 
   public LightSource getLightSource(String name) {
-    return getByName(this.getLightSources(), name);
+    return this.get(LightSource.class, name);
   }
 
   /**
@@ -594,11 +724,11 @@ public final class Environment implements IRenderable {
   }
 
   public IMobileEntity getMobileEntity(final int mapId) {
-    return getById(this.getMobileEntities(), mapId);
+    return this.get(IMobileEntity.class, mapId);
   }
 
   public IMobileEntity getMobileEntity(String name) {
-    return getByName(this.getMobileEntities(), name);
+    return this.get(IMobileEntity.class, name);
   }
 
   /**
@@ -620,19 +750,19 @@ public final class Environment implements IRenderable {
   }
 
   public Prop getProp(int mapId) {
-    return getById(this.getProps(), mapId);
+    return this.get(Prop.class, mapId);
   }
 
   public Prop getProp(String name) {
-    return getByName(this.getProps(), name);
+    return this.get(Prop.class, name);
   }
 
   public Creature getCreature(int mapId) {
-    return getById(this.getCreatures(), mapId);
+    return this.get(Creature.class, mapId);
   }
 
   public Creature getCreature(String name) {
-    return getByName(this.getCreatures(), name);
+    return this.get(Creature.class, name);
   }
 
   public Collection<Creature> getCreatures() {
@@ -640,11 +770,11 @@ public final class Environment implements IRenderable {
   }
 
   public Spawnpoint getSpawnpoint(final int mapId) {
-    return getById(this.getSpawnPoints(), mapId);
+    return this.get(Spawnpoint.class, mapId);
   }
 
   public Spawnpoint getSpawnpoint(final String name) {
-    return getByName(this.getSpawnPoints(), name);
+    return this.get(Spawnpoint.class, name);
   }
 
   public Collection<Spawnpoint> getSpawnPoints() {
@@ -656,11 +786,11 @@ public final class Environment implements IRenderable {
   }
 
   public StaticShadow getStaticShadow(int mapId) {
-    return getById(this.getStaticShadows(), mapId);
+    return this.get(StaticShadow.class, mapId);
   }
 
   public StaticShadow getStaticShadow(String name) {
-    return getByName(this.getStaticShadows(), name);
+    return this.get(StaticShadow.class, name);
   }
 
   public StaticShadowLayer getStaticShadowLayer() {
@@ -668,11 +798,11 @@ public final class Environment implements IRenderable {
   }
 
   public Trigger getTrigger(final int mapId) {
-    return getById(this.getTriggers(), mapId);
+    return this.get(Trigger.class, mapId);
   }
 
   public Trigger getTrigger(final String name) {
-    return getByName(this.getTriggers(), name);
+    return this.get(Trigger.class, name);
   }
 
   public Collection<Trigger> getTriggers() {
@@ -683,15 +813,19 @@ public final class Environment implements IRenderable {
     return new ArrayList<>(this.getEntitiesByTag().keySet());
   }
 
-  public final void init() {
+  public final synchronized void init() {
     if (this.initialized) {
       return;
     }
 
     if (this.getMap() != null) {
       this.loadMapObjects();
-      this.addStaticShadows();
-      this.addAmbientLight();
+
+      // the static shadows and the ambient light are only required for rendering
+      if (!Game.isInNoGUIMode()) {
+        this.addStaticShadows();
+        this.addAmbientLight();
+      }
     }
 
     this.fireEvent(l -> l.initialized(this));
@@ -712,18 +846,28 @@ public final class Environment implements IRenderable {
       Game.physics().setBounds(new Rectangle2D.Double(0, 0, this.getMap().getSizeInPixels().getWidth(), this.getMap().getSizeInPixels().getHeight()));
     }
 
-    if (this.getMap() != null) {
-      if (this.getMap().getBackgroundColor() != null) {
-        Game.window().getRenderComponent().setBackground(this.getMap().getBackgroundColor());
+    if (Game.window() != null) {
+      if (this.getMap() != null) {
+        if (this.getMap().getBackgroundColor() != null) {
+          Game.window().getRenderComponent().setBackground(this.getMap().getBackgroundColor());
+        }
+      } else {
+        Game.window().getRenderComponent().setBackground(Color.BLACK);
       }
-    } else {
-      Game.window().getRenderComponent().setBackground(Color.BLACK);
     }
 
     for (final IEntity entity : this.getEntities()) {
       this.load(entity);
     }
 
+    // the loop of a SimulationContext is only bound while it processes a tick, so it is kept for unloading the environment
+    this.loop = Game.loop();
+    this.loop.attach(this.triggerOverlaps);
+    this.loop.attach(this.renderStateExtraction, UpdatePhase.EXTRACT);
+    if (this.chunkStreamer != null) {
+      this.loop.attach(this.chunkStreamer);
+    }
+
     this.loaded = true;
     this.fireEvent(l -> l.loaded(this));
   }
@@ -815,6 +959,7 @@ public final class Environment implements IRenderable {
 
     if (this.entities.get(entity.getRenderType()) != null) {
       this.entities.get(entity.getRenderType()).entrySet().removeIf(e -> e.getValue().getMapId() == entity.getMapId());
+      this.renderOrders.get(entity.getRenderType()).remove(entity);
     }
 
     for (String tag : entity.getTags()) {
@@ -856,6 +1001,7 @@ public final class Environment implements IRenderable {
 
     if (entity instanceof Trigger) {
       this.triggers.remove(entity);
+      this.triggerOverlaps.remove((Trigger) entity);
     }
 
     if (entity instanceof Spawnpoint) {
@@ -873,8 +1019,16 @@ public final class Environment implements IRenderable {
 
     if (entity instanceof ICombatEntity) {
       this.combatEntities.values().remove(entity);
+      this.combatEntityIndex.remove((ICombatEntity) entity);
     }
 
+    this.entityIndex.remove(entity);
+    entity.removeTransformListener(this.spatialIndexUpdater);
+
+    this.removeFromNameIndex(entity, entity.getName());
+    this.removeFromTypeIndex(entity);
+    entity.removeListener(this.nameIndexUpdater);
+
     this.unload(entity);
 
     this.fireEntityEvent(l -> l.entityRemoved(entity));
@@ -920,45 +1074,60 @@ public final class Environment implements IRenderable {
 
     long renderStart = System.nanoTime();
 
-    this.render(g, RenderType.BACKGROUND);
+    // the entities are rendered from the snapshot of the most recent tick; while the game loop is paused, no snapshots
+    // are extracted, but the entities can be rendered from their live state because they are not updated either
+    final RenderSnapshot snapshot = Game.loop() != null && Game.loop().getTimeScale() > 0 ? this.renderState.acquire() : null;
+    try {
+      this.render(g, snapshot);
+    } finally {
+      this.renderState.release(snapshot);
+    }
 
-    this.render(g, RenderType.GROUND);
+    final long totalRenderTime = System.nanoTime() - renderStart;
+    Game.metrics().timer("render.world").record(totalRenderTime);
+    if (Game.config().debug().trackRenderTimes()) {
+      Game.metrics().trackRenderTime("world", TimeUtilities.nanoToMs(totalRenderTime));
+    }
+
+    g.scale(1.0 / Game.world().camera().getRenderScale(), 1.0 / Game.world().camera().getRenderScale());
+  }
+
+  private void render(final Graphics2D g, final RenderSnapshot snapshot) {
+    this.render(g, RenderType.BACKGROUND, snapshot);
+
+    this.render(g, RenderType.GROUND, snapshot);
     if (Game.config().debug().isDebug()) {
       DebugRenderer.renderMapDebugInfo(g, this.getMap());
     }
 
-    this.render(g, RenderType.SURFACE);
+    this.render(g, RenderType.SURFACE, snapshot);
 
-    this.render(g, RenderType.NORMAL);
+    this.render(g, RenderType.NORMAL, snapshot);
 
     long shadowRenderStart = System.nanoTime();
     if (this.getStaticShadows().stream().anyMatch(x -> x.getShadowType() != StaticShadowType.NONE)) {
       this.getStaticShadowLayer().render(g);
     }
 
-    final double shadowTime = TimeUtilities.nanoToMs(System.nanoTime() - shadowRenderStart);
+    final long shadowTime = System.nanoTime() - shadowRenderStart;
 
-    this.render(g, RenderType.OVERLAY);
+    this.render(g, RenderType.OVERLAY, snapshot);
 
     long ambientStart = System.nanoTime();
     if (Game.config().graphics().getGraphicQuality().ordinal() >= Quality.MEDIUM.ordinal() && this.getAmbientLight() != null && this.getAmbientLight().getColor().getAlpha() != 0) {
       this.getAmbientLight().render(g);
     }
 
-    final double ambientTime = TimeUtilities.nanoToMs(System.nanoTime() - ambientStart);
+    final long ambientTime = System.nanoTime() - ambientStart;
 
-    this.render(g, RenderType.UI);
+    this.render(g, RenderType.UI, snapshot);
 
+    Game.metrics().timer("render.shadow").record(shadowTime);
+    Game.metrics().timer("render.ambient").record(ambientTime);
     if (Game.config().debug().trackRenderTimes()) {
-
-      final double totalRenderTime = TimeUtilities.nanoToMs(System.nanoTime() - renderStart);
-
-      Game.metrics().trackRenderTime("shadow", shadowTime);
-      Game.metrics().trackRenderTime("ambient", ambientTime);
-      Game.metrics().trackRenderTime("world", totalRenderTime);
+      Game.metrics().trackRenderTime("shadow", TimeUtilities.nanoToMs(shadowTime));
+      Game.metrics().trackRenderTime("ambient", TimeUtilities.nanoToMs(ambientTime));
     }
-
-    g.scale(1.0 / Game.world().camera().getRenderScale(), 1.0 / Game.world().camera().getRenderScale());
   }
 
   public int getGravity() {
@@ -1016,7 +1185,15 @@ public final class Environment implements IRenderable {
       this.unload(entity);
     }
 
-    if (Game.screens() != null && Game.window().getRenderComponent() != null && Game.hasStarted()) {
+    this.loop.detach(this.triggerOverlaps);
+    this.loop.detach(this.renderStateExtraction);
+    if (this.chunkStreamer != null) {
+      this.loop.detach(this.chunkStreamer);
+    }
+
+    this.renderState.clear();
+
+    if (Game.window() != null && Game.window().getRenderComponent() != null && Game.hasStarted()) {
       Game.window().getRenderComponent().setBackground(RenderComponent.DEFAULT_BACKGROUND_COLOR);
     }
 
@@ -1077,7 +1254,63 @@ public final class Environment implements IRenderable {
     return null;
   }
 
-  private void render(Graphics2D g, RenderType renderType) {
+  private static Collection<Class<?>> getTypeHierarchy(final Class<?> cls) {
+    return typeHierarchies.computeIfAbsent(cls, c -> {
+      final Set<Class<?>> types = Collections.newSetFromMap(new IdentityHashMap<>());
+      collectTypes(c, types);
+      return new ArrayList<>(types);
+    });
+  }
+
+  private static void collectTypes(final Class<?> cls, final Set<Class<?>> types) {
+    if (cls == null || !types.add(cls)) {
+      return;
+    }
+
+    collectTypes(cls.getSuperclass(), types);
+    for (final Class<?> type : cls.getInterfaces()) {
+      collectTypes(type, types);
+    }
+  }
+
+  private void addToNameIndex(final IEntity entity) {
+    if (entity.getName() == null || entity.getName().isEmpty()) {
+      return;
+    }
+
+    final Collection<IEntity> named = this.entitiesByName.computeIfAbsent(entity.getName(), n -> new CopyOnWriteArrayList<>());
+    if (!named.contains(entity)) {
+      named.add(entity);
+    }
+  }
+
+  private void removeFromNameIndex(final IEntity entity, final String name) {
+    if (name == null || name.isEmpty()) {
+      return;
+    }
+
+    this.entitiesByName.computeIfPresent(name, (n, named) -> {
+      named.remove(entity);
+      return named.isEmpty() ? null : named;
+    });
+  }
+
+  private void addToTypeIndex(final IEntity entity) {
+    for (final Class<?> type : getTypeHierarchy(entity.getClass())) {
+      this.entitiesByType.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).add(entity);
+    }
+  }
+
+  private void removeFromTypeIndex(final IEntity entity) {
+    for (final Class<?> type : getTypeHierarchy(entity.getClass())) {
+      final Collection<IEntity> entitiesOfType = this.entitiesByType.get(type);
+      if (entitiesOfType != null) {
+        entitiesOfType.remove(entity);
+      }
+    }
+  }
+
+  private void render(Graphics2D g, RenderType renderType, RenderSnapshot snapshot) {
     long renderStart = System.nanoTime();
 
     // 1. Render map layers
@@ -1089,20 +1322,55 @@ public final class Environment implements IRenderable {
     }
 
     // 3. Render entities
-    Game.graphics().renderEntities(g, this.entities.get(renderType).values(), renderType == RenderType.NORMAL);
+    if (snapshot != null) {
+      Game.graphics().renderEntities(g, snapshot, renderType);
+    } else {
+      Game.graphics().renderEntities(g, this.renderOrders.get(renderType), renderType == RenderType.NORMAL);
+    }
 
     // 4. fire event
     this.fireRenderEvent(g, renderType);
 
+    final long renderTime = System.nanoTime() - renderStart;
+    Game.metrics().timer(renderTimers[renderType.ordinal()]).record(renderTime);
+
+    // the details are only collected for the on-screen metrics, the timers above are cheap enough to always be recorded
     if (Game.config().debug().trackRenderTimes()) {
-      final double renderTime = TimeUtilities.nanoToMs(System.nanoTime() - renderStart);
-      Game.metrics().trackRenderTime(renderType.toString().toLowerCase(), renderTime,
-          new GameMetrics.RenderInfo("layers", this.getMap().getRenderLayers().stream().filter(m -> m.getRenderType() == renderType).count()),
+      Game.metrics().trackRenderTime(renderType.toString().toLowerCase(), TimeUtilities.nanoToMs(renderTime),
+          new GameMetrics.RenderInfo("layers", this.countRenderLayers(renderType)),
           new GameMetrics.RenderInfo("renderables", this.getRenderables(renderType).size()),
           new GameMetrics.RenderInfo("entities", this.entities.get(renderType).size()));
     }
   }
 
+  private int countRenderLayers(final RenderType renderType) {
+    int count = 0;
+    for (final ILayer layer : this.getMap().getRenderLayers()) {
+      if (layer.getRenderType() == renderType) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private void extractRenderState() {
+    // without a camera (e.g. in a SimulationContext) or without the render loop (in -nogui mode), nothing is rendered
+    final ICamera camera = Game.world().camera();
+    if (camera == null || Game.renderLoop() == null) {
+      return;
+    }
+
+    // entities slightly outside of the viewport are extracted as well, because the camera might move before the next tick
+    Rectangle2D bounds = null;
+    final Rectangle2D viewport = camera.getViewport();
+    if (viewport != null && !viewport.isEmpty()) {
+      bounds = new Rectangle2D.Double(viewport.getX() - viewport.getWidth() / 2.0, viewport.getY() - viewport.getHeight() / 2.0, viewport.getWidth() * 2, viewport.getHeight() * 2);
+    }
+
+    this.renderState.extract(this.renderOrders, bounds, this.loop.getTicks());
+  }
+
   private void addAmbientLight() {
     final Color ambientColor = this.getMap().getColorValue(MapProperty.AMBIENTCOLOR, AmbientLight.DEFAULT_COLOR);
     this.ambientLight = new AmbientLight(this, ambientColor);
@@ -1113,6 +1381,18 @@ public final class Environment implements IRenderable {
     this.staticShadowLayer = new StaticShadowLayer(this, color);
   }
 
+  private static Rectangle2D getHitBoxBounds(final ICombatEntity combatEntity) {
+    final Shape hitBox = combatEntity.getHitBox();
+    return hitBox != null ? hitBox.getBounds2D() : null;
+  }
+
+  private void updateSpatialIndex(final IEntity entity) {
+    this.entityIndex.update(entity, entity.getBoundingBox());
+    if (entity instanceof ICombatEntity) {
+      this.combatEntityIndex.update((ICombatEntity) entity, getHitBoxBounds((ICombatEntity) entity));
+    }
+  }
+
   private static void dispose(final Collection<? extends IEntity> entities) {
     for (final IEntity entity : entities) {
       if (entity instanceof IUpdateable) {
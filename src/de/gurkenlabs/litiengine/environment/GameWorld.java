@@ -1,18 +1,24 @@
 package de.gurkenlabs.litiengine.environment;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.resources.ResourceLoader;
 import de.gurkenlabs.litiengine.resources.Resources;
 
 public final class GameWorld implements IUpdateable {
@@ -24,13 +30,22 @@ public final class GameWorld implements IUpdateable {
   private final Map<String, Collection<IUpdateable>> updatables = new ConcurrentHashMap<>();
 
   private final Map<String, Environment> environments = new ConcurrentHashMap<>();
+  private final AtomicReference<PendingEnvironment> pendingEnvironment = new AtomicReference<>();
+  private final AtomicLong transitions = new AtomicLong();
 
-  private Environment environment;
+  private volatile Environment environment;
   private ICamera camera;
   private int gravity;
 
   @Override
   public void update() {
+    // swap in an environment that was prepared in the background before anything else is updated in this tick
+    final PendingEnvironment pending = this.pendingEnvironment.getAndSet(null);
+    if (pending != null) {
+      this.setEnvironment(pending.environment);
+      pending.loaded.complete(pending.environment);
+    }
+
     if (this.environment() == null) {
       return;
     }
@@ -122,6 +137,7 @@ public final class GameWorld implements IUpdateable {
    * and clears all listener lists.
    */
   public void clear() {
+    this.cancelTransitions();
     this.unloadEnvironment();
     this.environments.clear();
     this.setCamera(null);
@@ -209,34 +225,8 @@ public final class GameWorld implements IUpdateable {
    * @see GameWorld#environment()
    */
   public void loadEnvironment(final Environment env) {
-    unloadEnvironment();
-    this.environment = env;
-    if (env != null) {
-      this.addEnvironment(env);
-
-      if (env.getGravity() == 0 && this.gravity() != 0) {
-        env.setGravity(this.gravity());
-      }
-
-      env.load();
-      for (final EnvironmentLoadedListener listener : this.loadedListeners) {
-        listener.loaded(env);
-      }
-
-      // call map specific listeners
-      String mapName = getMapName(env);
-      if (mapName != null && this.environmentLoadedListeners.containsKey(mapName)) {
-        
-        // for the default camera we center the camera on the environment
-        if (this.camera().getClass().equals(Camera.class)) {
-          camera().setFocus(env.getCenter());
-        }
-        
-        for (EnvironmentLoadedListener listener : this.environmentLoadedListeners.get(mapName)) {
-          listener.loaded(env);
-        }
-      }
-    }
+    this.cancelTransitions();
+    this.setEnvironment(env);
   }
 
   /**
@@ -281,6 +271,127 @@ public final class GameWorld implements IUpdateable {
     return env;
   }
 
+  /**
+   * Prepares the specified <code>Environment</code> on the threads of the <code>ResourceLoader</code> without loading it.
+   * 
+   * <p>
+   * This initializes the environment, i.e. all map objects are loaded to entities and the static shadows and the ambient
+   * light are rendered, which would otherwise happen when the environment is loaded. The current environment keeps
+   * running in the meantime. Note that the <code>EnvironmentListener#initialized</code> callback is called on a
+   * background thread.
+   * </p>
+   * 
+   * @param env
+   *          The environment to be prepared.
+   * @return A future that completes with the initialized environment.
+   * 
+   * @see Environment#init()
+   * @see GameWorld#loadEnvironmentAsync(Environment)
+   */
+  public CompletableFuture<Environment> preloadEnvironment(final Environment env) {
+    if (env == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final String name = env.getMap() != null ? env.getMap().getName() : null;
+    return Resources.loader().submit(null, name, ResourceLoader.PRIORITY_HIGH, () -> {
+      env.init();
+      return env;
+    });
+  }
+
+  /**
+   * Prepares the <code>Environment</code> that is identified by the specified map name in the background.
+   * The map and the spritesheets of its tilesets are loaded asynchronously if necessary.
+   * 
+   * @param mapName
+   *          The map name by which the environment is identified.
+   * @return A future that completes with the initialized environment or with null if no such map can be found.
+   * 
+   * @see GameWorld#preloadEnvironment(Environment)
+   */
+  public CompletableFuture<Environment> preloadEnvironment(String mapName) {
+    if (mapName == null || mapName.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return Resources.maps().getAsync(mapName, ResourceLoader.PRIORITY_HIGH).thenCompose(this::preloadEnvironment);
+  }
+
+  /**
+   * Prepares the <code>Environment</code> that is identified by the specified map in the background.
+   * The spritesheets of the map's tilesets are loaded asynchronously if necessary.
+   * 
+   * @param map
+   *          The map by which the environment is identified.
+   * @return A future that completes with the initialized environment or with null if the map is invalid.
+   * 
+   * @see GameWorld#preloadEnvironment(Environment)
+   */
+  public CompletableFuture<Environment> preloadEnvironment(IMap map) {
+    final Environment env = this.getEnvironment(map);
+    if (env == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final List<CompletableFuture<?>> tasks = new ArrayList<>();
+    for (ITileset tileset : map.getTilesets()) {
+      tasks.add(Resources.spritesheets().loadAsync(tileset, ResourceLoader.PRIORITY_HIGH));
+    }
+
+    tasks.add(this.preloadEnvironment(env));
+    return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).thenApply(v -> env);
+  }
+
+  /**
+   * Prepares the specified <code>Environment</code> in the background and sets it as current environment of the game
+   * once it is ready. The previous environment keeps running until then.
+   * 
+   * <p>
+   * The environments are swapped at the beginning of the next update of the <code>GameWorld</code>, i.e. within a single
+   * tick of the game loop. If another environment is loaded before, this request is superseded and its future is
+   * cancelled.
+   * </p>
+   * 
+   * @param env
+   *          The environment to be loaded.
+   * @return A future that completes with the environment after it has been loaded.
+   * 
+   * @see GameWorld#preloadEnvironment(Environment)
+   * @see GameWorld#loadEnvironment(Environment)
+   */
+  public CompletableFuture<Environment> loadEnvironmentAsync(final Environment env) {
+    return this.transition(this.preloadEnvironment(env));
+  }
+
+  /**
+   * Prepares the <code>Environment</code> that is identified by the specified map name in the background and sets it as
+   * current environment of the game once it is ready.
+   * 
+   * @param mapName
+   *          The map name by which the environment is identified.
+   * @return A future that completes with the environment after it has been loaded.
+   * 
+   * @see GameWorld#loadEnvironmentAsync(Environment)
+   */
+  public CompletableFuture<Environment> loadEnvironmentAsync(String mapName) {
+    return this.transition(this.preloadEnvironment(mapName));
+  }
+
+  /**
+   * Prepares the <code>Environment</code> that is identified by the specified map in the background and sets it as
+   * current environment of the game once it is ready.
+   * 
+   * @param map
+   *          The map by which the environment is identified.
+   * @return A future that completes with the environment after it has been loaded.
+   * 
+   * @see GameWorld#loadEnvironmentAsync(Environment)
+   */
+  public CompletableFuture<Environment> loadEnvironmentAsync(IMap map) {
+    return this.transition(this.preloadEnvironment(map));
+  }
+
   /**
    * Unloads the current <code>Environment</code> and sets it to null.
    */
@@ -431,6 +542,70 @@ public final class GameWorld implements IUpdateable {
     return null;
   }
 
+  private void setEnvironment(final Environment env) {
+    unloadEnvironment();
+    this.environment = env;
+    if (env != null) {
+      this.addEnvironment(env);
+
+      if (env.getGravity() == 0 && this.gravity() != 0) {
+        env.setGravity(this.gravity());
+      }
+
+      env.load();
+      for (final EnvironmentLoadedListener listener : this.loadedListeners) {
+        listener.loaded(env);
+      }
+
+      // call map specific listeners
+      String mapName = getMapName(env);
+      if (mapName != null && this.environmentLoadedListeners.containsKey(mapName)) {
+        
+        // for the default camera we center the camera on the environment
+        if (this.camera() != null && this.camera().getClass().equals(Camera.class)) {
+          camera().setFocus(env.getCenter());
+        }
+        
+        for (EnvironmentLoadedListener listener : this.environmentLoadedListeners.get(mapName)) {
+          listener.loaded(env);
+        }
+      }
+    }
+  }
+
+  CompletableFuture<Environment> transition(final CompletableFuture<Environment> preloaded) {
+    final long transition = this.transitions.incrementAndGet();
+    final CompletableFuture<Environment> loaded = new CompletableFuture<>();
+    preloaded.whenComplete((env, e) -> {
+      // a transition that was requested later wins, even if its environment was prepared faster or failed
+      if (transition != this.transitions.get()) {
+        loaded.cancel(false);
+        return;
+      }
+
+      if (e != null) {
+        loaded.completeExceptionally(e);
+        return;
+      }
+
+      final PendingEnvironment pending = new PendingEnvironment(transition, env, loaded);
+      final PendingEnvironment previous = this.pendingEnvironment.getAndAccumulate(pending, (current, next) -> current != null && current.transition > next.transition ? current : next);
+      if (previous != null) {
+        (previous.transition > transition ? pending : previous).loaded.cancel(false);
+      }
+    });
+
+    return loaded;
+  }
+
+  private void cancelTransitions() {
+    this.transitions.incrementAndGet();
+    final PendingEnvironment pending = this.pendingEnvironment.getAndSet(null);
+    if (pending != null) {
+      pending.loaded.cancel(false);
+    }
+  }
+
   private void addEnvironment(Environment env) {
     String mapName = getMapName(env);
     if (mapName == null) {
@@ -450,4 +625,16 @@ public final class GameWorld implements IUpdateable {
       }
     }
   }
+
+  private static final class PendingEnvironment {
+    private final long transition;
+    private final Environment environment;
+    private final CompletableFuture<Environment> loaded;
+
+    private PendingEnvironment(final long transition, final Environment environment, final CompletableFuture<Environment> loaded) {
+      this.transition = transition;
+      this.environment = environment;
+      this.loaded = loaded;
+    }
+  }
 }
@@ -4,6 +4,14 @@ import java.awt.Point;
 
 /**
  * The Interface ITile.
+ *
+ * <p>
+ * Tile layers share one tile instance between all cells with the same grid id
+ * and flags. A shared tile has no tile coordinate and cannot be changed: its
+ * custom properties are those of its tileset entry and any attempt to change
+ * them throws an {@link UnsupportedOperationException}. Change the properties
+ * of {@link #getTilesetEntry()} instead, which affects all tiles of that type.
+ * </p>
  */
 public interface ITile extends ICustomPropertyProvider {
 
@@ -17,7 +25,8 @@ public interface ITile extends ICustomPropertyProvider {
   /**
    * Gets the tile coordinate.
    *
-   * @return the tile coordinate
+   * @return the tile coordinate or null if the tile instance is shared between
+   *         multiple cells of a layer
    */
   public Point getTileCoordinate();
 
@@ -17,12 +17,22 @@ public interface ITileLayer extends ILayer {
    */
   ITile getTileByLocation(Point2D location);
 
+  /**
+   * Gets the tile at the specified tile coordinate. Cells with the same grid id
+   * and flags may return the same tile instance.
+   *
+   * @param x
+   *          the x-coordinate of the tile
+   * @param y
+   *          the y-coordinate of the tile
+   * @return the tile or null if the coordinate is outside of this layer
+   */
   ITile getTile(int x, int y);
 
   /**
-   * Gets the tiles.
+   * Gets the tiles, ordered row by row, starting at the top-left tile.
    *
-   * @return the tiles
+   * @return an unmodifiable list of the tiles
    */
   List<ITile> getTiles();
 }
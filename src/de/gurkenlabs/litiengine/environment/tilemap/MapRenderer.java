@@ -5,6 +5,7 @@ import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
@@ -46,29 +47,59 @@ public class MapRenderer {
   private static void renderTileLayer(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport, float opacity) {
     // TODO: possibly implement the same render order that Tiled uses for staggered maps: undo the staggering, and then render it right-down
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
+    final Rectangle tiles = getVisibleTiles(map, viewport);
     if (map.getRenderOrder().btt) {
-      for (int y = map.getHeight() - 1; y >= 0; y--) {
-        drawRow(g, layer, y, map, viewport);
+      for (int y = tiles.y + tiles.height - 1; y >= tiles.y; y--) {
+        drawRow(g, layer, y, tiles, map, viewport);
       }
     } else {
-      for (int y = 0; y < map.getHeight(); y++) {
-        drawRow(g, layer, y, map, viewport);
+      for (int y = tiles.y; y < tiles.y + tiles.height; y++) {
+        drawRow(g, layer, y, tiles, map, viewport);
       }
     }
   }
 
-  private static void drawRow(Graphics2D g, ITileLayer layer, int y, IMap map, Rectangle2D viewport) {
+  private static void drawRow(Graphics2D g, ITileLayer layer, int y, Rectangle tiles, IMap map, Rectangle2D viewport) {
     if (map.getRenderOrder().rtl) {
-      for (int x = map.getWidth() - 1; x >= 0; x--) {
+      for (int x = tiles.x + tiles.width - 1; x >= tiles.x; x--) {
         drawTile(g, layer, x, y, map, viewport);
       }
     } else {
-      for (int x = 0; x < map.getWidth(); x++) {
+      for (int x = tiles.x; x < tiles.x + tiles.width; x++) {
         drawTile(g, layer, x, y, map, viewport);
       }
     }
   }
 
+  /**
+   * Gets the tiles that might be visible in the specified viewport, so that large (e.g. infinite) maps don't need to
+   * be iterated entirely.
+   */
+  private static Rectangle getVisibleTiles(IMap map, Rectangle2D viewport) {
+    final Rectangle mapTiles = new Rectangle(map.getWidth(), map.getHeight());
+    if (map.getTileWidth() <= 0 || map.getTileHeight() <= 0) {
+      return mapTiles;
+    }
+
+    final Rectangle tiles = MapUtilities.getEnclosingTiles(map, viewport);
+
+    // tile images that are larger than the grid reach into the viewport from tiles outside of it
+    int maxTileWidth = map.getTileWidth();
+    int maxTileHeight = map.getTileHeight();
+    for (ITileset tileset : map.getTilesets()) {
+      maxTileWidth = Math.max(maxTileWidth, tileset.getTileWidth());
+      maxTileHeight = Math.max(maxTileHeight, tileset.getTileHeight());
+    }
+
+    final int margin = Math.max(ceilDiv(maxTileWidth, map.getTileWidth()), ceilDiv(maxTileHeight, map.getTileHeight())) + 1;
+    tiles.grow(margin, margin);
+    return tiles.intersection(mapTiles);
+  }
+
+  private static int ceilDiv(int dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+
   private static void drawTile(Graphics2D g, ITileLayer layer, int x, int y, IMap map, Rectangle2D viewport) {
     ITile tile = layer.getTile(x, y);
     Image image = getTileImage(map, tile);
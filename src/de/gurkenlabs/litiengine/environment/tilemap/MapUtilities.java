@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.environment.tilemap;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -111,6 +112,27 @@ public final class MapUtilities {
     return new Rectangle2D.Double(minTileBounds.getX(), minTileBounds.getY(), maxTileBounds.getMaxX() - minTileBounds.getX(), maxTileBounds.getMaxY() - minTileBounds.getY());
   }
 
+  /**
+   * Gets the tile coordinates that enclose the specified area, regardless of the orientation of the map.
+   * Unlike {@link #getTileBoundingBox(IMap, Rectangle2D)}, the result is not limited to the size of the map.
+   * 
+   * @param map
+   *          the map
+   * @param area
+   *          the area in map coordinates, e.g. the viewport of the camera
+   * @return the tiles that enclose the area
+   */
+  public static Rectangle getEnclosingTiles(final IMap map, final Rectangle2D area) {
+    // the tiles at the corners of the area enclose all tiles in between
+    final Rectangle tiles = new Rectangle(map.getOrientation().getTile(area.getMinX(), area.getMinY(), map));
+    tiles.add(map.getOrientation().getTile(area.getMaxX(), area.getMinY(), map));
+    tiles.add(map.getOrientation().getTile(area.getMinX(), area.getMaxY(), map));
+    tiles.add(map.getOrientation().getTile(area.getMaxX(), area.getMaxY(), map));
+    tiles.width++;
+    tiles.height++;
+    return tiles;
+  }
+
   public static Point getTile(final Point2D mapLocation) {
     if (Game.world().environment() == null) {
       return new Point(-1, -1);
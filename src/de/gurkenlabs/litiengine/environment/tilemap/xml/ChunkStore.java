@@ -0,0 +1,33 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+/**
+ * A chunk store provides the tiles of the chunks of an infinite tile layer,
+ * e.g. from a file per chunk or from a procedural generator, so that the tiles
+ * don't need to be kept in the map.
+ *
+ * <p>
+ * By default, a tile layer loads its chunks from the data of the map and keeps
+ * the chunks that were unloaded in their encoded form.
+ * </p>
+ *
+ * @see TileLayer#setChunkStore(ChunkStore)
+ */
+@FunctionalInterface
+public interface ChunkStore {
+
+  /**
+   * Loads the raw grid ids of the specified chunk, including the flags that
+   * indicate whether a tile is flipped. This method is called from the threads
+   * that load resources in the background.
+   *
+   * @param layer
+   *          the tile layer that contains the chunk
+   * @param chunk
+   *          the chunk to load
+   * @return the raw grid ids of the chunk, ordered row by row, or
+   *         <code>null</code> if the store doesn't contain the chunk
+   * @throws InvalidTileLayerException
+   *           if the chunk cannot be loaded
+   */
+  int[] load(TileLayer layer, TileChunk chunk) throws InvalidTileLayerException;
+}
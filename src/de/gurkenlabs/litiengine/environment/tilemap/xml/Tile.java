@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
 import java.awt.Point;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Objects;
 
 import javax.xml.bind.Marshaller;
@@ -16,7 +17,7 @@ import de.gurkenlabs.litiengine.environment.tilemap.ITilesetEntry;
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Tile extends CustomPropertyProvider implements ITile, Serializable {
   public static final int NONE = 0;
-  public static final Tile EMPTY = new Tile(NONE);
+  public static final Tile EMPTY = shared(new Tile(NONE));
   protected static final int FLIPPED_HORIZONTALLY_FLAG = 0x80000000;
   protected static final int FLIPPED_VERTICALLY_FLAG = 0x40000000;
   protected static final int FLIPPED_DIAGONALLY_FLAG = 0x20000000;
@@ -35,6 +36,9 @@ public class Tile extends CustomPropertyProvider implements ITile, Serializable
   private transient boolean flippedVertically;
   private transient boolean flipped;
 
+  // tiles that are shared between multiple cells of a layer cannot be changed
+  private transient boolean shared;
+
   public Tile() {
   }
 
@@ -53,13 +57,26 @@ public class Tile extends CustomPropertyProvider implements ITile, Serializable
     return this.getTilesetEntry() == null ? super.hasCustomProperty(name) : this.getTilesetEntry().hasCustomProperty(name);
   }
 
+  @Override
+  public ICustomProperty getProperty(String propertyName) {
+    return this.getTilesetEntry() == null ? super.getProperty(propertyName) : this.getTilesetEntry().getProperty(propertyName);
+  }
+
   @Override
   public java.util.Map<String, ICustomProperty> getProperties() {
-    return this.getTilesetEntry() == null ? super.getProperties() : this.getTilesetEntry().getProperties();
+    final java.util.Map<String, ICustomProperty> props = this.getTilesetEntry() == null ? super.getProperties() : this.getTilesetEntry().getProperties();
+    return this.shared ? Collections.unmodifiableMap(props) : props;
+  }
+
+  @Override
+  public void setTypeOfProperty(String propertyName, String type) {
+    this.ensureNotShared();
+    super.setTypeOfProperty(propertyName, type);
   }
 
   @Override
   public void setProperties(java.util.Map<String, ICustomProperty> props) {
+    this.ensureNotShared();
     if (this.getTilesetEntry() == null) {
       super.setProperties(props);
     } else {
@@ -108,9 +125,20 @@ public class Tile extends CustomPropertyProvider implements ITile, Serializable
    *          the new tile coordinate
    */
   public void setTileCoordinate(final Point tileCoordinate) {
+    this.ensureNotShared();
     this.tileCoordinate = tileCoordinate;
   }
 
+  /**
+   * Determines whether this tile is shared between multiple cells of a layer,
+   * in which case it cannot be changed.
+   *
+   * @return true if this tile is shared; otherwise false
+   */
+  public boolean isShared() {
+    return this.shared;
+  }
+
   @Override
   public boolean equals(Object anObject) {
     if (this == anObject) {
@@ -155,6 +183,17 @@ public class Tile extends CustomPropertyProvider implements ITile, Serializable
     return this.tilesetEntry;
   }
 
+  static Tile shared(Tile tile) {
+    tile.shared = true;
+    return tile;
+  }
+
+  private void ensureNotShared() {
+    if (this.shared) {
+      throw new UnsupportedOperationException("The tile " + this + " is shared between multiple cells and cannot be changed");
+    }
+  }
+
   @SuppressWarnings("unused")
   private void beforeMarshal(Marshaller m) {
     if (this.gid != null && this.gid == 0) {
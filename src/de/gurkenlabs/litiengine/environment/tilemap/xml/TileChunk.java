@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
@@ -7,6 +8,14 @@ import javax.xml.bind.annotation.XmlValue;
 
 /**
  * This class represents a chunk of tiles in an infinite map.
+ *
+ * <p>
+ * The tiles of a chunk can be unloaded and loaded again while the map is in
+ * use, e.g. by the <code>ChunkStreamer</code> of an environment.
+ * </p>
+ *
+ * @see TileLayer#loadChunk(TileChunk)
+ * @see TileLayer#unloadChunk(TileChunk)
  */
 @XmlRootElement(name = "chunk")
 public class TileChunk implements Comparable<TileChunk> {
@@ -25,11 +34,90 @@ public class TileChunk implements Comparable<TileChunk> {
   @XmlValue
   private String value;
 
+  @XmlTransient
+  private volatile int[] gids;
+
+  @XmlTransient
+  private volatile Tile[] tiles;
+
+  public TileChunk() {
+  }
+
+  TileChunk(int x, int y, int width, int height, String value) {
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.value = value;
+  }
+
   @XmlTransient
   public String getValue() {
     return this.value;
   }
 
+  void setValue(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Indicates whether this chunk keeps its tiles in encoded form. The content
+   * of a chunk that was decoded while it was read is hidden from JAXB, which
+   * leaves at most whitespace as its value.
+   *
+   * @return true if the value of this chunk contains encoded tiles; otherwise
+   *         false
+   */
+  boolean hasValue() {
+    if (this.value == null) {
+      return false;
+    }
+
+    for (int i = 0; i < this.value.length(); i++) {
+      if (!Character.isWhitespace(this.value.charAt(i))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Gets the raw grid ids of this chunk if they were already decoded while the
+   * chunk was read.
+   *
+   * @return the decoded grid ids or <code>null</code>
+   */
+  int[] getGids() {
+    return this.gids;
+  }
+
+  void setGids(int[] gids) {
+    this.gids = gids;
+  }
+
+  /**
+   * Gets the tiles of this chunk, ordered row by row.
+   *
+   * @return the tiles or <code>null</code> if they weren't created yet
+   */
+  Tile[] getTiles() {
+    return this.tiles;
+  }
+
+  void setTiles(Tile[] tiles) {
+    this.tiles = tiles;
+  }
+
+  /**
+   * Indicates whether the tiles of this chunk are currently loaded.
+   *
+   * @return true if the tiles of this chunk are in memory; otherwise false
+   */
+  public boolean isLoaded() {
+    return this.gids != null;
+  }
+
   public int getX() {
     return this.x;
   }
@@ -46,6 +134,12 @@ public class TileChunk implements Comparable<TileChunk> {
     return this.height;
   }
 
+  void afterUnmarshal(Unmarshaller u, Object parent) {
+    if (!this.hasValue()) {
+      this.value = null;
+    }
+  }
+
   @Override
   public int compareTo(TileChunk o) {
     if (this.getY() != o.getY()) {
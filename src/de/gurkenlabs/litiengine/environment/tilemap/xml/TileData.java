@@ -1,24 +1,26 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.InflaterInputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.xml.bind.DatatypeConverter;
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElementRef;
 import javax.xml.bind.annotation.XmlMixed;
 import javax.xml.bind.annotation.XmlTransient;
 
-import de.gurkenlabs.litiengine.util.ArrayUtilities;
-
 public class TileData {
+  private static final Logger log = Logger.getLogger(TileData.class.getName());
   protected static final String ENCODING_BASE64 = "base64";
   protected static final String ENCODING_CSV = "csv";
   protected static final String COMPRESSION_GZIP = "gzip";
@@ -43,6 +45,9 @@ public class TileData {
   @XmlTransient
   private List<Tile> parsedTiles;
 
+  @XmlTransient
+  private int[] parsedGids;
+
   @XmlTransient
   private int width;
 
@@ -88,6 +93,25 @@ public class TileData {
     this.value = value;
   }
 
+  /**
+   * Sets the raw grid ids that were already decoded while the data was read,
+   * e.g. by the {@link TmxReader}. In this case, the data doesn't keep its
+   * encoded value.
+   *
+   * @param gids
+   *          the decoded grid ids or <code>null</code> if the data needs to be
+   *          parsed from its value
+   */
+  void setGids(int[] gids) {
+    this.parsedGids = gids;
+  }
+
+  void setChunks(List<TileChunk> chunks) {
+    this.chunks = new ArrayList<>(chunks);
+    Collections.sort(this.chunks);
+    this.updateDimensionsByTileData();
+  }
+
   protected void setMinChunkOffsets(int x, int y) {
     this.minChunkOffsetXMap = x;
     this.minChunkOffsetYMap = y;
@@ -121,105 +145,127 @@ public class TileData {
     return this.offsetY;
   }
 
-  protected List<Tile> parseTiles() throws InvalidTileLayerException {
-    if (this.parsedTiles != null) {
-      return this.parsedTiles;
-    }
+  /**
+   * Gets the chunks of an infinite tile layer, ordered top-left to bottom-right.
+   *
+   * @return the chunks or an empty list if the layer isn't infinite
+   */
+  List<TileChunk> getChunks() {
+    return this.chunks != null ? Collections.unmodifiableList(this.chunks) : Collections.emptyList();
+  }
 
-    if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
-      return new ArrayList<>();
+  int getMinChunkOffsetX() {
+    return this.minChunkOffsetXMap;
+  }
+
+  int getMinChunkOffsetY() {
+    return this.minChunkOffsetYMap;
+  }
+
+  /**
+   * Decodes the raw grid ids of the specified chunk from its encoded value.
+   *
+   * @param chunk
+   *          the chunk to decode
+   * @return the raw grid ids of the chunk or <code>null</code> if the chunk
+   *         doesn't keep an encoded value
+   * @throws InvalidTileLayerException
+   *           if the data cannot be parsed
+   */
+  int[] decode(TileChunk chunk) throws InvalidTileLayerException {
+    if (!chunk.hasValue()) {
+      return null;
     }
 
-    if (this.isInfinite()) {
-      this.parsedTiles = this.parseChunkData();
+    if (this.getEncoding().equals(ENCODING_BASE64)) {
+      return TileDataDecoder.decodeBase64(chunk.getValue(), this.compression, chunk.getWidth() * chunk.getHeight());
+    } else if (this.getEncoding().equals(ENCODING_CSV)) {
+      return parseCsvGids(chunk.getValue());
     } else {
-      this.parsedTiles = this.parseData();
+      throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
     }
-
-    return this.parsedTiles;
   }
 
-  protected static List<Tile> parseBase64Data(String value, String compression) throws InvalidTileLayerException {
-    List<Tile> parsed = new ArrayList<>();
-
-    String enc = value.trim();
-    byte[] dec;
-    try {
-      dec = DatatypeConverter.parseBase64Binary(enc);
-    } catch (IllegalArgumentException e) {
-      throw new InvalidTileLayerException("invalid base64 string", e);
+  /**
+   * Encodes the raw grid ids of the specified chunk as its value, unless the
+   * chunk already keeps an encoded value. This allows the decoded grid ids to
+   * be released without losing the tiles of the chunk.
+   *
+   * @param chunk
+   *          the chunk to encode
+   * @return true if the chunk keeps an encoded value; otherwise false
+   */
+  boolean encode(TileChunk chunk) {
+    if (!chunk.hasValue() && chunk.getGids() != null && this.getEncoding() != null && !this.getEncoding().isEmpty()) {
+      chunk.setValue(this.encode(chunk.getGids()));
     }
-    try (ByteArrayInputStream bais = new ByteArrayInputStream(dec)) {
-      InputStream is;
-
-      if (compression == null || compression.isEmpty()) {
-        is = bais;
-      } else if (compression.equals(COMPRESSION_GZIP)) {
-        is = new GZIPInputStream(bais, dec.length);
-      } else if (compression.equals(COMPRESSION_ZLIB)) {
-        is = new InflaterInputStream(bais);
-      } else {
-        throw new IllegalArgumentException("Unsupported tile layer compression method " + compression);
-      }
 
-      int read;
+    return chunk.hasValue();
+  }
 
-      while ((read = is.read()) != -1) {
-        int tileId = 0;
-        tileId |= read;
+  protected List<Tile> parseTiles() throws InvalidTileLayerException {
+    if (this.parsedTiles != null) {
+      return this.parsedTiles;
+    }
 
-        read = is.read();
-        int flags = read << Byte.SIZE;
+    if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
+      return new ArrayList<>();
+    }
 
-        read = is.read();
-        flags |= read << Byte.SIZE * 2;
+    this.parsedTiles = toTiles(this.parseGids());
+    return this.parsedTiles;
+  }
 
-        read = is.read();
-        flags |= read << Byte.SIZE * 3;
-        tileId |= flags;
+  /**
+   * Parses the raw grid ids of all tiles, including the flags that indicate
+   * whether a tile is flipped. The ids are ordered row by row, starting at the
+   * top-left tile. Empty cells of infinite maps have the id {@link Tile#NONE}.
+   *
+   * @return the raw grid ids of all tiles
+   * @throws InvalidTileLayerException
+   *           if the data cannot be parsed
+   */
+  protected int[] parseGids() throws InvalidTileLayerException {
+    if (this.parsedGids != null) {
+      return this.parsedGids;
+    }
 
-        if (tileId == Tile.NONE) {
-          parsed.add(Tile.EMPTY);
-        } else {
-          parsed.add(new Tile(tileId));
-        }
-      }
+    if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
+      return new int[0];
+    }
 
-    } catch (IOException e) {
-      throw new InvalidTileLayerException(e);
+    if (this.isInfinite()) {
+      this.parsedGids = this.parseChunkData();
+    } else {
+      this.parsedGids = this.parseData();
     }
 
-    return parsed;
+    return this.parsedGids;
   }
 
-  protected static List<Tile> parseCsvData(String value) throws InvalidTileLayerException {
+  protected static List<Tile> parseBase64Data(String value, String compression) throws InvalidTileLayerException {
+    return toTiles(parseBase64Gids(value, compression));
+  }
 
-    List<Tile> parsed = new ArrayList<>();
+  protected static List<Tile> parseCsvData(String value) throws InvalidTileLayerException {
+    return toTiles(parseCsvGids(value));
+  }
 
-    // trim 'space', 'tab', 'newline'. pay attention to additional unicode chars
-    // like \u2028, \u2029, \u0085 if necessary
-    String[] csvTileIds = value.trim().split("[\\s]*,[\\s]*");
+  protected static int[] parseBase64Gids(String value, String compression) throws InvalidTileLayerException {
+    return TileDataDecoder.decodeBase64(value, compression, 0);
+  }
 
-    for (String gid : csvTileIds) {
-      int tileId;
-      try {
-        tileId = Integer.parseUnsignedInt(gid);
-      } catch (NumberFormatException e) {
-        throw new InvalidTileLayerException(e);
-      }
+  protected static int[] parseCsvGids(String value) throws InvalidTileLayerException {
+    return TileDataDecoder.decodeCsv(value);
+  }
 
-      if (tileId > Integer.MAX_VALUE) {
-        parsed.add(new Tile(tileId));
-      } else {
-        if (tileId == Tile.NONE) {
-          parsed.add(Tile.EMPTY);
-        } else {
-          parsed.add(new Tile((int) tileId));
-        }
-      }
+  private static List<Tile> toTiles(int[] gids) {
+    List<Tile> tiles = new ArrayList<>(gids.length);
+    for (int gid : gids) {
+      tiles.add(gid == Tile.NONE ? Tile.EMPTY : new Tile(gid));
     }
 
-    return parsed;
+    return tiles;
   }
 
   void afterUnmarshal(Unmarshaller u, Object parent) {
@@ -234,6 +280,65 @@ public class TileData {
     }
   }
 
+  /**
+   * Data that was decoded while it was read doesn't keep its encoded value, so
+   * it needs to be encoded again before it is written.
+   */
+  void beforeMarshal(Marshaller m) {
+    if (this.isInfinite()) {
+      for (TileChunk chunk : this.chunks) {
+        this.encode(chunk);
+      }
+    } else if (this.value == null && this.parsedGids != null && this.getEncoding() != null && !this.getEncoding().isEmpty()) {
+      this.value = this.encode(this.parsedGids);
+      this.rawValue = new ArrayList<>(Collections.singletonList(this.value));
+    }
+  }
+
+  private String encode(int[] gids) {
+    if (this.getEncoding().equals(ENCODING_CSV)) {
+      StringBuilder csv = new StringBuilder(gids.length * 4);
+      for (int i = 0; i < gids.length; i++) {
+        if (i > 0) {
+          csv.append(',');
+        }
+
+        csv.append(Integer.toUnsignedString(gids[i]));
+      }
+
+      return csv.toString();
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(gids.length * Integer.BYTES);
+    try {
+      OutputStream os;
+      if (this.compression == null || this.compression.isEmpty()) {
+        os = bytes;
+      } else if (this.compression.equals(COMPRESSION_GZIP)) {
+        os = new GZIPOutputStream(bytes);
+      } else if (this.compression.equals(COMPRESSION_ZLIB)) {
+        os = new DeflaterOutputStream(bytes);
+      } else {
+        throw new IllegalArgumentException("Unsupported tile layer compression method " + this.compression);
+      }
+
+      byte[] tile = new byte[Integer.BYTES];
+      for (int gid : gids) {
+        tile[0] = (byte) gid;
+        tile[1] = (byte) (gid >> Byte.SIZE);
+        tile[2] = (byte) (gid >> Byte.SIZE * 2);
+        tile[3] = (byte) (gid >> Byte.SIZE * 3);
+        os.write(tile);
+      }
+
+      os.close();
+    } catch (IOException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+
+    return DatatypeConverter.printBase64Binary(bytes.toByteArray());
+  }
+
   /**
    * This method processes the {@link XmlMixed} contents that were unmarshalled and extract either the string value containing the information
    * about the layer of a set of {@link TileChunk}s if the map is infinite.
@@ -304,60 +409,41 @@ public class TileData {
     this.offsetY = minY;
   }
 
-  private List<Tile> parseChunkData() throws InvalidTileLayerException {
-    // first fill a two-dimensional array with all the information of the chunks
-    Tile[][] tileArr = new Tile[this.getHeight()][this.getWidth()];
+  private int[] parseChunkData() throws InvalidTileLayerException {
+    // cells that are not covered by any chunk remain empty (Tile.NONE)
+    int[] gids = new int[this.getWidth() * this.getHeight()];
 
-    if (this.getEncoding().equals(ENCODING_BASE64)) {
-      for (TileChunk chunk : this.chunks) {
-        List<Tile> chunkTiles = parseBase64Data(chunk.getValue(), this.compression);
-        this.addTiles(tileArr, chunk, chunkTiles);
-      }
-    } else if (this.getEncoding().equals(ENCODING_CSV)) {
-      for (TileChunk chunk : this.chunks) {
-        List<Tile> chunkTiles = parseCsvData(chunk.getValue());
-        this.addTiles(tileArr, chunk, chunkTiles);
+    for (TileChunk chunk : this.chunks) {
+      int[] chunkGids = chunk.getGids();
+      if (chunkGids == null) {
+        chunkGids = this.decode(chunk);
       }
-    } else {
-      throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
-    }
 
-    // fill up the rest of the map with Tile.EMPTY
-    for (int y = 0; y < tileArr.length; y++) {
-      for (int x = 0; x < tileArr[y].length; x++) {
-        if (tileArr[y][x] == null) {
-          tileArr[y][x] = Tile.EMPTY;
-        }
+      if (chunkGids != null) {
+        this.addTiles(gids, chunk, chunkGids);
       }
     }
 
-    return ArrayUtilities.toList(tileArr);
+    return gids;
   }
 
-  private void addTiles(Tile[][] tileArr, TileChunk chunk, List<Tile> chunkTiles) {
+  private void addTiles(int[] gids, TileChunk chunk, int[] chunkGids) {
     int startX = chunk.getX() - this.minChunkOffsetXMap;
     int startY = chunk.getY() - this.minChunkOffsetYMap;
+    int width = this.getWidth();
 
-    int index = 0;
-
-    for (int y = startY; y < startY + chunk.getHeight(); y++) {
-      for (int x = startX; x < startX + chunk.getWidth(); x++) {
-        tileArr[y][x] = chunkTiles.get(index);
-        index++;
-      }
+    for (int y = 0; y < chunk.getHeight(); y++) {
+      System.arraycopy(chunkGids, y * chunk.getWidth(), gids, (startY + y) * width + startX, chunk.getWidth());
     }
   }
 
-  private List<Tile> parseData() throws InvalidTileLayerException {
-    List<Tile> tiles;
+  private int[] parseData() throws InvalidTileLayerException {
     if (this.getEncoding().equals(ENCODING_BASE64)) {
-      tiles = parseBase64Data(this.value, this.compression);
+      return TileDataDecoder.decodeBase64(this.value, this.compression, this.getWidth() * this.getHeight());
     } else if (this.getEncoding().equals(ENCODING_CSV)) {
-      tiles = parseCsvData(this.value);
+      return parseCsvGids(this.value);
     } else {
       throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
     }
-
-    return tiles;
   }
 }
\ No newline at end of file
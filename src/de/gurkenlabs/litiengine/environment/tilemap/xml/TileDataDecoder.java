@@ -0,0 +1,434 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes the raw grid ids of a tile layer or a chunk from the content of its
+ * <code>data</code> element while the content is being read. The characters
+ * are passed to the decoder in the portions provided by the XML parser, so
+ * the content never has to be held as one string.
+ *
+ * <p>
+ * Uncompressed base64 data is assembled into little-endian integers as the
+ * characters arrive. Compressed data is collected as compressed bytes and
+ * inflated once the element was read completely.
+ * </p>
+ *
+ * <p>
+ * Data that is already held as one string, e.g. the value of a chunk, is
+ * decoded by {@link #decodeCsv(String)} and
+ * {@link #decodeBase64(String, String, int)} in a single pass.
+ * </p>
+ */
+final class TileDataDecoder {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int BUFFER_SIZE = 8192;
+  private static final int[] BASE64_VALUES = new int[128];
+
+  private final boolean csv;
+  private final String compression;
+  private final int expectedSize;
+
+  private int[] gids;
+  private int count;
+  private boolean content;
+
+  // the value of the current csv entry, which is pending until the next separator
+  private long csvValue;
+  private boolean csvPending;
+  private boolean csvDigits;
+
+  private int base64Quantum;
+  private int base64Sextets;
+  private boolean base64Padded;
+  private byte[] compressed;
+  private int compressedLength;
+  private int pendingGid;
+  private int pendingBytes;
+
+  static {
+    Arrays.fill(BASE64_VALUES, -1);
+    final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_VALUES[alphabet.charAt(i)] = i;
+    }
+  }
+
+  /**
+   * Instantiates a new decoder.
+   *
+   * @param encoding
+   *          the encoding of the data (must be supported)
+   * @param compression
+   *          the compression of the data or <code>null</code>
+   * @param expectedSize
+   *          the expected number of tiles, used for the initial capacity
+   *
+   * @see #isSupported(String, String)
+   */
+  TileDataDecoder(final String encoding, final String compression, final int expectedSize) {
+    this.csv = TileData.ENCODING_CSV.equals(encoding);
+    this.compression = compression == null || compression.isEmpty() ? null : compression;
+    this.expectedSize = expectedSize;
+    if (this.compression != null) {
+      // the array of grid ids is allocated when the data is inflated
+      this.compressed = new byte[BUFFER_SIZE];
+    } else {
+      this.gids = new int[expectedSize > 0 ? expectedSize : INITIAL_CAPACITY];
+    }
+  }
+
+  /**
+   * Decodes csv data in a single pass, without splitting it into strings or
+   * parsing each tile id as a number object.
+   *
+   * @param value
+   *          the csv data
+   * @return the raw grid ids of the decoded tiles
+   * @throws InvalidTileLayerException
+   *           if the data contains no tile ids or an invalid character
+   */
+  static int[] decodeCsv(final String value) throws InvalidTileLayerException {
+    // every tile id but the last one is followed by a separator, so this is an upper bound for the number of tiles
+    final int[] gids = new int[(value.length() + 1) / 2];
+    int count = 0;
+    long gid = 0;
+    boolean pending = false;
+    boolean digits = false;
+
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        // whitespace within a number ends the digits, so another digit is invalid
+        if (pending && !digits) {
+          throw new InvalidTileLayerException("invalid character '" + c + "' in csv data");
+        }
+
+        gid = gid * 10 + (c - '0');
+        if (gid > 0xFFFFFFFFL) {
+          throw new InvalidTileLayerException("tile id out of range in csv data");
+        }
+
+        pending = true;
+        digits = true;
+      } else if (c == ',') {
+        if (!pending) {
+          throw new InvalidTileLayerException("missing tile id in csv data");
+        }
+
+        gids[count++] = (int) gid;
+        gid = 0;
+        pending = false;
+        digits = false;
+      } else if (Character.isWhitespace(c)) {
+        digits = false;
+      } else {
+        throw new InvalidTileLayerException("invalid character '" + c + "' in csv data");
+      }
+    }
+
+    if (pending) {
+      gids[count++] = (int) gid;
+    } else if (count == 0) {
+      throw new InvalidTileLayerException("missing tile id in csv data");
+    }
+
+    return count == gids.length ? gids : Arrays.copyOf(gids, count);
+  }
+
+  /**
+   * Decodes base64 data in a single pass and converts the (inflated) bytes to
+   * grid ids in bulk.
+   *
+   * @param value
+   *          the base64 data
+   * @param compression
+   *          the compression of the data or <code>null</code>
+   * @param expectedSize
+   *          the expected number of tiles, used for the initial capacity of
+   *          inflated data, or 0 if it is unknown
+   * @return the raw grid ids of the decoded tiles
+   * @throws InvalidTileLayerException
+   *           if the data is invalid, incomplete or cannot be inflated
+   */
+  static int[] decodeBase64(final String value, final String compression, final int expectedSize) throws InvalidTileLayerException {
+    final byte[] bytes = new byte[value.length() / 4 * 3 + 3];
+    int length = 0;
+    int quantum = 0;
+    int sextets = 0;
+    boolean padded = false;
+
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '=') {
+        padded = true;
+        continue;
+      }
+
+      final int sextet = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+      if (sextet == -1) {
+        if (Character.isWhitespace(c)) {
+          continue;
+        }
+
+        throw new InvalidTileLayerException("invalid base64 string");
+      }
+
+      if (padded) {
+        throw new InvalidTileLayerException("invalid base64 string");
+      }
+
+      quantum = quantum << 6 | sextet;
+      if (++sextets == 4) {
+        bytes[length++] = (byte) (quantum >> 16);
+        bytes[length++] = (byte) (quantum >> 8);
+        bytes[length++] = (byte) quantum;
+        quantum = 0;
+        sextets = 0;
+      }
+    }
+
+    if (sextets == 1) {
+      throw new InvalidTileLayerException("invalid base64 string");
+    } else if (sextets == 2) {
+      bytes[length++] = (byte) (quantum >> 4);
+    } else if (sextets == 3) {
+      bytes[length++] = (byte) (quantum >> 10);
+      bytes[length++] = (byte) (quantum >> 2);
+    }
+
+    if (compression == null || compression.isEmpty()) {
+      return toGids(bytes, length);
+    }
+
+    return inflate(bytes, length, compression, expectedSize);
+  }
+
+  static boolean isSupported(final String encoding, final String compression) {
+    if (TileData.ENCODING_CSV.equals(encoding)) {
+      return compression == null || compression.isEmpty();
+    }
+
+    return TileData.ENCODING_BASE64.equals(encoding)
+        && (compression == null || compression.isEmpty() || compression.equals(TileData.COMPRESSION_GZIP) || compression.equals(TileData.COMPRESSION_ZLIB));
+  }
+
+  /**
+   * Determines whether any other characters than whitespace were passed to
+   * this decoder.
+   *
+   * @return true if this decoder received content
+   */
+  boolean hasContent() {
+    return this.content;
+  }
+
+  void append(final char[] chars, final int start, final int length) throws InvalidTileLayerException {
+    final int end = start + length;
+    for (int i = start; i < end; i++) {
+      final char c = chars[i];
+      if (Character.isWhitespace(c)) {
+        this.csvDigits = false;
+        continue;
+      }
+
+      this.content = true;
+      if (this.csv) {
+        this.appendCsv(c);
+      } else {
+        this.appendBase64(c);
+      }
+    }
+  }
+
+  /**
+   * Completes the decoding after all characters were appended.
+   *
+   * @return the raw grid ids of the decoded tiles
+   * @throws InvalidTileLayerException
+   *           if the data is incomplete or cannot be inflated
+   */
+  int[] finish() throws InvalidTileLayerException {
+    if (this.csv) {
+      if (this.csvPending) {
+        this.add((int) this.csvValue);
+      }
+    } else {
+      this.finishBase64();
+    }
+
+    return this.count == this.gids.length ? this.gids : Arrays.copyOf(this.gids, this.count);
+  }
+
+  private void appendCsv(final char c) throws InvalidTileLayerException {
+    if (c == ',') {
+      if (!this.csvPending) {
+        throw new InvalidTileLayerException("missing tile id in csv data");
+      }
+
+      this.add((int) this.csvValue);
+      this.csvValue = 0;
+      this.csvPending = false;
+      return;
+    }
+
+    // whitespace within a number ends the digits, so another digit is invalid
+    if (c < '0' || c > '9' || (this.csvPending && !this.csvDigits)) {
+      throw new InvalidTileLayerException("invalid character '" + c + "' in csv data");
+    }
+
+    this.csvValue = this.csvValue * 10 + (c - '0');
+    if (this.csvValue > 0xFFFFFFFFL) {
+      throw new InvalidTileLayerException("tile id out of range in csv data");
+    }
+
+    this.csvDigits = true;
+    this.csvPending = true;
+  }
+
+  private void appendBase64(final char c) throws InvalidTileLayerException {
+    if (c == '=') {
+      this.base64Padded = true;
+      return;
+    }
+
+    final int value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+    if (value == -1 || this.base64Padded) {
+      throw new InvalidTileLayerException("invalid base64 string");
+    }
+
+    this.base64Quantum = this.base64Quantum << 6 | value;
+    if (++this.base64Sextets == 4) {
+      this.addByte(this.base64Quantum >> 16);
+      this.addByte(this.base64Quantum >> 8);
+      this.addByte(this.base64Quantum);
+      this.base64Quantum = 0;
+      this.base64Sextets = 0;
+    }
+  }
+
+  private void finishBase64() throws InvalidTileLayerException {
+    if (this.base64Sextets == 1) {
+      throw new InvalidTileLayerException("invalid base64 string");
+    } else if (this.base64Sextets == 2) {
+      this.addByte(this.base64Quantum >> 4);
+    } else if (this.base64Sextets == 3) {
+      this.addByte(this.base64Quantum >> 10);
+      this.addByte(this.base64Quantum >> 2);
+    }
+
+    if (this.compression != null) {
+      this.inflate();
+    }
+
+    if (this.pendingBytes != 0) {
+      throw new InvalidTileLayerException("incomplete tile data");
+    }
+  }
+
+  private void inflate() throws InvalidTileLayerException {
+    this.gids = inflate(this.compressed, this.compressedLength, this.compression, this.expectedSize);
+    this.count = this.gids.length;
+  }
+
+  private static int[] inflate(final byte[] compressed, final int length, final String compression, final int expectedSize) throws InvalidTileLayerException {
+    byte[] inflated = new byte[expectedSize > 0 ? expectedSize * Integer.BYTES : Math.max(BUFFER_SIZE, length * Integer.BYTES)];
+    int inflatedLength = 0;
+
+    if (compression.equals(TileData.COMPRESSION_ZLIB)) {
+      // zlib data is inflated directly into the result, without copying it through the buffers of a stream
+      final Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(compressed, 0, length);
+        while (!inflater.finished()) {
+          if (inflatedLength == inflated.length) {
+            inflated = Arrays.copyOf(inflated, inflated.length * 2);
+          }
+
+          final int read = inflater.inflate(inflated, inflatedLength, inflated.length - inflatedLength);
+          if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            throw new InvalidTileLayerException("incomplete tile data");
+          }
+
+          inflatedLength += read;
+        }
+      } catch (DataFormatException e) {
+        throw new InvalidTileLayerException(e);
+      } finally {
+        inflater.end();
+      }
+
+      return toGids(inflated, inflatedLength);
+    }
+
+    if (!compression.equals(TileData.COMPRESSION_GZIP)) {
+      throw new IllegalArgumentException("Unsupported tile layer compression method " + compression);
+    }
+
+    try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed, 0, length), BUFFER_SIZE)) {
+      int read;
+      do {
+        if (inflatedLength == inflated.length) {
+          inflated = Arrays.copyOf(inflated, inflated.length * 2);
+        }
+
+        read = is.read(inflated, inflatedLength, inflated.length - inflatedLength);
+        if (read > 0) {
+          inflatedLength += read;
+        }
+      } while (read != -1);
+    } catch (IOException e) {
+      throw new InvalidTileLayerException(e);
+    }
+
+    return toGids(inflated, inflatedLength);
+  }
+
+  private static int[] toGids(final byte[] bytes, final int length) throws InvalidTileLayerException {
+    if (length % Integer.BYTES != 0) {
+      throw new InvalidTileLayerException("incomplete tile data");
+    }
+
+    final int[] gids = new int[length / Integer.BYTES];
+    ByteBuffer.wrap(bytes, 0, length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(gids);
+    return gids;
+  }
+
+  private void addByte(final int value) {
+    if (this.compression == null) {
+      this.addGidByte(value);
+      return;
+    }
+
+    if (this.compressedLength == this.compressed.length) {
+      this.compressed = Arrays.copyOf(this.compressed, this.compressed.length * 2);
+    }
+
+    this.compressed[this.compressedLength++] = (byte) value;
+  }
+
+  private void addGidByte(final int value) {
+    this.pendingGid |= (value & 0xFF) << (Byte.SIZE * this.pendingBytes);
+    if (++this.pendingBytes == Integer.BYTES) {
+      this.add(this.pendingGid);
+      this.pendingGid = 0;
+      this.pendingBytes = 0;
+    }
+  }
+
+  private void add(final int gid) {
+    if (this.count == this.gids.length) {
+      this.gids = Arrays.copyOf(this.gids, this.gids.length * 2);
+    }
+
+    this.gids[this.count++] = gid;
+  }
+}
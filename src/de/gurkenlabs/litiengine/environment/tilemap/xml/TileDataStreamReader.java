@@ -0,0 +1,158 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * This stream reader decodes the content of the <code>data</code> elements of
+ * tile layers (and of their chunks) while the document is read and hides the
+ * content from the consumer of the stream.
+ *
+ * <p>
+ * For every <code>data</code> element of a tile layer and every
+ * <code>chunk</code> element, the decoded grid ids are queued in the order of
+ * the document. Elements with an encoding that isn't supported by the
+ * {@link TileDataDecoder} are passed on unchanged and queued as
+ * <code>null</code> so that the order is retained.
+ * </p>
+ */
+final class TileDataStreamReader extends StreamReaderDelegate {
+  private static final String MAP = "map";
+  private static final String LAYER = "layer";
+  private static final String DATA = "data";
+  private static final String CHUNK = "chunk";
+
+  // ArrayDeque doesn't allow null elements
+  private static final int[] NOT_DECODED = new int[0];
+
+  private final Queue<int[]> tileData = new ArrayDeque<>();
+  private final Queue<int[]> chunks = new ArrayDeque<>();
+
+  private int depth;
+  private boolean infinite;
+  private int layerDepth = -1;
+  private int dataDepth = -1;
+  private int layerWidth;
+  private int layerHeight;
+
+  private String encoding;
+  private String compression;
+  private TileDataDecoder dataDecoder;
+  private TileDataDecoder chunkDecoder;
+  private TileDataDecoder decoder;
+
+  TileDataStreamReader(final XMLStreamReader reader) {
+    super(reader);
+  }
+
+  @Override
+  public int next() throws XMLStreamException {
+    int event = super.next();
+    while (this.decoder != null && (event == CHARACTERS || event == CDATA || event == SPACE)) {
+      try {
+        this.decoder.append(this.getTextCharacters(), this.getTextStart(), this.getTextLength());
+      } catch (InvalidTileLayerException e) {
+        throw new XMLStreamException(e.getMessage(), this.getLocation(), e);
+      }
+
+      event = super.next();
+    }
+
+    if (event == START_ELEMENT) {
+      this.startElement();
+    } else if (event == END_ELEMENT) {
+      this.endElement();
+    }
+
+    return event;
+  }
+
+  /**
+   * Gets the grid ids that were decoded from the next <code>data</code> element
+   * of a tile layer.
+   *
+   * @return the decoded grid ids or <code>null</code> if the element wasn't
+   *         decoded or contains chunks
+   */
+  int[] pollTileData() {
+    final int[] gids = this.tileData.poll();
+    return gids == NOT_DECODED ? null : gids;
+  }
+
+  /**
+   * Gets the grid ids that were decoded from the next <code>chunk</code>
+   * element.
+   *
+   * @return the decoded grid ids or <code>null</code> if the element wasn't
+   *         decoded
+   */
+  int[] pollChunk() {
+    final int[] gids = this.chunks.poll();
+    return gids == NOT_DECODED ? null : gids;
+  }
+
+  private void startElement() {
+    this.depth++;
+    // any nested element interrupts the content of the data element
+    this.decoder = null;
+
+    final String name = this.getLocalName();
+    if (MAP.equals(name) && this.depth == 1) {
+      this.infinite = "1".equals(this.getAttributeValue(null, "infinite"));
+    } else if (LAYER.equals(name)) {
+      this.layerDepth = this.depth;
+      this.layerWidth = this.getIntAttribute("width");
+      this.layerHeight = this.getIntAttribute("height");
+    } else if (DATA.equals(name) && this.depth == this.layerDepth + 1) {
+      this.dataDepth = this.depth;
+      this.encoding = this.getAttributeValue(null, "encoding");
+      this.compression = this.getAttributeValue(null, "compression");
+      if (TileDataDecoder.isSupported(this.encoding, this.compression)) {
+        // the tiles of infinite maps are contained in chunks, so the size of the layer would only be a waste of memory
+        this.dataDecoder = new TileDataDecoder(this.encoding, this.compression, this.infinite ? 0 : this.layerWidth * this.layerHeight);
+        this.decoder = this.dataDecoder;
+      }
+    } else if (CHUNK.equals(name) && this.depth == this.dataDepth + 1 && this.dataDecoder != null) {
+      this.chunkDecoder = new TileDataDecoder(this.encoding, this.compression, this.getIntAttribute("width") * this.getIntAttribute("height"));
+      this.decoder = this.chunkDecoder;
+    }
+  }
+
+  private void endElement() throws XMLStreamException {
+    try {
+      if (this.depth == this.dataDepth) {
+        this.tileData.add(this.dataDecoder != null && this.dataDecoder.hasContent() ? this.dataDecoder.finish() : NOT_DECODED);
+        this.dataDepth = -1;
+        this.dataDecoder = null;
+        this.decoder = null;
+      } else if (this.depth == this.dataDepth + 1 && CHUNK.equals(this.getLocalName())) {
+        this.chunks.add(this.chunkDecoder != null ? this.chunkDecoder.finish() : NOT_DECODED);
+        this.chunkDecoder = null;
+        this.decoder = this.dataDecoder;
+      } else if (this.depth == this.layerDepth) {
+        this.layerDepth = -1;
+      }
+    } catch (InvalidTileLayerException e) {
+      throw new XMLStreamException(e.getMessage(), this.getLocation(), e);
+    } finally {
+      this.depth--;
+    }
+  }
+
+  private int getIntAttribute(final String name) {
+    final String value = this.getAttributeValue(null, name);
+    if (value == null) {
+      return 0;
+    }
+
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
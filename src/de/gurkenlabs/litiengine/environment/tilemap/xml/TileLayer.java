@@ -1,10 +1,12 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
-import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Point2D;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.annotation.XmlElement;
 
@@ -12,63 +14,101 @@ import de.gurkenlabs.litiengine.environment.tilemap.ITile;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 
+/**
+ * A tile layer keeps the raw grid ids of its tiles (including the flags that
+ * indicate a flipped tile) in a flat array instead of an object per cell.
+ *
+ * <p>
+ * The {@link ITile} instances that are returned by this layer are flyweights:
+ * all cells with the same raw grid id share one instance, which is why
+ * {@link ITile#getTileCoordinate()} of these tiles is <code>null</code> and
+ * why they cannot be changed (see {@link Tile#isShared()}).
+ * </p>
+ *
+ * <p>
+ * The tiles of an infinite layer are kept in their {@link TileChunk}s instead,
+ * so that the empty space between the chunks doesn't occupy any memory. Chunks
+ * can be unloaded while the layer is in use; the tiles of an unloaded chunk are
+ * <code>null</code> until the chunk is loaded again.
+ * </p>
+ */
 public class TileLayer extends Layer implements ITileLayer {
+  // tiles with a higher grid id (and all flipped tiles) are looked up in a map instead of the array
+  private static final int MAX_INDEXED_GID = 1 << 16;
 
   @XmlElement
   private TileData data = null;
 
-  private transient List<ITile> tileList;
+  private transient List<ITileset> tilesets;
 
-  private transient Tile[][] tiles;
+  private transient volatile TileStorage storage;
+
+  private transient volatile ChunkStorage chunkStorage;
+
+  private transient volatile ChunkStore chunkStore;
+
+  // the flyweights of all chunks of an infinite layer
+  private final transient java.util.Map<Integer, Tile> chunkTiles = new ConcurrentHashMap<>();
+
+  public TileLayer() {
+    super();
+  }
+
+  TileLayer(TileData data) {
+    this();
+    this.data = data;
+  }
 
   @Override
   public ITile getTileByLocation(final Point2D location) {
-    final Optional<ITile> tile = this.getTiles().stream().filter(x -> x.getTileCoordinate().equals(location)).findFirst();
-    return tile.isPresent() ? tile.get() : null;
+    return this.getTile((int) location.getX(), (int) location.getY());
   }
 
   @Override
   public ITile getTile(int x, int y) {
-    this.getTiles();
-
-    if (this.tiles == null || this.tiles.length == 0) {
-      return null;
+    if (this.isInfinite()) {
+      return this.getChunkTile(x, y);
     }
 
-    if (x < 0 || y < 0 || x > this.tiles.length - 1 || y > this.tiles[0].length - 1) {
+    final TileStorage tiles = this.getStorage();
+    if (x < 0 || y < 0 || x >= tiles.width || y >= tiles.height) {
       return null;
     }
 
-    return this.tiles[x][y];
+    final int index = y * tiles.width + x;
+    return index < tiles.gids.length ? tiles.getTile(tiles.gids[index]) : null;
   }
 
   @Override
   public List<ITile> getTiles() {
-    if (this.tileList != null) {
-      return this.tileList;
+    if (this.isInfinite()) {
+      final int width = this.getWidth();
+      final int height = this.getHeight();
+      return new AbstractList<ITile>() {
+        @Override
+        public ITile get(int index) {
+          return getTile(index % width, index / width);
+        }
+
+        @Override
+        public int size() {
+          return width * height;
+        }
+      };
     }
 
-    try {
-      this.tileList = new CopyOnWriteArrayList<>(this.getData());
-      if (this.data == null) {
-        return this.tileList;
+    final TileStorage tiles = this.getStorage();
+    return new AbstractList<ITile>() {
+      @Override
+      public ITile get(int index) {
+        return tiles.getTile(tiles.gids[index]);
       }
 
-      this.tiles = new Tile[this.getWidth()][this.getHeight()];
-      for (int i = 0; i < this.getData().size(); i++) {
-        final int x = i % this.getWidth();
-        final int y = i / this.getWidth();
-  
-        final Tile tile = this.getData().get(i);
-        tile.setTileCoordinate(new Point(x, y));
-        this.tileList.add(tile);
-        this.tiles[x][y] = tile;
+      @Override
+      public int size() {
+        return tiles.gids.length;
       }
-
-      return this.tileList;
-    } catch (InvalidTileLayerException e) {
-      throw new TmxError(e);
-    }
+    };
   }
 
   @Override
@@ -89,22 +129,344 @@ public class TileLayer extends Layer implements ITileLayer {
     return super.getHeight();
   }
 
-  protected List<Tile> getData() throws InvalidTileLayerException {
-    return this.data.parseTiles();
-  }
-
   protected TileData getRawTileData() {
     return this.data;
   }
 
   public void setTilesetEntries(Map map) throws TmxException {
-    for (Tile tile : getData()) {
-      for (ITileset tileset : map.getTilesets()) {
+    this.tilesets = map.getTilesets();
+    if (this.isInfinite()) {
+      this.chunkStorage = this.createChunkStorage();
+    } else {
+      this.storage = this.createStorage();
+    }
+  }
+
+  /**
+   * Gets the chunks of this layer if it belongs to an infinite map.
+   *
+   * @return the chunks, ordered top-left to bottom-right, or an empty list if
+   *         the layer isn't infinite
+   */
+  public List<TileChunk> getChunks() {
+    return this.data != null ? this.data.getChunks() : Collections.emptyList();
+  }
+
+  /**
+   * Gets the bounds of the specified chunk in the tile coordinates of this
+   * layer.
+   *
+   * @param chunk
+   *          a chunk of this layer
+   * @return the tiles that are covered by the chunk
+   */
+  public Rectangle getChunkBounds(TileChunk chunk) {
+    return new Rectangle(chunk.getX() - this.data.getMinChunkOffsetX(), chunk.getY() - this.data.getMinChunkOffsetY(), chunk.getWidth(), chunk.getHeight());
+  }
+
+  public ChunkStore getChunkStore() {
+    return this.chunkStore;
+  }
+
+  /**
+   * Sets the store that provides the tiles of the chunks of this layer. Chunks
+   * that aren't loaded yet are loaded from the store, instead of the data of
+   * the map.
+   *
+   * <p>
+   * Unlike the default behavior, chunks don't keep their encoded tiles when
+   * they are unloaded, so a map should only be saved while all chunks of a
+   * layer with a custom store are loaded.
+   * </p>
+   *
+   * @param chunkStore
+   *          the store or <code>null</code> to load the chunks from the data of
+   *          the map
+   */
+  public void setChunkStore(ChunkStore chunkStore) {
+    this.chunkStore = chunkStore;
+  }
+
+  /**
+   * Loads the tiles of the specified chunk from the chunk store of this layer
+   * if they aren't already loaded.
+   *
+   * @param chunk
+   *          a chunk of this layer
+   * @throws InvalidTileLayerException
+   *           if the tiles of the chunk cannot be loaded
+   *
+   * @see #setChunkStore(ChunkStore)
+   */
+  public void loadChunk(TileChunk chunk) throws InvalidTileLayerException {
+    if (chunk.isLoaded()) {
+      return;
+    }
+
+    final ChunkStore store = this.chunkStore;
+    final int[] gids = store != null ? store.load(this, chunk) : this.data.decode(chunk);
+    if (gids == null) {
+      return;
+    }
+
+    if (gids.length != chunk.getWidth() * chunk.getHeight()) {
+      throw new InvalidTileLayerException("Chunk at " + chunk.getX() + "," + chunk.getY() + " has " + gids.length + " tiles instead of " + chunk.getWidth() * chunk.getHeight());
+    }
+
+    synchronized (chunk) {
+      if (!chunk.isLoaded()) {
+        chunk.setGids(gids);
+      }
+    }
+
+    this.createTiles(chunk);
+  }
+
+  /**
+   * Releases the tiles of the specified chunk. Without a custom chunk store,
+   * the chunk keeps its tiles in their encoded form.
+   *
+   * @param chunk
+   *          a chunk of this layer
+   */
+  public void unloadChunk(TileChunk chunk) {
+    synchronized (chunk) {
+      if (!chunk.isLoaded() || this.chunkStore == null && !this.data.encode(chunk)) {
+        return;
+      }
+
+      chunk.setTiles(null);
+      chunk.setGids(null);
+    }
+  }
+
+  private boolean isInfinite() {
+    return this.data != null && this.data.isInfinite();
+  }
+
+  private ITile getChunkTile(int x, int y) {
+    final ChunkStorage chunks = this.getChunkStorage();
+    if (x < 0 || y < 0 || x >= this.getWidth() || y >= this.getHeight()) {
+      return null;
+    }
+
+    final int chunkX = x + chunks.offsetX;
+    final int chunkY = y + chunks.offsetY;
+    final TileChunk chunk = chunks.getChunk(chunkX, chunkY);
+    if (chunk == null) {
+      return Tile.EMPTY;
+    }
+
+    Tile[] tiles = chunk.getTiles();
+    if (tiles == null && (tiles = this.createTiles(chunk)) == null) {
+      return null;
+    }
+
+    final int index = (chunkY - chunk.getY()) * chunk.getWidth() + chunkX - chunk.getX();
+    return index < tiles.length ? tiles[index] : null;
+  }
+
+  private ChunkStorage getChunkStorage() {
+    ChunkStorage chunks = this.chunkStorage;
+    if (chunks != null) {
+      return chunks;
+    }
+
+    synchronized (this) {
+      if (this.chunkStorage == null) {
+        try {
+          this.chunkStorage = this.createChunkStorage();
+        } catch (InvalidTileLayerException e) {
+          throw new TmxError(e);
+        }
+      }
+
+      return this.chunkStorage;
+    }
+  }
+
+  private ChunkStorage createChunkStorage() throws InvalidTileLayerException {
+    // the flyweights depend on the tilesets
+    this.chunkTiles.clear();
+    for (final TileChunk chunk : this.data.getChunks()) {
+      chunk.setTiles(null);
+      if (this.chunkStore == null) {
+        this.loadChunk(chunk);
+      }
+    }
+
+    return new ChunkStorage(this.data.getChunks(), this.data.getMinChunkOffsetX(), this.data.getMinChunkOffsetY());
+  }
+
+  private Tile[] createTiles(TileChunk chunk) {
+    synchronized (chunk) {
+      Tile[] tiles = chunk.getTiles();
+      final int[] gids = chunk.getGids();
+      if (tiles != null || gids == null) {
+        return tiles;
+      }
+
+      tiles = new Tile[gids.length];
+      for (int i = 0; i < gids.length; i++) {
+        tiles[i] = gids[i] == Tile.NONE ? Tile.EMPTY : this.chunkTiles.computeIfAbsent(gids[i], this::createTile);
+      }
+
+      chunk.setTiles(tiles);
+      return tiles;
+    }
+  }
+
+  private TileStorage getStorage() {
+    TileStorage tiles = this.storage;
+    if (tiles != null) {
+      return tiles;
+    }
+
+    synchronized (this) {
+      if (this.storage == null) {
+        try {
+          this.storage = this.createStorage();
+        } catch (InvalidTileLayerException e) {
+          throw new TmxError(e);
+        }
+      }
+
+      return this.storage;
+    }
+  }
+
+  private TileStorage createStorage() throws InvalidTileLayerException {
+    final int[] gids = this.data != null ? this.data.parseGids() : new int[0];
+
+    // create one flyweight for every distinct raw grid id
+    int maxGid = 0;
+    for (final int gid : gids) {
+      if (gid > maxGid && gid < MAX_INDEXED_GID) {
+        maxGid = gid;
+      }
+    }
+
+    final Tile[] tiles = new Tile[maxGid + 1];
+    final java.util.Map<Integer, Tile> otherTiles = new HashMap<>();
+    tiles[Tile.NONE] = Tile.EMPTY;
+    for (final int gid : gids) {
+      if (gid >= 0 && gid < tiles.length) {
+        if (tiles[gid] == null) {
+          tiles[gid] = this.createTile(gid);
+        }
+      } else {
+        otherTiles.computeIfAbsent(gid, this::createTile);
+      }
+    }
+
+    return new TileStorage(this.getWidth(), this.getHeight(), gids, tiles, otherTiles);
+  }
+
+  private Tile createTile(int gidBitmask) {
+    final Tile tile = new Tile(gidBitmask);
+    if (this.tilesets != null) {
+      for (ITileset tileset : this.tilesets) {
         if (tileset.containsTile(tile.getGridId())) {
           tile.setTilesetEntry(tileset.getTile(tile.getGridId() - tileset.getFirstGridId()));
           break;
         }
       }
     }
+
+    return Tile.shared(tile);
+  }
+
+  private static final class TileStorage {
+    private final int width;
+    private final int height;
+    private final int[] gids;
+    private final Tile[] tiles;
+    private final java.util.Map<Integer, Tile> otherTiles;
+
+    private TileStorage(int width, int height, int[] gids, Tile[] tiles, java.util.Map<Integer, Tile> otherTiles) {
+      this.width = width;
+      this.height = height;
+      this.gids = gids;
+      this.tiles = tiles;
+      this.otherTiles = otherTiles;
+    }
+
+    private Tile getTile(int gid) {
+      return gid >= 0 && gid < this.tiles.length ? this.tiles[gid] : this.otherTiles.get(gid);
+    }
+  }
+
+  /**
+   * Finds the chunk of a tile by dividing the layer into cells of the size of
+   * the first chunk, which is the size of all chunks in maps that were saved by
+   * Tiled.
+   */
+  private static final class ChunkStorage {
+    private final int offsetX;
+    private final int offsetY;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final boolean aligned;
+    private final List<TileChunk> chunks;
+    private final java.util.Map<Long, TileChunk> cells = new HashMap<>();
+
+    // tiles are mostly requested row by row, so the next tile is likely in the same chunk
+    private volatile TileChunk recent;
+
+    private ChunkStorage(List<TileChunk> chunks, int offsetX, int offsetY) {
+      this.chunks = chunks;
+      this.offsetX = offsetX;
+      this.offsetY = offsetY;
+      this.cellWidth = chunks.isEmpty() ? 1 : Math.max(1, chunks.get(0).getWidth());
+      this.cellHeight = chunks.isEmpty() ? 1 : Math.max(1, chunks.get(0).getHeight());
+
+      boolean alignedChunks = true;
+      for (final TileChunk chunk : chunks) {
+        alignedChunks &= chunk.getWidth() == this.cellWidth && chunk.getHeight() == this.cellHeight && Math.floorMod(chunk.getX(), this.cellWidth) == 0 && Math.floorMod(chunk.getY(), this.cellHeight) == 0;
+        for (int cellY = Math.floorDiv(chunk.getY(), this.cellHeight); cellY <= Math.floorDiv(chunk.getY() + chunk.getHeight() - 1, this.cellHeight); cellY++) {
+          for (int cellX = Math.floorDiv(chunk.getX(), this.cellWidth); cellX <= Math.floorDiv(chunk.getX() + chunk.getWidth() - 1, this.cellWidth); cellX++) {
+            this.cells.putIfAbsent(key(cellX, cellY), chunk);
+          }
+        }
+      }
+
+      this.aligned = alignedChunks;
+    }
+
+    private TileChunk getChunk(int x, int y) {
+      final TileChunk last = this.recent;
+      if (last != null && contains(last, x, y)) {
+        return last;
+      }
+
+      TileChunk chunk = this.cells.get(key(Math.floorDiv(x, this.cellWidth), Math.floorDiv(y, this.cellHeight)));
+      if (chunk == null || !contains(chunk, x, y)) {
+        chunk = null;
+
+        // chunks of different sizes might share a cell
+        if (!this.aligned) {
+          for (final TileChunk other : this.chunks) {
+            if (contains(other, x, y)) {
+              chunk = other;
+              break;
+            }
+          }
+        }
+      }
+
+      if (chunk != null) {
+        this.recent = chunk;
+      }
+
+      return chunk;
+    }
+
+    private static boolean contains(TileChunk chunk, int x, int y) {
+      return x >= chunk.getX() && y >= chunk.getY() && x < chunk.getX() + chunk.getWidth() && y < chunk.getY() + chunk.getHeight();
+    }
+
+    private static long key(int cellX, int cellY) {
+      return (long) cellX << Integer.SIZE | cellY & 0xFFFFFFFFL;
+    }
   }
 }
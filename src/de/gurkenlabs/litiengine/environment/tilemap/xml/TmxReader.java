@@ -0,0 +1,133 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+
+/**
+ * The TmxReader reads maps, tilesets and resource bundles from a StAX stream
+ * instead of letting JAXB parse the whole document.
+ *
+ * <p>
+ * The tile data of tile layers is decoded directly from the characters of the
+ * stream into arrays of grid ids (see {@link TileDataStreamReader}). JAXB only
+ * gets to see the empty <code>data</code> elements, so the base64 or CSV
+ * content of large maps is never kept as a string. All other elements are
+ * unmarshalled into the same model as before.
+ * </p>
+ *
+ * <p>
+ * When such a map is saved, the tile data is encoded again from the grid ids
+ * with the encoding and compression it was read with.
+ * </p>
+ */
+public final class TmxReader {
+  private static final Logger log = Logger.getLogger(TmxReader.class.getName());
+  private static final XMLInputFactory inputFactory = createInputFactory();
+
+  private TmxReader() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the resource with the specified path.
+   *
+   * @param <T>
+   *          the type of the resource
+   * @param cls
+   *          the class of the root element, e.g. {@link Map} or {@link Tileset}
+   * @param path
+   *          the path of the resource
+   * @return the read resource or <code>null</code> if the resource doesn't
+   *         exist
+   * @throws JAXBException
+   *           if the resource cannot be read
+   */
+  public static <T> T read(Class<T> cls, String path) throws JAXBException {
+    InputStream stream = Resources.get(path);
+    if (stream == null) {
+      return null;
+    }
+
+    try {
+      return read(cls, stream);
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        log.log(Level.WARNING, "could not close the input stream.", e);
+      }
+    }
+  }
+
+  /**
+   * Reads a resource from the specified stream. The stream is not closed by
+   * this method.
+   *
+   * @param <T>
+   *          the type of the resource
+   * @param cls
+   *          the class of the root element, e.g. {@link Map} or {@link Tileset}
+   * @param stream
+   *          the stream to read from
+   * @return the read resource
+   * @throws JAXBException
+   *           if the resource cannot be read
+   */
+  public static <T> T read(Class<T> cls, InputStream stream) throws JAXBException {
+    final JAXBContext jaxbContext = XmlUtilities.getContext(cls);
+    if (jaxbContext == null) {
+      return null;
+    }
+
+    final TileDataStreamReader reader;
+    try {
+      synchronized (inputFactory) {
+        reader = new TileDataStreamReader(inputFactory.createXMLStreamReader(stream));
+      }
+    } catch (XMLStreamException e) {
+      throw new JAXBException(e);
+    }
+
+    final Unmarshaller um = jaxbContext.createUnmarshaller();
+    um.setListener(new Unmarshaller.Listener() {
+      @Override
+      public void afterUnmarshal(Object target, Object parent) {
+        // the decoded data is queued in the order of the document, which is also the order in which JAXB completes the objects
+        if (target instanceof TileData) {
+          ((TileData) target).setGids(reader.pollTileData());
+        } else if (target instanceof TileChunk) {
+          ((TileChunk) target).setGids(reader.pollChunk());
+        }
+      }
+    });
+
+    try {
+      return cls.cast(um.unmarshal(reader));
+    } finally {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        log.log(Level.WARNING, "could not close the stream reader.", e);
+      }
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    return factory;
+  }
+}
@@ -0,0 +1,261 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.util.geom.SpatialGrid;
+
+/**
+ * The Class EntityRenderOrder keeps a set of entities ordered by their max Y
+ * coordinate, which is the order in which they need to be rendered to achieve
+ * a 2.5D effect.
+ *
+ * <p>
+ * Instead of sorting all entities on every frame, the order is kept between
+ * frames and repaired with an insertion sort. Since entities only move a
+ * little from one frame to another, the order is nearly sorted and the repair
+ * takes about linear time. If a spatial index is provided and only a few of
+ * the entities are within the viewport, only these entities are ordered.
+ * </p>
+ *
+ * @see EntityYComparator
+ * @see RenderEngine#renderEntities(java.awt.Graphics2D, EntityRenderOrder,
+ *      boolean)
+ */
+public class EntityRenderOrder {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAX_SPATIAL_CANDIDATES = 256;
+
+  private final SpatialGrid<IEntity> index;
+  private final Set<IEntity> members;
+  private final List<IEntity> visibleEntities;
+  private final List<IEntity> extractedEntities;
+
+  private IEntity[] entities;
+  private double[] keys;
+  private int size;
+
+  private IEntity[] candidates;
+  private double[] candidateKeys;
+
+  /**
+   * Instantiates a new entity render order.
+   */
+  public EntityRenderOrder() {
+    this(null);
+  }
+
+  /**
+   * Instantiates a new entity render order that uses the specified spatial
+   * index to find the entities within the viewport.
+   *
+   * @param index
+   *          the spatial index that contains (at least) the entities of this
+   *          render order; null to always check all entities
+   */
+  public EntityRenderOrder(final SpatialGrid<IEntity> index) {
+    this.index = index;
+    this.members = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.visibleEntities = new ArrayList<>();
+    this.extractedEntities = new ArrayList<>();
+    this.entities = new IEntity[INITIAL_CAPACITY];
+    this.keys = new double[INITIAL_CAPACITY];
+    this.candidates = new IEntity[INITIAL_CAPACITY];
+    this.candidateKeys = new double[INITIAL_CAPACITY];
+  }
+
+  public synchronized void add(final IEntity entity) {
+    if (entity == null || !this.members.add(entity)) {
+      return;
+    }
+
+    if (this.size == this.entities.length) {
+      this.entities = Arrays.copyOf(this.entities, this.size * 2);
+      this.keys = Arrays.copyOf(this.keys, this.size * 2);
+    }
+
+    // the entity is moved to its actual position by the next repair
+    this.entities[this.size] = entity;
+    this.keys[this.size] = Double.MAX_VALUE;
+    this.size++;
+  }
+
+  public synchronized boolean remove(final IEntity entity) {
+    if (entity == null || !this.members.remove(entity)) {
+      return false;
+    }
+
+    for (int i = 0; i < this.size; i++) {
+      if (this.entities[i] == entity) {
+        System.arraycopy(this.entities, i + 1, this.entities, i, this.size - i - 1);
+        System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+        this.size--;
+        this.entities[this.size] = null;
+        break;
+      }
+    }
+
+    return true;
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(this.entities, 0, this.size, null);
+    this.members.clear();
+    this.visibleEntities.clear();
+    this.extractedEntities.clear();
+    this.size = 0;
+  }
+
+  public synchronized boolean contains(final IEntity entity) {
+    return this.members.contains(entity);
+  }
+
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the entities that are within the specified viewport.
+   *
+   * <p>
+   * <b>The returned list is reused by the next call of this method</b>, so it
+   * should only be used to render the current frame.
+   * </p>
+   *
+   * @param viewport
+   *          the viewport
+   * @param sort
+   *          if true, the entities are ordered by their max Y coordinate
+   * @return the entities within the viewport
+   */
+  public synchronized List<IEntity> getEntities(final Rectangle2D viewport, final boolean sort) {
+    this.collect(viewport, sort, this.visibleEntities);
+    return this.visibleEntities;
+  }
+
+  /**
+   * Passes the entities that are within the specified bounds to the specified
+   * consumer while this render order is locked. Other than
+   * {@link #getEntities(Rectangle2D, boolean)}, this can safely be used from
+   * another thread than the one that renders the entities.
+   *
+   * @param bounds
+   *          the bounds; null to pass all entities
+   * @param sort
+   *          if true, the entities are ordered by their max Y coordinate
+   * @param consumer
+   *          the consumer
+   */
+  public synchronized void forEach(final Rectangle2D bounds, final boolean sort, final Consumer<? super IEntity> consumer) {
+    if (bounds != null) {
+      this.collect(bounds, sort, this.extractedEntities);
+    } else {
+      this.extractedEntities.clear();
+      if (sort) {
+        this.repair();
+      }
+
+      for (int i = 0; i < this.size; i++) {
+        this.extractedEntities.add(this.entities[i]);
+      }
+    }
+
+    for (final IEntity entity : this.extractedEntities) {
+      consumer.accept(entity);
+    }
+
+    this.extractedEntities.clear();
+  }
+
+  private void collect(final Rectangle2D viewport, final boolean sort, final List<IEntity> result) {
+    result.clear();
+    if (viewport == null || this.size == 0) {
+      return;
+    }
+
+    if (this.index != null && this.size > MAX_SPATIAL_CANDIDATES) {
+      this.index.query(viewport, e -> this.members.contains(e) && isVisible(e, viewport), result);
+      if (result.size() <= MAX_SPATIAL_CANDIDATES) {
+        if (sort) {
+          this.sortCandidates(result);
+        }
+
+        return;
+      }
+
+      result.clear();
+    }
+
+    if (sort) {
+      this.repair();
+    }
+
+    for (int i = 0; i < this.size; i++) {
+      if (isVisible(this.entities[i], viewport)) {
+        result.add(this.entities[i]);
+      }
+    }
+  }
+
+  /**
+   * Updates the sort keys of all entities and restores the order with an
+   * insertion sort which is fast for nearly sorted arrays. The keys are
+   * captured once, so entities that move while the order is repaired cannot
+   * break the sort.
+   */
+  private void repair() {
+    for (int i = 0; i < this.size; i++) {
+      this.keys[i] = EntityYComparator.getMaxY(this.entities[i]);
+    }
+
+    insertionSort(this.entities, this.keys, this.size);
+  }
+
+  private void sortCandidates(final List<IEntity> result) {
+    final int count = result.size();
+    if (this.candidates.length < count) {
+      this.candidates = new IEntity[count];
+      this.candidateKeys = new double[count];
+    }
+
+    for (int i = 0; i < count; i++) {
+      this.candidates[i] = result.get(i);
+      this.candidateKeys[i] = EntityYComparator.getMaxY(this.candidates[i]);
+    }
+
+    insertionSort(this.candidates, this.candidateKeys, count);
+    for (int i = 0; i < count; i++) {
+      result.set(i, this.candidates[i]);
+      this.candidates[i] = null;
+    }
+  }
+
+  private static void insertionSort(final IEntity[] entities, final double[] keys, final int size) {
+    for (int i = 1; i < size; i++) {
+      final IEntity entity = entities[i];
+      final double key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        entities[j + 1] = entities[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+
+      entities[j + 1] = entity;
+      keys[j + 1] = key;
+    }
+  }
+
+  private static boolean isVisible(final IEntity entity, final Rectangle2D viewport) {
+    final Rectangle2D boundingBox = entity.getBoundingBox();
+    return boundingBox != null && viewport.intersects(boundingBox);
+  }
+}
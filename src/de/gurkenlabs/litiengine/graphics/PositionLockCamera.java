@@ -29,6 +29,8 @@ public class PositionLockCamera extends Camera {
   }
 
   protected Point2D getLockedCameraLocation() {
-    return this.getLockedEntity().getCenter();
+    // follow the interpolated location so that the camera moves as smooth as the rendered entity
+    final Point2D renderLocation = this.getLockedEntity().getRenderLocation();
+    return new Point2D.Double(renderLocation.getX() + this.getLockedEntity().getWidth() * 0.5, renderLocation.getY() + this.getLockedEntity().getHeight() * 0.5);
   }
 }
@@ -7,6 +7,7 @@ import java.awt.Shape;
 import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.Collection;
 import java.util.Collections;
@@ -240,6 +241,49 @@ public final class RenderEngine {
     this.renderEntities(g, entities, true, clip);
   }
 
+  /**
+   * Renders the entities of the specified render order that are within the viewport of the camera.
+   * Unlike {@link #renderEntities(Graphics2D, Collection, boolean)}, this doesn't sort all entities on every frame
+   * but only repairs the order that is kept by the <code>EntityRenderOrder</code>.
+   * 
+   * @param g
+   *          The graphics object to render on.
+   * @param renderOrder
+   *          The render order that contains the entities.
+   * @param sort
+   *          If true, the entities are rendered in the order of their max Y coordinate.
+   */
+  public void renderEntities(final Graphics2D g, final EntityRenderOrder renderOrder, final boolean sort) {
+    for (final IEntity entity : renderOrder.getEntities(Game.world().camera().getViewport(), sort)) {
+      this.renderEntity(g, entity);
+    }
+  }
+
+  /**
+   * Renders the entities with the specified render type from the specified snapshot. Other than the entities themselves,
+   * the snapshot is not modified by the game loop while it is rendered.
+   * 
+   * @param g
+   *          The graphics object to render on.
+   * @param snapshot
+   *          The snapshot that contains the render state of the entities.
+   * @param renderType
+   *          The render type of the entities to render.
+   * 
+   * @see RenderStateBuffer#acquire()
+   */
+  public void renderEntities(final Graphics2D g, final RenderSnapshot snapshot, final RenderType renderType) {
+    final Rectangle2D viewport = Game.world().camera().getViewport();
+    if (viewport == null) {
+      return;
+    }
+
+    final double alpha = Game.config().graphics().movementInterpolation() && Game.loop() != null ? Game.loop().getInterpolationAlpha() : 1;
+    for (int i = snapshot.getStart(renderType); i < snapshot.getEnd(renderType); i++) {
+      this.renderEntity(g, snapshot, i, alpha, viewport);
+    }
+  }
+
   public void renderEntity(final Graphics2D g, final IEntity entity) {
     if (entity == null) {
       return;
@@ -260,16 +304,41 @@ public final class RenderEngine {
         return;
       }
 
-      if (animationController.isAutoScaling()) {
-        final double ratioX = entity.getWidth() / img.getWidth();
-        final double ratioY = entity.getHeight() / img.getHeight();
-        ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocation(entity.getLocation()), ratioX, ratioY);
-      } else {
-        double deltaX = (entity.getWidth() - img.getWidth()) / 2.0;
-        double deltaY = (entity.getHeight() - img.getHeight()) / 2.0;
+      renderSprite(g, img, entity.getRenderLocation(), entity.getWidth(), entity.getHeight(), animationController.isAutoScaling(), animationController.getAffineTransform());
+    }
+
+    if (entity instanceof IRenderable) {
+      ((IRenderable) entity).render(g);
+    }
+
+    if (!this.entityRenderedConsumer.isEmpty()) {
+      for (final Consumer<RenderEvent<IEntity>> consumer : this.entityRenderedConsumer) {
+        consumer.accept(renderEvent);
+      }
+    }
+  }
+
+  private void renderEntity(final Graphics2D g, final RenderSnapshot snapshot, final int index, final double alpha, final Rectangle2D viewport) {
+    final IEntity entity = snapshot.getEntity(index);
+    final Point2D renderLocation = snapshot.getLocation(index, alpha);
+    final double width = snapshot.getWidth(index);
+    final double height = snapshot.getHeight(index);
+    if (!viewport.intersects(renderLocation.getX(), renderLocation.getY(), width, height) || !this.canRender(entity)) {
+      return;
+    }
 
-        ImageRenderer.renderTransformed(g, img, Game.world().camera().getViewportLocation(entity.getX() + deltaX, entity.getY() + deltaY), animationController.getAffineTransform());
+    final RenderEvent<IEntity> renderEvent = new RenderEvent<>(g, entity);
+    for (final Consumer<RenderEvent<IEntity>> consumer : this.entityRenderingConsumer) {
+      consumer.accept(renderEvent);
+    }
+
+    if (snapshot.isAnimated(index)) {
+      final BufferedImage img = snapshot.getSprite(index);
+      if (img == null) {
+        return;
       }
+
+      renderSprite(g, img, renderLocation, width, height, snapshot.isAutoScaling(index), snapshot.getTransform(index));
     }
 
     if (entity instanceof IRenderable) {
@@ -283,6 +352,19 @@ public final class RenderEngine {
     }
   }
 
+  private static void renderSprite(final Graphics2D g, final BufferedImage img, final Point2D renderLocation, final double width, final double height, final boolean autoScaling, final AffineTransform transform) {
+    if (autoScaling) {
+      final double ratioX = width / img.getWidth();
+      final double ratioY = height / img.getHeight();
+      ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocation(renderLocation), ratioX, ratioY);
+    } else {
+      double deltaX = (width - img.getWidth()) / 2.0;
+      double deltaY = (height - img.getHeight()) / 2.0;
+
+      ImageRenderer.renderTransformed(g, img, Game.world().camera().getViewportLocation(renderLocation.getX() + deltaX, renderLocation.getY() + deltaY), transform);
+    }
+  }
+
   public static void render(final Graphics2D g, final IMap map, final RenderType... renderTypes) {
     if (map == null) {
       return;
@@ -0,0 +1,292 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+
+/**
+ * The Class RenderSnapshot contains the state of entities that is required to
+ * render them, captured at the end of a tick. The state is stored in primitive
+ * arrays which are reused for every capture. The entities are grouped by their
+ * render type and kept in the order in which they need to be rendered.
+ *
+ * <p>
+ * Besides the location at the time of the capture, a snapshot also contains
+ * the location of each entity in the previous snapshot, which allows to
+ * interpolate the movement between two ticks.
+ * </p>
+ *
+ * @see RenderStateBuffer
+ * @see RenderEngine#renderEntities(java.awt.Graphics2D, RenderSnapshot,
+ *      RenderType)
+ */
+public class RenderSnapshot {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final RenderType[] RENDER_TYPES = RenderType.values();
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final int[] typeStart = new int[RENDER_TYPES.length];
+  private final int[] typeEnd = new int[RENDER_TYPES.length];
+
+  private IEntity[] entities;
+  private double[] x;
+  private double[] y;
+  private double[] previousX;
+  private double[] previousY;
+  private double[] width;
+  private double[] height;
+  private BufferedImage[] sprites;
+  private AffineTransform[] transforms;
+  private boolean[] animated;
+  private boolean[] autoScaling;
+
+  // open addressing table with the index of each entity plus one (0 marks a free slot), so that looking up the
+  // previous location of an entity doesn't box its index or allocate a map entry
+  private int[] slots;
+
+  private int size;
+  private long tick;
+
+  RenderSnapshot() {
+    this.entities = new IEntity[INITIAL_CAPACITY];
+    this.x = new double[INITIAL_CAPACITY];
+    this.y = new double[INITIAL_CAPACITY];
+    this.previousX = new double[INITIAL_CAPACITY];
+    this.previousY = new double[INITIAL_CAPACITY];
+    this.width = new double[INITIAL_CAPACITY];
+    this.height = new double[INITIAL_CAPACITY];
+    this.sprites = new BufferedImage[INITIAL_CAPACITY];
+    this.transforms = new AffineTransform[INITIAL_CAPACITY];
+    this.animated = new boolean[INITIAL_CAPACITY];
+    this.autoScaling = new boolean[INITIAL_CAPACITY];
+    this.slots = new int[INITIAL_CAPACITY * 2];
+  }
+
+  /**
+   * Gets the index of the first entity with the specified render type.
+   *
+   * @param renderType
+   *          the render type
+   * @return the index of the first entity
+   */
+  public int getStart(final RenderType renderType) {
+    return this.typeStart[renderType.ordinal()];
+  }
+
+  /**
+   * Gets the index after the last entity with the specified render type.
+   *
+   * @param renderType
+   *          the render type
+   * @return the index after the last entity
+   */
+  public int getEnd(final RenderType renderType) {
+    return this.typeEnd[renderType.ordinal()];
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the tick of the game loop at which this snapshot was captured.
+   *
+   * @return the tick of this snapshot
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  public IEntity getEntity(final int index) {
+    return this.entities[index];
+  }
+
+  public double getX(final int index) {
+    return this.x[index];
+  }
+
+  public double getY(final int index) {
+    return this.y[index];
+  }
+
+  public double getPreviousX(final int index) {
+    return this.previousX[index];
+  }
+
+  public double getPreviousY(final int index) {
+    return this.previousY[index];
+  }
+
+  public double getWidth(final int index) {
+    return this.width[index];
+  }
+
+  public double getHeight(final int index) {
+    return this.height[index];
+  }
+
+  /**
+   * Gets the sprite of the entity at the specified index.
+   *
+   * @param index
+   *          the index of the entity
+   * @return the current sprite of the entity's animation controller or null if
+   *         the entity has no sprite to render
+   */
+  public BufferedImage getSprite(final int index) {
+    return this.sprites[index];
+  }
+
+  public AffineTransform getTransform(final int index) {
+    return this.transforms[index];
+  }
+
+  /**
+   * Determines whether the entity at the specified index has an animation
+   * controller.
+   *
+   * @param index
+   *          the index of the entity
+   * @return true if the entity has an animation controller; otherwise false
+   */
+  public boolean isAnimated(final int index) {
+    return this.animated[index];
+  }
+
+  public boolean isAutoScaling(final int index) {
+    return this.autoScaling[index];
+  }
+
+  /**
+   * Gets the location of the entity at the specified index, interpolated
+   * between its previous and its current location.
+   *
+   * @param index
+   *          the index of the entity
+   * @param alpha
+   *          the progress between the previous (0) and the current (1) location
+   * @return the interpolated location
+   */
+  public Point2D getLocation(final int index, final double alpha) {
+    return new Point2D.Double(this.previousX[index] + (this.x[index] - this.previousX[index]) * alpha, this.previousY[index] + (this.y[index] - this.previousY[index]) * alpha);
+  }
+
+  ReadWriteLock getLock() {
+    return this.lock;
+  }
+
+  void clear(final long tick) {
+    Arrays.fill(this.entities, 0, this.size, null);
+    Arrays.fill(this.sprites, 0, this.size, null);
+    Arrays.fill(this.transforms, 0, this.size, null);
+    Arrays.fill(this.typeStart, 0);
+    Arrays.fill(this.typeEnd, 0);
+    Arrays.fill(this.slots, 0);
+    this.size = 0;
+    this.tick = tick;
+  }
+
+  void begin(final RenderType renderType) {
+    this.typeStart[renderType.ordinal()] = this.size;
+    this.typeEnd[renderType.ordinal()] = this.size;
+  }
+
+  void end(final RenderType renderType) {
+    this.typeEnd[renderType.ordinal()] = this.size;
+  }
+
+  /**
+   * Captures the state of the specified entity.
+   *
+   * @param entity
+   *          the entity
+   * @param previous
+   *          the previous snapshot which provides the location to interpolate
+   *          from; null if there is none
+   */
+  void add(final IEntity entity, final RenderSnapshot previous) {
+    if (this.size == this.entities.length) {
+      this.grow();
+    }
+
+    final int index = this.size;
+    final Point2D location = entity.getLocation();
+    this.entities[index] = entity;
+    this.x[index] = location.getX();
+    this.y[index] = location.getY();
+    this.width[index] = entity.getWidth();
+    this.height[index] = entity.getHeight();
+
+    final int previousIndex = previous != null ? previous.indexOf(entity) : -1;
+    this.previousX[index] = previousIndex != -1 ? previous.x[previousIndex] : this.x[index];
+    this.previousY[index] = previousIndex != -1 ? previous.y[previousIndex] : this.y[index];
+
+    final IEntityAnimationController animationController = entity.getAnimationController();
+    this.animated[index] = animationController != null;
+    if (animationController != null) {
+      final AffineTransform transform = animationController.getAffineTransform();
+      this.sprites[index] = animationController.getCurrentSprite();
+      this.transforms[index] = transform != null ? new AffineTransform(transform) : null;
+      this.autoScaling[index] = animationController.isAutoScaling();
+    } else {
+      this.autoScaling[index] = false;
+    }
+
+    this.putIndex(index);
+    this.size++;
+  }
+
+  private int indexOf(final IEntity entity) {
+    final int mask = this.slots.length - 1;
+    for (int slot = hash(entity) & mask; this.slots[slot] != 0; slot = slot + 1 & mask) {
+      final int index = this.slots[slot] - 1;
+      if (this.entities[index] == entity) {
+        return index;
+      }
+    }
+
+    return -1;
+  }
+
+  private void putIndex(final int index) {
+    final int mask = this.slots.length - 1;
+    int slot = hash(this.entities[index]) & mask;
+    while (this.slots[slot] != 0) {
+      slot = slot + 1 & mask;
+    }
+
+    this.slots[slot] = index + 1;
+  }
+
+  private static int hash(final IEntity entity) {
+    final int hash = System.identityHashCode(entity);
+    return hash ^ hash >>> 16;
+  }
+
+  private void grow() {
+    final int capacity = this.entities.length * 2;
+    this.entities = Arrays.copyOf(this.entities, capacity);
+    this.x = Arrays.copyOf(this.x, capacity);
+    this.y = Arrays.copyOf(this.y, capacity);
+    this.previousX = Arrays.copyOf(this.previousX, capacity);
+    this.previousY = Arrays.copyOf(this.previousY, capacity);
+    this.width = Arrays.copyOf(this.width, capacity);
+    this.height = Arrays.copyOf(this.height, capacity);
+    this.sprites = Arrays.copyOf(this.sprites, capacity);
+    this.transforms = Arrays.copyOf(this.transforms, capacity);
+    this.animated = Arrays.copyOf(this.animated, capacity);
+    this.autoScaling = Arrays.copyOf(this.autoScaling, capacity);
+
+    // the table is kept at most half full
+    this.slots = new int[capacity * 2];
+    for (int i = 0; i < this.size; i++) {
+      this.putIndex(i);
+    }
+  }
+}
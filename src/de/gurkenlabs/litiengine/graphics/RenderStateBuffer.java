@@ -0,0 +1,94 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Map;
+
+/**
+ * The Class RenderStateBuffer provides the state that is required for
+ * rendering to the render thread without sharing the live state of the
+ * entities with it.
+ *
+ * <p>
+ * At the end of every tick, the state is extracted into the back snapshot,
+ * which is then published as the front snapshot. The render thread only reads
+ * the front snapshot. A snapshot is locked while it is read, so the extraction
+ * only has to wait for the render thread if it needs to overwrite the snapshot
+ * that is still being rendered, i.e. if more than one tick was processed within
+ * a single frame.
+ * </p>
+ *
+ * @see RenderSnapshot
+ */
+public class RenderStateBuffer {
+  private final RenderSnapshot[] snapshots;
+  private volatile RenderSnapshot front;
+
+  public RenderStateBuffer() {
+    this.snapshots = new RenderSnapshot[] { new RenderSnapshot(), new RenderSnapshot() };
+  }
+
+  /**
+   * Extracts the state of the entities in the specified render orders and
+   * publishes it as a new snapshot.
+   *
+   * @param renderOrders
+   *          the render orders of the entities by their render type
+   * @param bounds
+   *          the bounds of the entities to extract; null to extract all
+   *          entities
+   * @param tick
+   *          the current tick of the game loop
+   */
+  public void extract(final Map<RenderType, EntityRenderOrder> renderOrders, final Rectangle2D bounds, final long tick) {
+    final RenderSnapshot previous = this.front;
+    final RenderSnapshot back = previous == this.snapshots[0] ? this.snapshots[1] : this.snapshots[0];
+
+    back.getLock().writeLock().lock();
+    try {
+      back.clear(tick);
+      for (final RenderType renderType : RenderType.values()) {
+        final EntityRenderOrder renderOrder = renderOrders.get(renderType);
+        back.begin(renderType);
+        if (renderType != RenderType.NONE && renderOrder != null) {
+          renderOrder.forEach(bounds, renderType == RenderType.NORMAL, entity -> back.add(entity, previous));
+        }
+
+        back.end(renderType);
+      }
+    } finally {
+      back.getLock().writeLock().unlock();
+    }
+
+    this.front = back;
+  }
+
+  /**
+   * Acquires the most recently published snapshot for reading. The snapshot
+   * must be released after reading by calling
+   * {@link #release(RenderSnapshot)}.
+   *
+   * @return the most recent snapshot or null if no snapshot was published yet
+   */
+  public RenderSnapshot acquire() {
+    final RenderSnapshot snapshot = this.front;
+    if (snapshot != null) {
+      snapshot.getLock().readLock().lock();
+    }
+
+    return snapshot;
+  }
+
+  public void release(final RenderSnapshot snapshot) {
+    if (snapshot != null) {
+      snapshot.getLock().readLock().unlock();
+    }
+  }
+
+  /**
+   * Discards the published snapshot, e.g. when the entities are no longer
+   * updated.
+   */
+  public void clear() {
+    this.front = null;
+  }
+}
@@ -3,10 +3,10 @@ package de.gurkenlabs.litiengine.graphics;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.awt.image.RasterFormatException;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
@@ -15,13 +15,13 @@ import de.gurkenlabs.litiengine.util.io.FileUtilities;
 public final class Spritesheet {
   private static final Logger log = Logger.getLogger(Spritesheet.class.getName());
 
-  private final List<Integer> emptySprites = new CopyOnWriteArrayList<>();
+  private final BitSet emptySprites = new BitSet();
 
-  private final BufferedImage image;
+  private volatile BufferedImage image;
   private final String name;
   private final ImageFormat imageFormat;
 
-  private BufferedImage[] sprites;
+  private volatile BufferedImage[] sprites;
   private int columns;
   private int rows;
   private int spriteHeight;
@@ -39,14 +39,20 @@ public final class Spritesheet {
     this.imageFormat = ImageFormat.get(FileUtilities.getExtension(path));
 
     this.updateRowsAndCols();
-    this.sprites = new BufferedImage[this.getTotalNumberOfSprites()];
-    
+    this.clearSprites();
+
     Resources.spritesheets().add(this.name, this);
-    
-    Resources.images().addClearedListener(() -> {
+  }
+
+  /**
+   * Discards all sprites that were sliced from the image of this spritesheet. They will be sliced again when they are
+   * requested.
+   */
+  public void clearSprites() {
+    synchronized (this.emptySprites) {
       this.emptySprites.clear();
       this.sprites = new BufferedImage[this.getTotalNumberOfSprites()];
-    });
+    }
   }
 
   /**
@@ -83,6 +89,27 @@ public final class Spritesheet {
     return this.image;
   }
 
+  /**
+   * Replaces the image of this spritesheet, e.g. by a part of a texture atlas that contains the same pixels. The sprites
+   * are sliced again from the new image when they are requested.
+   *
+   * @param image
+   *          The new image of the spritesheet; must not be smaller than a single sprite.
+   *
+   * @see de.gurkenlabs.litiengine.resources.TextureAtlasPacker
+   */
+  public void setImage(final BufferedImage image) {
+    checkImage(image, this.getName());
+    checkDimension(this.spriteWidth, image.getWidth(), "width");
+    checkDimension(this.spriteHeight, image.getHeight(), "height");
+
+    synchronized (this.emptySprites) {
+      this.image = image;
+      this.updateRowsAndCols();
+      this.clearSprites();
+    }
+  }
+
   public ImageFormat getImageFormat() {
     return this.imageFormat;
   }
@@ -106,12 +133,19 @@ public final class Spritesheet {
   }
 
   public BufferedImage getSprite(final int index, final int margin, final int spacing) {
-    if (this.emptySprites.contains(index) || this.sprites.length == 0) {
+    final BufferedImage[] slicedSprites = this.sprites;
+    if (slicedSprites.length == 0) {
       return null;
     }
 
-    if (this.sprites[index] != null) {
-      return this.sprites[index];
+    if (slicedSprites[index] != null) {
+      return slicedSprites[index];
+    }
+
+    synchronized (this.emptySprites) {
+      if (this.emptySprites.get(index)) {
+        return null;
+      }
     }
 
     if (this.getImage() == null) {
@@ -119,15 +153,21 @@ public final class Spritesheet {
       return null;
     }
 
+    // sprites are sliced on their first request, concurrent requests for the same sprite only result in redundant work
     final Point position = this.getLocation(index, margin, spacing);
     try {
       final BufferedImage sprite = this.getImage().getSubimage(position.x, position.y, this.spriteWidth, this.spriteHeight);
       if (Imaging.isEmpty(sprite)) {
-        emptySprites.add(index);
+        synchronized (this.emptySprites) {
+          if (slicedSprites == this.sprites) {
+            this.emptySprites.set(index);
+          }
+        }
+
         return null;
       }
 
-      this.sprites[index] = sprite;
+      slicedSprites[index] = sprite;
       return sprite;
     } catch (final RasterFormatException rfe) {
       log.warning("could not read sprite of size [" + this.spriteWidth + "x" + this.spriteHeight + " at position [" + position.x + "," + position.y + "] from sprite'" + this.getName() + "'");
@@ -166,11 +206,22 @@ public final class Spritesheet {
     return Resources.spritesheets().contains(this.getName());
   }
 
+  /**
+   * Slices all sprites of this spritesheet in parallel, so that subsequent calls to {@link #getSprite(int)} don't have
+   * to cut them out of the image on the render thread.
+   *
+   * @return The number of sprites that are not empty.
+   */
+  public int warmUp() {
+    return (int) IntStream.range(0, this.getTotalNumberOfSprites()).parallel().filter(i -> this.getSprite(i) != null).count();
+  }
+
   public void setSpriteHeight(final int spriteHeight) {
     this.checkHeight(spriteWidth);
 
     this.spriteHeight = spriteHeight;
     this.updateRowsAndCols();
+    this.clearSprites();
   }
 
   public void setSpriteWidth(final int spriteWidth) {
@@ -178,6 +229,7 @@ public final class Spritesheet {
 
     this.spriteWidth = spriteWidth;
     this.updateRowsAndCols();
+    this.clearSprites();
   }
 
   private void checkWidth(int value) {
@@ -9,6 +9,7 @@ import java.util.logging.Logger;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ILaunchable;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.resources.Resources;
 
@@ -174,6 +175,16 @@ public class Animation implements IUpdateable, ILaunchable {
     this.paused = false;
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
   @Override
   public void update() {
     // do nothing if the animation is not playing of the current keyframe is not
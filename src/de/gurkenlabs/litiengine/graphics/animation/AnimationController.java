@@ -12,6 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.graphics.ImageEffect;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.resources.Resources;
@@ -259,6 +260,16 @@ public class AnimationController implements IAnimationController {
     }
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
   @Override
   public void update() {
     if (this.getCurrentAnimation() != null && this.getCurrentAnimation().isPaused()) {
@@ -17,6 +17,7 @@ import de.gurkenlabs.litiengine.Align;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ITimeToLive;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.Valign;
 import de.gurkenlabs.litiengine.annotation.CollisionInfo;
 import de.gurkenlabs.litiengine.annotation.EmitterInfo;
@@ -368,6 +369,11 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
     this.stopped = !this.stopped;
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.EMITTERS;
+  }
+
   @Override
   public void update() {
     if (this.isPaused()) {
@@ -497,7 +503,7 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
       return;
     }
 
-    if (Game.screens() != null && Game.world().camera() != null && !Game.world().camera().getViewport().intersects(this.getBoundingBox())) {
+    if (Game.world().camera() != null && !Game.world().camera().getViewport().intersects(this.getBoundingBox())) {
       return;
     }
 
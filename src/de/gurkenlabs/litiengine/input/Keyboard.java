@@ -12,6 +12,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.UpdatePhase;
 
 public class Keyboard implements KeyEventDispatcher, IKeyboard {
   private final List<KeyListener> keyListeners = new CopyOnWriteArrayList<>();
@@ -29,7 +30,10 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
   private boolean consumeAlt;
 
   protected Keyboard() {
-    KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
+    if (!Game.isInNoGUIMode()) {
+      // without a GUI, key events can only be passed to the keyboard manually
+      KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
+    }
 
     Game.inputLoop().attach(this);
     this.consumeAlt = true;
@@ -131,6 +135,11 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
     this.keyListeners.remove(listener);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.INPUT;
+  }
+
   @Override
   public void update() {
     this.executePressedKeys();
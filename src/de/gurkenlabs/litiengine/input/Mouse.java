@@ -56,12 +56,17 @@ public class Mouse implements IMouse {
    *           In case the {@link Robot} class could not be initialized.
    */
   protected Mouse() throws AWTException {
-    try {
-      this.robot = new Robot();
-      this.robot.setAutoDelay(0);
-    } catch (final AWTException e) {
-      log.log(Level.SEVERE, "The mouse input could not be initialized.");
-      throw e;
+    if (Game.isInNoGUIMode()) {
+      // without a GUI, there is no window to grab the mouse for
+      this.robot = null;
+    } else {
+      try {
+        this.robot = new Robot();
+        this.robot.setAutoDelay(0);
+      } catch (final AWTException e) {
+        log.log(Level.SEVERE, "The mouse input could not be initialized.");
+        throw e;
+      }
     }
 
     this.location = new Point2D.Double(Game.world().camera().getViewport().getCenterX(), Game.world().camera().getViewport().getCenterY());
@@ -335,7 +340,9 @@ public class Mouse implements IMouse {
       final int grabY = (int) (screenLocation.y + screenCenterY);
 
       // lock original mouse back to the center of the screen
-      this.robot.mouseMove(grabX, grabY);
+      if (this.robot != null) {
+        this.robot.mouseMove(grabX, grabY);
+      }
 
       // calculate diffs and new location for the ingame mouse
       diffX = e.getXOnScreen() - (double) grabX;
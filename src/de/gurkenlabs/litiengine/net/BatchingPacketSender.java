@@ -0,0 +1,275 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IGameLoop;
+
+/**
+ * The Class BatchingPacketSender accumulates all packets that are sent to the
+ * same destination and coalesces them into as few datagrams as possible when
+ * it is flushed. Each message is framed by a two byte length prefix and no
+ * datagram exceeds the configured maximum size unless a single message is
+ * larger than that.
+ *
+ * <p>
+ * The receiving side needs to split the coalesced datagrams by wrapping its
+ * observer with {@link #unpacking(IIncomingPacketObserver)}.
+ * </p>
+ */
+public class BatchingPacketSender implements IPacketSender {
+  /**
+   * The default maximum datagram size that avoids IP fragmentation on common
+   * networks.
+   */
+  public static final int DEFAULT_MAX_DATAGRAM_SIZE = 1200;
+
+  private static final Logger log = Logger.getLogger(BatchingPacketSender.class.getName());
+  private static final int LENGTH_BYTE_COUNT = 2;
+  private static final int MAX_MESSAGE_SIZE = 0xFFFF;
+
+  private final IPacketSender sender;
+  private final int maxDatagramSize;
+  private final Map<InetSocketAddress, Batch> batches;
+
+  private int messagesPerFlush;
+  private int datagramsPerFlush;
+  private long bytesPerFlush;
+
+  /**
+   * Instantiates a new batching packet sender that needs to be flushed manually.
+   *
+   * @param sender
+   *          the sender that transmits the coalesced datagrams
+   */
+  public BatchingPacketSender(final IPacketSender sender) {
+    this(sender, DEFAULT_MAX_DATAGRAM_SIZE);
+  }
+
+  /**
+   * Instantiates a new batching packet sender that needs to be flushed manually.
+   *
+   * @param sender
+   *          the sender that transmits the coalesced datagrams
+   * @param maxDatagramSize
+   *          the maximum size of a coalesced datagram in bytes
+   */
+  public BatchingPacketSender(final IPacketSender sender, final int maxDatagramSize) {
+    if (maxDatagramSize <= LENGTH_BYTE_COUNT) {
+      throw new IllegalArgumentException("The maximum datagram size must be greater than " + LENGTH_BYTE_COUNT + " bytes.");
+    }
+
+    this.sender = sender;
+    this.maxDatagramSize = maxDatagramSize;
+    this.batches = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Instantiates a new batching packet sender that is flushed at the end of
+   * every tick of the specified loop.
+   *
+   * @param sender
+   *          the sender that transmits the coalesced datagrams
+   * @param loop
+   *          the loop whose ticks define the batches
+   */
+  public BatchingPacketSender(final IPacketSender sender, final IGameLoop loop) {
+    this(sender);
+    loop.onTicked(ticks -> this.flush());
+  }
+
+  /**
+   * Splits a coalesced datagram into the contained messages.
+   *
+   * @param datagram
+   *          the datagram
+   * @return the messages in the order in which they were sent
+   */
+  public static List<byte[]> unpack(final byte[] datagram) {
+    final List<byte[]> messages = new ArrayList<>();
+    final ByteBuffer buffer = ByteBuffer.wrap(datagram);
+    while (buffer.remaining() >= LENGTH_BYTE_COUNT) {
+      final int length = buffer.getShort() & MAX_MESSAGE_SIZE;
+      if (length > buffer.remaining()) {
+        log.log(Level.FINE, "Dropped truncated message of {0} bytes.", length);
+        break;
+      }
+
+      final byte[] message = new byte[length];
+      buffer.get(message);
+      messages.add(message);
+    }
+
+    return messages;
+  }
+
+  /**
+   * Creates an observer that splits coalesced datagrams and forwards each
+   * contained message to the specified observer.
+   *
+   * @param observer
+   *          the observer that handles the single messages
+   * @return the unpacking observer that needs to be registered on the
+   *         {@link IPacketReceiver}
+   */
+  public static IIncomingPacketObserver unpacking(final IIncomingPacketObserver observer) {
+    return (data, address, port) -> {
+      for (final byte[] message : unpack(data)) {
+        observer.packetReceived(message, address, port);
+      }
+    };
+  }
+
+  @Override
+  public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+    final byte[] data = packet.getData();
+    if (data.length > MAX_MESSAGE_SIZE) {
+      throw new IllegalArgumentException("The packet exceeds the maximum size of " + MAX_MESSAGE_SIZE + " bytes.");
+    }
+
+    final Batch batch = this.batches.computeIfAbsent(new InetSocketAddress(ipAddress, port), key -> new Batch(ipAddress, port, this.maxDatagramSize));
+    synchronized (batch) {
+      batch.append(data);
+    }
+  }
+
+  @Override
+  public void sendData(final Packet packet, final String ipAddress, final int port) {
+    try {
+      this.sendData(packet, InetAddress.getByName(ipAddress), port);
+    } catch (final UnknownHostException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Sends all accumulated messages as coalesced datagrams.
+   */
+  public void flush() {
+    int messages = 0;
+    int datagrams = 0;
+    long bytes = 0;
+
+    for (final Batch batch : this.batches.values()) {
+      final List<byte[]> completed;
+      synchronized (batch) {
+        messages += batch.messages;
+        completed = batch.drain();
+      }
+
+      for (final byte[] datagram : completed) {
+        this.sender.sendData(new RawPacket(datagram), batch.address, batch.port);
+        Game.metrics().packageSent(datagram.length);
+        ++datagrams;
+        bytes += datagram.length;
+      }
+    }
+
+    this.messagesPerFlush = messages;
+    this.datagramsPerFlush = datagrams;
+    this.bytesPerFlush = bytes;
+  }
+
+  /**
+   * Removes the batch of the specified destination and discards all of its
+   * messages that have not been flushed yet.
+   *
+   * @param address
+   *          the address
+   * @param port
+   *          the port
+   */
+  public void remove(final InetAddress address, final int port) {
+    this.batches.remove(new InetSocketAddress(address, port));
+  }
+
+  public int getMaxDatagramSize() {
+    return this.maxDatagramSize;
+  }
+
+  /**
+   * Gets the number of messages that were sent by the last flush.
+   *
+   * @return the messages of the last flush
+   */
+  public int getMessagesPerFlush() {
+    return this.messagesPerFlush;
+  }
+
+  /**
+   * Gets the number of datagrams that were sent by the last flush.
+   *
+   * @return the datagrams of the last flush
+   */
+  public int getDatagramsPerFlush() {
+    return this.datagramsPerFlush;
+  }
+
+  /**
+   * Gets the number of bytes that were sent by the last flush.
+   *
+   * @return the bytes of the last flush
+   */
+  public long getBytesPerFlush() {
+    return this.bytesPerFlush;
+  }
+
+  private static class Batch {
+    private final InetAddress address;
+    private final int port;
+    private final ByteBuffer current;
+    private final int maxDatagramSize;
+    private List<byte[]> completed;
+    private int messages;
+
+    private Batch(final InetAddress address, final int port, final int maxDatagramSize) {
+      this.address = address;
+      this.port = port;
+      this.maxDatagramSize = maxDatagramSize;
+      this.current = ByteBuffer.allocate(maxDatagramSize);
+      this.completed = new ArrayList<>();
+    }
+
+    private void append(final byte[] data) {
+      final int frameSize = LENGTH_BYTE_COUNT + data.length;
+      if (this.current.position() > 0 && this.current.position() + frameSize > this.maxDatagramSize) {
+        this.complete();
+      }
+
+      if (frameSize > this.maxDatagramSize) {
+        // a message that exceeds the datagram size is sent on its own
+        this.completed.add(ByteBuffer.allocate(frameSize).putShort((short) data.length).put(data).array());
+      } else {
+        this.current.putShort((short) data.length).put(data);
+      }
+
+      ++this.messages;
+    }
+
+    private List<byte[]> drain() {
+      if (this.current.position() > 0) {
+        this.complete();
+      }
+
+      final List<byte[]> datagrams = this.completed;
+      this.completed = new ArrayList<>();
+      this.messages = 0;
+      return datagrams;
+    }
+
+    private void complete() {
+      this.completed.add(Arrays.copyOf(this.current.array(), this.current.position()));
+      this.current.clear();
+    }
+  }
+}
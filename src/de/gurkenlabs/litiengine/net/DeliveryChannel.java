@@ -0,0 +1,46 @@
+package de.gurkenlabs.litiengine.net;
+
+/**
+ * The enum DeliveryChannel defines the channels that are multiplexed by the
+ * {@link ReliablePacketSender} over a single socket. Each channel has its own
+ * message sequence and provides a different delivery guarantee.
+ */
+public enum DeliveryChannel {
+  /**
+   * Fire-and-forget delivery. Messages may be lost, duplicated or arrive out of
+   * order.
+   */
+  UNRELIABLE((byte) 0),
+
+  /**
+   * Messages may be lost, but messages that are older than the last received
+   * message on this channel are dropped.
+   */
+  UNRELIABLE_SEQUENCED((byte) 1),
+
+  /**
+   * Messages are retransmitted until they are acknowledged and are passed to
+   * the observers in the exact order in which they were sent.
+   */
+  RELIABLE_ORDERED((byte) 2);
+
+  private final byte id;
+
+  private DeliveryChannel(final byte id) {
+    this.id = id;
+  }
+
+  public static DeliveryChannel get(final byte id) {
+    for (final DeliveryChannel channel : values()) {
+      if (channel.getId() == id) {
+        return channel;
+      }
+    }
+
+    return null;
+  }
+
+  public byte getId() {
+    return this.id;
+  }
+}
@@ -0,0 +1,161 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Class NetworkSimulationPacketSender is an {@link IPacketSender} decorator
+ * that simulates an unreliable network by dropping, delaying and duplicating
+ * outgoing packets. It is intended to test network code on the loopback
+ * interface.
+ */
+public class NetworkSimulationPacketSender implements IPacketSender, AutoCloseable {
+  private static final Logger log = Logger.getLogger(NetworkSimulationPacketSender.class.getName());
+
+  private final IPacketSender sender;
+  private final Random random;
+  private final ScheduledExecutorService executor;
+
+  private double packetLoss;
+  private double duplication;
+  private int latency;
+  private int jitter;
+
+  private int droppedPackets;
+
+  /**
+   * Instantiates a new network simulation packet sender.
+   *
+   * @param sender
+   *          the sender that actually transmits the packets
+   */
+  public NetworkSimulationPacketSender(final IPacketSender sender) {
+    this(sender, new Random());
+  }
+
+  /**
+   * Instantiates a new network simulation packet sender.
+   *
+   * @param sender
+   *          the sender that actually transmits the packets
+   * @param random
+   *          the random number generator; use a seeded instance for
+   *          reproducible tests
+   */
+  public NetworkSimulationPacketSender(final IPacketSender sender, final Random random) {
+    this.sender = sender;
+    this.random = random;
+    this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "Network Simulation Thread");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+    final int copies;
+    final long[] delays;
+    synchronized (this.random) {
+      if (this.random.nextDouble() < this.packetLoss) {
+        ++this.droppedPackets;
+        return;
+      }
+
+      copies = this.random.nextDouble() < this.duplication ? 2 : 1;
+      delays = new long[copies];
+      for (int i = 0; i < copies; i++) {
+        delays[i] = this.latency + (this.jitter > 0 ? this.random.nextInt(this.jitter + 1) : 0);
+      }
+    }
+
+    for (final long delay : delays) {
+      if (delay <= 0) {
+        this.sender.sendData(packet, ipAddress, port);
+      } else {
+        this.executor.schedule(() -> this.sender.sendData(packet, ipAddress, port), delay, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  @Override
+  public void sendData(final Packet packet, final String ipAddress, final int port) {
+    try {
+      this.sendData(packet, InetAddress.getByName(ipAddress), port);
+    } catch (final UnknownHostException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+  }
+
+  public int getDroppedPackets() {
+    return this.droppedPackets;
+  }
+
+  public double getPacketLoss() {
+    return this.packetLoss;
+  }
+
+  public double getDuplication() {
+    return this.duplication;
+  }
+
+  public int getLatency() {
+    return this.latency;
+  }
+
+  public int getJitter() {
+    return this.jitter;
+  }
+
+  /**
+   * Sets the probability in the range [0, 1] for a packet to be dropped.
+   *
+   * @param packetLoss
+   *          the packet loss probability
+   */
+  public void setPacketLoss(final double packetLoss) {
+    this.packetLoss = packetLoss;
+  }
+
+  /**
+   * Sets the probability in the range [0, 1] for a packet to be sent twice.
+   *
+   * @param duplication
+   *          the duplication probability
+   */
+  public void setDuplication(final double duplication) {
+    this.duplication = duplication;
+  }
+
+  /**
+   * Sets the constant delay in ms that is applied to every packet.
+   *
+   * @param latency
+   *          the latency in ms
+   */
+  public void setLatency(final int latency) {
+    this.latency = latency;
+  }
+
+  /**
+   * Sets the maximum random delay in ms that is added to the latency. Jitter
+   * causes packets to arrive out of order.
+   *
+   * @param jitter
+   *          the jitter in ms
+   */
+  public void setJitter(final int jitter) {
+    this.jitter = jitter;
+  }
+}
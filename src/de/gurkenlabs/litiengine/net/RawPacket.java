@@ -0,0 +1,19 @@
+package de.gurkenlabs.litiengine.net;
+
+/**
+ * The Class RawPacket wraps an already encoded byte array so that it can be
+ * passed to an {@link IPacketSender} without any further serialization.
+ */
+public class RawPacket extends Packet {
+
+  /**
+   * Instantiates a new raw packet.
+   *
+   * @param data
+   *          the encoded data; must contain at least one byte
+   */
+  public RawPacket(final byte[] data) {
+    super(data);
+    this.setData(data);
+  }
+}
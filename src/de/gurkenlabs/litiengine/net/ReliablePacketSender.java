@@ -0,0 +1,508 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+
+/**
+ * The Class ReliablePacketSender provides a lightweight reliability layer on
+ * top of an arbitrary {@link IPacketSender}.
+ *
+ * <p>
+ * Every datagram carries a 16-bit packet sequence and piggy-backs the
+ * acknowledgement of the latest received remote sequence together with a
+ * 32-bit bitfield for the 32 sequences before it. Messages sent on the
+ * {@link DeliveryChannel#RELIABLE_ORDERED} channel are kept until one of the
+ * packets that carried them has been acknowledged and only these unacknowledged
+ * messages are retransmitted.
+ * </p>
+ *
+ * <p>
+ * The instance needs to receive all incoming datagrams (register it on the
+ * {@link IPacketReceiver}) and has to be updated regularly, e.g. by attaching it
+ * to the <code>Game.loop()</code>, in order to send retransmissions and
+ * acknowledgements. Decoded payloads are forwarded to the observers registered
+ * by {@link #registerForIncomingPackets(IIncomingPacketObserver)}.
+ * </p>
+ */
+public class ReliablePacketSender implements IPacketSender, IIncomingPacketObserver, IUpdateable {
+  /**
+   * sequence (2) + ack (2) + ack bits (4) + channel/flags (1) + message id (2) +
+   * payload length (2)
+   */
+  public static final int HEADER_SIZE = 13;
+
+  public static final long DEFAULT_RESEND_TIMEOUT = 100;
+  public static final long DEFAULT_ACK_TIMEOUT = 50;
+
+  private static final Logger log = Logger.getLogger(ReliablePacketSender.class.getName());
+
+  private static final int ACK_BITS = 32;
+  private static final int SEQUENCE_MASK = 0xFFFF;
+  private static final int HALF_SEQUENCE_SPACE = 0x8000;
+  private static final int SENT_PACKET_BUFFER_SIZE = 1024;
+  private static final byte ACK_FLAG = (byte) 0x80;
+  private static final byte CHANNEL_MASK = 0x7F;
+  private static final byte ACK_ONLY = 0x7F;
+
+  private final IPacketSender sender;
+  private final List<IIncomingPacketObserver> incomingPacketObservers;
+  private final Map<InetSocketAddress, Peer> peers;
+
+  private long resendTimeout;
+  private long ackTimeout;
+
+  /**
+   * Instantiates a new reliable packet sender.
+   *
+   * @param sender
+   *          the sender that is used to actually transmit the datagrams
+   */
+  public ReliablePacketSender(final IPacketSender sender) {
+    this.sender = sender;
+    this.incomingPacketObservers = new CopyOnWriteArrayList<>();
+    this.peers = new ConcurrentHashMap<>();
+    this.resendTimeout = DEFAULT_RESEND_TIMEOUT;
+    this.ackTimeout = DEFAULT_ACK_TIMEOUT;
+  }
+
+  /**
+   * Register for the decoded payloads of incoming packets.
+   *
+   * @param observer
+   *          the observer
+   */
+  public void registerForIncomingPackets(final IIncomingPacketObserver observer) {
+    this.incomingPacketObservers.add(observer);
+  }
+
+  @Override
+  public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+    this.sendData(packet, DeliveryChannel.UNRELIABLE, ipAddress, port);
+  }
+
+  @Override
+  public void sendData(final Packet packet, final String ipAddress, final int port) {
+    this.sendData(packet, DeliveryChannel.UNRELIABLE, ipAddress, port);
+  }
+
+  /**
+   * Sends the specified packet on the specified channel.
+   *
+   * @param packet
+   *          the packet
+   * @param channel
+   *          the delivery channel
+   * @param ipAddress
+   *          the ip address
+   * @param port
+   *          the port
+   */
+  public void sendData(final Packet packet, final DeliveryChannel channel, final InetAddress ipAddress, final int port) {
+    final byte[] payload = packet.getData();
+    if (payload.length > SEQUENCE_MASK) {
+      throw new IllegalArgumentException("The packet payload exceeds the maximum size of " + SEQUENCE_MASK + " bytes.");
+    }
+
+    final Peer peer = this.getPeer(ipAddress, port);
+    final byte[] datagram;
+    synchronized (peer) {
+      final int messageId = peer.nextMessageId(channel);
+      final long now = currentTimeMillis();
+      if (channel == DeliveryChannel.RELIABLE_ORDERED) {
+        final PendingMessage message = new PendingMessage(messageId, payload);
+        message.lastSent = now;
+        peer.pendingMessages.put(messageId, message);
+      }
+
+      datagram = peer.write(channel.getId(), messageId, payload, now);
+    }
+
+    this.sender.sendData(new RawPacket(datagram), ipAddress, port);
+  }
+
+  /**
+   * Sends the specified packet on the specified channel.
+   *
+   * @param packet
+   *          the packet
+   * @param channel
+   *          the delivery channel
+   * @param ipAddress
+   *          the ip address
+   * @param port
+   *          the port
+   */
+  public void sendData(final Packet packet, final DeliveryChannel channel, final String ipAddress, final int port) {
+    try {
+      this.sendData(packet, channel, InetAddress.getByName(ipAddress), port);
+    } catch (final UnknownHostException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void packetReceived(final byte[] data, final InetAddress address, final int port) {
+    if (data == null || data.length < HEADER_SIZE) {
+      return;
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    final int sequence = buffer.getShort() & SEQUENCE_MASK;
+    final int ack = buffer.getShort() & SEQUENCE_MASK;
+    final int ackBits = buffer.getInt();
+    final byte flags = buffer.get();
+    final int messageId = buffer.getShort() & SEQUENCE_MASK;
+    final int length = buffer.getShort() & SEQUENCE_MASK;
+    if (length > buffer.remaining()) {
+      log.log(Level.FINE, "Dropped truncated packet from {0}:{1}.", new Object[] { address.getHostAddress(), port });
+      return;
+    }
+
+    final byte channelId = (byte) (flags & CHANNEL_MASK);
+    final List<byte[]> delivered = new ArrayList<>(1);
+    final Peer peer = this.getPeer(address, port);
+    synchronized (peer) {
+      if ((flags & ACK_FLAG) != 0) {
+        peer.acknowledge(ack, ackBits, currentTimeMillis());
+      }
+
+      if (!peer.receive(sequence) || channelId == ACK_ONLY) {
+        return;
+      }
+
+      peer.ackPending = true;
+      final DeliveryChannel channel = DeliveryChannel.get(channelId);
+      if (channel == null) {
+        return;
+      }
+
+      final byte[] payload = Arrays.copyOfRange(data, HEADER_SIZE, HEADER_SIZE + length);
+      switch (channel) {
+      case UNRELIABLE_SEQUENCED:
+        if (peer.lastSequencedId == -1 || isNewer(messageId, peer.lastSequencedId)) {
+          peer.lastSequencedId = messageId;
+          delivered.add(payload);
+        }
+        break;
+      case RELIABLE_ORDERED:
+        peer.receiveOrdered(messageId, payload, delivered);
+        break;
+      default:
+        delivered.add(payload);
+        break;
+      }
+    }
+
+    for (final byte[] payload : delivered) {
+      for (final IIncomingPacketObserver observer : this.incomingPacketObservers) {
+        observer.packetReceived(payload, address, port);
+      }
+    }
+  }
+
+  /**
+   * Retransmits all reliable messages whose acknowledgement timed out and sends
+   * explicit acknowledgements to peers that have not received any packet from
+   * this instance for longer than the ack timeout.
+   */
+  @Override
+  public void update() {
+    final long now = currentTimeMillis();
+    final List<byte[]> datagrams = new ArrayList<>();
+    for (final Peer peer : this.peers.values()) {
+      synchronized (peer) {
+        final long timeout = peer.roundTripTime < 0 ? this.resendTimeout : Math.max(this.resendTimeout, (long) (peer.roundTripTime * 2));
+        for (final PendingMessage message : peer.pendingMessages.values()) {
+          if (now - message.lastSent >= timeout) {
+            message.lastSent = now;
+            datagrams.add(peer.write(DeliveryChannel.RELIABLE_ORDERED.getId(), message.id, message.payload, now));
+          }
+        }
+
+        if (datagrams.isEmpty() && peer.ackPending && now - peer.lastSent >= this.ackTimeout) {
+          datagrams.add(peer.write(ACK_ONLY, 0, new byte[0], now));
+        }
+      }
+
+      for (final byte[] datagram : datagrams) {
+        this.sender.sendData(new RawPacket(datagram), peer.address, peer.port);
+      }
+
+      datagrams.clear();
+    }
+  }
+
+  /**
+   * Removes all state that is kept for the specified peer, including the
+   * messages that have not been acknowledged yet.
+   *
+   * @param address
+   *          the address
+   * @param port
+   *          the port
+   */
+  public void disconnect(final InetAddress address, final int port) {
+    this.peers.remove(new InetSocketAddress(address, port));
+  }
+
+  /**
+   * Gets the number of reliable messages for the specified peer that have not
+   * been acknowledged yet.
+   *
+   * @param address
+   *          the address
+   * @param port
+   *          the port
+   * @return the pending message count
+   */
+  public int getPendingMessageCount(final InetAddress address, final int port) {
+    final Peer peer = this.peers.get(new InetSocketAddress(address, port));
+    if (peer == null) {
+      return 0;
+    }
+
+    synchronized (peer) {
+      return peer.pendingMessages.size();
+    }
+  }
+
+  /**
+   * Gets the smoothed round trip time to the specified peer in ms.
+   *
+   * @param address
+   *          the address
+   * @param port
+   *          the port
+   * @return the round trip time or -1 if no packet has been acknowledged yet
+   */
+  public double getRoundTripTime(final InetAddress address, final int port) {
+    final Peer peer = this.peers.get(new InetSocketAddress(address, port));
+    return peer == null ? -1 : peer.roundTripTime;
+  }
+
+  public long getResendTimeout() {
+    return this.resendTimeout;
+  }
+
+  public long getAckTimeout() {
+    return this.ackTimeout;
+  }
+
+  /**
+   * Sets the minimum time in ms after which an unacknowledged reliable message
+   * is retransmitted. The actual timeout grows with the measured round trip
+   * time.
+   *
+   * @param resendTimeout
+   *          the resend timeout in ms
+   */
+  public void setResendTimeout(final long resendTimeout) {
+    this.resendTimeout = resendTimeout;
+  }
+
+  /**
+   * Sets the time in ms after which an explicit acknowledgement is sent if no
+   * other packet could carry it.
+   *
+   * @param ackTimeout
+   *          the ack timeout in ms
+   */
+  public void setAckTimeout(final long ackTimeout) {
+    this.ackTimeout = ackTimeout;
+  }
+
+  /**
+   * Determines whether the 16-bit sequence <code>s1</code> is more recent than
+   * <code>s2</code>, taking the wrap-around into account.
+   *
+   * @param s1
+   *          the first sequence
+   * @param s2
+   *          the second sequence
+   * @return true, if s1 is newer than s2
+   */
+  static boolean isNewer(final int s1, final int s2) {
+    final int diff = (s1 - s2) & SEQUENCE_MASK;
+    return diff != 0 && diff < HALF_SEQUENCE_SPACE;
+  }
+
+  private static long currentTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  private Peer getPeer(final InetAddress address, final int port) {
+    return this.peers.computeIfAbsent(new InetSocketAddress(address, port), key -> new Peer(address, port));
+  }
+
+  private static class PendingMessage {
+    private final int id;
+    private final byte[] payload;
+    private long lastSent;
+
+    private PendingMessage(final int id, final byte[] payload) {
+      this.id = id;
+      this.payload = payload;
+    }
+  }
+
+  private static class Peer {
+    private final InetAddress address;
+    private final int port;
+
+    // ring buffer of the sent packets that can still be acknowledged
+    private final int[] sentSequences;
+    private final long[] sentTimes;
+    private final int[] sentMessageIds;
+
+    private final int[] outgoingMessageIds;
+    private final Map<Integer, PendingMessage> pendingMessages;
+    private final Map<Integer, byte[]> orderedReceiveBuffer;
+
+    private int localSequence;
+    private int remoteSequence = -1;
+    private int receivedBits;
+    private boolean ackPending;
+    private long lastSent;
+    private double roundTripTime = -1;
+
+    private int lastSequencedId = -1;
+    private int nextOrderedId;
+
+    private Peer(final InetAddress address, final int port) {
+      this.address = address;
+      this.port = port;
+      this.sentSequences = new int[SENT_PACKET_BUFFER_SIZE];
+      this.sentTimes = new long[SENT_PACKET_BUFFER_SIZE];
+      this.sentMessageIds = new int[SENT_PACKET_BUFFER_SIZE];
+      Arrays.fill(this.sentSequences, -1);
+      this.outgoingMessageIds = new int[DeliveryChannel.values().length];
+      this.pendingMessages = new LinkedHashMap<>();
+      this.orderedReceiveBuffer = new HashMap<>();
+    }
+
+    private int nextMessageId(final DeliveryChannel channel) {
+      final int id = this.outgoingMessageIds[channel.ordinal()];
+      this.outgoingMessageIds[channel.ordinal()] = (id + 1) & SEQUENCE_MASK;
+      return id;
+    }
+
+    private byte[] write(final byte channel, final int messageId, final byte[] payload, final long now) {
+      final int sequence = this.localSequence;
+      this.localSequence = (sequence + 1) & SEQUENCE_MASK;
+
+      if (channel != ACK_ONLY) {
+        final int index = sequence % SENT_PACKET_BUFFER_SIZE;
+        this.sentSequences[index] = sequence;
+        this.sentTimes[index] = now;
+        this.sentMessageIds[index] = channel == DeliveryChannel.RELIABLE_ORDERED.getId() ? messageId : -1;
+      }
+
+      final boolean hasAck = this.remoteSequence != -1;
+      final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+      buffer.putShort((short) sequence);
+      buffer.putShort((short) (hasAck ? this.remoteSequence : 0));
+      buffer.putInt(hasAck ? this.receivedBits : 0);
+      buffer.put(hasAck ? (byte) (channel | ACK_FLAG) : channel);
+      buffer.putShort((short) messageId);
+      buffer.putShort((short) payload.length);
+      buffer.put(payload);
+
+      this.ackPending = false;
+      this.lastSent = now;
+      return buffer.array();
+    }
+
+    /**
+     * Records the remote sequence for the next acknowledgement.
+     *
+     * @return false if the packet has already been received
+     */
+    private boolean receive(final int sequence) {
+      if (this.remoteSequence == -1) {
+        this.remoteSequence = sequence;
+        return true;
+      }
+
+      if (isNewer(sequence, this.remoteSequence)) {
+        final int diff = (sequence - this.remoteSequence) & SEQUENCE_MASK;
+        final int shifted = diff >= ACK_BITS ? 0 : this.receivedBits << diff;
+        this.receivedBits = diff > ACK_BITS ? shifted : shifted | 1 << (diff - 1);
+        this.remoteSequence = sequence;
+        return true;
+      }
+
+      final int diff = (this.remoteSequence - sequence) & SEQUENCE_MASK;
+      if (diff == 0) {
+        return false;
+      }
+
+      if (diff > ACK_BITS) {
+        // too old to be acknowledged, the channels take care of duplicates
+        return true;
+      }
+
+      final int bit = 1 << (diff - 1);
+      if ((this.receivedBits & bit) != 0) {
+        return false;
+      }
+
+      this.receivedBits |= bit;
+      return true;
+    }
+
+    private void acknowledge(final int ack, final int ackBits, final long now) {
+      this.acknowledge(ack, now);
+      for (int i = 0; i < ACK_BITS; i++) {
+        if ((ackBits & 1 << i) != 0) {
+          this.acknowledge((ack - 1 - i) & SEQUENCE_MASK, now);
+        }
+      }
+    }
+
+    private void acknowledge(final int sequence, final long now) {
+      final int index = sequence % SENT_PACKET_BUFFER_SIZE;
+      if (this.sentSequences[index] != sequence) {
+        return;
+      }
+
+      this.sentSequences[index] = -1;
+      final double sample = now - this.sentTimes[index];
+      this.roundTripTime = this.roundTripTime < 0 ? sample : this.roundTripTime + (sample - this.roundTripTime) * 0.1;
+
+      final int messageId = this.sentMessageIds[index];
+      if (messageId != -1) {
+        this.pendingMessages.remove(messageId);
+      }
+    }
+
+    private void receiveOrdered(final int messageId, final byte[] payload, final List<byte[]> delivered) {
+      if (messageId == this.nextOrderedId) {
+        delivered.add(payload);
+        this.nextOrderedId = (this.nextOrderedId + 1) & SEQUENCE_MASK;
+
+        byte[] buffered;
+        while ((buffered = this.orderedReceiveBuffer.remove(this.nextOrderedId)) != null) {
+          delivered.add(buffered);
+          this.nextOrderedId = (this.nextOrderedId + 1) & SEQUENCE_MASK;
+        }
+      } else if (isNewer(messageId, this.nextOrderedId)) {
+        this.orderedReceiveBuffer.putIfAbsent(messageId, payload);
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.SocketException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,6 +15,7 @@ import java.util.logging.Logger;
  */
 public class UdpPacketReceiver extends Thread implements IPacketReceiver {
   private static final Logger log = Logger.getLogger(UdpPacketReceiver.class.getName());
+  private static final int MAX_PACKET_SIZE = 10000;
 
   /** The incoming packet observers. */
   private final ArrayList<IIncomingPacketObserver> incomingPacketObservers;
@@ -54,19 +56,27 @@ public class UdpPacketReceiver extends Thread implements IPacketReceiver {
 
   @Override
   public void run() {
+    final byte[] buffer = new byte[MAX_PACKET_SIZE];
+    final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
     while (!interrupted()) {
-      final byte[] data = new byte[10000];
-      final DatagramPacket packet = new DatagramPacket(data, data.length);
+      packet.setLength(buffer.length);
       try {
         this.socket.receive(packet);
       } catch (InterruptedIOException e) {
         break;
       } catch (final IOException e) {
         log.log(Level.SEVERE, e.getMessage(), e);
+        if (this.socket.isClosed()) {
+          break;
+        }
+
+        continue;
       }
 
+      // only pass the bytes that were actually received so that observers can rely on the data length
+      final byte[] data = Arrays.copyOf(buffer, packet.getLength());
       for (final IIncomingPacketObserver packetObserver : this.incomingPacketObservers) {
-        packetObserver.packetReceived(packet.getData(), packet.getAddress(), packet.getPort());
+        packetObserver.packetReceived(data, packet.getAddress(), packet.getPort());
       }
     }
 
@@ -1,17 +1,21 @@
 package de.gurkenlabs.litiengine.net.server;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.InetAddress;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Class ClientConnection.
  */
 public class ClientConnection implements Serializable {
   /** The id sequence. */
-  private static int idSequence = 0;
+  private static final AtomicInteger idSequence = new AtomicInteger();
 
-  private static final long serialVersionUID = 6311152055968351408L;
+  private static final long serialVersionUID = -2403418731532937482L;
 
   /** The id. */
   private final int id;
@@ -19,8 +23,12 @@ public class ClientConnection implements Serializable {
   /** The ip address. */
   private final InetAddress ipAddress;
 
-  /** The last sign of life. */
-  private Date lastSignOfLife;
+  /**
+   * The last sign of life as monotonic {@link System#nanoTime()} stamp; it is
+   * only meaningful within the JVM that took it and is therefore not
+   * serialized.
+   */
+  private transient volatile long lastSignOfLife;
 
   /** The port. */
   private final int port;
@@ -33,7 +41,7 @@ public class ClientConnection implements Serializable {
     this.ipAddress = connection.getIpAddress();
     this.port = connection.getPort();
     this.userName = connection.getUserName();
-    this.lastSignOfLife = connection.getLastSignOfLife();
+    this.lastSignOfLife = connection.lastSignOfLife;
     this.id = connection.getId();
   }
 
@@ -52,8 +60,8 @@ public class ClientConnection implements Serializable {
     this.ipAddress = ipAddress;
     this.port = port;
     this.userName = userName;
-    this.lastSignOfLife = new Date();
-    this.id = ++idSequence;
+    this.lastSignOfLife = System.nanoTime();
+    this.id = idSequence.incrementAndGet();
   }
 
   /**
@@ -93,13 +101,30 @@ public class ClientConnection implements Serializable {
    * Gets the last sign of life.
    *
    * @return the last sign of life
+   * @deprecated The sign of life is tracked as monotonic time stamp; use
+   *             {@link #getLastSignOfLifeInMs()} instead.
    */
+  @Deprecated
   public Date getLastSignOfLife() {
-    return this.lastSignOfLife;
+    return new Date(System.currentTimeMillis() - this.getLastSignOfLifeInMs());
   }
 
+  /**
+   * Gets the time that passed since the last sign of life in ms.
+   *
+   * @return the time since the last sign of life in ms
+   */
   public long getLastSignOfLifeInMs() {
-    return new Date().getTime() - this.getLastSignOfLife().getTime();
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.lastSignOfLife);
+  }
+
+  /**
+   * Gets the last sign of life as {@link System#nanoTime()} stamp.
+   *
+   * @return the last sign of life in ns
+   */
+  public long getLastSignOfLifeNanos() {
+    return this.lastSignOfLife;
   }
 
   /**
@@ -120,14 +145,33 @@ public class ClientConnection implements Serializable {
     return this.userName;
   }
 
+  /**
+   * Sets the last sign of life to the current time.
+   */
+  public void setSignOfLife() {
+    this.lastSignOfLife = System.nanoTime();
+  }
+
   /**
    * Sets the last sign of life.
    *
    * @param lastSignOfLife
    *          the new last sign of life
+   * @deprecated Use {@link #setSignOfLife()} which doesn't depend on the wall
+   *             clock.
    */
+  @Deprecated
   public void setSignOfLife(final Date lastSignOfLife) {
-    this.lastSignOfLife = lastSignOfLife;
+    this.setSignOfLife(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - lastSignOfLife.getTime()));
+  }
+
+  void setSignOfLife(final long nanoTime) {
+    this.lastSignOfLife = nanoTime;
+  }
+
+  private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    this.lastSignOfLife = System.nanoTime();
   }
 
   @Override
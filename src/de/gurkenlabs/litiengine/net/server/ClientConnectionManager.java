@@ -1,19 +1,148 @@
 package de.gurkenlabs.litiengine.net.server;
 
 import java.net.InetAddress;
-import java.util.Date;
-import java.util.Optional;
+import java.net.InetSocketAddress;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import de.gurkenlabs.litiengine.IUpdateable;
 
 /**
- * The Class ClientConnectionManager.
+ * The Class ClientConnectionManager keeps track of all connected clients. The
+ * connections are indexed by their client id and by their endpoint so that all
+ * lookups are constant time operations.
+ *
+ * <p>
+ * Connections that don't provide a sign of life within the configured timeout
+ * are removed on {@link #update()}. The timeouts are tracked by a hashed timer
+ * wheel: a sign of life only updates the time stamp of the connection and the
+ * connection is re-scheduled lazily when its slot comes up, so neither
+ * refreshing nor sweeping needs to look at all connections.
+ * </p>
  */
-public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnection> implements IClientConnectionManager {
+public class ClientConnectionManager extends AbstractCollection<ClientConnection> implements IClientConnectionManager, IUpdateable {
+  public static final long DEFAULT_TIMEOUT = 10000;
+
+  private static final int WHEEL_SIZE = 128;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int SLOTS_PER_TIMEOUT = WHEEL_SIZE / 2;
+
+  private final Map<Integer, ClientConnection> connectionsById;
+  private final Map<InetSocketAddress, ClientConnection> connectionsByAddress;
+  private final List<Consumer<ClientConnection>> timeoutConsumer;
+
+  private final long timeoutNanos;
+  private final long resolutionNanos;
+  private final List<List<ClientConnection>> wheel;
+  private final long wheelStart;
+  private long wheelTick;
+
+  public ClientConnectionManager() {
+    this(DEFAULT_TIMEOUT);
+  }
 
   /**
+   * Instantiates a new client connection manager.
    *
+   * @param timeout
+   *          the time in ms after which a connection without sign of life is
+   *          removed
    */
-  private static final long serialVersionUID = 3719486731770172645L;
+  public ClientConnectionManager(final long timeout) {
+    this.connectionsById = new ConcurrentHashMap<>();
+    this.connectionsByAddress = new ConcurrentHashMap<>();
+    this.timeoutConsumer = new CopyOnWriteArrayList<>();
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+    this.resolutionNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), this.timeoutNanos / SLOTS_PER_TIMEOUT);
+    this.wheel = new ArrayList<>(WHEEL_SIZE);
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      this.wheel.add(new ArrayList<>());
+    }
+
+    this.wheelStart = System.nanoTime();
+  }
+
+  @Override
+  public boolean add(final ClientConnection connection) {
+    if (connection == null || this.connectionsById.putIfAbsent(connection.getId(), connection) != null) {
+      return false;
+    }
+
+    this.connectionsByAddress.put(new InetSocketAddress(connection.getIpAddress(), connection.getPort()), connection);
+    synchronized (this.wheel) {
+      this.schedule(connection, this.wheelTick);
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean remove(final Object o) {
+    if (!(o instanceof ClientConnection)) {
+      return false;
+    }
+
+    final ClientConnection connection = (ClientConnection) o;
+    if (!this.connectionsById.remove(connection.getId(), connection)) {
+      return false;
+    }
+
+    // the connection is removed lazily from the timer wheel
+    this.connectionsByAddress.remove(new InetSocketAddress(connection.getIpAddress(), connection.getPort()), connection);
+    return true;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return o instanceof ClientConnection && this.connectionsById.get(((ClientConnection) o).getId()) == o;
+  }
+
+  @Override
+  public void clear() {
+    this.connectionsById.clear();
+    this.connectionsByAddress.clear();
+    synchronized (this.wheel) {
+      for (final List<ClientConnection> slot : this.wheel) {
+        slot.clear();
+      }
+    }
+  }
+
+  @Override
+  public Iterator<ClientConnection> iterator() {
+    final Iterator<ClientConnection> iterator = this.connectionsById.values().iterator();
+    return new Iterator<ClientConnection>() {
+      private ClientConnection current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public ClientConnection next() {
+        this.current = iterator.next();
+        return this.current;
+      }
+
+      @Override
+      public void remove() {
+        ClientConnectionManager.this.remove(this.current);
+      }
+    };
+  }
+
+  @Override
+  public int size() {
+    return this.connectionsById.size();
+  }
 
   /**
    * Gets the connection.
@@ -24,12 +153,12 @@ public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnecti
    */
   @Override
   public ClientConnection get(final int clientId) {
-    if (this.stream().noneMatch(connection -> connection.getId() == clientId)) {
-      return null;
-    }
+    return this.connectionsById.get(clientId);
+  }
 
-    Optional<ClientConnection> opt = this.stream().filter(connection -> connection.getId() == clientId).findFirst();
-    return opt.isPresent() ? opt.get() : null;
+  @Override
+  public ClientConnection get(final InetAddress address, final int port) {
+    return this.connectionsByAddress.get(new InetSocketAddress(address, port));
   }
 
   /**
@@ -45,16 +174,96 @@ public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnecti
    */
   @Override
   public boolean isConnected(final int clientId, final InetAddress address, final int port) {
-    return this.stream().anyMatch(connection -> connection.equals(clientId, address, port));
+    final ClientConnection connection = this.get(clientId);
+    return connection != null && connection.equals(clientId, address, port);
   }
 
   @Override
   public void setSignOfLife(final int clientId) {
-    // update sign of life
-    for (final ClientConnection connection : this) {
-      if (connection.getId() == clientId) {
-        connection.setSignOfLife(new Date());
+    final ClientConnection connection = this.get(clientId);
+    if (connection != null) {
+      connection.setSignOfLife();
+    }
+  }
+
+  @Override
+  public void onConnectionTimedOut(final Consumer<ClientConnection> consumer) {
+    if (!this.timeoutConsumer.contains(consumer)) {
+      this.timeoutConsumer.add(consumer);
+    }
+  }
+
+  /**
+   * Removes all connections that didn't provide a sign of life within the
+   * timeout.
+   */
+  @Override
+  public void update() {
+    this.removeTimedOutConnections(System.nanoTime());
+  }
+
+  public long getTimeout() {
+    return TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos);
+  }
+
+  /**
+   * Advances the timer wheel up to the specified time and removes all
+   * connections whose last sign of life is older than the timeout.
+   *
+   * @param nanoTime
+   *          the current {@link System#nanoTime()}
+   * @return the removed connections
+   */
+  List<ClientConnection> removeTimedOutConnections(final long nanoTime) {
+    final List<ClientConnection> timedOut = new ArrayList<>();
+    synchronized (this.wheel) {
+      final long currentTick = this.getTick(nanoTime);
+      if (currentTick - this.wheelTick >= WHEEL_SIZE) {
+        // every slot needs to be visited only once
+        this.wheelTick = currentTick - WHEEL_SIZE + 1;
+      }
+
+      while (this.wheelTick <= currentTick) {
+        final List<ClientConnection> slot = this.wheel.get((int) (this.wheelTick & WHEEL_MASK));
+        if (!slot.isEmpty()) {
+          final List<ClientConnection> due = new ArrayList<>(slot);
+          slot.clear();
+          for (final ClientConnection connection : due) {
+            if (this.connectionsById.get(connection.getId()) != connection) {
+              // already removed
+              continue;
+            }
+
+            final long deadline = connection.getLastSignOfLifeNanos() + this.timeoutNanos;
+            if (deadline - nanoTime <= 0) {
+              timedOut.add(connection);
+            } else {
+              this.schedule(connection, currentTick + 1);
+            }
+          }
+        }
+
+        ++this.wheelTick;
       }
     }
+
+    for (final ClientConnection connection : timedOut) {
+      if (this.remove(connection)) {
+        for (final Consumer<ClientConnection> consumer : this.timeoutConsumer) {
+          consumer.accept(connection);
+        }
+      }
+    }
+
+    return timedOut;
+  }
+
+  private long getTick(final long nanoTime) {
+    return (nanoTime - this.wheelStart) / this.resolutionNanos;
+  }
+
+  private void schedule(final ClientConnection connection, final long minTick) {
+    final long tick = Math.max(minTick, this.getTick(connection.getLastSignOfLifeNanos() + this.timeoutNanos));
+    this.wheel.get((int) (tick & WHEEL_MASK)).add(connection);
   }
 }
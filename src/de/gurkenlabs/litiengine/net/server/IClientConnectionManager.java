@@ -1,12 +1,21 @@
 package de.gurkenlabs.litiengine.net.server;
 
 import java.net.InetAddress;
-import java.util.List;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import de.gurkenlabs.litiengine.IUpdateable;
 
 /**
  * The Interface IClientConnectionManager.
+ *
+ * <p>
+ * Connections that time out are only removed on {@link #update()}, so the
+ * owner of the manager has to call it regularly. The {@link UdpServer} does
+ * this on its own timer while it is running.
+ * </p>
  */
-public interface IClientConnectionManager extends List<ClientConnection> {
+public interface IClientConnectionManager extends Collection<ClientConnection>, IUpdateable {
 
   /**
    * Gets the.
@@ -15,9 +24,20 @@ public interface IClientConnectionManager extends List<ClientConnection> {
    *          the client id
    * @return the client connection
    */
-  @Override
   public ClientConnection get(int clientId);
 
+  /**
+   * Gets the connection of the client that uses the specified address and port.
+   *
+   * @param address
+   *          the address
+   * @param port
+   *          the port
+   * @return the client connection or null if no client is connected from this
+   *         endpoint
+   */
+  public ClientConnection get(InetAddress address, int port);
+
   /**
    * Checks if is connected.
    *
@@ -32,4 +52,13 @@ public interface IClientConnectionManager extends List<ClientConnection> {
   public boolean isConnected(int connectionId, InetAddress address, int port);
 
   public void setSignOfLife(final int clientId);
+
+  /**
+   * Adds a callback that is executed when a connection is removed because it
+   * didn't provide a sign of life within the timeout.
+   *
+   * @param consumer
+   *          the consumer that is provided with the timed out connection
+   */
+  public void onConnectionTimedOut(Consumer<ClientConnection> consumer);
 }
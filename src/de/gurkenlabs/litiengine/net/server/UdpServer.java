@@ -2,6 +2,9 @@ package de.gurkenlabs.litiengine.net.server;
 
 import java.net.InetAddress;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,6 +21,7 @@ import de.gurkenlabs.litiengine.util.io.CompressionUtilities;
 
 public class UdpServer implements IServer {
   private static final String SHUTDOWN = "shutdown";
+  private static final long CONNECTION_SWEEP_INTERVAL = 100;
 
   private static final Logger log = Logger.getLogger(UdpServer.class.getName());
 
@@ -35,6 +39,9 @@ public class UdpServer implements IServer {
   /** The sender. */
   private final IPacketSender sender;
 
+  /** Removes timed out connections while the server is running. */
+  private ScheduledExecutorService connectionSweeper;
+
   public UdpServer(final int listenPort, final IMessageHandlerProvider provider) {
     this.receiver = new UdpPacketReceiver(listenPort);
     this.receiver.registerForIncomingPackets(this);
@@ -84,15 +91,37 @@ public class UdpServer implements IServer {
   public void start() {
     this.receiver.start();
     this.getCommandManager().start();
+
+    this.connectionSweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "Connection Sweeper Thread");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.connectionSweeper.scheduleAtFixedRate(this::sweepConnections, CONNECTION_SWEEP_INTERVAL, CONNECTION_SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
   }
 
   @Override
   public void terminate() {
+    if (this.connectionSweeper != null) {
+      this.connectionSweeper.shutdownNow();
+      this.connectionSweeper = null;
+    }
+
     this.receiver.terminate();
     this.getCommandManager().terminate();
     System.exit(Game.EXIT_GAME_CLOSED);
   }
 
+  private void sweepConnections() {
+    try {
+      this.clientConnectionManager.update();
+    } catch (final RuntimeException e) {
+      // an exception would cancel all further sweeps of the executor
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
   protected boolean handleShutdownCommand(final String[] command) {
     log.log(Level.INFO, "Shutting down server...");
     this.terminate();
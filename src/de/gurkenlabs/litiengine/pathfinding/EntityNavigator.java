@@ -11,6 +11,7 @@ import java.util.function.Predicate;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
@@ -122,6 +123,11 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     }
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.MOVEMENT;
+  }
+
   @Override
   public void update() {
     if (!this.isNavigating()) {
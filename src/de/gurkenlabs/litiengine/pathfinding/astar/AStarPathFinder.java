@@ -9,12 +9,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.MetricTimer;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.pathfinding.Path;
 import de.gurkenlabs.litiengine.pathfinding.PathFinder;
 
 public class AStarPathFinder extends PathFinder {
+  private static final String SEARCH_TIMER = "pathfinding.search";
 
   private final AStarGrid grid;
 
@@ -69,7 +72,13 @@ public class AStarPathFinder extends PathFinder {
       return null;
     }
 
-    return this.findAStarPath(startNode, targetNode);
+    final MetricTimer timer = Game.metrics().timer(SEARCH_TIMER);
+    final long start = timer.start();
+    try {
+      return this.findAStarPath(startNode, targetNode);
+    } finally {
+      timer.stop(start);
+    }
   }
 
   public AStarGrid getGrid() {
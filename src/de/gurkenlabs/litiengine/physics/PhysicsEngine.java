@@ -15,6 +15,8 @@ import java.util.stream.Collectors;
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.MetricTimer;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.MathUtilities;
@@ -29,6 +31,10 @@ import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
  * Also, there's an overload that takes a <code>Line2D</code> to perform a basic raycast check.
  */
 public final class PhysicsEngine implements IUpdateable {
+  private static final String COLLIDES_TIMER = "physics.collides";
+  private static final String RAYCAST_TIMER = "physics.raycast";
+  private static final String MOVE_TIMER = "physics.move";
+
   private Rectangle2D environmentBounds;
 
   private final Map<Collision, List<ICollisionEntity>> collisionEntities;
@@ -272,6 +278,16 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public RaycastHit raycast(Line2D line, Collision collisionType, ICollisionEntity entity) {
+    final MetricTimer timer = Game.metrics().timer(RAYCAST_TIMER);
+    final long start = timer.start();
+    try {
+      return this.findRaycastHit(line, collisionType, entity);
+    } finally {
+      timer.stop(start);
+    }
+  }
+
+  private RaycastHit findRaycastHit(Line2D line, Collision collisionType, ICollisionEntity entity) {
     final Point2D rayCastSource = new Point2D.Double(line.getX1(), line.getY1());
 
     for (final ICollisionEntity collisionEntity : this.collisionEntities.get(collisionType)) {
@@ -327,6 +343,16 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean move(final IMobileEntity entity, Point2D newLocation) {
+    final MetricTimer timer = Game.metrics().timer(MOVE_TIMER);
+    final long start = timer.start();
+    try {
+      return this.moveToLocation(entity, newLocation);
+    } finally {
+      timer.stop(start);
+    }
+  }
+
+  private boolean moveToLocation(final IMobileEntity entity, Point2D newLocation) {
     if (entity.turnOnMove()) {
       entity.setAngle((float) GeometricUtilities.calcRotationAngleInDegrees(entity.getLocation(), newLocation));
     }
@@ -363,6 +389,11 @@ public final class PhysicsEngine implements IUpdateable {
     return this.move(entity, newPosition);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.PHYSICS;
+  }
+
   @Override
   public void update() {
     // retrieve all collision box rectangles once per update
@@ -414,17 +445,23 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   private boolean collides(final ICollisionEntity entity, Collision type, Predicate<ICollisionEntity> check) {
-    for (final ICollisionEntity otherEntity : this.getCollisionEntities(type)) {
-      if (!canCollide(entity, otherEntity)) {
-        continue;
-      }
+    final MetricTimer timer = Game.metrics().timer(COLLIDES_TIMER);
+    final long start = timer.start();
+    try {
+      for (final ICollisionEntity otherEntity : this.getCollisionEntities(type)) {
+        if (!canCollide(entity, otherEntity)) {
+          continue;
+        }
 
-      if (check.test(otherEntity)) {
-        return true;
+        if (check.test(otherEntity)) {
+          return true;
+        }
       }
-    }
 
-    return false;
+      return false;
+    } finally {
+      timer.stop(start);
+    }
   }
 
   /**
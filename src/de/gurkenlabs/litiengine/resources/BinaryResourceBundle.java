@@ -0,0 +1,605 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Map;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.sound.Sound;
+import de.gurkenlabs.litiengine.util.ArrayUtilities;
+import de.gurkenlabs.litiengine.util.io.Codec;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.StreamUtilities;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+
+/**
+ * A binary alternative to the XML based {@link ResourceBundle} that allows to
+ * access the contained resources without reading the whole file.
+ *
+ * <p>
+ * The file starts with a table of contents that stores the type, name, size
+ * and position of every resource. Images and sounds are stored as their raw
+ * file contents, all other resources as XML. Each entry is compressed
+ * individually and only if this reduces its size noticeably, so already
+ * compressed formats like PNG or OGG are stored as they are.
+ * </p>
+ *
+ * <p>
+ * Bundles on the file system are memory mapped. A resource is only decoded
+ * when it is requested, which is why {@link Resources#load(String)} adds the
+ * resources of a binary bundle as deferred resources to the containers.
+ * </p>
+ *
+ * @see #convert(String, String)
+ * @see ResourcesContainer#addDeferred(String, java.util.function.Supplier)
+ */
+public final class BinaryResourceBundle {
+  private static final Logger log = Logger.getLogger(BinaryResourceBundle.class.getName());
+  public static final String FILE_EXTENSION = "litibin";
+
+  private static final int MAGIC = 0x4C544942; // LTIB
+  private static final int CURRENT_VERSION = 1;
+
+  // entries are only stored compressed if this saves at least 10%
+  private static final double COMPRESSION_THRESHOLD = 0.9;
+
+  private final ByteBuffer buffer;
+  private final java.util.Map<EntryType, java.util.Map<String, Entry>> entries;
+
+  private BinaryResourceBundle(final ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    this.entries = new LinkedHashMap<>();
+    for (EntryType type : EntryType.values()) {
+      this.entries.put(type, new LinkedHashMap<>());
+    }
+
+    this.readTableOfContents();
+  }
+
+  public enum EntryType {
+    MAP, TILESET, SPRITESHEET, SOUND, EMITTER, BLUEPRINT;
+  }
+
+  public enum Compression {
+    NONE, DEFLATE;
+  }
+
+  public static boolean isSupported(String fileName) {
+    String extension = FileUtilities.getExtension(fileName);
+    return extension != null && extension.equalsIgnoreCase(FILE_EXTENSION);
+  }
+
+  /**
+   * Opens the specified binary resource bundle. Only the table of contents is
+   * read by this method.
+   *
+   * @param file
+   *          the path of the bundle
+   * @return the bundle or null if the file doesn't exist
+   * @throws IOException
+   *           if the file cannot be read or is not a binary resource bundle
+   */
+  public static BinaryResourceBundle open(final String file) throws IOException {
+    final File bundleFile = new File(file);
+    if (bundleFile.isFile()) {
+      try (FileChannel channel = FileChannel.open(bundleFile.toPath(), StandardOpenOption.READ)) {
+        // the mapping remains valid after the channel was closed
+        return new BinaryResourceBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+    }
+
+    // resources within a jar cannot be mapped, so they are read into memory
+    try (InputStream stream = Resources.get(file)) {
+      if (stream == null) {
+        return null;
+      }
+
+      return new BinaryResourceBundle(ByteBuffer.wrap(StreamUtilities.getByte(stream)));
+    }
+  }
+
+  /**
+   * Converts the specified XML resource bundle to a binary resource bundle.
+   *
+   * @param resourceBundleFile
+   *          the path of the <code>.litidata</code> file
+   * @param fileName
+   *          the file name of the binary bundle
+   * @return the path of the binary bundle or null if the resource bundle could
+   *         not be loaded
+   * @throws IOException
+   *           if the binary bundle cannot be written
+   */
+  public static String convert(final String resourceBundleFile, final String fileName) throws IOException {
+    final ResourceBundle bundle = ResourceBundle.load(resourceBundleFile);
+    if (bundle == null) {
+      return null;
+    }
+
+    return save(bundle, fileName);
+  }
+
+  /**
+   * Saves the resources of the specified resource bundle as binary bundle.
+   * Resources of the same type with the same name are only written once.
+   *
+   * @param bundle
+   *          the resource bundle
+   * @param fileName
+   *          the file name of the binary bundle
+   * @return the path of the binary bundle
+   * @throws IOException
+   *           if the binary bundle cannot be written
+   */
+  public static String save(final ResourceBundle bundle, final String fileName) throws IOException {
+    String fileNameWithExtension = fileName;
+    if (!fileNameWithExtension.endsWith("." + FILE_EXTENSION)) {
+      fileNameWithExtension += "." + FILE_EXTENSION;
+    }
+
+    final List<Entry> entries = new ArrayList<>();
+    final List<byte[]> payloads = new ArrayList<>();
+    final Set<String> names = new HashSet<>();
+    try {
+      for (Map map : bundle.getMaps()) {
+        addEntry(entries, payloads, names, new Entry(EntryType.MAP, map.getName()), toXml(map));
+      }
+
+      for (Tileset tileset : bundle.getTilesets()) {
+        addEntry(entries, payloads, names, new Entry(EntryType.TILESET, tileset.getName()), toXml(tileset));
+      }
+
+      for (SpritesheetResource sprite : bundle.getSpriteSheets()) {
+        if (sprite.getImage() == null || sprite.getImage().isEmpty()) {
+          continue;
+        }
+
+        final Entry entry = new Entry(EntryType.SPRITESHEET, sprite.getName());
+        entry.width = sprite.getWidth();
+        entry.height = sprite.getHeight();
+        // spritesheets without custom keyframes are stored with empty metadata
+        final String keyframes = ArrayUtilities.join(sprite.getKeyframes());
+        entry.metadata = keyframes != null ? keyframes : "";
+        addEntry(entries, payloads, names, entry, Codec.decode(sprite.getImage()));
+      }
+
+      for (SoundResource sound : bundle.getSounds()) {
+        final Entry entry = new Entry(EntryType.SOUND, sound.getName());
+        entry.metadata = sound.getFormat().name();
+        addEntry(entries, payloads, names, entry, Codec.decode(sound.getData()));
+      }
+
+      for (EmitterData emitter : bundle.getEmitters()) {
+        addEntry(entries, payloads, names, new Entry(EntryType.EMITTER, emitter.getName()), toXml(emitter));
+      }
+
+      for (Blueprint blueprint : bundle.getBluePrints()) {
+        addEntry(entries, payloads, names, new Entry(EntryType.BLUEPRINT, blueprint.getName()), toXml(blueprint));
+      }
+    } catch (JAXBException e) {
+      throw new IOException(e);
+    }
+
+    // the size of the table of contents doesn't depend on the offsets, so it is written twice to determine the offsets
+    long offset = writeTableOfContents(entries).length;
+    for (Entry entry : entries) {
+      entry.offset = offset;
+      offset += entry.length;
+    }
+
+    final File file = new File(fileNameWithExtension);
+    try (OutputStream out = new FileOutputStream(file, false)) {
+      out.write(writeTableOfContents(entries));
+      for (byte[] payload : payloads) {
+        out.write(payload);
+      }
+    }
+
+    return file.toString();
+  }
+
+  public List<Entry> getEntries(EntryType type) {
+    return Collections.unmodifiableList(new ArrayList<>(this.entries.get(type).values()));
+  }
+
+  public Entry getEntry(EntryType type, String name) {
+    return this.entries.get(type).get(name);
+  }
+
+  /**
+   * Decodes the map with the specified name from this bundle. If the map has
+   * external tilesets, they are resolved from the tilesets of this bundle,
+   * which are obtained from the {@link Tilesets} container.
+   *
+   * @param name
+   *          the name of the map
+   * @return the map or null if this bundle doesn't contain such a map
+   * @throws IOException
+   *           if the map cannot be read
+   */
+  public Map getMap(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.MAP, name);
+    if (entry == null) {
+      return null;
+    }
+
+    final Map map = this.readXml(Map.class, entry);
+    List<Tileset> tilesets = null;
+    for (ITileset tileset : map.getTilesets()) {
+      if (tileset instanceof Tileset && ((Tileset) tileset).isExternal()) {
+        if (tilesets == null) {
+          tilesets = this.getTilesets();
+        }
+
+        ((Tileset) tileset).load(tilesets);
+      }
+    }
+
+    try {
+      for (ITileLayer layer : map.getTileLayers()) {
+        if (layer instanceof TileLayer) {
+          ((TileLayer) layer).setTilesetEntries(map);
+        }
+      }
+    } catch (TmxException e) {
+      throw new IOException(e);
+    }
+
+    map.setName(name);
+    return map;
+  }
+
+  private List<Tileset> getTilesets() {
+    final List<Tileset> tilesets = new ArrayList<>();
+    for (String name : this.entries.get(EntryType.TILESET).keySet()) {
+      final Tileset tileset = Resources.tilesets().get(name);
+      if (tileset != null) {
+        tilesets.add(tileset);
+      }
+    }
+
+    return tilesets;
+  }
+
+  public Tileset getTileset(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.TILESET, name);
+    return entry != null ? this.readXml(Tileset.class, entry) : null;
+  }
+
+  public EmitterData getEmitter(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.EMITTER, name);
+    return entry != null ? this.readXml(EmitterData.class, entry) : null;
+  }
+
+  public Blueprint getBlueprint(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.BLUEPRINT, name);
+    return entry != null ? this.readXml(Blueprint.class, entry) : null;
+  }
+
+  /**
+   * Decodes the spritesheet with the specified name from this bundle. Like all
+   * spritesheets, it is added to the {@link Spritesheets} container when it is
+   * created.
+   *
+   * @param name
+   *          the name of the spritesheet
+   * @return the spritesheet or null if this bundle doesn't contain such a
+   *         spritesheet
+   * @throws IOException
+   *           if the image cannot be read
+   */
+  public Spritesheet getSpritesheet(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.SPRITESHEET, name);
+    if (entry == null) {
+      return null;
+    }
+
+    try (InputStream stream = this.getInputStream(entry)) {
+      final int[] keyframes = entry.metadata.isEmpty() ? new int[0] : ArrayUtilities.getIntegerArray(entry.metadata);
+      return Resources.spritesheets().load(ImageIO.read(stream), name, entry.width, entry.height, keyframes);
+    }
+  }
+
+  public Sound getSound(String name) throws IOException {
+    final Entry entry = this.getEntry(EntryType.SOUND, name);
+    if (entry == null) {
+      return null;
+    }
+
+    try (InputStream stream = this.getInputStream(entry)) {
+      return new Sound(new ByteArrayInputStream(StreamUtilities.getByte(stream)), name);
+    } catch (UnsupportedAudioFileException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Gets a stream of the uncompressed content of the specified entry.
+   *
+   * @param entry
+   *          the entry
+   * @return a stream of the content of the entry
+   */
+  public InputStream getInputStream(Entry entry) {
+    final ByteBuffer content = this.buffer.duplicate();
+    content.position((int) entry.offset);
+    content.limit((int) (entry.offset + entry.length));
+
+    final InputStream stream = new ByteBufferInputStream(content.slice());
+    return entry.compression == Compression.DEFLATE ? new InflaterInputStream(stream) : stream;
+  }
+
+  /**
+   * Adds all resources of this bundle to the containers of the
+   * {@link Resources} as deferred resources, so they are decoded on first
+   * access.
+   */
+  void addDeferredResources() {
+    for (Entry entry : this.entries.get(EntryType.MAP).values()) {
+      Resources.maps().addDeferred(entry.name, () -> this.load(entry, this::getMap));
+    }
+
+    for (Entry entry : this.entries.get(EntryType.TILESET).values()) {
+      if (!Resources.tilesets().contains(entry.name)) {
+        Resources.tilesets().addDeferred(entry.name, () -> this.load(entry, this::getTileset));
+      }
+    }
+
+    for (Entry entry : this.entries.get(EntryType.SPRITESHEET).values()) {
+      Resources.spritesheets().addDeferred(entry.name, () -> this.load(entry, this::getSpritesheet));
+    }
+
+    for (Entry entry : this.entries.get(EntryType.SOUND).values()) {
+      Resources.sounds().addDeferred(entry.name, () -> this.load(entry, this::getSound));
+    }
+  }
+
+  private <T> T load(Entry entry, ResourceReader<T> reader) {
+    try {
+      return reader.read(entry.name);
+    } catch (IOException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+      return null;
+    }
+  }
+
+  private <T> T readXml(Class<T> cls, Entry entry) throws IOException {
+    try (InputStream stream = this.getInputStream(entry)) {
+      return TmxReader.read(cls, stream);
+    } catch (JAXBException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private void readTableOfContents() throws IOException {
+    if (this.buffer.remaining() < Integer.BYTES * 3 || this.buffer.getInt(0) != MAGIC) {
+      throw new IOException("The file is not a binary resource bundle.");
+    }
+
+    final ByteBuffer toc = this.buffer.duplicate();
+    toc.position(Integer.BYTES);
+    final int version = toc.getInt();
+    if (version > CURRENT_VERSION) {
+      throw new IOException("Unsupported binary resource bundle version " + version);
+    }
+
+    final int count = toc.getInt();
+    for (int i = 0; i < count; i++) {
+      final Entry entry = new Entry(EntryType.values()[toc.get()], readString(toc));
+      entry.compression = Compression.values()[toc.get()];
+      entry.offset = toc.getLong();
+      entry.length = toc.getInt();
+      entry.size = toc.getInt();
+      entry.width = toc.getInt();
+      entry.height = toc.getInt();
+      entry.metadata = readString(toc);
+      this.entries.get(entry.type).put(entry.name, entry);
+    }
+  }
+
+  private static void addEntry(List<Entry> entries, List<byte[]> payloads, Set<String> names, Entry entry, byte[] content) throws IOException {
+    if (entry.name == null || !names.add(entry.type + ":" + entry.name)) {
+      return;
+    }
+
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+      deflater.write(content);
+    }
+
+    byte[] payload = content;
+    if (compressed.size() < content.length * COMPRESSION_THRESHOLD) {
+      payload = compressed.toByteArray();
+      entry.compression = Compression.DEFLATE;
+    }
+
+    entry.length = payload.length;
+    entry.size = content.length;
+    entries.add(entry);
+    payloads.add(payload);
+  }
+
+  private static byte[] writeTableOfContents(List<Entry> entries) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(CURRENT_VERSION);
+      out.writeInt(entries.size());
+      for (Entry entry : entries) {
+        out.writeByte(entry.type.ordinal());
+        writeString(out, entry.name);
+        out.writeByte(entry.compression.ordinal());
+        out.writeLong(entry.offset);
+        out.writeInt(entry.length);
+        out.writeInt(entry.size);
+        out.writeInt(entry.width);
+        out.writeInt(entry.height);
+        writeString(out, entry.metadata);
+      }
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private static byte[] toXml(Object resource) throws JAXBException {
+    final JAXBContext jaxbContext = XmlUtilities.getContext(resource.getClass());
+    if (jaxbContext == null) {
+      throw new JAXBException("No JAXB context for " + resource.getClass());
+    }
+
+    final Marshaller marshaller = jaxbContext.createMarshaller();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    marshaller.marshal(resource, out);
+    return out.toByteArray();
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > 0xFFFF) {
+      throw new IOException("The string is too long: " + value.substring(0, 32) + "...");
+    }
+
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * An entry of the table of contents of a binary resource bundle.
+   */
+  public static final class Entry {
+    private final EntryType type;
+    private final String name;
+    private Compression compression = Compression.NONE;
+    private long offset;
+    private int length;
+    private int size;
+    private int width;
+    private int height;
+    private String metadata = "";
+
+    private Entry(EntryType type, String name) {
+      this.type = type;
+      this.name = name;
+    }
+
+    public EntryType getType() {
+      return this.type;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public Compression getCompression() {
+      return this.compression;
+    }
+
+    /**
+     * Gets the size of the stored content in bytes.
+     *
+     * @return the stored size
+     */
+    public int getLength() {
+      return this.length;
+    }
+
+    /**
+     * Gets the size of the uncompressed content in bytes.
+     *
+     * @return the uncompressed size
+     */
+    public int getSize() {
+      return this.size;
+    }
+
+    public int getWidth() {
+      return this.width;
+    }
+
+    public int getHeight() {
+      return this.height;
+    }
+
+    public String getMetadata() {
+      return this.metadata;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ResourceReader<T> {
+    T read(String name) throws IOException;
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+
+      if (!this.buffer.hasRemaining()) {
+        return -1;
+      }
+
+      final int read = Math.min(len, this.buffer.remaining());
+      this.buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return this.buffer.remaining();
+    }
+  }
+}
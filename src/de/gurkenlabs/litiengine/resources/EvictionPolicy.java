@@ -0,0 +1,30 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.util.Comparator;
+
+/**
+ * An <code>EvictionPolicy</code> determines the order in which the resources of a <code>ResourcesContainer</code> are
+ * evicted once its memory budget is exceeded. Resources that are ordered first are evicted first; pinned resources are
+ * never evicted.
+ *
+ * @see ResourcesContainer#setEvictionPolicy(EvictionPolicy, long)
+ */
+@FunctionalInterface
+public interface EvictionPolicy extends Comparator<ResourceUsage> {
+  /**
+   * Evicts the resources that were not requested for the longest time first.
+   */
+  public static final EvictionPolicy LEAST_RECENTLY_USED = (a, b) -> Long.compare(a.getLastAccess(), b.getLastAccess());
+
+  /**
+   * Evicts the resources that were requested the least times first. Resources with the same number of requests are
+   * evicted by their last access.
+   */
+  public static final EvictionPolicy LEAST_FREQUENTLY_USED = (a, b) -> {
+    if (a.getAccessCount() != b.getAccessCount()) {
+      return Integer.compare(a.getAccessCount(), b.getAccessCount());
+    }
+
+    return Long.compare(a.getLastAccess(), b.getLastAccess());
+  };
+}
@@ -35,6 +35,16 @@ public final class Images extends ResourcesContainer<BufferedImage> {
     }
   }
 
+  @Override
+  protected long estimateSize(BufferedImage image) {
+    return estimateImageSize(image);
+  }
+
+  static long estimateImageSize(BufferedImage image) {
+    // sub images share the raster of their parent, so only the visible pixels are counted
+    return (long) image.getWidth() * image.getHeight() * image.getColorModel().getPixelSize() / 8;
+  }
+
   /**
    * Loads the image by the specified resourceName. This method supports both
    * loading images from a folder and loading them from the resources.
@@ -1,5 +1,9 @@
 package de.gurkenlabs.litiengine.resources;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import javax.xml.bind.JAXBException;
 
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
@@ -9,8 +13,8 @@ import de.gurkenlabs.litiengine.environment.tilemap.xml.Map;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
-import de.gurkenlabs.litiengine.util.io.XmlUtilities;
 
 public final class Maps extends ResourcesContainer<IMap> {
 
@@ -30,7 +34,7 @@ public final class Maps extends ResourcesContainer<IMap> {
 
     Map map;
     try {
-      map = XmlUtilities.readFromFile(Map.class, resourceName);
+      map = TmxReader.read(Map.class, resourceName);
     } catch (JAXBException e) {
       throw new TmxException("could not parse xml data", e);
     }
@@ -60,6 +64,26 @@ public final class Maps extends ResourcesContainer<IMap> {
     return map;
   }
 
+  /**
+   * The tilesets of a map are resolved while it is loaded, so a map only has to wait for the spritesheets of its
+   * tilesets.
+   */
+  @Override
+  protected CompletableFuture<Void> loadDependenciesAsync(IMap map, int priority) {
+    final List<CompletableFuture<?>> tasks = new ArrayList<>();
+    for (ITileset tileset : map.getTilesets()) {
+      tasks.add(Resources.spritesheets().loadAsync(tileset, priority));
+    }
+
+    return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()]));
+  }
+
+  @Override
+  protected long estimateSize(IMap map) {
+    // the tile data of the layers dominates the size of a map
+    return map.getTileLayers().stream().mapToLong(layer -> (long) layer.getWidth() * layer.getHeight() * Integer.BYTES).sum();
+  }
+
   @Override
   protected String getAlias(String resourceName, IMap resource) {
     if (resource == null || resource.getName() == null || resource.getName().isEmpty() || resource.getName().equalsIgnoreCase(resourceName)) {
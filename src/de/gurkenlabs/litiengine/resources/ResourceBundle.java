@@ -20,7 +20,6 @@ import java.util.zip.ZipException;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
@@ -31,6 +30,7 @@ import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Map;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
 import de.gurkenlabs.litiengine.util.io.XmlUtilities;
 
@@ -184,17 +184,15 @@ public class ResourceBundle implements Serializable {
   }
 
   private static ResourceBundle getGameFileFromFile(String file) throws JAXBException, IOException {
-    final JAXBContext jaxbContext = XmlUtilities.getContext(ResourceBundle.class);
-    final Unmarshaller um = jaxbContext.createUnmarshaller();
     try (InputStream inputStream = Resources.get(file)) {
 
       // try to get compressed game file
       final GZIPInputStream zipStream = new GZIPInputStream(inputStream);
-      return (ResourceBundle) um.unmarshal(zipStream);
+      return TmxReader.read(ResourceBundle.class, zipStream);
     } catch (final ZipException e) {
 
       // if it fails to load the compressed file, get it from plain XML
-      return XmlUtilities.readFromFile(ResourceBundle.class, file);
+      return TmxReader.read(ResourceBundle.class, file);
     }
   }
 
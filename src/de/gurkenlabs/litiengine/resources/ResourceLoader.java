@@ -0,0 +1,232 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The <code>ResourceLoader</code> loads resources asynchronously on a pool of background threads, so that neither the
+ * game loop nor the render thread are blocked by decoding maps, images or sounds.
+ * <p>
+ * Requests with a higher priority are loaded first. Additionally, the number of resources that are loaded at the same
+ * time can be limited per <code>ResourcesContainer</code>, e.g. to prevent a large number of sounds from occupying all
+ * threads while the spritesheets of the current map are still missing.
+ * </p>
+ *
+ * @see Resources#loader()
+ * @see ResourcesContainer#getAsync(String, int)
+ */
+public final class ResourceLoader {
+  public static final int PRIORITY_LOW = -10;
+  public static final int PRIORITY_NORMAL = 0;
+  public static final int PRIORITY_HIGH = 10;
+
+  private static final Logger log = Logger.getLogger(ResourceLoader.class.getName());
+
+  private final ThreadPoolExecutor executor;
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<ResourcesContainer<?>, Lane> lanes = new ConcurrentHashMap<>();
+  private final Lane unlimited = new Lane();
+  private final Collection<ResourceLoaderListener> listeners = new CopyOnWriteArrayList<>();
+
+  private int loadedResources;
+  private int totalResources;
+
+  /**
+   * Instantiates a new resource loader that uses all but one of the available processors.
+   */
+  ResourceLoader() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * Instantiates a new resource loader.
+   *
+   * @param threads
+   *          The number of threads that load resources.
+   */
+  ResourceLoader(final int threads) {
+    final AtomicInteger threadIndex = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), r -> {
+      final Thread thread = new Thread(r, "Resource Loader Thread #" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Add a new listener that gets notified about the progress of this loader.
+   *
+   * @param listener
+   *          The listener to add.
+   */
+  public void addListener(ResourceLoaderListener listener) {
+    this.listeners.add(listener);
+  }
+
+  /**
+   * Remove the specified listener from this loader.
+   *
+   * @param listener
+   *          The listener to remove.
+   */
+  public void removeListener(ResourceLoaderListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Gets the progress of all resources that were requested since this loader was idle the last time.
+   *
+   * @return A value between 0 and 1, where 1 means that all requested resources are loaded.
+   */
+  public synchronized double getProgress() {
+    return this.totalResources == 0 ? 1 : this.loadedResources / (double) this.totalResources;
+  }
+
+  /**
+   * Limits the number of resources of the specified container that are loaded at the same time.
+   *
+   * @param container
+   *          The container whose resources are limited.
+   * @param maxConcurrentLoads
+   *          The maximum number of resources that are loaded in parallel.
+   */
+  public void setConcurrencyLimit(final ResourcesContainer<?> container, final int maxConcurrentLoads) {
+    if (maxConcurrentLoads <= 0) {
+      throw new IllegalArgumentException("The concurrency limit must be greater than 0.");
+    }
+
+    final Lane lane = this.lanes.computeIfAbsent(container, c -> new Lane());
+    synchronized (lane) {
+      lane.limit = maxConcurrentLoads;
+    }
+
+    this.dispatch(lane);
+  }
+
+  /**
+   * Loads a resource on the threads of this loader.
+   *
+   * @param <R>
+   *          The type of the loaded resource.
+   * @param container
+   *          The container whose concurrency limit applies to the request or null if the request is not limited.
+   * @param resourceName
+   *          The name of the resource that is reported to the listeners of this loader.
+   * @param priority
+   *          The priority of the request; requests with a higher priority are loaded first.
+   * @param loadCallback
+   *          The callback that loads the resource.
+   * @return A future that completes with the loaded resource.
+   */
+  public <R> CompletableFuture<R> submit(final ResourcesContainer<?> container, final String resourceName, final int priority, final Supplier<R> loadCallback) {
+    final Lane lane = container == null ? this.unlimited : this.lanes.computeIfAbsent(container, c -> new Lane());
+    final LoadTask<R> task = new LoadTask<>(lane, resourceName, priority, this.sequence.getAndIncrement(), loadCallback);
+    synchronized (this) {
+      if (this.loadedResources == this.totalResources) {
+        this.loadedResources = 0;
+        this.totalResources = 0;
+      }
+
+      this.totalResources++;
+    }
+
+    synchronized (lane) {
+      lane.pending.add(task);
+    }
+
+    this.dispatch(lane);
+    return task.future;
+  }
+
+  private void dispatch(final Lane lane) {
+    synchronized (lane) {
+      while (lane.running < lane.limit && !lane.pending.isEmpty()) {
+        lane.running++;
+        this.executor.execute(lane.pending.poll());
+      }
+    }
+  }
+
+  private void finished(final LoadTask<?> task) {
+    synchronized (task.lane) {
+      task.lane.running--;
+    }
+
+    this.dispatch(task.lane);
+
+    final int loaded;
+    final int total;
+    synchronized (this) {
+      loaded = ++this.loadedResources;
+      total = this.totalResources;
+    }
+
+    for (ResourceLoaderListener listener : this.listeners) {
+      listener.loaded(task.resourceName, loaded, total);
+    }
+  }
+
+  /**
+   * The pending requests of a container. Requests are handed to the executor only while the container is below its
+   * concurrency limit.
+   */
+  private static class Lane {
+    private final Queue<LoadTask<?>> pending = new PriorityQueue<>();
+    private int limit = Integer.MAX_VALUE;
+    private int running;
+  }
+
+  private final class LoadTask<R> implements Runnable, Comparable<LoadTask<?>> {
+    private final Lane lane;
+    private final String resourceName;
+    private final int priority;
+    private final long sequence;
+    private final Supplier<R> loadCallback;
+    private final CompletableFuture<R> future = new CompletableFuture<>();
+
+    private LoadTask(final Lane lane, final String resourceName, final int priority, final long sequence, final Supplier<R> loadCallback) {
+      this.lane = lane;
+      this.resourceName = resourceName;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.loadCallback = loadCallback;
+    }
+
+    @Override
+    public void run() {
+      // the future is completed first so that dependent requests are submitted before the progress is reported
+      try {
+        this.future.complete(this.loadCallback.get());
+      } catch (final RuntimeException e) {
+        log.log(Level.SEVERE, e.getMessage(), e);
+        this.future.completeExceptionally(e);
+      } finally {
+        finished(this);
+      }
+    }
+
+    @Override
+    public int compareTo(final LoadTask<?> other) {
+      if (this.priority != other.priority) {
+        return Integer.compare(other.priority, this.priority);
+      }
+
+      return Long.compare(this.sequence, other.sequence);
+    }
+  }
+}
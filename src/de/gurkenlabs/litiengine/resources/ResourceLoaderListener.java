@@ -0,0 +1,27 @@
+package de.gurkenlabs.litiengine.resources;
+
+/**
+ * This listener provides a callback for the progress of a <code>ResourceLoader</code>, e.g. to display a loading
+ * screen.
+ *
+ * @see ResourceLoader
+ */
+public interface ResourceLoaderListener {
+  /**
+   * This method gets called after a resource was loaded asynchronously, regardless of whether loading succeeded.
+   * <p>
+   * The counts refer to all resources that were requested since the loader was idle the last time. Once
+   * <code>loadedResources</code> equals <code>totalResources</code>, all requested resources are loaded.
+   * </p>
+   *
+   * @param resourceName
+   *          The name of the resource that was loaded.
+   * @param loadedResources
+   *          The number of resources that have been loaded.
+   * @param totalResources
+   *          The number of resources that have been requested.
+   *
+   * @see ResourceLoader#submit(ResourcesContainer, String, int, java.util.function.Supplier)
+   */
+  public void loaded(String resourceName, int loadedResources, int totalResources);
+}
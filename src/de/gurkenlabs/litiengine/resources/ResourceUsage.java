@@ -0,0 +1,82 @@
+package de.gurkenlabs.litiengine.resources;
+
+/**
+ * Describes how a resource of a <code>ResourcesContainer</code> has been used since it was added. An
+ * <code>EvictionPolicy</code> decides by this information which resources are evicted first once the memory budget of
+ * the container is exceeded.
+ *
+ * @see EvictionPolicy
+ * @see ResourcesContainer#setEvictionPolicy(EvictionPolicy, long)
+ */
+public final class ResourceUsage {
+  private final String name;
+  private final long estimatedSize;
+  private volatile long lastAccess;
+  private volatile int accessCount;
+  private volatile boolean pinned;
+
+  ResourceUsage(final String name, final long estimatedSize, final long tick) {
+    this.name = name;
+    this.estimatedSize = estimatedSize;
+    this.lastAccess = tick;
+  }
+
+  /**
+   * Gets the name by which the resource is managed.
+   *
+   * @return The name of the resource.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the estimated number of bytes that the resource occupies on the heap.
+   *
+   * @return The estimated size of the resource.
+   */
+  public long getEstimatedSize() {
+    return this.estimatedSize;
+  }
+
+  /**
+   * Gets the point in time at which the resource was requested the last time. The value is not a timestamp but
+   * increases with every request to the container, so it is only meaningful compared to other resources of the same
+   * container.
+   *
+   * @return The last access of the resource.
+   */
+  public long getLastAccess() {
+    return this.lastAccess;
+  }
+
+  /**
+   * Gets the number of times the resource was requested from its container.
+   *
+   * @return The number of requests.
+   */
+  public int getAccessCount() {
+    return this.accessCount;
+  }
+
+  /**
+   * Determines whether the resource is pinned, which means that it is never evicted.
+   *
+   * @return True if the resource is pinned; otherwise false.
+   *
+   * @see ResourcesContainer#pin(String)
+   */
+  public boolean isPinned() {
+    return this.pinned;
+  }
+
+  void accessed(final long tick) {
+    // races between concurrent requests only lose a count, which is good enough for the eviction
+    this.lastAccess = tick;
+    this.accessCount++;
+  }
+
+  void setPinned(final boolean pinned) {
+    this.pinned = pinned;
+  }
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -56,6 +57,7 @@ public final class Resources {
   private static Strings strings = new Strings();
   private static Images images = new Images();
   private static Spritesheets spritesheets = new Spritesheets();
+  private static ResourceLoader loader = new ResourceLoader();
 
   private Resources() {
     throw new UnsupportedOperationException();
@@ -139,6 +141,18 @@ public final class Resources {
     return spritesheets;
   }
 
+  /**
+   * Gets the loader that loads resources asynchronously on background threads.
+   * 
+   * @return The resource loader.
+   * 
+   * @see ResourcesContainer#getAsync(String, int)
+   * @see #loadAsync(String)
+   */
+  public static ResourceLoader loader() {
+    return loader;
+  }
+
   /**
    * Load <code>Spritesheets</code>, <code>Tilesets</code> and <code>Maps</code> from a game resource file created with the utiLITI editor.
    * After loading, these resources can be accessed via this API (e.g. <code>Resources.maps().get("mapname")</code>.
@@ -149,6 +163,11 @@ public final class Resources {
   public static void load(final String gameResourceFile) {
     final long loadStart = System.nanoTime();
 
+    if (BinaryResourceBundle.isSupported(gameResourceFile)) {
+      loadBinary(gameResourceFile, loadStart);
+      return;
+    }
+
     final ResourceBundle file = ResourceBundle.load(gameResourceFile);
     if (file == null) {
       return;
@@ -158,16 +177,7 @@ public final class Resources {
 
     log.log(Level.INFO, "{0} maps loaded from {1}", new Object[] { file.getMaps().size(), gameResourceFile });
 
-    int tileCnt = 0;
-    for (final Tileset tileset : file.getTilesets()) {
-      if (Resources.tilesets().contains(tileset.getName())) {
-        continue;
-      }
-
-      Resources.tilesets().add(tileset.getName(), tileset);
-      tileCnt++;
-    }
-
+    final int tileCnt = addTilesets(file);
     log.log(Level.INFO, "{0} tilesets loaded from {1}", new Object[] { tileCnt, gameResourceFile });
 
     final List<Spritesheet> loadedSprites = Collections.synchronizedList(new ArrayList<>());
@@ -186,20 +196,84 @@ public final class Resources {
 
     log.log(Level.INFO, "{0} sounds loaded from {1}", new Object[] { loadedSounds.size(), gameResourceFile });
 
-    int spriteload = 0;
-    for (final Spritesheet s : loadedSprites) {
-      for (int i = 0; i < s.getRows() * s.getColumns(); i++) {
-        BufferedImage sprite = s.getSprite(i);
-        if (sprite != null) {
-          spriteload++;
-        }
+    // sprites are sliced on demand, Resources.spritesheets().warmUp() slices them ahead of time
+    final double loadTime = TimeUtilities.nanoToMs(System.nanoTime() - loadStart);
+
+    log.log(Level.INFO, "loading game resources from {0} took {1} ms", new Object[] { gameResourceFile, loadTime });
+  }
+
+  /**
+   * Loads a game resource file like {@link #load(String)} without blocking the calling thread.
+   * <p>
+   * Maps and tilesets are available as soon as the file was read, while the spritesheets and sounds are decoded in
+   * parallel by the {@link #loader()}, which reports the progress to its listeners.
+   * </p>
+   * 
+   * @param gameResourceFile
+   *          The file name of the game resource file
+   * @return A future that completes when all resources of the file are loaded.
+   */
+  public static CompletableFuture<Void> loadAsync(final String gameResourceFile) {
+    if (BinaryResourceBundle.isSupported(gameResourceFile)) {
+      return loader().submit(null, gameResourceFile, ResourceLoader.PRIORITY_HIGH, () -> {
+        loadBinary(gameResourceFile, System.nanoTime());
+        return null;
+      });
+    }
+
+    return loader().submit(null, gameResourceFile, ResourceLoader.PRIORITY_HIGH, () -> ResourceBundle.load(gameResourceFile)).thenCompose(file -> {
+      if (file == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+
+      file.getMaps().forEach(m -> Resources.maps().add(m.getName(), m));
+      addTilesets(file);
+
+      final List<CompletableFuture<?>> resources = new ArrayList<>();
+      for (final SpritesheetResource spriteSheetInfo : file.getSpriteSheets()) {
+        resources.add(loader().submit(spritesheets(), spriteSheetInfo.getName(), ResourceLoader.PRIORITY_NORMAL, () -> spritesheets().load(spriteSheetInfo)));
+      }
+
+      for (final SoundResource soundResource : file.getSounds()) {
+        resources.add(loader().submit(sounds(), soundResource.getName(), ResourceLoader.PRIORITY_LOW, () -> sounds().load(soundResource)));
+      }
+
+      return CompletableFuture.allOf(resources.toArray(new CompletableFuture<?>[resources.size()]));
+    });
+  }
+
+  private static int addTilesets(final ResourceBundle file) {
+    int tileCnt = 0;
+    for (final Tileset tileset : file.getTilesets()) {
+      if (Resources.tilesets().contains(tileset.getName())) {
+        continue;
       }
+
+      Resources.tilesets().add(tileset.getName(), tileset);
+      tileCnt++;
     }
 
-    log.log(Level.INFO, "{0} sprites loaded to memory", new Object[] { spriteload });
+    return tileCnt;
+  }
+
+  private static void loadBinary(final String gameResourceFile, final long loadStart) {
+    final BinaryResourceBundle bundle;
+    try {
+      bundle = BinaryResourceBundle.open(gameResourceFile);
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+      return;
+    }
+
+    if (bundle == null) {
+      return;
+    }
+
+    // the resources are only decoded when they are requested from their container
+    bundle.addDeferredResources();
     final double loadTime = TimeUtilities.nanoToMs(System.nanoTime() - loadStart);
 
-    log.log(Level.INFO, "loading game resources from {0} took {1} ms", new Object[] { gameResourceFile, loadTime });
+    log.log(Level.INFO, "opening binary game resources from {0} took {1} ms", new Object[] { gameResourceFile, loadTime });
   }
 
   /**
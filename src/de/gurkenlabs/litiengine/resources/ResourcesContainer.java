@@ -1,12 +1,17 @@
 package de.gurkenlabs.litiengine.resources;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -16,6 +21,11 @@ import java.util.stream.Collectors;
 /**
  * An abstract implementation for all classes that provide a certain type of resources.
  * Basically, it's an in-memory cache of the resources and provides access to manage the resources.
+ * <p>
+ * By default, a container keeps all resources until they are removed. With an {@link EvictionPolicy} and a memory
+ * budget, the container evicts resources once their estimated size exceeds the budget. Evicted resources are loaded
+ * again on their next request.
+ * </p>
  *
  * @param <T>
  *          The type of the resource that is contained by this instance.
@@ -27,9 +37,24 @@ public abstract class ResourcesContainer<T> {
 
   private final Map<String, T> resources = new ConcurrentHashMap<>();
   private final Map<String, String> aliases = new ConcurrentHashMap<>();
+  private final Map<String, Supplier<? extends T>> deferred = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<T>> loading = new ConcurrentHashMap<>();
   private final List<ResourcesContainerListener<? super T>> listeners = new CopyOnWriteArrayList<>();
   private final List<ResourcesContainerClearedListener> clearedListeners = new CopyOnWriteArrayList<>();
 
+  private final Map<String, ResourceUsage> usages = new ConcurrentHashMap<>();
+  private final Map<String, SoftReference<T>> softResources = new ConcurrentHashMap<>();
+  private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+  private final AtomicLong accessClock = new AtomicLong();
+  private final AtomicLong estimatedSize = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private volatile EvictionPolicy evictionPolicy;
+  private volatile long memoryBudget = Long.MAX_VALUE;
+  private volatile boolean softReferences;
+
   /**
    * Add a new container listener to this instance in order to observe resource life cycles.
    * The listener will get notified whenever a resource was added to or removed from this container.
@@ -105,17 +130,44 @@ public abstract class ResourcesContainer<T> {
     for (ResourcesContainerListener<? super T> listener : this.listeners) {
       listener.added(resourceName, resource);
     }
+
+    this.track(identifier, resource, true);
   }
 
   /**
-   * Clears the resources container by removing all previously loaded resources.
+   * Adds a resource that is only loaded with the specified callback when it is
+   * requested for the first time, e.g. from a resource bundle. If the resource
+   * is removed from this container, it will be loaded again with the callback
+   * on the next request.
+   *
+   * @param resourceName
+   *          The name that the resource is managed by.
+   * @param loadCallback
+   *          The callback that loads the resource.
+   * 
+   * @see #get(String)
+   */
+  public void addDeferred(String resourceName, Supplier<? extends T> loadCallback) {
+    this.deferred.put(resourceName, loadCallback);
+  }
+
+  /**
+   * Clears the resources container by removing all previously loaded resources and all deferred resources.
    */
   public void clear() {
     this.resources.clear();
+    this.deferred.clear();
+    this.softResources.clear();
+    this.usages.clear();
+    this.estimatedSize.set(0);
 
     for (ResourcesContainerListener<? super T> listener : this.listeners) {
       listener.cleared();
     }
+
+    for (ResourcesContainerClearedListener listener : this.clearedListeners) {
+      listener.cleared();
+    }
   }
 
   /**
@@ -241,11 +293,87 @@ public abstract class ResourcesContainer<T> {
       }
 
       this.resources.put(identifier, resource);
+      this.track(identifier, resource, true);
 
       return resource;
     } else {
-      return this.resources.computeIfAbsent(identifier, this::loadResource);
+      T resource = this.resources.get(identifier);
+      if (resource != null) {
+        this.accessed(identifier);
+        return resource;
+      }
+
+      this.misses.increment();
+      resource = this.getSoftResource(identifier);
+      if (resource != null) {
+        return resource;
+      }
+
+      if (this.deferred.containsKey(identifier)) {
+        return this.loadDeferred(identifier);
+      }
+
+      resource = this.resources.computeIfAbsent(identifier, this::loadResource);
+      this.track(identifier, resource, false);
+      return resource;
+    }
+  }
+
+  /**
+   * Gets the resource with the specified name asynchronously with a normal priority.
+   *
+   * @param resourceName
+   *          The resource's name.
+   * @return A future that completes with the resource and its dependencies or with null if the resource was not found.
+   *
+   * @see #getAsync(String, int)
+   */
+  public CompletableFuture<T> getAsync(String resourceName) {
+    return this.getAsync(resourceName, ResourceLoader.PRIORITY_NORMAL);
+  }
+
+  /**
+   * Gets the resource with the specified name asynchronously.
+   * <p>
+   * If not previously loaded, the resource is loaded on the threads of the {@link Resources#loader()}, followed by
+   * the resources it depends on (e.g. the spritesheets of the tilesets of a map). Requesting a resource that is
+   * already being loaded returns the pending future.
+   * </p>
+   *
+   * @param resourceName
+   *          The resource's name.
+   * @param priority
+   *          The priority of the request; requests with a higher priority are loaded first.
+   * @return A future that completes with the resource and its dependencies or with null if the resource was not found.
+   *
+   * @see ResourceLoader#PRIORITY_HIGH
+   * @see ResourceLoader#PRIORITY_NORMAL
+   * @see ResourceLoader#PRIORITY_LOW
+   */
+  public CompletableFuture<T> getAsync(String resourceName, int priority) {
+    if (resourceName == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    String identifier = this.getIdentifier(resourceName);
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<T> pending = this.loading.putIfAbsent(identifier, future);
+    if (pending != null) {
+      return pending;
     }
+
+    T loaded = this.resources.get(identifier);
+    CompletableFuture<T> resource = loaded != null ? CompletableFuture.completedFuture(loaded) : Resources.loader().submit(this, resourceName, priority, () -> this.get(identifier));
+    resource.thenCompose(r -> r == null ? CompletableFuture.completedFuture(r) : this.loadDependenciesAsync(r, priority).thenApply(v -> r)).whenComplete((r, e) -> {
+      this.loading.remove(identifier, future);
+      if (e != null) {
+        future.completeExceptionally(e);
+      } else {
+        future.complete(r);
+      }
+    });
+
+    return future;
   }
 
   /**
@@ -266,6 +394,8 @@ public abstract class ResourcesContainer<T> {
    */
   public T remove(String resourceName) {
     T removedResource = this.resources.remove(resourceName);
+    this.softResources.remove(resourceName);
+    this.untrack(resourceName);
 
     if (removedResource != null) {
       for (ResourcesContainerListener<? super T> listener : this.listeners) {
@@ -276,6 +406,146 @@ public abstract class ResourcesContainer<T> {
     return removedResource;
   }
 
+  /**
+   * Sets the policy by which resources are evicted from this container once their estimated size exceeds the
+   * specified memory budget.
+   *
+   * @param policy
+   *          The eviction policy or null if resources should never be evicted.
+   * @param memoryBudget
+   *          The number of bytes that the resources of this container may occupy.
+   *
+   * @see EvictionPolicy#LEAST_RECENTLY_USED
+   * @see EvictionPolicy#LEAST_FREQUENTLY_USED
+   * @see #estimateSize(Object)
+   */
+  public void setEvictionPolicy(EvictionPolicy policy, long memoryBudget) {
+    synchronized (this.usages) {
+      this.evictionPolicy = policy;
+      this.memoryBudget = memoryBudget;
+      this.usages.clear();
+      this.estimatedSize.set(0);
+      if (policy != null) {
+        this.resources.forEach((name, resource) -> {
+          ResourceUsage usage = this.createUsage(name, resource);
+          this.usages.put(name, usage);
+          this.estimatedSize.addAndGet(usage.getEstimatedSize());
+        });
+      }
+    }
+
+    this.evict(null);
+  }
+
+  public EvictionPolicy getEvictionPolicy() {
+    return this.evictionPolicy;
+  }
+
+  public long getMemoryBudget() {
+    return this.memoryBudget;
+  }
+
+  /**
+   * Determines whether evicted resources are kept as soft references. They can be retrieved without loading them
+   * again until the garbage collector reclaims them, which it only does when the heap runs low.
+   *
+   * @param softReferences
+   *          True if evicted resources should be kept as soft references; otherwise false.
+   */
+  public void setSoftReferences(boolean softReferences) {
+    this.softReferences = softReferences;
+    if (!softReferences) {
+      this.softResources.clear();
+    }
+  }
+
+  /**
+   * Pins the resource with the specified name, which prevents it from being evicted. A resource can be pinned before
+   * it is loaded.
+   *
+   * @param resourceName
+   *          The name of the resource.
+   *
+   * @see #unpin(String)
+   */
+  public void pin(String resourceName) {
+    this.pinned.add(resourceName);
+    ResourceUsage usage = this.usages.get(resourceName);
+    if (usage != null) {
+      usage.setPinned(true);
+    }
+  }
+
+  /**
+   * Allows the resource with the specified name to be evicted again.
+   *
+   * @param resourceName
+   *          The name of the resource.
+   *
+   * @see #pin(String)
+   */
+  public void unpin(String resourceName) {
+    this.pinned.remove(resourceName);
+    ResourceUsage usage = this.usages.get(resourceName);
+    if (usage != null) {
+      usage.setPinned(false);
+    }
+
+    this.evict(null);
+  }
+
+  public boolean isPinned(String resourceName) {
+    return this.pinned.contains(resourceName);
+  }
+
+  /**
+   * Gets the usage of the resource with the specified name, which is only tracked while an eviction policy is set.
+   *
+   * @param resourceName
+   *          The name of the resource.
+   * @return The usage of the resource or null if the resource is not contained or no eviction policy is set.
+   */
+  public ResourceUsage getUsage(String resourceName) {
+    return this.usages.get(resourceName);
+  }
+
+  /**
+   * Gets the estimated number of bytes that the resources of this container occupy, which is only tracked while an
+   * eviction policy is set.
+   *
+   * @return The estimated size of all resources.
+   */
+  public long getEstimatedSize() {
+    return this.estimatedSize.get();
+  }
+
+  /**
+   * Gets the number of requests that were served by a resource that was already loaded.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Gets the number of requests for a resource that was not loaded.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Gets the number of resources that were evicted because the memory budget was exceeded.
+   *
+   * @return The number of evicted resources.
+   */
+  public long getEvictions() {
+    return this.evictions.sum();
+  }
+
   /**
    * Tries to get a resource with the specified name from this container.
    * <p>
@@ -316,10 +586,164 @@ public abstract class ResourcesContainer<T> {
     return null;
   }
 
+  /**
+   * Loads the resources that the specified resource depends on asynchronously. The future returned by
+   * {@link #getAsync(String, int)} only completes after the dependencies are loaded.
+   *
+   * @param resource
+   *          The resource that was loaded.
+   * @param priority
+   *          The priority of the request that loaded the resource.
+   * @return A future that completes once all dependencies are loaded.
+   */
+  protected CompletableFuture<Void> loadDependenciesAsync(T resource, int priority) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Estimates the number of bytes that the specified resource occupies on the heap. The estimate is used to enforce
+   * the memory budget of this container; resources with an estimated size of 0 never cause other resources to be
+   * evicted.
+   *
+   * @param resource
+   *          The resource.
+   * @return The estimated size of the resource.
+   *
+   * @see #setEvictionPolicy(EvictionPolicy, long)
+   */
+  protected long estimateSize(T resource) {
+    return 0;
+  }
+
   protected Map<String, T> getResources() {
     return this.resources;
   }
 
+  private T loadDeferred(String identifier) {
+    Supplier<? extends T> loadCallback = this.deferred.get(identifier);
+    if (loadCallback == null) {
+      return this.resources.get(identifier);
+    }
+
+    // the callback is not called within computeIfAbsent because some resources add themselves to their container when they are created
+    synchronized (loadCallback) {
+      T resource = this.resources.get(identifier);
+      if (resource != null) {
+        return resource;
+      }
+
+      try {
+        resource = loadCallback.get();
+      } catch (RuntimeException e) {
+        log.log(Level.SEVERE, "Could not load the game resource.", e);
+        return null;
+      }
+
+      if (resource != null && this.resources.putIfAbsent(identifier, resource) == null) {
+        for (ResourcesContainerListener<? super T> listener : this.listeners) {
+          listener.added(identifier, resource);
+        }
+
+        this.track(identifier, resource, false);
+      }
+
+      return resource;
+    }
+  }
+
+  private T getSoftResource(String identifier) {
+    SoftReference<T> reference = this.softResources.remove(identifier);
+    T resource = reference != null ? reference.get() : null;
+    if (resource == null) {
+      return null;
+    }
+
+    T existing = this.resources.putIfAbsent(identifier, resource);
+    if (existing != null) {
+      return existing;
+    }
+
+    this.track(identifier, resource, false);
+    return resource;
+  }
+
+  private void accessed(String identifier) {
+    this.hits.increment();
+    if (this.evictionPolicy == null) {
+      return;
+    }
+
+    ResourceUsage usage = this.usages.get(identifier);
+    if (usage != null) {
+      usage.accessed(this.accessClock.incrementAndGet());
+    }
+  }
+
+  private void track(String identifier, T resource, boolean replace) {
+    if (this.evictionPolicy == null || resource == null) {
+      return;
+    }
+
+    ResourceUsage usage = this.createUsage(identifier, resource);
+    ResourceUsage previous = replace ? this.usages.put(identifier, usage) : this.usages.putIfAbsent(identifier, usage);
+    if (previous != null && !replace) {
+      return;
+    }
+
+    this.estimatedSize.addAndGet(usage.getEstimatedSize() - (previous != null ? previous.getEstimatedSize() : 0));
+    this.evict(identifier);
+  }
+
+  private ResourceUsage createUsage(String identifier, T resource) {
+    ResourceUsage usage = new ResourceUsage(identifier, this.estimateSize(resource), this.accessClock.incrementAndGet());
+    usage.setPinned(this.pinned.contains(identifier));
+    return usage;
+  }
+
+  private void untrack(String identifier) {
+    ResourceUsage usage = this.usages.remove(identifier);
+    if (usage != null) {
+      this.estimatedSize.addAndGet(-usage.getEstimatedSize());
+    }
+  }
+
+  /**
+   * Evicts resources by the eviction policy until their estimated size fits the memory budget.
+   *
+   * @param added
+   *          The name of the resource that was just added, which is not evicted because it's about to be used.
+   */
+  private void evict(String added) {
+    EvictionPolicy policy = this.evictionPolicy;
+    if (policy == null || this.estimatedSize.get() <= this.memoryBudget) {
+      return;
+    }
+
+    synchronized (this.usages) {
+      List<ResourceUsage> candidates = this.usages.values().stream().filter(u -> !u.isPinned() && !u.getName().equals(added)).sorted(policy).collect(Collectors.toList());
+      for (ResourceUsage usage : candidates) {
+        if (this.estimatedSize.get() <= this.memoryBudget) {
+          break;
+        }
+
+        T resource = this.resources.remove(usage.getName());
+        this.untrack(usage.getName());
+        if (resource == null) {
+          continue;
+        }
+
+        this.evictions.increment();
+        if (this.softReferences) {
+          this.softResources.put(usage.getName(), new SoftReference<>(resource));
+        }
+
+        for (ResourcesContainerListener<? super T> listener : this.listeners) {
+          listener.evicted(usage.getName(), resource);
+        }
+      }
+    }
+  }
+
   private T loadResource(String identifier) {
     T newResource;
     try {
@@ -329,6 +753,10 @@ public abstract class ResourcesContainer<T> {
       return null;
     }
 
+    if (newResource == null) {
+      return null;
+    }
+
     for (ResourcesContainerListener<? super T> listener : this.listeners) {
       listener.added(identifier, newResource);
     }
@@ -38,6 +38,18 @@ public interface ResourcesContainerListener<T> extends ResourcesContainerCleared
    */
   public default void removed(String resourceName, T resource) {}
 
+  /**
+   * This method gets called after a resource was evicted from the container because its memory budget was exceeded.
+   * An evicted resource is loaded again on its next request.
+   * 
+   * @param resourceName
+   *          The name by which the evicted resource was identified.
+   * @param resource
+   *          The evicted resource.
+   * @see ResourcesContainer#setEvictionPolicy(EvictionPolicy, long)
+   */
+  public default void evicted(String resourceName, T resource) {}
+
   @Override
   public default void cleared() {}
 }
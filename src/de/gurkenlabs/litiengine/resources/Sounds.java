@@ -35,6 +35,11 @@ public final class Sounds extends ResourcesContainer<Sound> {
     }
   }
 
+  @Override
+  protected long estimateSize(Sound sound) {
+    return (long) sound.getRawData().length + sound.getStreamDataLength();
+  }
+
   public Sound load(final SoundResource resource) {
     byte[] data = Codec.decode(resource.getData());
     ByteArrayInputStream input = new ByteArrayInputStream(data);
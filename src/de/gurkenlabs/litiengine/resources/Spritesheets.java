@@ -9,12 +9,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
 import de.gurkenlabs.litiengine.util.io.Codec;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 
@@ -24,6 +26,7 @@ public final class Spritesheets extends ResourcesContainer<Spritesheet> {
   private static final String SPRITE_INFO_COMMENT_CHAR = "#";
 
   Spritesheets() {
+    Resources.images().addClearedListener(() -> this.getAll().forEach(Spritesheet::clearSprites));
   }
 
   /**
@@ -41,9 +44,7 @@ public final class Spritesheets extends ResourcesContainer<Spritesheet> {
       return null;
     }
 
-    final String name = FileUtilities.getFileName(path);
-
-    return this.getResources().getOrDefault(name, null);
+    return super.get(FileUtilities.getFileName(path), false);
   }
 
   @Override
@@ -51,6 +52,11 @@ public final class Spritesheets extends ResourcesContainer<Spritesheet> {
     return this.get(resourceName);
   }
 
+  @Override
+  protected long estimateSize(Spritesheet spritesheet) {
+    return Images.estimateImageSize(spritesheet.getImage());
+  }
+
   public int[] getCustomKeyFrameDurations(final String name) {
     return this.customKeyFrameDurations.getOrDefault(FileUtilities.getFileName(name), new int[0]);
   }
@@ -75,22 +81,72 @@ public final class Spritesheets extends ResourcesContainer<Spritesheet> {
     return new Spritesheet(Resources.images().get(tileset.getImage().getAbsoluteSourcePath(), true), tileset.getImage().getSource(), tileset.getTileDimension().width, tileset.getTileDimension().height);
   }
 
+  /**
+   * Loads the spritesheet of the specified tileset asynchronously.
+   *
+   * @param tileset
+   *          The tileset whose spritesheet is loaded.
+   * @param priority
+   *          The priority of the request; requests with a higher priority are loaded first.
+   * @return A future that completes with the spritesheet of the tileset or with null if the tileset has no image.
+   *
+   * @see ITileset#getSpritesheet()
+   */
+  public CompletableFuture<Spritesheet> loadAsync(final ITileset tileset, final int priority) {
+    if (tileset == null || tileset.getImage() == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return Resources.loader().submit(this, tileset.getImage().getSource(), priority, tileset::getSpritesheet);
+  }
+
   public Spritesheet load(final SpritesheetResource info) {
-    Spritesheet sprite = null;
     if (info.getImage() == null || info.getImage().isEmpty()) {
       log.log(Level.SEVERE, "Sprite {0} could not be loaded because no image is defined.", new Object[] { info.getName() });
       return null;
-    } else {
-      sprite = load(Codec.decodeImage(info.getImage()), info.getName(), info.getWidth(), info.getHeight());
     }
 
-    if (info.getKeyframes() != null && info.getKeyframes().length > 0) {
-      customKeyFrameDurations.put(sprite.getName(), info.getKeyframes());
+    return load(Codec.decodeImage(info.getImage()), info.getName(), info.getWidth(), info.getHeight(), info.getKeyframes());
+  }
+
+  Spritesheet load(final BufferedImage image, final String name, final int spriteWidth, final int spriteHeight, final int[] keyframes) {
+    final Spritesheet sprite = load(image, name, spriteWidth, spriteHeight);
+    if (keyframes != null && keyframes.length > 0) {
+      customKeyFrameDurations.put(sprite.getName(), keyframes);
     }
 
     return sprite;
   }
 
+  /**
+   * Slices the sprites of all loaded spritesheets in the background. Sprites are otherwise only sliced when they are
+   * first requested, which might cause a hitch when a large spritesheet is rendered for the first time.
+   *
+   * @return A future that completes with the number of sliced sprites that are not empty.
+   * 
+   * @see Spritesheet#warmUp()
+   */
+  public CompletableFuture<Integer> warmUp() {
+    return CompletableFuture.supplyAsync(() -> {
+      final long start = System.nanoTime();
+      final int sprites = this.getAll().parallelStream().mapToInt(Spritesheet::warmUp).sum();
+      log.log(Level.INFO, "{0} sprites loaded to memory in {1} ms", new Object[] { sprites, TimeUtilities.nanoToMs(System.nanoTime() - start) });
+      return sprites;
+    });
+  }
+
+  /**
+   * Packs the images of all small spritesheets that are currently loaded, e.g. the spritesheets of the tilesets of a
+   * map, into a few large texture atlases. Afterwards, their sprites are sliced from the atlases.
+   *
+   * @return The texture atlases that contain the packed spritesheets.
+   *
+   * @see TextureAtlasPacker
+   */
+  public List<TextureAtlas> pack() {
+    return new TextureAtlasPacker().pack(this.getAll());
+  }
+
   /**
    * The sprite info file must be located under the
    * GameInfo#getSpritesDirectory() directory.
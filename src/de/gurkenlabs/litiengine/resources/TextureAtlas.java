@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.resources;
 
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -34,10 +35,19 @@ public class TextureAtlas {
 
   private String absoluteImagePath;
 
+  private BufferedImage image;
+
   TextureAtlas() {
     // keep for serialization
   }
 
+  TextureAtlas(BufferedImage image, List<Sprite> sprites) {
+    this.image = image;
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    this.sprites = sprites;
+  }
+
   public static TextureAtlas read(String textureAtlasFile) {
     try {
       TextureAtlas atlas = XmlUtilities.readFromFile(TextureAtlas.class, textureAtlasFile);
@@ -59,6 +69,39 @@ public class TextureAtlas {
     return this.absoluteImagePath;
   }
 
+  /**
+   * Gets the image of this texture atlas. The image of an atlas that was packed at runtime is kept in memory while the
+   * image of an atlas that was read from a file is provided by the images container.
+   *
+   * @return The image of this texture atlas.
+   */
+  @XmlTransient
+  public BufferedImage getImage() {
+    if (this.image != null) {
+      return this.image;
+    }
+
+    return this.getAbsoluteImagePath() != null ? Resources.images().get(this.getAbsoluteImagePath()) : null;
+  }
+
+  /**
+   * Gets the ratio of the area that is covered by sprites to the total area of this texture atlas.
+   *
+   * @return The packing efficiency between 0 and 1.
+   */
+  public double getPackingEfficiency() {
+    if (this.getWidth() <= 0 || this.getHeight() <= 0) {
+      return 0;
+    }
+
+    long area = 0;
+    for (Sprite sprite : this.getSprites()) {
+      area += (long) sprite.getWidth() * sprite.getHeight();
+    }
+
+    return area / ((double) this.getWidth() * this.getHeight());
+  }
+
   @XmlTransient
   public int getWidth() {
     return this.width;
@@ -133,6 +176,14 @@ public class TextureAtlas {
       // keep for serialization
     }
 
+    Sprite(String name, int x, int y, int width, int height) {
+      this.name = name;
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
     @XmlTransient
     public String getName() {
       return this.name;
@@ -0,0 +1,282 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.util.Imaging;
+
+/**
+ * The <code>TextureAtlasPacker</code> packs the images of small spritesheets into a few large texture atlases at
+ * runtime.
+ * <p>
+ * The images are placed by the MaxRects algorithm (bottom-left rule). Afterwards, the image of each packed
+ * spritesheet is replaced by a part of its atlas, so that all sprites are sliced from the atlas and rendering them
+ * doesn't need to switch between many small images.
+ * </p>
+ *
+ * @see Spritesheets#pack()
+ * @see Spritesheet#setImage(BufferedImage)
+ */
+public final class TextureAtlasPacker {
+  private static final Logger log = Logger.getLogger(TextureAtlasPacker.class.getName());
+
+  public static final int DEFAULT_ATLAS_SIZE = 2048;
+  public static final int DEFAULT_MAX_IMAGE_SIZE = 512;
+  public static final int DEFAULT_PADDING = 1;
+
+  private final int atlasSize;
+  private final int maxImageSize;
+  private final int padding;
+
+  /**
+   * Instantiates a new texture atlas packer with the default atlas size, maximum image size and padding.
+   */
+  public TextureAtlasPacker() {
+    this(DEFAULT_ATLAS_SIZE, DEFAULT_MAX_IMAGE_SIZE, DEFAULT_PADDING);
+  }
+
+  /**
+   * Instantiates a new texture atlas packer.
+   *
+   * @param atlasSize
+   *          The maximum width and height of a texture atlas.
+   * @param maxImageSize
+   *          The maximum width and height of the image of a spritesheet that is packed; larger spritesheets keep their
+   *          own image.
+   * @param padding
+   *          The number of transparent pixels between two images, which prevents neighbouring images from bleeding
+   *          into each other when sprites are scaled.
+   */
+  public TextureAtlasPacker(final int atlasSize, final int maxImageSize, final int padding) {
+    if (atlasSize <= 0 || maxImageSize <= 0 || maxImageSize > atlasSize) {
+      throw new IllegalArgumentException("The maximum image size must be greater than 0 and must not exceed the atlas size.");
+    }
+
+    if (padding < 0) {
+      throw new IllegalArgumentException("The padding must not be negative.");
+    }
+
+    this.atlasSize = atlasSize;
+    this.maxImageSize = maxImageSize;
+    this.padding = padding;
+  }
+
+  public int getAtlasSize() {
+    return this.atlasSize;
+  }
+
+  public int getMaxImageSize() {
+    return this.maxImageSize;
+  }
+
+  public int getPadding() {
+    return this.padding;
+  }
+
+  /**
+   * Packs the images of the specified spritesheets into texture atlases and replaces the image of each packed
+   * spritesheet by its part of the atlas. Spritesheets that are larger than the maximum image size or whose image is
+   * already a part of another image are skipped.
+   *
+   * @param spritesheets
+   *          The spritesheets to pack.
+   * @return The texture atlases that contain the packed spritesheets; the name of each sprite of an atlas is the name of
+   *         its spritesheet.
+   */
+  public List<TextureAtlas> pack(final Collection<Spritesheet> spritesheets) {
+    final List<Spritesheet> packable = new ArrayList<>();
+    for (final Spritesheet spritesheet : spritesheets) {
+      if (this.isPackable(spritesheet.getImage())) {
+        packable.add(spritesheet);
+      }
+    }
+
+    // placing the largest images first results in considerably denser atlases
+    packable.sort(Comparator.comparingInt((Spritesheet s) -> Math.max(s.getImage().getWidth(), s.getImage().getHeight())).thenComparingInt(s -> s.getImage().getWidth() * s.getImage().getHeight()).reversed());
+
+    long remainingArea = 0;
+    for (final Spritesheet spritesheet : packable) {
+      remainingArea += this.getPaddedArea(spritesheet);
+    }
+
+    final List<Bin> bins = new ArrayList<>();
+    for (final Spritesheet spritesheet : packable) {
+      this.insert(bins, spritesheet, remainingArea);
+      remainingArea -= this.getPaddedArea(spritesheet);
+    }
+
+    final List<TextureAtlas> atlases = new ArrayList<>();
+    long packedArea = 0;
+    long atlasArea = 0;
+    for (final Bin bin : bins) {
+      final TextureAtlas atlas = bin.createAtlas();
+      atlases.add(atlas);
+      packedArea += bin.packedArea;
+      atlasArea += (long) atlas.getWidth() * atlas.getHeight();
+    }
+
+    if (!atlases.isEmpty()) {
+      log.log(Level.INFO, "{0} spritesheets packed into {1} texture atlases with an efficiency of {2}%", new Object[] { packable.size(), atlases.size(), Math.round(packedArea * 100.0 / atlasArea) });
+    }
+
+    return atlases;
+  }
+
+  private boolean isPackable(final BufferedImage image) {
+    // the raster of a sub image has a parent, e.g. if the spritesheet was already packed into an atlas
+    return image != null && image.getWidth() <= this.maxImageSize && image.getHeight() <= this.maxImageSize && image.getRaster().getParent() == null;
+  }
+
+  private long getPaddedArea(final Spritesheet spritesheet) {
+    return (long) (spritesheet.getImage().getWidth() + this.padding) * (spritesheet.getImage().getHeight() + this.padding);
+  }
+
+  private void insert(final List<Bin> bins, final Spritesheet spritesheet, final long remainingArea) {
+    for (final Bin bin : bins) {
+      if (bin.insert(spritesheet)) {
+        return;
+      }
+    }
+
+    // a bin that is about as wide as the square of the remaining images is filled row by row to a square atlas
+    final int maxSize = this.atlasSize + this.padding;
+    final int width = (int) Math.min(maxSize, Math.max(spritesheet.getImage().getWidth() + this.padding, Math.ceil(Math.sqrt(remainingArea))));
+    final Bin bin = new Bin(width, maxSize, this.padding);
+    bin.insert(spritesheet);
+    bins.add(bin);
+  }
+
+
+  private static final class Bin {
+    private final List<Rectangle> freeRectangles = new ArrayList<>();
+    private final List<Spritesheet> spritesheets = new ArrayList<>();
+    private final List<Rectangle> placements = new ArrayList<>();
+    private final int padding;
+
+    private long packedArea;
+    private int width;
+    private int height;
+
+    private Bin(final int width, final int height, final int padding) {
+      this.freeRectangles.add(new Rectangle(0, 0, width, height));
+      this.padding = padding;
+    }
+
+    private boolean insert(final Spritesheet spritesheet) {
+      final int width = spritesheet.getImage().getWidth();
+      final int height = spritesheet.getImage().getHeight();
+      final Rectangle placement = this.findPosition(width + this.padding, height + this.padding);
+      if (placement == null) {
+        return false;
+      }
+
+      this.split(placement);
+      this.prune();
+
+      this.spritesheets.add(spritesheet);
+      this.placements.add(new Rectangle(placement.x, placement.y, width, height));
+      this.packedArea += (long) width * height;
+      this.width = Math.max(this.width, placement.x + width);
+      this.height = Math.max(this.height, placement.y + height);
+      return true;
+    }
+
+    private Rectangle findPosition(final int width, final int height) {
+      // the bottom-left rule keeps the used area compact, so the atlas can be cropped to it afterwards
+      Rectangle best = null;
+      for (final Rectangle free : this.freeRectangles) {
+        if (free.width < width || free.height < height) {
+          continue;
+        }
+
+        if (best == null || free.y < best.y || free.y == best.y && free.x < best.x) {
+          best = new Rectangle(free.x, free.y, width, height);
+        }
+      }
+
+      return best;
+    }
+
+    private void split(final Rectangle used) {
+      final List<Rectangle> remainders = new ArrayList<>();
+      final Iterator<Rectangle> iterator = this.freeRectangles.iterator();
+      while (iterator.hasNext()) {
+        final Rectangle free = iterator.next();
+        if (!free.intersects(used)) {
+          continue;
+        }
+
+        iterator.remove();
+        if (used.x > free.x) {
+          remainders.add(new Rectangle(free.x, free.y, used.x - free.x, free.height));
+        }
+
+        if (used.x + used.width < free.x + free.width) {
+          remainders.add(new Rectangle(used.x + used.width, free.y, free.x + free.width - used.x - used.width, free.height));
+        }
+
+        if (used.y > free.y) {
+          remainders.add(new Rectangle(free.x, free.y, free.width, used.y - free.y));
+        }
+
+        if (used.y + used.height < free.y + free.height) {
+          remainders.add(new Rectangle(free.x, used.y + used.height, free.width, free.y + free.height - used.y - used.height));
+        }
+      }
+
+      this.freeRectangles.addAll(remainders);
+    }
+
+    private void prune() {
+      for (int i = 0; i < this.freeRectangles.size(); i++) {
+        for (int j = i + 1; j < this.freeRectangles.size(); j++) {
+          final Rectangle a = this.freeRectangles.get(i);
+          final Rectangle b = this.freeRectangles.get(j);
+          if (b.contains(a)) {
+            this.freeRectangles.remove(i--);
+            break;
+          }
+
+          if (a.contains(b)) {
+            this.freeRectangles.remove(j--);
+          }
+        }
+      }
+    }
+
+    private TextureAtlas createAtlas() {
+      final BufferedImage image = Imaging.getCompatibleImage(this.width, this.height);
+      final Graphics2D g = image.createGraphics();
+      final List<TextureAtlas.Sprite> sprites = new ArrayList<>();
+      try {
+        // copy the pixels as they are instead of blending them with the empty atlas
+        g.setComposite(AlphaComposite.Src);
+        for (int i = 0; i < this.spritesheets.size(); i++) {
+          final Spritesheet spritesheet = this.spritesheets.get(i);
+          final Rectangle placement = this.placements.get(i);
+          g.drawImage(spritesheet.getImage(), placement.x, placement.y, null);
+          sprites.add(new TextureAtlas.Sprite(spritesheet.getName(), placement.x, placement.y, placement.width, placement.height));
+        }
+      } finally {
+        g.dispose();
+      }
+
+      for (int i = 0; i < this.spritesheets.size(); i++) {
+        final Rectangle placement = this.placements.get(i);
+        this.spritesheets.get(i).setImage(image.getSubimage(placement.x, placement.y, placement.width, placement.height));
+      }
+
+      return new TextureAtlas(image, sprites);
+    }
+  }
+}
@@ -4,7 +4,7 @@ import javax.xml.bind.JAXBException;
 
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
-import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxReader;
 
 public class Tilesets extends ResourcesContainer<Tileset> {
 
@@ -14,7 +14,7 @@ public class Tilesets extends ResourcesContainer<Tileset> {
   @Override
   protected Tileset load(String resourceName) throws TmxException {
     try {
-      return XmlUtilities.readFromFile(Tileset.class, resourceName);
+      return TmxReader.read(Tileset.class, resourceName);
     } catch (JAXBException e) {
       throw new TmxException(e);
     }
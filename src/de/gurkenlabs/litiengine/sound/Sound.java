@@ -80,6 +80,17 @@ public final class Sound {
     return this.data;
   }
 
+  /**
+   * Gets the number of bytes of the decoded audio data without copying it.
+   *
+   * @return The length of the decoded audio data.
+   *
+   * @see #getStreamData()
+   */
+  public int getStreamDataLength() {
+    return this.streamData != null ? this.streamData.length : 0;
+  }
+
   private static AudioFormat getOutFormat(final AudioFormat inFormat) {
     final int ch = inFormat.getChannels();
     final float rate = inFormat.getSampleRate();
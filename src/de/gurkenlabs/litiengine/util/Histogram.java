@@ -0,0 +1,122 @@
+package de.gurkenlabs.litiengine.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class Histogram records non-negative long values (e.g. durations in
+ * nanoseconds) into log-linear buckets and provides percentiles over all
+ * recorded values.
+ *
+ * <p>
+ * Values below 128 are counted exactly. Above, every power of two is divided
+ * into 64 linear sub-buckets, which keeps the relative error of a reported
+ * value below 1.6% while the memory footprint is fixed, independent of the
+ * number of recorded values. Recording is lock-free and can be done from
+ * multiple threads concurrently.
+ * </p>
+ */
+public class Histogram {
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalSum = new LongAdder();
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records the specified value. Negative values are recorded as 0.
+   *
+   * @param value
+   *          the value to record
+   */
+  public void record(final long value) {
+    final long recorded = Math.max(0, value);
+    this.counts.incrementAndGet(getIndex(recorded));
+    this.totalCount.increment();
+    this.totalSum.add(recorded);
+    this.min.accumulate(recorded);
+    this.max.accumulate(recorded);
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      this.counts.set(i, 0);
+    }
+
+    this.totalCount.reset();
+    this.totalSum.reset();
+    this.min.reset();
+    this.max.reset();
+  }
+
+  public long getCount() {
+    return this.totalCount.sum();
+  }
+
+  public long getMax() {
+    return this.max.get();
+  }
+
+  public long getMin() {
+    return this.getCount() > 0 ? this.min.get() : 0;
+  }
+
+  public double getMean() {
+    final long count = this.getCount();
+    return count > 0 ? this.totalSum.sum() / (double) count : 0;
+  }
+
+  /**
+   * Gets the value below which the specified percentage of the recorded values
+   * lie.
+   *
+   * @param percentile
+   *          the percentile between 0 and 100
+   * @return the highest value that is equivalent to the bucket of the
+   *         percentile or 0 if no values were recorded
+   */
+  public long getValueAtPercentile(final double percentile) {
+    final long count = this.getCount();
+    if (count == 0) {
+      return 0;
+    }
+
+    final double clamped = Math.max(0, Math.min(100, percentile));
+    final long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+    long cumulated = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulated += this.counts.get(i);
+      if (cumulated >= rank) {
+        return Math.min(getHighestEquivalentValue(i), this.getMax());
+      }
+    }
+
+    return this.getMax();
+  }
+
+  static int getIndex(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    // the shift moves the highest bit of the value to the top of the sub-bucket range
+    final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+  }
+
+  static long getHighestEquivalentValue(final int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + (long) SUB_BUCKET_HALF_COUNT;
+    return (subBucket << shift) + (1L << shift) - 1;
+  }
+}
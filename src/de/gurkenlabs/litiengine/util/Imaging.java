@@ -15,10 +15,13 @@ import java.awt.geom.Dimension2D;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
 import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageFilter;
 import java.awt.image.ImageProducer;
 import java.awt.image.RGBImageFilter;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.awt.image.WritableRaster;
 import java.util.function.UnaryOperator;
 
@@ -166,10 +169,32 @@ public final class Imaging {
     return bimage;
   }
 
+  /**
+   * Determines whether all pixels of the specified image are fully transparent.
+   * <p>
+   * Images that store their pixels as packed ints (e.g. compatible images and sub images of them) are checked directly
+   * on their {@link DataBufferInt} without converting each pixel to the default RGB color model.
+   * </p>
+   *
+   * @param image
+   *          The image to check.
+   * @return True if the image doesn't have any visible pixel; otherwise false.
+   */
   public static boolean isEmpty(final BufferedImage image) {
+    final ColorModel colorModel = image.getColorModel();
+    if (!colorModel.hasAlpha()) {
+      return false;
+    }
+
+    final WritableRaster raster = image.getRaster();
+    if (raster.getDataBuffer() instanceof DataBufferInt && raster.getSampleModel() instanceof SinglePixelPackedSampleModel && colorModel instanceof DirectColorModel) {
+      return isEmpty(raster, (DataBufferInt) raster.getDataBuffer(), ((DirectColorModel) colorModel).getAlphaMask());
+    }
+
+    final int[] row = new int[image.getWidth()];
     for (int y = 0; y < image.getHeight(); y++) {
-      for (int x = 0; x < image.getWidth(); x++) {
-        final int pixel = image.getRGB(x, y);
+      image.getRGB(0, y, row.length, 1, row, 0, row.length);
+      for (final int pixel : row) {
         if (pixel >> 24 != 0x00) {
           return false;
         }
@@ -179,6 +204,24 @@ public final class Imaging {
     return true;
   }
 
+  private static boolean isEmpty(final WritableRaster raster, final DataBufferInt buffer, final int alphaMask) {
+    // the pixels are read element by element because accessing the backing array would prevent
+    // java2d from accelerating the image, which is shared by all sub images of a spritesheet
+    final SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+    final int x = raster.getMinX() - raster.getSampleModelTranslateX();
+    final int y = raster.getMinY() - raster.getSampleModelTranslateY();
+    for (int row = 0; row < raster.getHeight(); row++) {
+      final int offset = sampleModel.getOffset(x, y + row);
+      for (int i = offset; i < offset + raster.getWidth(); i++) {
+        if ((buffer.getElem(i) & alphaMask) != 0) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
   /**
    * Crops a sub image from the specified image.
    *
@@ -312,6 +355,11 @@ public final class Imaging {
       return null;
     }
 
+    // there is no screen to be compatible with, e.g. on a server or while running the benchmarks
+    if (GraphicsEnvironment.isHeadless()) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
     if (graphicsConfig == null) {
       final GraphicsEnvironment env = GraphicsEnvironment.getLocalGraphicsEnvironment();
       final GraphicsDevice device = env.getDefaultScreenDevice();
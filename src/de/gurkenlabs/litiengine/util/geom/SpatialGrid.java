@@ -0,0 +1,450 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The Class SpatialGrid is a dynamic spatial index that assigns the bounds of
+ * arbitrary items to the cells of a uniform grid. Only the occupied cells are
+ * stored, so the grid has no fixed extent.
+ *
+ * <p>
+ * The queries return all items whose bounds overlap the queried area,
+ * including touching edges. They are intended as a broad phase: callers that
+ * need exact results have to check the returned candidates against the actual
+ * shapes. Items without bounds are returned by every query and items that
+ * would occupy too many cells are kept in a separate list that is checked on
+ * every query.
+ * </p>
+ *
+ * @param <T>
+ *          the type of the indexed items
+ */
+public class SpatialGrid<T> {
+  public static final double DEFAULT_CELL_SIZE = 64;
+
+  private static final int MAX_CELLS_PER_ITEM = 64;
+
+  private final double cellSize;
+  private final Map<Long, List<Entry<T>>> cells;
+  private final Map<T, Entry<T>> entries;
+  private final List<Entry<T>> oversized;
+  private final List<Entry<T>> unbounded;
+  private int queryStamp;
+
+  // the extent of all cells that have ever been occupied since the last clear
+  private int minCellX = Integer.MAX_VALUE;
+  private int minCellY = Integer.MAX_VALUE;
+  private int maxCellX = Integer.MIN_VALUE;
+  private int maxCellY = Integer.MIN_VALUE;
+
+  public SpatialGrid() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Instantiates a new spatial grid.
+   *
+   * @param cellSize
+   *          the edge length of a cell; ideally in the order of the size of
+   *          the indexed items
+   */
+  public SpatialGrid(final double cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("The cell size must be greater than 0.");
+    }
+
+    this.cellSize = cellSize;
+    this.cells = new HashMap<>();
+    this.entries = new IdentityHashMap<>();
+    this.oversized = new ArrayList<>();
+    this.unbounded = new ArrayList<>();
+  }
+
+  /**
+   * Adds the specified item or updates its bounds if it has already been added.
+   *
+   * @param item
+   *          the item
+   * @param bounds
+   *          the bounds of the item; null if the item has no spatial extent and
+   *          should be returned by every query
+   */
+  public synchronized void add(final T item, final Rectangle2D bounds) {
+    Entry<T> entry = this.entries.get(item);
+    if (entry == null) {
+      entry = new Entry<>(item);
+      this.entries.put(item, entry);
+    } else if (bounds != null && entry.bounds != null && entry.isInCells(this.getCell(bounds.getMinX()), this.getCell(bounds.getMinY()), this.getCell(bounds.getMaxX()), this.getCell(bounds.getMaxY()))) {
+      // the item stays in the same cells, so only the bounds need to be updated
+      entry.bounds.setRect(bounds);
+      return;
+    } else {
+      this.unlink(entry);
+    }
+
+    this.link(entry, bounds);
+  }
+
+  /**
+   * Updates the bounds of the specified item if it has been added.
+   *
+   * @param item
+   *          the item
+   * @param bounds
+   *          the new bounds of the item
+   */
+  public synchronized void update(final T item, final Rectangle2D bounds) {
+    if (this.entries.containsKey(item)) {
+      this.add(item, bounds);
+    }
+  }
+
+  public synchronized boolean remove(final T item) {
+    final Entry<T> entry = this.entries.remove(item);
+    if (entry == null) {
+      return false;
+    }
+
+    this.unlink(entry);
+    return true;
+  }
+
+  public synchronized void clear() {
+    this.cells.clear();
+    this.entries.clear();
+    this.oversized.clear();
+    this.unbounded.clear();
+    this.minCellX = Integer.MAX_VALUE;
+    this.minCellY = Integer.MAX_VALUE;
+    this.maxCellX = Integer.MIN_VALUE;
+    this.maxCellY = Integer.MIN_VALUE;
+  }
+
+  public synchronized boolean contains(final T item) {
+    return this.entries.containsKey(item);
+  }
+
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  /**
+   * Gets all items whose bounds overlap the specified area.
+   *
+   * @param area
+   *          the area
+   * @return the candidates within the area
+   */
+  public List<T> query(final Rectangle2D area) {
+    return this.query(area, item -> true);
+  }
+
+  /**
+   * Gets all items whose bounds overlap the specified area and that match the
+   * specified condition.
+   *
+   * @param area
+   *          the area
+   * @param condition
+   *          the condition
+   * @return the candidates within the area
+   */
+  public List<T> query(final Rectangle2D area, final Predicate<? super T> condition) {
+    final List<T> result = new ArrayList<>();
+    this.query(area, condition, result);
+    return result;
+  }
+
+  /**
+   * Adds all items whose bounds overlap the specified area and that match the
+   * specified condition to the specified collection. This allows callers that
+   * query very frequently to reuse their result collection.
+   *
+   * @param area
+   *          the area
+   * @param condition
+   *          the condition
+   * @param result
+   *          the collection to which the candidates are added
+   */
+  public synchronized void query(final Rectangle2D area, final Predicate<? super T> condition, final Collection<? super T> result) {
+    if (area == null || this.entries.isEmpty()) {
+      return;
+    }
+
+    final int stamp = this.nextQueryStamp();
+    final int minX = this.getCell(area.getMinX());
+    final int minY = this.getCell(area.getMinY());
+    final int maxX = this.getCell(area.getMaxX());
+    final int maxY = this.getCell(area.getMaxY());
+
+    if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.cells.size()) {
+      // the area covers more cells than are occupied
+      for (final List<Entry<T>> cell : this.cells.values()) {
+        collect(cell, area, condition, stamp, result);
+      }
+    } else {
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          final List<Entry<T>> cell = this.cells.get(key(x, y));
+          if (cell != null) {
+            collect(cell, area, condition, stamp, result);
+          }
+        }
+      }
+    }
+
+    collect(this.oversized, area, condition, stamp, result);
+    for (final Entry<T> entry : this.unbounded) {
+      if (condition.test(entry.item)) {
+        result.add(entry.item);
+      }
+    }
+  }
+
+  /**
+   * Gets the items whose bounds' centers are closest to the specified point,
+   * ordered by their distance. Items without bounds are not considered.
+   *
+   * @param point
+   *          the point
+   * @param count
+   *          the maximum number of items to return
+   * @param condition
+   *          the condition that the items need to match
+   * @return up to the specified number of items, nearest first
+   */
+  public synchronized List<T> nearest(final Point2D point, final int count, final Predicate<? super T> condition) {
+    if (point == null || count <= 0 || this.entries.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final int stamp = this.nextQueryStamp();
+    final List<Candidate<T>> candidates = new ArrayList<>();
+    for (final Entry<T> entry : this.oversized) {
+      entry.stamp = stamp;
+      addCandidate(candidates, entry, point, count, condition);
+    }
+
+    final int cx = this.getCell(point.getX());
+    final int cy = this.getCell(point.getY());
+    final long maxRing = this.cells.isEmpty() ? -1 : Math.max(Math.max(Math.abs((long) cx - this.minCellX), Math.abs((long) cx - this.maxCellX)), Math.max(Math.abs((long) cy - this.minCellY), Math.abs((long) cy - this.maxCellY)));
+    for (int ring = 0; ring <= maxRing; ring++) {
+      if ((2L * ring + 1) * (2L * ring + 1) > this.cells.size()) {
+        // visiting the remaining rings would be more expensive than visiting all occupied cells
+        for (final List<Entry<T>> cell : this.cells.values()) {
+          for (final Entry<T> entry : cell) {
+            if (entry.stamp != stamp) {
+              entry.stamp = stamp;
+              addCandidate(candidates, entry, point, count, condition);
+            }
+          }
+        }
+
+        break;
+      }
+
+      for (int x = cx - ring; x <= cx + ring; x++) {
+        final boolean edgeColumn = x == cx - ring || x == cx + ring;
+        for (int y = cy - ring; y <= cy + ring; y += edgeColumn ? 1 : Math.max(1, 2 * ring)) {
+          final List<Entry<T>> cell = this.cells.get(key(x, y));
+          if (cell == null) {
+            continue;
+          }
+
+          for (final Entry<T> entry : cell) {
+            if (entry.stamp != stamp) {
+              entry.stamp = stamp;
+              addCandidate(candidates, entry, point, count, condition);
+            }
+          }
+        }
+      }
+
+      // all items that haven't been visited are at least this far away
+      if (candidates.size() == count && candidates.get(count - 1).distance <= ring * this.cellSize) {
+        break;
+      }
+    }
+
+    final List<T> result = new ArrayList<>(candidates.size());
+    for (final Candidate<T> candidate : candidates) {
+      result.add(candidate.item);
+    }
+
+    return result;
+  }
+
+  /**
+   * Gets the number of occupied cells.
+   *
+   * @return the number of cells that contain at least one item
+   */
+  public synchronized int getCellCount() {
+    return this.cells.size();
+  }
+
+  private static <T> void collect(final List<Entry<T>> entries, final Rectangle2D area, final Predicate<? super T> condition, final int stamp, final Collection<? super T> result) {
+    for (final Entry<T> entry : entries) {
+      if (entry.stamp == stamp) {
+        continue;
+      }
+
+      entry.stamp = stamp;
+      if (overlaps(entry.bounds, area) && condition.test(entry.item)) {
+        result.add(entry.item);
+      }
+    }
+  }
+
+  private static <T> void addCandidate(final List<Candidate<T>> candidates, final Entry<T> entry, final Point2D point, final int count, final Predicate<? super T> condition) {
+    final double distance = point.distance(entry.bounds.getCenterX(), entry.bounds.getCenterY());
+    if (candidates.size() == count && candidates.get(count - 1).distance <= distance || !condition.test(entry.item)) {
+      return;
+    }
+
+    int index = candidates.size();
+    while (index > 0 && candidates.get(index - 1).distance > distance) {
+      index--;
+    }
+
+    candidates.add(index, new Candidate<>(entry.item, distance));
+    if (candidates.size() > count) {
+      candidates.remove(count);
+    }
+  }
+
+  private static boolean overlaps(final Rectangle2D a, final Rectangle2D b) {
+    return a.getMinX() <= b.getMaxX() && b.getMinX() <= a.getMaxX() && a.getMinY() <= b.getMaxY() && b.getMinY() <= a.getMaxY();
+  }
+
+  private static long key(final int x, final int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private int getCell(final double coordinate) {
+    return (int) Math.floor(coordinate / this.cellSize);
+  }
+
+  private int nextQueryStamp() {
+    if (++this.queryStamp == 0) {
+      // the stamp overflowed; reset all entries so that no stale stamp matches
+      for (final Entry<T> entry : this.entries.values()) {
+        entry.stamp = 0;
+      }
+
+      this.queryStamp = 1;
+    }
+
+    return this.queryStamp;
+  }
+
+  private void link(final Entry<T> entry, final Rectangle2D bounds) {
+    if (bounds == null) {
+      entry.bounds = null;
+      this.unbounded.add(entry);
+      return;
+    }
+
+    entry.bounds = new Rectangle2D.Double(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
+    entry.minX = this.getCell(bounds.getMinX());
+    entry.minY = this.getCell(bounds.getMinY());
+    entry.maxX = this.getCell(bounds.getMaxX());
+    entry.maxY = this.getCell(bounds.getMaxY());
+
+    if ((long) (entry.maxX - entry.minX + 1) * (entry.maxY - entry.minY + 1) > MAX_CELLS_PER_ITEM) {
+      entry.oversized = true;
+      this.oversized.add(entry);
+      return;
+    }
+
+    entry.oversized = false;
+    this.minCellX = Math.min(this.minCellX, entry.minX);
+    this.minCellY = Math.min(this.minCellY, entry.minY);
+    this.maxCellX = Math.max(this.maxCellX, entry.maxX);
+    this.maxCellY = Math.max(this.maxCellY, entry.maxY);
+    for (int x = entry.minX; x <= entry.maxX; x++) {
+      for (int y = entry.minY; y <= entry.maxY; y++) {
+        this.cells.computeIfAbsent(key(x, y), k -> new ArrayList<>(4)).add(entry);
+      }
+    }
+  }
+
+  private void unlink(final Entry<T> entry) {
+    if (entry.bounds == null) {
+      this.unbounded.remove(entry);
+      return;
+    }
+
+    if (entry.oversized) {
+      this.oversized.remove(entry);
+      return;
+    }
+
+    for (int x = entry.minX; x <= entry.maxX; x++) {
+      for (int y = entry.minY; y <= entry.maxY; y++) {
+        final Long key = key(x, y);
+        final List<Entry<T>> cell = this.cells.get(key);
+        if (cell != null) {
+          removeIdentity(cell, entry);
+          if (cell.isEmpty()) {
+            this.cells.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  private static <T> void removeIdentity(final List<Entry<T>> cell, final Entry<T> entry) {
+    for (int i = cell.size() - 1; i >= 0; i--) {
+      if (cell.get(i) == entry) {
+        // the order within a cell doesn't matter
+        final int last = cell.size() - 1;
+        cell.set(i, cell.get(last));
+        cell.remove(last);
+        return;
+      }
+    }
+  }
+
+  private static class Entry<T> {
+    private final T item;
+    private Rectangle2D bounds;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+    private boolean oversized;
+    private int stamp;
+
+    private Entry(final T item) {
+      this.item = item;
+    }
+
+    private boolean isInCells(final int minX, final int minY, final int maxX, final int maxY) {
+      return this.minX == minX && this.minY == minY && this.maxX == maxX && this.maxY == maxY;
+    }
+  }
+
+  private static class Candidate<T> {
+    private final T item;
+    private final double distance;
+
+    private Candidate(final T item, final double distance) {
+      this.item = item;
+      this.distance = distance;
+    }
+  }
+}
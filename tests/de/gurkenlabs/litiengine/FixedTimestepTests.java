@@ -0,0 +1,89 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class FixedTimestepTests {
+
+  @Test
+  public void testStepRateDoesNotDrift() {
+    final AtomicLong time = new AtomicLong();
+    final FixedTimestep timestep = new FixedTimestep(200, FixedTimestep.DEFAULT_MAX_CATCH_UP_STEPS, time::get);
+
+    // the clock is checked every 0.3 ms, so every step is noticed up to 0.3 ms late
+    final long start = time.get();
+    long lastStep = 0;
+    int steps = 0;
+    while (steps < 100) {
+      final int due = timestep.advance();
+      for (int i = 0; i < due; i++) {
+        lastStep = time.get();
+        steps++;
+      }
+
+      time.addAndGet(TimeUnit.MICROSECONDS.toNanos(300));
+    }
+
+    // 100 steps at 200 Hz take 495 ms because the first step is processed right away; the delays don't add up
+    assertEquals(495, TimeUnit.NANOSECONDS.toMicros(lastStep - start) / 1000.0, 0.3);
+  }
+
+  @Test
+  public void testCatchUpIsBounded() {
+    final AtomicLong time = new AtomicLong();
+    final FixedTimestep timestep = new FixedTimestep(1000, 3, time::get);
+    assertEquals(1, timestep.advance());
+
+    // 50 steps are due after 50 ms, of which only 3 are caught up
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+    assertEquals(3, timestep.advance());
+    assertEquals(47, timestep.getDroppedSteps());
+
+    // the backlog was dropped, so the next step is scheduled one step after now
+    assertEquals(0, timestep.advance());
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    assertEquals(0, timestep.advance());
+    time.incrementAndGet();
+    assertEquals(1, timestep.advance());
+    assertEquals(47, timestep.getDroppedSteps());
+  }
+
+  @Test
+  public void testAlpha() {
+    final AtomicLong time = new AtomicLong();
+    final FixedTimestep timestep = new FixedTimestep(10, FixedTimestep.DEFAULT_MAX_CATCH_UP_STEPS, time::get);
+    assertEquals(0, timestep.getAlpha());
+
+    timestep.advance();
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+    assertEquals(0.5, timestep.getAlpha(), 0.0001);
+
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertEquals(1, timestep.getAlpha());
+  }
+
+  @Test
+  public void testWaitForNextStep() {
+    final FixedTimestep timestep = new FixedTimestep(20);
+    final long start = System.nanoTime();
+    assertEquals(1, timestep.advance());
+
+    assertTrue(timestep.waitForNextStep());
+
+    // waiting never returns before the next step is due, however long it might take on a busy machine
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    assertTrue(timestep.advance() >= 1);
+  }
+
+  @Test
+  public void testInvalidRate() {
+    assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(0));
+    assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(60, 0));
+  }
+}
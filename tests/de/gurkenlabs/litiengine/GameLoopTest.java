@@ -1,6 +1,12 @@
 package de.gurkenlabs.litiengine;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -43,4 +49,53 @@ public class GameLoopTest {
       assertEquals(1000, loop.convertToMs(33));
     }
   }
+
+  @Test
+  public void testTimedActions() {
+    try (final GameLoop loop = new GameLoop("Test Loop", 100)) {
+      final List<String> executed = new ArrayList<>();
+      loop.execute(50, () -> executed.add("second"));
+      loop.execute(10, () -> executed.add("first"));
+      loop.execute(50, () -> executed.add("third"));
+
+      final int cancelled = loop.execute(20, () -> executed.add("cancelled"));
+      final int rescheduled = loop.execute(100, () -> executed.add("rescheduled"));
+
+      assertTrue(loop.cancel(cancelled));
+      assertFalse(loop.cancel(cancelled));
+      loop.updateExecutionTime(rescheduled, 2);
+
+      for (int i = 0; i < 5; i++) {
+        loop.process(10);
+      }
+
+      assertEquals(Arrays.asList("first", "rescheduled", "second", "third"), executed);
+      assertFalse(loop.cancel(rescheduled));
+    }
+  }
+
+  @Test
+  public void testCancelManyActions() {
+    try (final GameLoop loop = new GameLoop("Test Loop", 100)) {
+      final List<Integer> executed = new ArrayList<>();
+      final List<Integer> indices = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        final int value = i;
+        indices.add(loop.execute(10 + i % 10 * 10, () -> executed.add(value)));
+      }
+
+      for (int i = 0; i < 1000; i += 2) {
+        assertTrue(loop.cancel(indices.get(i)));
+      }
+
+      for (int i = 0; i < 10; i++) {
+        loop.process(10);
+      }
+
+      assertEquals(500, executed.size());
+      for (final int value : executed) {
+        assertEquals(1, value % 2);
+      }
+    }
+  }
 }
@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -9,6 +10,8 @@ import java.io.File;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import de.gurkenlabs.litiengine.input.Input;
+
 public class GameTest {
 
   @AfterEach
@@ -47,12 +50,15 @@ public class GameTest {
 
     assertTrue(initialized.wasCalled);
     assertFalse(started.wasCalled);
-    assertNotNull(Game.renderLoop());
+    assertNull(Game.renderLoop());
+    assertNull(Game.window());
     assertNotNull(Game.loop());
     assertNotNull(Game.world().camera());
     assertNotNull(Game.screens());
     assertNotNull(Game.physics());
     assertNotNull(Game.graphics());
+    assertNotNull(Input.keyboard());
+    assertNotNull(Input.mouse());
 
     Game.start();
     assertTrue(started.wasCalled);
@@ -0,0 +1,80 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+public class MetricsExporterTests {
+
+  @Test
+  public void testTimersOnlyRecordWhenEnabled() {
+    final GameMetrics metrics = new GameMetrics();
+    final MetricTimer timer = metrics.timer("test.timer");
+    assertSame(timer, metrics.timer("test.timer"));
+
+    timer.stop(timer.start());
+    timer.record(1000);
+    assertEquals(0, timer.getCount());
+
+    metrics.setInstrumentationEnabled(true);
+    timer.stop(timer.start());
+    timer.record(2000000);
+    assertEquals(2, timer.getCount());
+    assertEquals(2, timer.getMax(), 0.05);
+    assertTrue(metrics.timer("test.other").isEnabled());
+  }
+
+  @Test
+  public void testUpdateTimesAreRecorded() {
+    final GameMetrics metrics = new GameMetrics();
+    metrics.setInstrumentationEnabled(true);
+    metrics.trackUpdateTime(UpdatePhase.PHYSICS, 1.5);
+
+    assertEquals(1.5, metrics.getUpdateTime(UpdatePhase.PHYSICS), 0.0001);
+    assertEquals(1, metrics.timer("update.physics").getCount());
+    assertEquals(1.5, metrics.timer("update.physics").getPercentile(50), 0.03);
+  }
+
+  @Test
+  public void testCsvAndJson() throws IOException {
+    final GameMetrics metrics = new GameMetrics();
+    metrics.setInstrumentationEnabled(true);
+    metrics.timer("render.frame").record(4000000);
+
+    final StringWriter csv = new StringWriter();
+    MetricsExporter.writeCsv(csv, metrics.getTimers());
+    final String[] lines = csv.toString().split("\n");
+    assertEquals("timer,count,mean,p50,p90,p99,p999,max", lines[0]);
+    assertTrue(csv.toString().contains("render.frame,1,4.0000,"));
+
+    final StringWriter json = new StringWriter();
+    MetricsExporter.writeJson(json, metrics.getTimers());
+    assertTrue(json.toString().contains("\"render.frame\": { \"count\": 1, \"mean\": 4.0000"));
+  }
+
+  @Test
+  public void testPeriodicDump() throws IOException {
+    final GameMetrics metrics = new GameMetrics();
+    metrics.setInstrumentationEnabled(true);
+    metrics.timer("pathfinding.search").record(500000);
+
+    final File file = File.createTempFile("metrics", ".json");
+    try {
+      metrics.startDump(file, 60000);
+      metrics.stopDump();
+
+      final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+      assertTrue(content.contains("\"pathfinding.search\""));
+    } finally {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+public class SimulationContextTests {
+
+  @Test
+  public void testStaticAccessorsResolveBoundContext() {
+    try (final SimulationContext context = new SimulationContext("Test Context", 60)) {
+      assertNull(SimulationContext.current());
+      assertFalse(Game.physics() == context.physics());
+
+      context.execute(() -> {
+        assertSame(context, SimulationContext.current());
+        assertSame(context.physics(), Game.physics());
+        assertSame(context.loop(), Game.loop());
+        assertSame(context.world(), Game.world());
+      });
+
+      assertNull(SimulationContext.current());
+    }
+  }
+
+  @Test
+  public void testContextsAreIsolated() {
+    try (final SimulationContext first = new SimulationContext("First", 60); final SimulationContext second = new SimulationContext("Second", 60)) {
+      first.load(new Environment((IMap) null));
+      second.load(new Environment((IMap) null));
+
+      final CollisionBox firstBox = new CollisionBox(0, 0, 10, 10);
+      final CollisionBox secondBox = new CollisionBox(0, 0, 10, 10);
+      first.execute(() -> first.environment().add(firstBox));
+      second.execute(() -> second.environment().add(secondBox));
+
+      assertEquals(1, first.physics().getCollisionEntities().size());
+      assertTrue(first.physics().getCollisionEntities().contains(firstBox));
+      assertEquals(1, second.physics().getCollisionEntities().size());
+      assertTrue(second.physics().getCollisionEntities().contains(secondBox));
+      assertFalse(Game.physics().getCollisionEntities().contains(firstBox));
+    }
+  }
+
+  @Test
+  public void testTicksDontLogErrors() {
+    final List<LogRecord> records = new CopyOnWriteArrayList<>();
+    final Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+          records.add(record);
+        }
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+
+    // errors of updatables are logged by the loop instead of being thrown
+    final Logger log = Logger.getLogger(UpdateLoop.class.getName());
+    log.addHandler(handler);
+    try (final SimulationContext context = new SimulationContext("Test Context", 60)) {
+      context.load(new Environment((IMap) null));
+      context.execute(() -> context.environment().add(new CollisionBox(0, 0, 10, 10)));
+
+      for (int i = 0; i < 10; i++) {
+        context.tick();
+      }
+
+      assertEquals(10, context.loop().getTicks());
+      assertTrue(records.isEmpty());
+    } finally {
+      log.removeHandler(handler);
+    }
+  }
+
+  @Test
+  public void testSchedulerTicksContexts() throws InterruptedException {
+    final AtomicInteger firstTicks = new AtomicInteger();
+    final AtomicInteger secondTicks = new AtomicInteger();
+    final AtomicInteger unboundTicks = new AtomicInteger();
+
+    try (final SimulationScheduler scheduler = new SimulationScheduler(2);
+        final SimulationContext first = new SimulationContext("First", 100);
+        final SimulationContext second = new SimulationContext("Second", 100)) {
+      first.loop().attach(() -> count(first, firstTicks, unboundTicks));
+      second.loop().attach(() -> count(second, secondTicks, unboundTicks));
+
+      scheduler.schedule(first);
+      scheduler.schedule(second);
+      assertEquals(2, scheduler.getContexts().size());
+
+      // a busy machine might take a while until the contexts are ticked for the first time
+      final long timeout = System.currentTimeMillis() + 5000;
+      while ((firstTicks.get() < 10 || secondTicks.get() < 10) && System.currentTimeMillis() < timeout) {
+        Thread.sleep(10);
+      }
+
+      scheduler.cancel(first);
+      final long ticks = first.loop().getTicks();
+      Thread.sleep(100);
+
+      assertTrue(firstTicks.get() >= 10);
+      assertTrue(secondTicks.get() >= 10);
+      assertEquals(0, unboundTicks.get());
+
+      // a tick that was processed while the context was cancelled is completed
+      assertTrue(first.loop().getTicks() <= ticks + 1);
+      assertTrue(scheduler.getTickStatistics().getTotalTicks() >= firstTicks.get() - 1);
+    }
+  }
+
+  private static void count(final SimulationContext context, final AtomicInteger ticks, final AtomicInteger unboundTicks) {
+    if (SimulationContext.current() == context && Game.loop() == context.loop()) {
+      ticks.incrementAndGet();
+    } else {
+      unboundTicks.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TickStatisticsTests {
+
+  @Test
+  public void testPercentiles() {
+    final TickStatistics statistics = new TickStatistics();
+    assertEquals(0, statistics.getPercentile(99));
+
+    for (int i = 100; i > 0; i--) {
+      statistics.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    assertEquals(100, statistics.getSampleCount());
+    assertEquals(50, statistics.getMedian(), 0.0001);
+    assertEquals(90, statistics.getPercentile(90), 0.0001);
+    assertEquals(99, statistics.getPercentile(99), 0.0001);
+    assertEquals(100, statistics.getMax(), 0.0001);
+    assertEquals(50.5, statistics.getMean(), 0.0001);
+  }
+
+  @Test
+  public void testOnlyRecentTicksAreConsidered() {
+    final TickStatistics statistics = new TickStatistics(10);
+    for (int i = 0; i < 10; i++) {
+      statistics.record(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    for (int i = 0; i < 10; i++) {
+      statistics.record(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    assertEquals(10, statistics.getSampleCount());
+    assertEquals(20, statistics.getTotalTicks());
+    assertEquals(1, statistics.getMax(), 0.0001);
+
+    statistics.reset();
+    assertEquals(0, statistics.getSampleCount());
+    assertThrows(IllegalArgumentException.class, () -> statistics.getPercentile(0));
+  }
+}
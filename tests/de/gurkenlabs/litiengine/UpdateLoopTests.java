@@ -0,0 +1,115 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class UpdateLoopTests {
+
+  @Test
+  public void testPhasesAreUpdatedInOrder() {
+    try (final GameLoop loop = new GameLoop("Test Loop", 100)) {
+      final List<String> updated = new ArrayList<>();
+      loop.attach(new PhaseUpdatable(UpdatePhase.EMITTERS, () -> updated.add("emitters")));
+      loop.attach(new PhaseUpdatable(UpdatePhase.PHYSICS, () -> updated.add("physics")));
+      loop.attach(() -> updated.add("default"));
+      loop.attach(() -> updated.add("ai"), UpdatePhase.AI);
+      loop.attach(new PhaseUpdatable(UpdatePhase.INPUT, () -> updated.add("input")));
+      loop.attach(new PhaseUpdatable(UpdatePhase.ANIMATION, () -> updated.add("animation")));
+      loop.attach(new PhaseUpdatable(UpdatePhase.MOVEMENT, () -> updated.add("movement first")));
+      loop.attach(new PhaseUpdatable(UpdatePhase.MOVEMENT, () -> updated.add("movement second")));
+
+      loop.process(10);
+
+      assertEquals(Arrays.asList("input", "ai", "default", "movement first", "movement second", "physics", "animation", "emitters"), updated);
+    }
+  }
+
+  @Test
+  public void testDetachedUpdatablesAreSkipped() {
+    try (final GameLoop loop = new GameLoop("Test Loop", 100)) {
+      final AtomicInteger updates = new AtomicInteger();
+      final IUpdateable second = updates::incrementAndGet;
+      loop.attach(() -> loop.detach(second), UpdatePhase.INPUT);
+      loop.attach(second);
+
+      loop.process(10);
+
+      assertEquals(0, updates.get());
+      assertFalse(loop.getUpdatables().contains(second));
+    }
+  }
+
+  @Test
+  public void testParallelPhase() {
+    try (final SimulationContext context = new SimulationContext("Test Context", 100)) {
+      final GameLoop loop = (GameLoop) context.loop();
+      loop.setParallel(UpdatePhase.ANIMATION, true);
+      assertTrue(loop.isParallel(UpdatePhase.ANIMATION));
+
+      final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+      final AtomicInteger updates = new AtomicInteger();
+      final AtomicInteger unbound = new AtomicInteger();
+      final List<String> sequential = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        loop.attach(new ThreadSafeUpdatable(() -> {
+          threads.add(Thread.currentThread());
+          updates.incrementAndGet();
+          if (SimulationContext.current() != context || Game.loop() != loop) {
+            unbound.incrementAndGet();
+          }
+        }));
+      }
+
+      loop.attach(new PhaseUpdatable(UpdatePhase.ANIMATION, () -> sequential.add(Thread.currentThread().getName())));
+
+      context.tick();
+
+      assertEquals(1000, updates.get());
+      assertEquals(0, unbound.get());
+      assertEquals(1, sequential.size());
+      assertFalse(threads.isEmpty());
+      assertTrue(loop.getUpdateTime(UpdatePhase.ANIMATION) > 0);
+    }
+  }
+
+  private static class PhaseUpdatable implements IUpdateable {
+    private final UpdatePhase phase;
+    private final Runnable action;
+
+    private PhaseUpdatable(final UpdatePhase phase, final Runnable action) {
+      this.phase = phase;
+      this.action = action;
+    }
+
+    @Override
+    public void update() {
+      this.action.run();
+    }
+
+    @Override
+    public UpdatePhase getUpdatePhase() {
+      return this.phase;
+    }
+  }
+
+  private static class ThreadSafeUpdatable extends PhaseUpdatable {
+    private ThreadSafeUpdatable(final Runnable action) {
+      super(UpdatePhase.ANIMATION, action);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package de.gurkenlabs.litiengine.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.SimulationContext;
+import de.gurkenlabs.litiengine.entities.Trigger.TriggerActivation;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+public class TriggerOverlapStageTests {
+
+  @Test
+  public void testEnterAndExitEvents() {
+    try (final SimulationContext context = new SimulationContext("Triggers", 60)) {
+      context.load(new Environment((IMap) null));
+
+      final Trigger trigger = new Trigger(TriggerActivation.COLLISION, "test");
+      trigger.setSize(10, 10);
+      final CollisionBox box = new CollisionBox(0, 0, 5, 5);
+      final CollisionBox distantBox = new CollisionBox(500, 500, 5, 5);
+
+      final List<TriggerEvent> activated = new ArrayList<>();
+      final List<TriggerEvent> deactivated = new ArrayList<>();
+      trigger.addActivatedListener(activated::add);
+      trigger.addDeactivatedListener(deactivated::add);
+
+      context.execute(() -> {
+        context.environment().add(trigger);
+        context.environment().add(box);
+        context.environment().add(distantBox);
+      });
+
+      context.tick();
+      context.tick();
+      assertEquals(1, activated.size());
+      assertSame(box, activated.get(0).getEntity());
+      assertTrue(deactivated.isEmpty());
+
+      box.setLocation(1000, 1000);
+      context.tick();
+      assertEquals(1, activated.size());
+      assertEquals(1, deactivated.size());
+      assertSame(box, deactivated.get(0).getEntity());
+
+      distantBox.setLocation(2, 2);
+      context.tick();
+      assertEquals(2, activated.size());
+      assertSame(distantBox, activated.get(1).getEntity());
+    }
+  }
+
+  @Test
+  public void testOnlyActivatorsAreConsidered() {
+    try (final SimulationContext context = new SimulationContext("Triggers", 60)) {
+      context.load(new Environment((IMap) null));
+
+      final Trigger trigger = new Trigger(TriggerActivation.COLLISION, "test");
+      trigger.setSize(10, 10);
+      final CollisionBox box = new CollisionBox(0, 0, 5, 5);
+      final CollisionBox activator = new CollisionBox(2, 2, 5, 5);
+
+      final List<TriggerEvent> activated = new ArrayList<>();
+      trigger.addActivatedListener(activated::add);
+
+      context.execute(() -> {
+        context.environment().add(trigger);
+        context.environment().add(box);
+        context.environment().add(activator);
+      });
+
+      trigger.addActivator(activator.getMapId());
+      context.tick();
+
+      assertEquals(1, activated.size());
+      assertSame(activator, activated.get(0).getEntity());
+    }
+  }
+
+  @Test
+  public void testRemovedTriggersAreNotManaged() {
+    final TriggerOverlapStage stage = new TriggerOverlapStage();
+    final Trigger trigger = new Trigger(TriggerActivation.COLLISION, "test");
+    final Trigger interactTrigger = new Trigger(TriggerActivation.INTERACT, "test");
+
+    stage.add(trigger);
+    stage.add(interactTrigger);
+    assertEquals(1, stage.getTriggers().size());
+
+    stage.remove(trigger);
+    assertFalse(stage.getTriggers().contains(trigger));
+  }
+}
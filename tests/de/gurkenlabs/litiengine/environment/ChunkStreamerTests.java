@@ -0,0 +1,88 @@
+package de.gurkenlabs.litiengine.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileChunk;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TileLayer;
+import de.gurkenlabs.litiengine.resources.Resources;
+
+public class ChunkStreamerTests {
+
+  @BeforeAll
+  public static void initGame() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    Game.terminate();
+  }
+
+  @Test
+  public void testChunksAreStreamedAroundVisibleTiles() throws InterruptedException {
+    IMap map = Resources.maps().get("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-infinite-map.tmx");
+    TileLayer layer = (TileLayer) map.getTileLayers().get(0);
+    TileChunk near = layer.getChunks().get(0);
+    TileChunk far = layer.getChunks().get(1);
+
+    Collection<TileChunk> loaded = new CopyOnWriteArrayList<>();
+    Collection<TileChunk> unloaded = new CopyOnWriteArrayList<>();
+    ChunkStreamer streamer = new ChunkStreamer(map);
+    streamer.setDistances(0, 0);
+    streamer.addListener(new ChunkListener() {
+      @Override
+      public void chunkLoaded(TileLayer l, TileChunk chunk) {
+        loaded.add(chunk);
+      }
+
+      @Override
+      public void chunkUnloaded(TileLayer l, TileChunk chunk) {
+        unloaded.add(chunk);
+      }
+    });
+
+    Rectangle nearTiles = layer.getChunkBounds(near);
+    Rectangle farTiles = layer.getChunkBounds(far);
+    streamer.update(new Rectangle(nearTiles.x, nearTiles.y, 1, 1));
+
+    assertTrue(near.isLoaded());
+    assertFalse(far.isLoaded());
+    assertTrue(unloaded.contains(far));
+    assertNull(layer.getTile(farTiles.x, farTiles.y));
+    assertEquals(1, layer.getTile(15, 24).getGridId());
+
+    // chunks are loaded in the background and the listeners are notified by the next update
+    for (int i = 0; i < 1000 && !loaded.contains(far); i++) {
+      streamer.update(farTiles);
+      Thread.sleep(5);
+    }
+
+    assertTrue(loaded.contains(far));
+    assertTrue(far.isLoaded());
+    assertNotNull(layer.getTile(farTiles.x, farTiles.y));
+    assertFalse(near.isLoaded());
+  }
+
+  @Test
+  public void testInvalidDistances() {
+    ChunkStreamer streamer = new ChunkStreamer(null);
+
+    assertThrows(IllegalArgumentException.class, () -> streamer.setDistances(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> streamer.setDistances(2, 1));
+  }
+}
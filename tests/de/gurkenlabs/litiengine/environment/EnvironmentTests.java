@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +28,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
@@ -502,6 +504,76 @@ public class EnvironmentTests {
     assertFalse(found2.contains(entity2));
   }
 
+  @Test
+  public void testIndicesFollowChanges() {
+    MapArea area = new MapArea(0, 0, 10, 10);
+    area.setName("area");
+    CollisionBox collider = new CollisionBox(0, 0, 10, 10);
+    collider.setName("area");
+
+    Collection<MapArea> areas = this.testEnvironment.getByType(MapArea.class);
+    Collection<ICollisionEntity> colliders = this.testEnvironment.getByType(ICollisionEntity.class);
+    this.testEnvironment.add(area);
+    this.testEnvironment.add(collider);
+
+    assertEquals(1, areas.size());
+    assertEquals(1, colliders.size());
+    assertEquals(2, this.testEnvironment.getEntities().size());
+    assertEquals(collider, this.testEnvironment.get(CollisionBox.class, "area"));
+    assertEquals(area, this.testEnvironment.get(MapArea.class, "area"));
+
+    area.setName("renamed");
+    assertNull(this.testEnvironment.get(MapArea.class, "area"));
+    assertEquals(area, this.testEnvironment.get("renamed"));
+    assertEquals(area, this.testEnvironment.getArea("renamed"));
+
+    this.testEnvironment.remove(area);
+    assertNull(this.testEnvironment.get("renamed"));
+    assertTrue(areas.isEmpty());
+    assertEquals(1, this.testEnvironment.getEntities().size());
+  }
+
+  @Test
+  public void testClearedEntitiesAreNotIndexed() {
+    MapArea area = new MapArea(0, 0, 10, 10);
+    area.setName("area");
+    this.testEnvironment.add(area);
+
+    Collection<IEntity> entities = this.testEnvironment.getEntities();
+    this.testEnvironment.clear();
+
+    assertEquals(1, entities.size());
+    assertTrue(this.testEnvironment.getEntities().isEmpty());
+
+    area.setName("renamed");
+    area.setLocation(5, 5);
+    assertNull(this.testEnvironment.get("area"));
+    assertNull(this.testEnvironment.get("renamed"));
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 20, 20)).isEmpty());
+  }
+
+  @Test
+  public void testFindEntitiesAfterMovement() {
+    MapArea entity = new MapArea(0, 0, 10, 10);
+    MapArea entity2 = new MapArea(500, 500, 10, 10);
+
+    this.testEnvironment.add(entity);
+    this.testEnvironment.add(entity2);
+
+    entity.setLocation(1000, 1000);
+    entity2.setSize(600, 600);
+
+    Collection<IEntity> found = this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 10, 10));
+    Collection<IEntity> found2 = this.testEnvironment.findEntities(new Rectangle2D.Double(1000, 1000, 10, 10));
+    assertFalse(found.contains(entity));
+    assertTrue(found2.contains(entity));
+    assertTrue(found2.contains(entity2));
+
+    this.testEnvironment.remove(entity);
+    assertFalse(this.testEnvironment.findEntities(new Rectangle2D.Double(1000, 1000, 10, 10)).contains(entity));
+    assertEquals(entity2, this.testEnvironment.findNearestEntities(new Point2D.Double(0, 0), 1).get(0));
+  }
+
   @Test
   public void testFindCombatEntitiesInShape() {
     ICombatEntity combatEntity = mock(ICombatEntity.class);
@@ -1,13 +1,22 @@
 package de.gurkenlabs.litiengine.environment;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.resources.Resources;
 
 public class GameWorldTests {
@@ -25,6 +34,13 @@ public class GameWorldTests {
     Game.terminate();
   }
 
+  @AfterEach
+  public void clearWorld() {
+    // the game world caches the environments, which would otherwise keep their state between the tests
+    Game.world().clear();
+    Game.world().setCamera(new Camera());
+  }
+
   @Test
   public void testListeners() {
     Status mapLoaded = new Status();
@@ -117,6 +133,64 @@ public class GameWorldTests {
     assertTrue(mapUnloaded.wasCalled);
   }
 
+  @Test
+  public void testPreloadEnvironment() {
+    // the environment is passed directly, because preloading a map also loads the images of its tilesets, which requires a display
+    Environment environment = Game.world().getEnvironment(Resources.maps().get("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-mapobject.tmx"));
+    Environment current = Game.world().loadEnvironment("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+    Status initialized = new Status();
+    environment.addListener(new EnvironmentListener() {
+      @Override
+      public void initialized(Environment env) {
+        initialized.wasCalled = true;
+      }
+    });
+
+    Environment preloaded = Game.world().preloadEnvironment(environment).join();
+
+    assertEquals(environment, preloaded);
+    assertTrue(initialized.wasCalled);
+    assertFalse(preloaded.isLoaded());
+    assertEquals(current, Game.world().environment());
+  }
+
+  @Test
+  public void testLoadEnvironmentAsync() {
+    Environment current = Game.world().loadEnvironment("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+    Environment next = Game.world().getEnvironment(Resources.maps().get("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-mapobject.tmx"));
+
+    CompletableFuture<Environment> superseded = Game.world().loadEnvironmentAsync(current);
+    CompletableFuture<Environment> transition = Game.world().loadEnvironmentAsync(next);
+
+    // the later transition wins and the environment is only swapped by an update of the game world
+    assertThrows(CancellationException.class, superseded::join);
+    assertEquals(current, Game.world().environment());
+
+    while (!transition.isDone()) {
+      Game.world().update();
+    }
+
+    Environment loaded = transition.join();
+    assertEquals(next, loaded);
+    assertEquals(loaded, Game.world().environment());
+    assertTrue(loaded.isLoaded());
+    assertFalse(current.isLoaded());
+  }
+
+  @Test
+  public void testSupersededTransitionIsCancelledEvenIfItFails() {
+    Environment current = Game.world().loadEnvironment("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
+
+    CompletableFuture<Environment> failing = new CompletableFuture<>();
+    CompletableFuture<Environment> superseded = Game.world().transition(failing);
+    CompletableFuture<Environment> transition = Game.world().transition(new CompletableFuture<>());
+    failing.completeExceptionally(new IllegalStateException("the environment could not be prepared"));
+
+    assertThrows(CancellationException.class, superseded::join);
+    assertFalse(transition.isDone());
+    assertEquals(current, Game.world().environment());
+  }
+
   private class Status {
     boolean wasCalled = false;
   }
@@ -7,6 +7,10 @@ import static org.mockito.Mockito.mock;
 
 import java.awt.Color;
 import java.awt.geom.Rectangle2D;
+import java.io.StringReader;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -153,4 +157,14 @@ public class MapTests {
 
     assertEquals(1, map.getTileLayers().get(0).getTile(15, 24).getGridId());
   }
+
+  @Test
+  public void testEmbeddedTilesetWithoutTileEntries() throws JAXBException {
+    String xml = "<tileset firstgid=\"1\" name=\"tiles\" tilewidth=\"16\" tileheight=\"16\" tilecount=\"2\" columns=\"2\">"
+        + "<image source=\"tiles-test.png\" width=\"32\" height=\"16\"/></tileset>";
+    Tileset tileset = (Tileset) JAXBContext.newInstance(Tileset.class).createUnmarshaller().unmarshal(new StringReader(xml));
+
+    assertEquals("tiles", tileset.getName());
+    assertEquals(1, tileset.getFirstGridId());
+  }
 }
@@ -0,0 +1,133 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.jupiter.api.Test;
+
+public class TileDataStreamReaderTests {
+  private static final String ZLIB_DATA = "eJxjZGBgYAJiZiAGAAA0AAc=";
+
+  @Test
+  public void testDecodesTileData() throws XMLStreamException {
+    TileDataStreamReader reader = read("<map><layer width=\"2\" height=\"2\"><data encoding=\"csv\">\n1,2,\n3221225490,0\n</data></layer>"
+        + "<layer width=\"2\" height=\"1\"><data encoding=\"base64\" compression=\"zlib\">" + ZLIB_DATA + "</data></layer></map>");
+
+    assertArrayEquals(new int[] { 1, 2, 0xC0000012, 0 }, reader.pollTileData());
+    assertArrayEquals(new int[] { 1, 2, 3 }, reader.pollTileData());
+    assertNull(reader.pollTileData());
+  }
+
+  @Test
+  public void testDecodesChunks() throws XMLStreamException {
+    TileDataStreamReader reader = read(getClass().getResourceAsStream("test-infinite-map.tmx"));
+
+    assertNull(reader.pollTileData());
+
+    int[] chunk = reader.pollChunk();
+    assertEquals(256, chunk.length);
+    assertEquals(0, chunk[0]);
+    assertEquals(1, chunk[8 * 16 + 15]);
+    assertEquals(256, reader.pollChunk().length);
+  }
+
+  @Test
+  public void testDecodesChunksOfInfiniteLayer() throws XMLStreamException {
+    // the data element of an infinite layer only contains chunks, so the size of the layer is not used
+    TileDataStreamReader reader = read("<map infinite=\"1\"><layer width=\"1000\" height=\"1000\"><data encoding=\"csv\">"
+        + "<chunk x=\"997\" y=\"999\" width=\"3\" height=\"1\">1,2,3</chunk></data></layer>"
+        + "<layer width=\"2\" height=\"1\"><data encoding=\"base64\" compression=\"zlib\">"
+        + "<chunk x=\"0\" y=\"0\" width=\"3\" height=\"1\">" + ZLIB_DATA + "</chunk></data></layer></map>");
+
+    assertNull(reader.pollTileData());
+    assertNull(reader.pollTileData());
+    assertArrayEquals(new int[] { 1, 2, 3 }, reader.pollChunk());
+    assertArrayEquals(new int[] { 1, 2, 3 }, reader.pollChunk());
+  }
+
+  @Test
+  public void testDecodesSameGidsAsTileData() throws XMLStreamException, TmxException {
+    String base64 = "AQAAAAIAAAADAAAA";
+    TileDataStreamReader reader = read("<map><layer width=\"3\" height=\"1\"><data encoding=\"base64\">" + base64 + "</data>"
+        + "<data encoding=\"base64\" compression=\"zlib\">" + ZLIB_DATA + "</data></layer></map>");
+
+    assertArrayEquals(TileData.parseBase64Gids(base64, null), reader.pollTileData());
+    assertArrayEquals(TileData.parseBase64Gids(ZLIB_DATA, TileData.COMPRESSION_ZLIB), reader.pollTileData());
+  }
+
+  @Test
+  public void testUnsupportedDataIsPassedOn() throws XMLStreamException {
+    TileDataStreamReader reader = new TileDataStreamReader(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader("<map><layer width=\"1\" height=\"1\"><data encoding=\"foo\">1</data></layer></map>")));
+    List<String> text = new ArrayList<>();
+    while (reader.hasNext()) {
+      if (reader.next() == XMLStreamReader.CHARACTERS) {
+        text.add(reader.getText());
+      }
+    }
+
+    assertEquals("1", String.join("", text));
+    assertNull(reader.pollTileData());
+  }
+
+  @Test
+  public void testInvalidData() {
+    assertThrows(XMLStreamException.class, () -> read("<map><layer width=\"2\" height=\"1\"><data encoding=\"csv\">1,,2</data></layer></map>"));
+    assertThrows(XMLStreamException.class, () -> read("<map><layer width=\"2\" height=\"1\"><data encoding=\"csv\">1 2</data></layer></map>"));
+    assertThrows(XMLStreamException.class, () -> read("<map><layer width=\"2\" height=\"1\"><data encoding=\"base64\">AQ#A</data></layer></map>"));
+  }
+
+  @Test
+  public void testEncodeDecodedData() throws TmxException {
+    int[] gids = { 1, 0, 0xC0000012, 17 };
+    for (String compression : new String[] { null, TileData.COMPRESSION_GZIP, TileData.COMPRESSION_ZLIB }) {
+      TileData data = new TileData();
+      data.setEncoding(TileData.ENCODING_BASE64);
+      data.setCompression(compression);
+      data.setGids(gids);
+      data.beforeMarshal(null);
+
+      assertArrayEquals(gids, TileData.parseBase64Gids(data.getValue(), compression));
+    }
+
+    TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_CSV);
+    data.setGids(gids);
+    data.beforeMarshal(null);
+
+    assertNotNull(data.getValue());
+    assertTrue(data.getValue().contains("3221225490"));
+    assertArrayEquals(gids, TileData.parseCsvGids(data.getValue()));
+  }
+
+  private static TileDataStreamReader read(String xml) throws XMLStreamException {
+    return consume(new TileDataStreamReader(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml))));
+  }
+
+  private static TileDataStreamReader read(InputStream stream) throws XMLStreamException {
+    return consume(new TileDataStreamReader(XMLInputFactory.newInstance().createXMLStreamReader(stream)));
+  }
+
+  private static TileDataStreamReader consume(TileDataStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      // the content of the tile data is hidden from the consumer of the stream
+      if (reader.next() == XMLStreamReader.CHARACTERS) {
+        assertTrue(reader.isWhiteSpace());
+      }
+    }
+
+    return reader;
+  }
+}
@@ -1,7 +1,10 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -100,4 +103,39 @@ public class TileDataTests {
     assertFalse(tiles.get(127).isFlippedDiagonally());
     assertEquals(18, tiles.get(127).getGridId());
   }
+
+  @Test
+  public void testGidsKeepFlags() throws TmxException {
+    TileData data = new TileData();
+    data.setValue("1,0,\n3221225490 , 17");
+    data.setEncoding(TileData.ENCODING_CSV);
+
+    assertArrayEquals(new int[] { 1, 0, 0xC0000012, 17 }, data.parseGids());
+    assertSame(data.parseGids(), data.parseGids());
+  }
+
+  @Test
+  public void testCsvSeparatorsAndWhitespace() throws TmxException {
+    assertArrayEquals(new int[] { 1, 2, 3 }, TileData.parseCsvGids("\n  1 ,2,\t3,\n"));
+    assertArrayEquals(new int[] { -1 }, TileData.parseCsvGids("4294967295"));
+
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids(",1"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids("1,,2"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids("1 2"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids("1;2"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids("4294967296"));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseCsvGids(" \n "));
+  }
+
+  @Test
+  public void testBase64Padding() throws TmxException {
+    // the data of tiles 1 and 2, wrapped like in a map file
+    assertArrayEquals(new int[] { 1, 2 }, TileData.parseBase64Gids("\n   AQAAAAIA\n   AAA=\n", null));
+    assertArrayEquals(new int[0], TileData.parseBase64Gids("", null));
+
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseBase64Gids("AQAAAAIA", null));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseBase64Gids("AQAA=AAA", null));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseBase64Gids("AQ*AAAAA", null));
+    assertThrows(InvalidTileLayerException.class, () -> TileData.parseBase64Gids("AQAAAAIAAAA=", TileData.COMPRESSION_ZLIB));
+  }
 }
@@ -0,0 +1,227 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.bind.JAXBException;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITile;
+
+public class TileLayerTests {
+
+  @Test
+  public void testTilesAreReadFromGids() {
+    TileLayer layer = createLayer(3, 2, "1,2,0,2,1,2147483649");
+
+    assertEquals(1, layer.getTile(0, 0).getGridId());
+    assertEquals(2, layer.getTile(1, 0).getGridId());
+    assertSame(Tile.EMPTY, layer.getTile(2, 0));
+    assertEquals(2, layer.getTile(0, 1).getGridId());
+    assertEquals(2, layer.getTileByLocation(new Point(1, 0)).getGridId());
+
+    ITile flipped = layer.getTile(2, 1);
+    assertEquals(1, flipped.getGridId());
+    assertTrue(flipped.isFlippedHorizontally());
+    assertFalse(flipped.isFlippedVertically());
+    assertFalse(layer.getTile(1, 1).isFlipped());
+  }
+
+  @Test
+  public void testTilesWithSameGidAreShared() {
+    TileLayer layer = createLayer(3, 2, "1,2,0,2,1,2147483649");
+
+    assertSame(layer.getTile(1, 0), layer.getTile(0, 1));
+    assertSame(layer.getTile(0, 0), layer.getTile(1, 1));
+    assertEquals(layer.getTile(0, 0).getGridId(), layer.getTile(2, 1).getGridId());
+    assertNotSame(layer.getTile(0, 0), layer.getTile(2, 1));
+  }
+
+  @Test
+  public void testSharedTilesCannotBeChanged() {
+    TileLayer layer = createLayer(3, 2, "1,2,0,2,1,2147483649");
+    ITile tile = layer.getTile(0, 0);
+
+    assertTrue(((Tile) tile).isShared());
+    assertNull(tile.getTileCoordinate());
+    assertThrows(UnsupportedOperationException.class, () -> tile.setValue("foo", "bar"));
+    assertThrows(UnsupportedOperationException.class, () -> tile.setValue("foo", 1));
+    assertThrows(UnsupportedOperationException.class, () -> tile.setProperties(null));
+    assertThrows(UnsupportedOperationException.class, () -> ((Tile) tile).setTileCoordinate(new Point(0, 0)));
+    assertThrows(UnsupportedOperationException.class, () -> layer.getTile(2, 0).setValue("foo", true));
+
+    // the other cells with the same grid id are unaffected
+    assertFalse(layer.getTile(1, 1).hasCustomProperty("foo"));
+    assertFalse(Tile.EMPTY.hasCustomProperty("foo"));
+  }
+
+  @Test
+  public void testTilesOutsideOfLayer() {
+    TileLayer layer = createLayer(3, 2, "1,2,0,2,1,2");
+
+    assertNull(layer.getTile(-1, 0));
+    assertNull(layer.getTile(0, -1));
+    assertNull(layer.getTile(3, 0));
+    assertNull(layer.getTile(0, 2));
+  }
+
+  @Test
+  public void testTileList() {
+    TileLayer layer = createLayer(3, 2, "1,2,0,2,1,2");
+    List<ITile> tiles = layer.getTiles();
+
+    assertEquals(6, tiles.size());
+    assertSame(layer.getTile(1, 1), tiles.get(4));
+    assertThrows(UnsupportedOperationException.class, () -> tiles.add(Tile.EMPTY));
+  }
+
+  @Test
+  public void testChunksAreKeptSparse() {
+    TileLayer layer = createInfiniteLayer();
+    TileChunk first = layer.getChunks().get(0);
+    TileChunk second = layer.getChunks().get(1);
+
+    assertEquals(8, layer.getWidth());
+    assertEquals(8, layer.getHeight());
+    assertEquals(new Rectangle(0, 0, 2, 2), layer.getChunkBounds(first));
+    assertEquals(new Rectangle(6, 6, 2, 2), layer.getChunkBounds(second));
+
+    assertEquals(1, layer.getTile(0, 0).getGridId());
+    assertSame(Tile.EMPTY, layer.getTile(1, 0));
+    assertEquals(2, layer.getTile(1, 1).getGridId());
+    assertEquals(3, layer.getTile(6, 6).getGridId());
+    assertSame(layer.getTile(0, 0), layer.getTile(7, 7));
+
+    // cells between the chunks are empty
+    assertSame(Tile.EMPTY, layer.getTile(4, 4));
+    assertNull(layer.getTile(8, 0));
+    assertEquals(64, layer.getTiles().size());
+    assertEquals(3, layer.getTiles().get(6 * 8 + 6).getGridId());
+  }
+
+  @Test
+  public void testUnloadAndLoadChunk() throws InvalidTileLayerException {
+    TileLayer layer = createInfiniteLayer();
+    TileChunk chunk = layer.getChunks().get(1);
+    ITile tile = layer.getTile(6, 6);
+
+    assertTrue(chunk.isLoaded());
+    layer.unloadChunk(chunk);
+
+    assertFalse(chunk.isLoaded());
+    assertNull(layer.getTile(6, 6));
+    assertEquals(1, layer.getTile(0, 0).getGridId());
+
+    layer.loadChunk(chunk);
+
+    assertTrue(chunk.isLoaded());
+    assertSame(tile, layer.getTile(6, 6));
+  }
+
+  @Test
+  public void testUnloadAndLoadChunkThatWasDecodedWhileRead() throws InvalidTileLayerException {
+    // the streaming reader hides the content of the chunks from JAXB, which leaves whitespace as their value
+    TileChunk first = new TileChunk(-4, -4, 2, 2, "\n   ");
+    first.setGids(new int[] { 1, 0, 0, 2 });
+    TileChunk second = new TileChunk(2, 2, 2, 2, "");
+    second.setGids(new int[] { 3, 0, 0, 1 });
+
+    TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_CSV);
+    data.setChunks(Arrays.asList(first, second));
+    data.setMinChunkOffsets(-4, -4);
+    TileLayer layer = new TileLayer(data);
+
+    assertEquals(3, layer.getTile(6, 6).getGridId());
+    layer.unloadChunk(second);
+
+    assertFalse(second.isLoaded());
+    assertNull(layer.getTile(6, 6));
+
+    layer.loadChunk(second);
+
+    assertTrue(second.isLoaded());
+    assertEquals(3, layer.getTile(6, 6).getGridId());
+    assertEquals(1, layer.getTile(7, 7).getGridId());
+  }
+
+  @Test
+  public void testUnloadAndLoadChunkOfReadMap() throws JAXBException, InvalidTileLayerException {
+    Map map = TmxReader.read(Map.class, "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-infinite-map.tmx");
+    assertNotNull(map);
+
+    TileLayer layer = (TileLayer) map.getTileLayers().get(0);
+    TileChunk chunk = layer.getChunks().stream().filter(c -> c.getX() == 0 && c.getY() == 0).findFirst().orElse(null);
+    assertNotNull(chunk);
+
+    Rectangle bounds = layer.getChunkBounds(chunk);
+    assertEquals(1, layer.getTile(bounds.x + 5, bounds.y).getGridId());
+
+    layer.unloadChunk(chunk);
+
+    assertFalse(chunk.isLoaded());
+    assertNull(layer.getTile(bounds.x + 5, bounds.y));
+
+    layer.loadChunk(chunk);
+
+    assertTrue(chunk.isLoaded());
+    assertEquals(1, layer.getTile(bounds.x + 5, bounds.y).getGridId());
+    assertSame(Tile.EMPTY, layer.getTile(bounds.x, bounds.y));
+  }
+
+  @Test
+  public void testChunkStore() throws InvalidTileLayerException {
+    TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_CSV);
+    data.setChunks(Arrays.asList(new TileChunk(0, 0, 2, 2, null), new TileChunk(2, 0, 2, 2, null)));
+
+    TileLayer layer = new TileLayer(data);
+    layer.setChunkStore((l, chunk) -> chunk.getX() == 0 ? new int[] { 4, 4, 4, 4 } : null);
+
+    TileChunk stored = layer.getChunks().get(0);
+    TileChunk missing = layer.getChunks().get(1);
+    assertFalse(stored.isLoaded());
+    assertNull(layer.getTile(0, 0));
+
+    layer.loadChunk(stored);
+    layer.loadChunk(missing);
+
+    assertEquals(4, layer.getTile(1, 1).getGridId());
+    assertFalse(missing.isLoaded());
+    assertNull(layer.getTile(2, 0));
+
+    layer.setChunkStore((l, chunk) -> new int[] { 1 });
+    assertThrows(InvalidTileLayerException.class, () -> layer.loadChunk(missing));
+  }
+
+  private static TileLayer createInfiniteLayer() {
+    TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_CSV);
+    data.setChunks(Arrays.asList(new TileChunk(2, 2, 2, 2, "3,0,0,1"), new TileChunk(-4, -4, 2, 2, "1,0,0,2")));
+    data.setMinChunkOffsets(-4, -4);
+    return new TileLayer(data);
+  }
+
+  private static TileLayer createLayer(int width, int height, String csv) {
+    TileData data = new TileData();
+    data.setEncoding(TileData.ENCODING_CSV);
+    data.setValue(csv);
+
+    TileLayer layer = new TileLayer(data);
+    layer.setWidth(width);
+    layer.setHeight(height);
+    return layer;
+  }
+}
@@ -0,0 +1,100 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.MapArea;
+import de.gurkenlabs.litiengine.util.geom.SpatialGrid;
+
+public class EntityRenderOrderTests {
+
+  @Test
+  public void testOrderIsRepairedAfterMovement() {
+    final Random random = new Random(7);
+    final EntityRenderOrder renderOrder = new EntityRenderOrder();
+    final List<IEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      final MapArea area = new MapArea(random.nextDouble() * 1000, random.nextDouble() * 1000, 16, 16);
+      entities.add(area);
+      renderOrder.add(area);
+    }
+
+    final Rectangle2D viewport = new Rectangle2D.Double(100, 100, 600, 600);
+    for (int frame = 0; frame < 10; frame++) {
+      for (final IEntity entity : entities) {
+        entity.setLocation(entity.getX() + random.nextDouble() * 10 - 5, entity.getY() + random.nextDouble() * 10 - 5);
+      }
+
+      assertVisibleAndSorted(entities, renderOrder.getEntities(viewport, true), viewport);
+    }
+  }
+
+  @Test
+  public void testSpatialIndexIsUsedForSmallViewports() {
+    final Random random = new Random(11);
+    final SpatialGrid<IEntity> index = new SpatialGrid<>();
+    final EntityRenderOrder renderOrder = new EntityRenderOrder(index);
+    final List<IEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      final MapArea area = new MapArea(random.nextDouble() * 5000, random.nextDouble() * 5000, 16, 16);
+      entities.add(area);
+      index.add(area, area.getBoundingBox());
+      renderOrder.add(area);
+    }
+
+    // entities of other render orders in the same index are ignored
+    final MapArea other = new MapArea(150, 150, 16, 16);
+    index.add(other, other.getBoundingBox());
+
+    final Rectangle2D viewport = new Rectangle2D.Double(100, 100, 400, 400);
+    final List<IEntity> visible = renderOrder.getEntities(viewport, true);
+    assertFalse(visible.contains(other));
+    assertVisibleAndSorted(entities, visible, viewport);
+
+    // a large viewport falls back to the maintained order
+    final Rectangle2D largeViewport = new Rectangle2D.Double(0, 0, 5000, 5000);
+    assertVisibleAndSorted(entities, renderOrder.getEntities(largeViewport, true), largeViewport);
+  }
+
+  @Test
+  public void testRemove() {
+    final EntityRenderOrder renderOrder = new EntityRenderOrder();
+    final MapArea first = new MapArea(0, 0, 10, 10);
+    final MapArea second = new MapArea(0, 20, 10, 10);
+    renderOrder.add(second);
+    renderOrder.add(first);
+    renderOrder.add(first);
+
+    assertEquals(2, renderOrder.size());
+    assertTrue(renderOrder.remove(second));
+    assertFalse(renderOrder.remove(second));
+    assertEquals(1, renderOrder.getEntities(new Rectangle2D.Double(0, 0, 100, 100), true).size());
+
+    renderOrder.clear();
+    assertEquals(0, renderOrder.size());
+  }
+
+  private static void assertVisibleAndSorted(final List<IEntity> entities, final List<IEntity> visible, final Rectangle2D viewport) {
+    int expected = 0;
+    for (final IEntity entity : entities) {
+      if (viewport.intersects(entity.getBoundingBox())) {
+        expected++;
+      }
+    }
+
+    assertEquals(expected, visible.size());
+    for (int i = 1; i < visible.size(); i++) {
+      assertTrue(EntityYComparator.getMaxY(visible.get(i - 1)) <= EntityYComparator.getMaxY(visible.get(i)));
+    }
+  }
+}
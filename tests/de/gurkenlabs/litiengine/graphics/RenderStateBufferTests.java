@@ -0,0 +1,144 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.geom.Rectangle2D;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.MapArea;
+
+public class RenderStateBufferTests {
+
+  @Test
+  public void testSnapshotIsGroupedAndOrdered() {
+    final Map<RenderType, EntityRenderOrder> renderOrders = createRenderOrders();
+    final MapArea lower = new MapArea(0, 50, 10, 10);
+    final MapArea upper = new MapArea(0, 10, 10, 10);
+    final MapArea overlay = new MapArea(0, 0, 10, 10);
+    renderOrders.get(RenderType.NORMAL).add(lower);
+    renderOrders.get(RenderType.NORMAL).add(upper);
+    renderOrders.get(RenderType.OVERLAY).add(overlay);
+
+    final RenderStateBuffer buffer = new RenderStateBuffer();
+    assertNull(buffer.acquire());
+
+    buffer.extract(renderOrders, null, 1);
+    final RenderSnapshot snapshot = buffer.acquire();
+    try {
+      assertEquals(1, snapshot.getTick());
+      assertEquals(3, snapshot.size());
+      assertEquals(2, snapshot.getEnd(RenderType.NORMAL) - snapshot.getStart(RenderType.NORMAL));
+      assertSame(upper, snapshot.getEntity(snapshot.getStart(RenderType.NORMAL)));
+      assertSame(lower, snapshot.getEntity(snapshot.getStart(RenderType.NORMAL) + 1));
+      assertSame(overlay, snapshot.getEntity(snapshot.getStart(RenderType.OVERLAY)));
+      assertEquals(0, snapshot.getEnd(RenderType.GROUND) - snapshot.getStart(RenderType.GROUND));
+    } finally {
+      buffer.release(snapshot);
+    }
+  }
+
+  @Test
+  public void testSnapshotIsNotAffectedByMovement() {
+    final Map<RenderType, EntityRenderOrder> renderOrders = createRenderOrders();
+    final MapArea area = new MapArea(0, 0, 10, 10);
+    renderOrders.get(RenderType.NORMAL).add(area);
+
+    final RenderStateBuffer buffer = new RenderStateBuffer();
+    buffer.extract(renderOrders, null, 1);
+    final RenderSnapshot first = buffer.acquire();
+    buffer.release(first);
+
+    area.setLocation(20, 40);
+    assertEquals(0, first.getX(0));
+    assertEquals(0, first.getY(0));
+
+    buffer.extract(renderOrders, null, 2);
+    final RenderSnapshot second = buffer.acquire();
+    try {
+      assertNotSame(first, second);
+      assertEquals(20, second.getX(0));
+      assertEquals(40, second.getY(0));
+      assertEquals(0, second.getPreviousX(0));
+      assertEquals(0, second.getPreviousY(0));
+      assertEquals(10, second.getLocation(0, 0.5).getX());
+      assertEquals(20, second.getLocation(0, 0.5).getY());
+    } finally {
+      buffer.release(second);
+    }
+  }
+
+  @Test
+  public void testPreviousLocationsOfManyEntities() {
+    final Map<RenderType, EntityRenderOrder> renderOrders = createRenderOrders();
+    final MapArea[] areas = new MapArea[100];
+    for (int i = 0; i < areas.length; i++) {
+      areas[i] = new MapArea(i, 0, 10, 10);
+      renderOrders.get(RenderType.GROUND).add(areas[i]);
+    }
+
+    final RenderStateBuffer buffer = new RenderStateBuffer();
+    buffer.extract(renderOrders, null, 1);
+    buffer.release(buffer.acquire());
+
+    for (final MapArea area : areas) {
+      area.setLocation(area.getX(), 100);
+    }
+
+    final MapArea added = new MapArea(0, 200, 10, 10);
+    renderOrders.get(RenderType.OVERLAY).add(added);
+
+    buffer.extract(renderOrders, null, 2);
+    final RenderSnapshot snapshot = buffer.acquire();
+    try {
+      assertEquals(101, snapshot.size());
+      for (int i = snapshot.getStart(RenderType.GROUND); i < snapshot.getEnd(RenderType.GROUND); i++) {
+        assertEquals(snapshot.getEntity(i).getX(), snapshot.getPreviousX(i));
+        assertEquals(0, snapshot.getPreviousY(i));
+        assertEquals(100, snapshot.getY(i));
+      }
+
+      final int index = snapshot.getStart(RenderType.OVERLAY);
+      assertSame(added, snapshot.getEntity(index));
+      assertEquals(200, snapshot.getPreviousY(index));
+    } finally {
+      buffer.release(snapshot);
+    }
+  }
+
+  @Test
+  public void testExtractionBounds() {
+    final Map<RenderType, EntityRenderOrder> renderOrders = createRenderOrders();
+    final MapArea inside = new MapArea(10, 10, 10, 10);
+    final MapArea outside = new MapArea(500, 500, 10, 10);
+    renderOrders.get(RenderType.GROUND).add(inside);
+    renderOrders.get(RenderType.GROUND).add(outside);
+
+    final RenderStateBuffer buffer = new RenderStateBuffer();
+    buffer.extract(renderOrders, new Rectangle2D.Double(0, 0, 100, 100), 1);
+    final RenderSnapshot snapshot = buffer.acquire();
+    try {
+      assertEquals(1, snapshot.size());
+      assertSame(inside, snapshot.getEntity(snapshot.getStart(RenderType.GROUND)));
+    } finally {
+      buffer.release(snapshot);
+    }
+
+    buffer.clear();
+    assertNull(buffer.acquire());
+  }
+
+  private static Map<RenderType, EntityRenderOrder> createRenderOrders() {
+    final Map<RenderType, EntityRenderOrder> renderOrders = new EnumMap<>(RenderType.class);
+    for (final RenderType renderType : RenderType.values()) {
+      renderOrders.put(renderType, new EntityRenderOrder());
+    }
+
+    return renderOrders;
+  }
+}
@@ -0,0 +1,76 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+
+public class SpritesheetTests {
+
+  @AfterEach
+  public void tearDown() {
+    Resources.spritesheets().clear();
+  }
+
+  @Test
+  public void testSpritesAreSlicedOnDemand() {
+    Spritesheet sheet = Resources.spritesheets().load(createImage(), "lazy-sprite", 16, 16);
+
+    BufferedImage sprite = sheet.getSprite(1);
+    assertNotNull(sprite);
+    assertEquals(16, sprite.getWidth());
+    assertEquals(0xFFFF0000, sprite.getRGB(0, 0));
+    assertSame(sprite, sheet.getSprite(1));
+
+    assertNull(sheet.getSprite(0));
+    assertNull(sheet.getSprite(0));
+  }
+
+  @Test
+  public void testSpritesAreSlicedAgainAfterImagesWereCleared() {
+    Spritesheet sheet = Resources.spritesheets().load(createImage(), "cleared-sprite", 16, 16);
+    BufferedImage sprite = sheet.getSprite(1);
+
+    Resources.images().clear();
+
+    assertNotSame(sprite, sheet.getSprite(1));
+    assertNull(sheet.getSprite(0));
+  }
+
+  @Test
+  public void testWarmUp() throws InterruptedException, ExecutionException {
+    Spritesheet sheet = Resources.spritesheets().load(createImage(), "warm-sprite", 16, 16);
+
+    assertEquals(2, sheet.warmUp());
+    assertEquals(2, Resources.spritesheets().warmUp().get().intValue());
+    assertNull(sheet.getSprite(2));
+  }
+
+  @Test
+  public void testChangeSpriteWidth() {
+    Spritesheet sheet = Resources.spritesheets().load(createImage(), "resized-sprite", 16, 16);
+    sheet.warmUp();
+
+    sheet.setSpriteWidth(32);
+
+    assertEquals(2, sheet.getTotalNumberOfSprites());
+    assertEquals(32, sheet.getSprite(0).getWidth());
+  }
+
+  private static BufferedImage createImage() {
+    // four sprites of which only the second and the fourth are visible
+    BufferedImage image = new BufferedImage(64, 16, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(16, 0, 0xFFFF0000);
+    image.setRGB(63, 15, 0xFF00FF00);
+    return image;
+  }
+}
@@ -0,0 +1,99 @@
+package de.gurkenlabs.litiengine.net;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchingPacketSenderTests {
+  private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+  @Test
+  public void testMessagesAreCoalescedPerDestination() {
+    final CapturingSender capture = new CapturingSender();
+    final BatchingPacketSender sender = new BatchingPacketSender(capture);
+
+    final int clients = 64;
+    final int messagesPerClient = 20;
+    for (int i = 0; i < messagesPerClient; i++) {
+      for (int client = 0; client < clients; client++) {
+        sender.sendData(new RawPacket(message(i, 20)), LOOPBACK, 1000 + client);
+      }
+    }
+
+    assertTrue(capture.datagrams.isEmpty());
+    sender.flush();
+
+    assertEquals(clients, capture.datagrams.size());
+    assertEquals(clients, sender.getDatagramsPerFlush());
+    assertEquals(clients * messagesPerClient, sender.getMessagesPerFlush());
+    assertEquals(clients * messagesPerClient * 22L, sender.getBytesPerFlush());
+
+    final List<byte[]> messages = BatchingPacketSender.unpack(capture.datagrams.get(0));
+    assertEquals(messagesPerClient, messages.size());
+    for (int i = 0; i < messagesPerClient; i++) {
+      assertArrayEquals(message(i, 20), messages.get(i));
+    }
+
+    sender.flush();
+    assertEquals(clients, capture.datagrams.size());
+    assertEquals(0, sender.getDatagramsPerFlush());
+  }
+
+  @Test
+  public void testDatagramsDoNotExceedMaximumSize() {
+    final CapturingSender capture = new CapturingSender();
+    final BatchingPacketSender sender = new BatchingPacketSender(capture, 100);
+
+    for (int i = 0; i < 10; i++) {
+      sender.sendData(new RawPacket(message(i, 30)), LOOPBACK, 1000);
+    }
+
+    // an oversized message is sent in its own datagram
+    sender.sendData(new RawPacket(message(10, 250)), LOOPBACK, 1000);
+    sender.sendData(new RawPacket(message(11, 30)), LOOPBACK, 1000);
+    sender.flush();
+
+    final List<byte[]> received = new ArrayList<>();
+    final IIncomingPacketObserver observer = BatchingPacketSender.unpacking((data, address, port) -> received.add(data));
+    for (final byte[] datagram : capture.datagrams) {
+      if (datagram.length > 100) {
+        assertEquals(252, datagram.length);
+      }
+
+      observer.packetReceived(datagram, LOOPBACK, 1000);
+    }
+
+    assertEquals(6, capture.datagrams.size());
+    assertEquals(12, received.size());
+    for (int i = 0; i < received.size(); i++) {
+      assertEquals(i, received.get(i)[0]);
+    }
+  }
+
+  private static byte[] message(final int index, final int length) {
+    final byte[] message = new byte[length];
+    message[0] = (byte) index;
+    message[length - 1] = (byte) length;
+    return message;
+  }
+
+  private static class CapturingSender implements IPacketSender {
+    private final List<byte[]> datagrams = new ArrayList<>();
+
+    @Override
+    public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+      this.datagrams.add(packet.getData());
+    }
+
+    @Override
+    public void sendData(final Packet packet, final String ipAddress, final int port) {
+      this.datagrams.add(packet.getData());
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package de.gurkenlabs.litiengine.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class ReliablePacketSenderTests {
+  private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+  private static final int PORT_A = 1;
+  private static final int PORT_B = 2;
+
+  @Test
+  public void testSequenceWrapAround() {
+    assertTrue(ReliablePacketSender.isNewer(1, 0));
+    assertTrue(ReliablePacketSender.isNewer(0, 0xFFFF));
+    assertTrue(ReliablePacketSender.isNewer(10, 0xFFF0));
+    assertFalse(ReliablePacketSender.isNewer(0xFFFF, 0));
+    assertFalse(ReliablePacketSender.isNewer(5, 5));
+  }
+
+  @Test
+  public void testReliableOrderedDeliveryWithPacketLoss() throws InterruptedException {
+    final int messageCount = 200;
+    final List<Integer> received = new CopyOnWriteArrayList<>();
+
+    final LoopbackSender linkA = new LoopbackSender(PORT_A);
+    final LoopbackSender linkB = new LoopbackSender(PORT_B);
+    try (final NetworkSimulationPacketSender lossyA = new NetworkSimulationPacketSender(linkA, new Random(42));
+        final NetworkSimulationPacketSender lossyB = new NetworkSimulationPacketSender(linkB, new Random(1337))) {
+      lossyA.setPacketLoss(0.3);
+      lossyA.setLatency(2);
+      lossyA.setJitter(5);
+      lossyA.setDuplication(0.05);
+      lossyB.setPacketLoss(0.3);
+      lossyB.setLatency(2);
+      lossyB.setJitter(5);
+
+      final ReliablePacketSender a = new ReliablePacketSender(lossyA);
+      final ReliablePacketSender b = new ReliablePacketSender(lossyB);
+      a.setResendTimeout(20);
+      b.setAckTimeout(5);
+      linkA.target = b;
+      linkB.target = a;
+      b.registerForIncomingPackets((data, address, port) -> received.add(ByteBuffer.wrap(data).getInt()));
+
+      for (int i = 0; i < messageCount; i++) {
+        a.sendData(intPacket(i), DeliveryChannel.RELIABLE_ORDERED, LOOPBACK, PORT_B);
+      }
+
+      final long start = System.currentTimeMillis();
+      while ((received.size() < messageCount || a.getPendingMessageCount(LOOPBACK, PORT_B) > 0) && System.currentTimeMillis() - start < 10000) {
+        a.update();
+        b.update();
+        Thread.sleep(5);
+      }
+
+      assertTrue(lossyA.getDroppedPackets() > 0);
+      assertEquals(messageCount, received.size());
+      for (int i = 0; i < messageCount; i++) {
+        assertEquals(i, (int) received.get(i));
+      }
+
+      assertEquals(0, a.getPendingMessageCount(LOOPBACK, PORT_B));
+      assertTrue(a.getRoundTripTime(LOOPBACK, PORT_B) >= 0);
+    }
+  }
+
+  @Test
+  public void testUnreliableSequencedDropsOutdatedMessages() {
+    final CapturingSender capture = new CapturingSender();
+    final ReliablePacketSender a = new ReliablePacketSender(capture);
+    final ReliablePacketSender b = new ReliablePacketSender(new CapturingSender());
+    final List<Integer> received = new ArrayList<>();
+    b.registerForIncomingPackets((data, address, port) -> received.add(ByteBuffer.wrap(data).getInt()));
+
+    for (int i = 0; i < 5; i++) {
+      a.sendData(intPacket(i), DeliveryChannel.UNRELIABLE_SEQUENCED, LOOPBACK, PORT_B);
+    }
+
+    // deliver 2, 4, 3, 1, 0
+    final int[] order = new int[] { 2, 4, 3, 1, 0 };
+    for (final int index : order) {
+      b.packetReceived(capture.datagrams.get(index), LOOPBACK, PORT_A);
+    }
+
+    assertEquals(2, received.size());
+    assertEquals(2, (int) received.get(0));
+    assertEquals(4, (int) received.get(1));
+  }
+
+  @Test
+  public void testUnreliableDeliversOutOfOrderAndDropsDuplicates() {
+    final CapturingSender capture = new CapturingSender();
+    final ReliablePacketSender a = new ReliablePacketSender(capture);
+    final ReliablePacketSender b = new ReliablePacketSender(new CapturingSender());
+    final List<Integer> received = new ArrayList<>();
+    b.registerForIncomingPackets((data, address, port) -> received.add(ByteBuffer.wrap(data).getInt()));
+
+    for (int i = 0; i < 3; i++) {
+      a.sendData(intPacket(i), LOOPBACK, PORT_B);
+    }
+
+    final List<byte[]> datagrams = new ArrayList<>(capture.datagrams);
+    Collections.reverse(datagrams);
+    datagrams.add(capture.datagrams.get(1));
+    for (final byte[] datagram : datagrams) {
+      b.packetReceived(datagram, LOOPBACK, PORT_A);
+    }
+
+    assertEquals(3, received.size());
+    assertEquals(2, (int) received.get(0));
+    assertEquals(1, (int) received.get(1));
+    assertEquals(0, (int) received.get(2));
+  }
+
+  private static Packet intPacket(final int value) {
+    return new RawPacket(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+  }
+
+  private static class CapturingSender implements IPacketSender {
+    private final List<byte[]> datagrams = new ArrayList<>();
+
+    @Override
+    public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+      this.datagrams.add(packet.getData());
+    }
+
+    @Override
+    public void sendData(final Packet packet, final String ipAddress, final int port) {
+      this.datagrams.add(packet.getData());
+    }
+  }
+
+  private static class LoopbackSender implements IPacketSender {
+    private final int localPort;
+    private volatile IIncomingPacketObserver target;
+
+    private LoopbackSender(final int localPort) {
+      this.localPort = localPort;
+    }
+
+    @Override
+    public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+      this.target.packetReceived(packet.getData(), LOOPBACK, this.localPort);
+    }
+
+    @Override
+    public void sendData(final Packet packet, final String ipAddress, final int port) {
+      this.target.packetReceived(packet.getData(), LOOPBACK, this.localPort);
+    }
+  }
+}
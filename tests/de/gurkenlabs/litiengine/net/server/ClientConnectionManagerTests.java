@@ -0,0 +1,104 @@
+package de.gurkenlabs.litiengine.net.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ClientConnectionManagerTests {
+  private static final InetAddress LOOPBACK = InetAddress.getLoopbackAddress();
+
+  @Test
+  public void testConnectionsAreIndexed() {
+    final ClientConnectionManager manager = new ClientConnectionManager();
+    final ClientConnection connection = new ClientConnection(LOOPBACK, 4000, "test");
+    assertTrue(manager.add(connection));
+    assertFalse(manager.add(connection));
+
+    assertEquals(1, manager.size());
+    assertSame(connection, manager.get(connection.getId()));
+    assertSame(connection, manager.get(LOOPBACK, 4000));
+    assertTrue(manager.isConnected(connection.getId(), LOOPBACK, 4000));
+    assertFalse(manager.isConnected(connection.getId(), LOOPBACK, 4001));
+
+    assertTrue(manager.remove(connection));
+    assertNull(manager.get(connection.getId()));
+    assertNull(manager.get(LOOPBACK, 4000));
+    assertTrue(manager.isEmpty());
+  }
+
+  @Test
+  public void testTimeoutSweepWithManyClients() {
+    final int clientCount = 10000;
+    final ClientConnectionManager manager = new ClientConnectionManager(1000);
+    final List<ClientConnection> timedOut = new ArrayList<>();
+    manager.onConnectionTimedOut(timedOut::add);
+
+    final long start = System.nanoTime();
+    final List<ClientConnection> connections = new ArrayList<>();
+    for (int i = 0; i < clientCount; i++) {
+      final ClientConnection connection = new ClientConnection(LOOPBACK, 1024 + i, "client" + i);
+      connection.setSignOfLife(start);
+      connections.add(connection);
+      manager.add(connection);
+    }
+
+    assertEquals(clientCount, manager.size());
+    for (final ClientConnection connection : connections) {
+      assertSame(connection, manager.get(connection.getId()));
+      assertSame(connection, manager.get(LOOPBACK, connection.getPort()));
+    }
+
+    // only every second client provides a sign of life
+    for (int i = 0; i < clientCount; i += 2) {
+      connections.get(i).setSignOfLife(start + TimeUnit.MILLISECONDS.toNanos(800));
+    }
+
+    assertTrue(manager.removeTimedOutConnections(start + TimeUnit.MILLISECONDS.toNanos(500)).isEmpty());
+    assertEquals(clientCount / 2, manager.removeTimedOutConnections(start + TimeUnit.MILLISECONDS.toNanos(1100)).size());
+    assertEquals(clientCount / 2, manager.size());
+    assertEquals(clientCount / 2, timedOut.size());
+    for (final ClientConnection connection : timedOut) {
+      assertEquals(1, (connection.getPort() - 1024) % 2);
+      assertNull(manager.get(LOOPBACK, connection.getPort()));
+    }
+
+    assertEquals(clientCount / 2, manager.removeTimedOutConnections(start + TimeUnit.MILLISECONDS.toNanos(1900)).size());
+    assertTrue(manager.isEmpty());
+  }
+
+  @Test
+  public void testSignOfLifeIsResetOnDeserialization() throws IOException, ClassNotFoundException {
+    final ClientConnection connection = new ClientConnection(LOOPBACK, 4000, "test");
+    connection.setSignOfLife(System.nanoTime() - TimeUnit.MINUTES.toNanos(10));
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(connection);
+    }
+
+    final long beforeRead = System.nanoTime();
+    final ClientConnection copy;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (ClientConnection) in.readObject();
+    }
+
+    // the nano time stamp of another JVM is meaningless, so the copy starts with a fresh sign of life
+    assertTrue(copy.equals(connection.getId(), LOOPBACK, 4000));
+    assertEquals("test", copy.getUserName());
+    assertTrue(copy.getLastSignOfLifeNanos() >= beforeRead);
+  }
+}
@@ -0,0 +1,118 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.resources.BinaryResourceBundle.Compression;
+import de.gurkenlabs.litiengine.resources.BinaryResourceBundle.Entry;
+import de.gurkenlabs.litiengine.resources.BinaryResourceBundle.EntryType;
+import de.gurkenlabs.litiengine.sound.SoundFormat;
+import de.gurkenlabs.litiengine.util.io.Codec;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.StreamUtilities;
+
+public class BinaryResourceBundleTests {
+  private File directory;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    this.directory = Files.createTempDirectory("litiengine-tests").toFile();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    Resources.spritesheets().clear();
+    FileUtilities.deleteDir(this.directory);
+  }
+
+  @Test
+  public void testSaveAndOpen() throws IOException {
+    byte[] noise = new byte[4096];
+    new Random(42).nextBytes(noise);
+    byte[] silence = new byte[4096];
+
+    ResourceBundle bundle = new ResourceBundle();
+    bundle.getSounds().add(sound("noise", noise));
+    bundle.getSounds().add(sound("silence", silence));
+    bundle.getSounds().add(sound("noise", silence));
+
+    BinaryResourceBundle binary = BinaryResourceBundle.open(BinaryResourceBundle.save(bundle, new File(this.directory, "game").getPath()));
+
+    assertEquals(2, binary.getEntries(EntryType.SOUND).size());
+
+    Entry noiseEntry = binary.getEntry(EntryType.SOUND, "noise");
+    assertEquals(Compression.NONE, noiseEntry.getCompression());
+    assertEquals(SoundFormat.WAV.name(), noiseEntry.getMetadata());
+    assertArrayEquals(noise, read(binary, noiseEntry));
+
+    Entry silenceEntry = binary.getEntry(EntryType.SOUND, "silence");
+    assertEquals(Compression.DEFLATE, silenceEntry.getCompression());
+    assertTrue(silenceEntry.getLength() < silenceEntry.getSize());
+    assertArrayEquals(silence, read(binary, silenceEntry));
+  }
+
+  @Test
+  public void testSpritesheetsAreLoadedOnDemand() throws IOException {
+    ResourceBundle bundle = new ResourceBundle();
+    SpritesheetResource sprite = new SpritesheetResource(new BufferedImage(32, 16, BufferedImage.TYPE_INT_ARGB), "binary-sprite", 16, 16);
+    sprite.setKeyframes(new int[] { 100, 200 });
+    bundle.getSpriteSheets().add(sprite);
+
+    Resources.load(BinaryResourceBundle.save(bundle, new File(this.directory, "game").getPath()));
+    assertFalse(Resources.spritesheets().contains("binary-sprite"));
+
+    Spritesheet spritesheet = Resources.spritesheets().get("binary-sprite");
+    assertNotNull(spritesheet);
+    assertEquals(2, spritesheet.getColumns());
+    assertEquals(1, spritesheet.getRows());
+    assertArrayEquals(new int[] { 100, 200 }, Resources.spritesheets().getCustomKeyFrameDurations("binary-sprite"));
+  }
+
+  @Test
+  public void testSpritesheetWithoutKeyframes() throws IOException {
+    ResourceBundle bundle = new ResourceBundle();
+    bundle.getSpriteSheets().add(new SpritesheetResource(new BufferedImage(32, 16, BufferedImage.TYPE_INT_ARGB), "binary-sprite-without-keyframes", 16, 16));
+
+    Resources.load(BinaryResourceBundle.save(bundle, new File(this.directory, "game").getPath()));
+
+    Spritesheet spritesheet = Resources.spritesheets().get("binary-sprite-without-keyframes");
+    assertNotNull(spritesheet);
+    assertEquals(2, spritesheet.getColumns());
+    assertEquals(0, Resources.spritesheets().getCustomKeyFrameDurations("binary-sprite-without-keyframes").length);
+  }
+
+  @Test
+  public void testInvalidFile() {
+    assertThrows(IOException.class, () -> BinaryResourceBundle.open("tests/de/gurkenlabs/litiengine/resources/test.txt"));
+  }
+
+  private static SoundResource sound(String name, byte[] data) {
+    SoundResource sound = new SoundResource();
+    sound.setName(name);
+    sound.setData(Codec.encode(data));
+    sound.setFormat(SoundFormat.WAV);
+    return sound;
+  }
+
+  private static byte[] read(BinaryResourceBundle bundle, Entry entry) throws IOException {
+    try (InputStream stream = bundle.getInputStream(entry)) {
+      return StreamUtilities.getByte(stream);
+    }
+  }
+}
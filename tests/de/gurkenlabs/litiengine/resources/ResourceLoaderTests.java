@@ -0,0 +1,110 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ResourceLoaderTests {
+
+  @Test
+  public void testPriority() throws InterruptedException, ExecutionException {
+    ResourceLoader loader = new ResourceLoader(1);
+    CountDownLatch release = new CountDownLatch(1);
+    loader.submit(null, "blocking", ResourceLoader.PRIORITY_NORMAL, () -> await(release));
+
+    List<String> order = new ArrayList<>();
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+    for (String name : new String[] { "low", "normal", "high", "normal2" }) {
+      int priority = name.startsWith("low") ? ResourceLoader.PRIORITY_LOW : name.startsWith("high") ? ResourceLoader.PRIORITY_HIGH : ResourceLoader.PRIORITY_NORMAL;
+      futures.add(loader.submit(null, name, priority, () -> order.add(name)));
+    }
+
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get();
+
+    assertArrayEquals(new String[] { "high", "normal", "normal2", "low" }, order.toArray());
+  }
+
+  @Test
+  public void testConcurrencyLimit() throws InterruptedException, ExecutionException {
+    ResourceLoader loader = new ResourceLoader(4);
+    loader.setConcurrencyLimit(Resources.sounds(), 2);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(loader.submit(Resources.sounds(), "sound" + i, ResourceLoader.PRIORITY_NORMAL, () -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        sleep();
+        return running.decrementAndGet();
+      }));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get();
+    assertEquals(2, maxRunning.get());
+
+    assertThrows(IllegalArgumentException.class, () -> loader.setConcurrencyLimit(Resources.sounds(), 0));
+  }
+
+  @Test
+  public void testProgress() throws InterruptedException, ExecutionException {
+    ResourceLoader loader = new ResourceLoader(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(4);
+    List<String> progress = new ArrayList<>();
+    loader.addListener((name, loaded, total) -> {
+      progress.add(name + " " + loaded + "/" + total);
+      done.countDown();
+    });
+
+    loader.submit(null, "first", ResourceLoader.PRIORITY_NORMAL, () -> await(release));
+    CompletableFuture<Object> failed = loader.submit(null, "failed", ResourceLoader.PRIORITY_NORMAL, () -> {
+      throw new IllegalStateException("expected");
+    });
+    loader.submit(null, "third", ResourceLoader.PRIORITY_NORMAL, () -> "third");
+
+    assertEquals(0, loader.getProgress(), 0.0001);
+    release.countDown();
+
+    assertThrows(ExecutionException.class, failed::get);
+    while (done.getCount() > 1) {
+      sleep();
+    }
+
+    assertEquals(1, loader.getProgress(), 0.0001);
+
+    // the counts start over once all requested resources are loaded
+    loader.submit(null, "fourth", ResourceLoader.PRIORITY_NORMAL, () -> "fourth");
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertArrayEquals(new String[] { "first 1/3", "failed 2/3", "third 3/3", "fourth 1/1" }, progress.toArray());
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(20);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ResourcesContainerTests {
+  private TestContainer container;
+
+  @BeforeEach
+  public void setup() {
+    this.container = new TestContainer();
+  }
+
+  @Test
+  public void testNoEvictionByDefault() {
+    for (int i = 0; i < 100; i++) {
+      this.container.get("resource" + i);
+    }
+
+    assertEquals(100, this.container.count());
+    assertEquals(0, this.container.getEvictions());
+    assertEquals(0, this.container.getEstimatedSize());
+  }
+
+  @Test
+  public void testLeastRecentlyUsed() {
+    this.container.setEvictionPolicy(EvictionPolicy.LEAST_RECENTLY_USED, 30);
+
+    this.container.get("a");
+    this.container.get("b");
+    this.container.get("c");
+    this.container.get("a");
+    this.container.get("d");
+
+    assertTrue(this.container.contains("a"));
+    assertFalse(this.container.contains("b"));
+    assertTrue(this.container.contains("c"));
+    assertTrue(this.container.contains("d"));
+    assertEquals(30, this.container.getEstimatedSize());
+    assertEquals(1, this.container.getEvictions());
+  }
+
+  @Test
+  public void testLeastFrequentlyUsed() {
+    this.container.setEvictionPolicy(EvictionPolicy.LEAST_FREQUENTLY_USED, 30);
+
+    this.container.get("a");
+    this.container.get("a");
+    this.container.get("b");
+    this.container.get("b");
+    this.container.get("c");
+    this.container.get("d");
+
+    // the resource that was just added is never evicted right away
+    assertFalse(this.container.contains("c"));
+    assertTrue(this.container.contains("d"));
+
+    this.container.get("e");
+    assertFalse(this.container.contains("d"));
+    assertTrue(this.container.contains("a"));
+    assertTrue(this.container.contains("b"));
+  }
+
+  @Test
+  public void testPinnedResourcesAreNotEvicted() {
+    this.container.pin("a");
+    this.container.setEvictionPolicy(EvictionPolicy.LEAST_RECENTLY_USED, 20);
+
+    this.container.get("a");
+    this.container.get("b");
+    this.container.get("c");
+
+    assertTrue(this.container.contains("a"));
+    assertTrue(this.container.getUsage("a").isPinned());
+    assertFalse(this.container.contains("b"));
+
+    this.container.unpin("a");
+    this.container.get("d");
+    assertFalse(this.container.contains("a"));
+  }
+
+  @Test
+  public void testEvictedListener() {
+    List<String> evicted = new ArrayList<>();
+    this.container.addContainerListener(new ResourcesContainerListener<byte[]>() {
+      @Override
+      public void evicted(String resourceName, byte[] resource) {
+        evicted.add(resourceName);
+      }
+    });
+
+    this.container.get("a");
+    this.container.get("b");
+    this.container.setEvictionPolicy(EvictionPolicy.LEAST_RECENTLY_USED, 10);
+
+    assertEquals(1, evicted.size());
+    assertEquals("a", evicted.get(0));
+    assertEquals(10, this.container.getEstimatedSize());
+  }
+
+  @Test
+  public void testSoftReferences() {
+    this.container.setEvictionPolicy(EvictionPolicy.LEAST_RECENTLY_USED, 10);
+    this.container.setSoftReferences(true);
+
+    byte[] a = this.container.get("a");
+    this.container.get("b");
+    assertFalse(this.container.contains("a"));
+
+    // the evicted resource is still softly reachable and doesn't have to be loaded again
+    assertSame(a, this.container.get("a"));
+    assertEquals(2, this.container.loaded);
+
+    this.container.setSoftReferences(false);
+    this.container.get("b");
+    assertNotSame(a, this.container.get("a"));
+    assertEquals(4, this.container.loaded);
+  }
+
+  @Test
+  public void testMetrics() {
+    this.container.get("a");
+    this.container.get("a");
+    this.container.get("b");
+    this.container.tryGet("c");
+
+    assertEquals(1, this.container.getHits());
+    assertEquals(2, this.container.getMisses());
+
+    this.container.remove("a");
+    this.container.clear();
+    assertNull(this.container.getUsage("b"));
+  }
+
+  private static class TestContainer extends ResourcesContainer<byte[]> {
+    private int loaded;
+
+    @Override
+    protected byte[] load(String resourceName) {
+      this.loaded++;
+      return new byte[10];
+    }
+
+    @Override
+    protected long estimateSize(byte[] resource) {
+      return resource.length;
+    }
+  }
+}
@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -49,6 +54,63 @@ public class ResourcesTests {
     assertEquals(0, Resources.images().count());
   }
 
+  @Test
+  public void testDeferredResources() {
+    Resources.images().clear();
+
+    BufferedImage testImage = new BufferedImage(5, 5, BufferedImage.TYPE_INT_ARGB);
+    int[] loaded = new int[1];
+    Resources.images().addDeferred("deferred.png", () -> {
+      loaded[0]++;
+      return testImage;
+    });
+
+    assertFalse(Resources.images().contains("deferred.png"));
+    assertEquals(0, loaded[0]);
+
+    assertEquals(testImage, Resources.images().get("deferred.png"));
+    assertEquals(testImage, Resources.images().get("deferred.png"));
+    assertEquals(1, loaded[0]);
+
+    Resources.images().remove("deferred.png");
+    assertEquals(testImage, Resources.images().get("deferred.png"));
+    assertEquals(2, loaded[0]);
+
+    Resources.images().clear();
+    assertNull(Resources.images().get("deferred.png"));
+  }
+
+  @Test
+  public void testGetAsync() throws InterruptedException, ExecutionException {
+    Resources.images().clear();
+
+    BufferedImage testImage = new BufferedImage(5, 5, BufferedImage.TYPE_INT_ARGB);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loaded = new AtomicInteger();
+    Resources.images().addDeferred("async.png", () -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      loaded.incrementAndGet();
+      return testImage;
+    });
+
+    CompletableFuture<BufferedImage> image = Resources.images().getAsync("async.png");
+    assertSame(image, Resources.images().getAsync("async.png", ResourceLoader.PRIORITY_HIGH));
+    assertFalse(image.isDone());
+
+    release.countDown();
+    assertEquals(testImage, image.get());
+    assertEquals(testImage, Resources.images().getAsync("async.png").get());
+    assertEquals(1, loaded.get());
+    assertNull(Resources.images().getAsync(null).get());
+
+    Resources.images().clear();
+  }
+
   @Test
   public void testMapResourcesAlias() {
     IMap map = Resources.maps().get("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
@@ -0,0 +1,146 @@
+package de.gurkenlabs.litiengine.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+
+public class TextureAtlasPackerTests {
+
+  @AfterEach
+  public void clearSpritesheets() {
+    Resources.spritesheets().clear();
+  }
+
+  @Test
+  public void testPackedImagesDontOverlap() {
+    Random random = new Random(42);
+    List<Spritesheet> spritesheets = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      spritesheets.add(createSpritesheet("packer-sheet-" + i, 8 + random.nextInt(40), 8 + random.nextInt(40), random));
+    }
+
+    List<TextureAtlas> atlases = new TextureAtlasPacker(128, 64, 1).pack(spritesheets);
+
+    assertTrue(atlases.size() > 1);
+    int packed = 0;
+    for (TextureAtlas atlas : atlases) {
+      assertTrue(atlas.getWidth() <= 128 && atlas.getHeight() <= 128);
+      assertTrue(atlas.getPackingEfficiency() > 0 && atlas.getPackingEfficiency() <= 1);
+
+      List<TextureAtlas.Sprite> sprites = atlas.getSprites();
+      for (int i = 0; i < sprites.size(); i++) {
+        Rectangle a = bounds(sprites.get(i));
+        assertTrue(new Rectangle(0, 0, atlas.getWidth(), atlas.getHeight()).contains(a));
+        for (int j = i + 1; j < sprites.size(); j++) {
+          assertFalse(a.intersects(bounds(sprites.get(j))));
+        }
+      }
+
+      packed += sprites.size();
+    }
+
+    assertEquals(spritesheets.size(), packed);
+  }
+
+  @Test
+  public void testUniformImagesArePackedDensely() {
+    Random random = new Random(42);
+    List<Spritesheet> spritesheets = new ArrayList<>();
+    for (int i = 0; i < 256; i++) {
+      spritesheets.add(createSpritesheet("packer-uniform-" + i, 32, 32, random));
+    }
+
+    List<TextureAtlas> atlases = new TextureAtlasPacker().pack(spritesheets);
+
+    // 16 rows of 16 images, so only the padding between them is wasted
+    assertEquals(1, atlases.size());
+    assertEquals(16 * 33 - 1, atlases.get(0).getWidth());
+    assertEquals(16 * 33 - 1, atlases.get(0).getHeight());
+    assertTrue(atlases.get(0).getPackingEfficiency() > 0.9);
+  }
+
+  @Test
+  public void testSpritesAreSlicedFromAtlas() {
+    Random random = new Random(42);
+    Spritesheet first = createSpritesheet("packer-first", 32, 16, random);
+    Spritesheet second = createSpritesheet("packer-second", 16, 16, random);
+    BufferedImage[] originalSprites = { first.getSprite(0), first.getSprite(1), second.getSprite(0) };
+
+    List<TextureAtlas> atlases = new TextureAtlasPacker().pack(Arrays.asList(first, second));
+
+    assertEquals(1, atlases.size());
+    BufferedImage atlas = atlases.get(0).getImage();
+    BufferedImage[] packedSprites = { first.getSprite(0), first.getSprite(1), second.getSprite(0) };
+    for (int i = 0; i < packedSprites.length; i++) {
+      assertSame(atlas.getRaster().getDataBuffer(), packedSprites[i].getRaster().getDataBuffer());
+      assertPixelsEqual(originalSprites[i], packedSprites[i]);
+    }
+
+    assertEquals(2, first.getTotalNumberOfSprites());
+    assertEquals(first.getName(), atlases.get(0).getSprite(first.getName()).getName());
+  }
+
+  @Test
+  public void testLargeAndPackedSpritesheetsAreSkipped() {
+    Random random = new Random(42);
+    Spritesheet large = createSpritesheet("packer-large", 256, 32, random);
+    Spritesheet small = createSpritesheet("packer-small", 16, 16, random);
+    BufferedImage largeImage = large.getImage();
+
+    TextureAtlasPacker packer = new TextureAtlasPacker(512, 128, 0);
+    List<TextureAtlas> atlases = packer.pack(Arrays.asList(large, small));
+
+    assertEquals(1, atlases.size());
+    assertEquals(1, atlases.get(0).getSprites().size());
+    assertSame(largeImage, large.getImage());
+
+    // the small spritesheet is already part of an atlas
+    assertTrue(packer.pack(Arrays.asList(large, small)).isEmpty());
+  }
+
+  @Test
+  public void testInvalidSizes() {
+    assertThrows(IllegalArgumentException.class, () -> new TextureAtlasPacker(64, 128, 0));
+    assertThrows(IllegalArgumentException.class, () -> new TextureAtlasPacker(64, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new TextureAtlasPacker(64, 32, -1));
+  }
+
+  private static Spritesheet createSpritesheet(String name, int width, int height, Random random) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, 0xFF000000 | random.nextInt());
+      }
+    }
+
+    return new Spritesheet(image, name, Math.min(width, 16), Math.min(height, 16));
+  }
+
+  private static Rectangle bounds(TextureAtlas.Sprite sprite) {
+    return new Rectangle(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight());
+  }
+
+  private static void assertPixelsEqual(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package de.gurkenlabs.litiengine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTests {
+
+  @Test
+  public void testSmallValuesAreExact() {
+    final Histogram histogram = new Histogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(1, histogram.getMin());
+    assertEquals(100, histogram.getMax());
+    assertEquals(50.5, histogram.getMean(), 0.0001);
+    assertEquals(50, histogram.getValueAtPercentile(50));
+    assertEquals(99, histogram.getValueAtPercentile(99));
+    assertEquals(100, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testPercentilesWithinPrecision() {
+    final Random random = new Random(5);
+    final Histogram histogram = new Histogram();
+    final long[] values = new long[100000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1000 + (long) (random.nextDouble() * 50000000);
+      histogram.record(values[i]);
+    }
+
+    Arrays.sort(values);
+    for (final double percentile : new double[] { 10, 50, 90, 99, 99.9 }) {
+      final long expected = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+      final long actual = histogram.getValueAtPercentile(percentile);
+      assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+      assertTrue((actual - expected) / (double) expected < 0.016, percentile + ": " + actual + " vs " + expected);
+    }
+  }
+
+  @Test
+  public void testBucketBoundaries() {
+    for (final long value : new long[] { 0, 127, 128, 255, 256, 1000, 123456789, Long.MAX_VALUE }) {
+      final int index = Histogram.getIndex(value);
+      assertTrue(Histogram.getHighestEquivalentValue(index) >= value);
+      if (index > 0) {
+        assertTrue(Histogram.getHighestEquivalentValue(index - 1) < value);
+      }
+    }
+  }
+
+  @Test
+  public void testReset() {
+    final Histogram histogram = new Histogram();
+    histogram.record(42);
+    histogram.record(-1);
+    assertEquals(0, histogram.getMin());
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+  }
+}
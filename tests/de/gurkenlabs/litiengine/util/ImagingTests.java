@@ -175,6 +175,29 @@ public class ImagingTests {
     assertTrue(Imaging.isEmpty(imageEmpty));
   }
 
+  @Test
+  public void testEmptySubImage() {
+    BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(3, 3, 0x01000000);
+
+    assertFalse(Imaging.isEmpty(image));
+    assertTrue(Imaging.isEmpty(image.getSubimage(0, 0, 3, 4)));
+    assertTrue(Imaging.isEmpty(image.getSubimage(1, 0, 3, 3)));
+    assertFalse(Imaging.isEmpty(image.getSubimage(2, 2, 2, 2)));
+  }
+
+  @Test
+  public void testEmptyNonIntImage() {
+    BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR);
+    assertTrue(Imaging.isEmpty(image));
+
+    image.setRGB(2, 1, 0xFF00FF00);
+    assertFalse(Imaging.isEmpty(image));
+    assertTrue(Imaging.isEmpty(image.getSubimage(0, 2, 4, 2)));
+
+    assertFalse(Imaging.isEmpty(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB)));
+  }
+
   @Test
   public void testCopy() {
     BufferedImage image = Resources.images().get("tests/de/gurkenlabs/litiengine/util/prop-flag.png");
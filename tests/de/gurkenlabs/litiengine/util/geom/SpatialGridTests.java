@@ -0,0 +1,112 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialGridTests {
+
+  @Test
+  public void testQueryMatchesBruteForce() {
+    final Random random = new Random(42);
+    final SpatialGrid<Rectangle2D> grid = new SpatialGrid<>(32);
+    final List<Rectangle2D> items = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      final Rectangle2D item = randomRectangle(random);
+      items.add(item);
+      grid.add(item, item);
+    }
+
+    // move half of the items around, including some huge ones
+    for (int i = 0; i < items.size(); i += 2) {
+      final Rectangle2D item = items.get(i);
+      item.setRect(random.nextDouble() * 2000 - 500, random.nextDouble() * 2000 - 500, i % 100 == 0 ? 1500 : random.nextDouble() * 50, random.nextDouble() * 50);
+      grid.update(item, item);
+    }
+
+    for (int i = 0; i < 200; i++) {
+      final Rectangle2D area = new Rectangle2D.Double(random.nextDouble() * 1500 - 250, random.nextDouble() * 1500 - 250, random.nextDouble() * 300, random.nextDouble() * 300);
+      final Set<Rectangle2D> expected = new HashSet<>();
+      for (final Rectangle2D item : items) {
+        if (item.intersects(area)) {
+          expected.add(item);
+        }
+      }
+
+      final Set<Rectangle2D> actual = new HashSet<>();
+      for (final Rectangle2D candidate : grid.query(area)) {
+        if (candidate.intersects(area)) {
+          actual.add(candidate);
+        }
+      }
+
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testRemove() {
+    final SpatialGrid<String> grid = new SpatialGrid<>(10);
+    grid.add("a", new Rectangle2D.Double(0, 0, 5, 5));
+    grid.add("b", new Rectangle2D.Double(0, 0, 100, 100));
+    grid.add("c", null);
+
+    assertEquals(3, grid.query(new Rectangle2D.Double(1, 1, 1, 1)).size());
+    assertTrue(grid.remove("a"));
+    assertFalse(grid.remove("a"));
+    assertEquals(2, grid.query(new Rectangle2D.Double(1, 1, 1, 1)).size());
+
+    grid.update("a", new Rectangle2D.Double(0, 0, 5, 5));
+    assertFalse(grid.contains("a"));
+
+    grid.clear();
+    assertEquals(0, grid.size());
+    assertEquals(0, grid.getCellCount());
+  }
+
+  @Test
+  public void testNearestMatchesBruteForce() {
+    final Random random = new Random(1337);
+    final SpatialGrid<Rectangle2D> grid = new SpatialGrid<>(16);
+    final List<Rectangle2D> items = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      final Rectangle2D item = randomRectangle(random);
+      items.add(item);
+      grid.add(item, item);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      final Point2D point = new Point2D.Double(random.nextDouble() * 1200 - 100, random.nextDouble() * 1200 - 100);
+      final List<Rectangle2D> expected = new ArrayList<>(items);
+      expected.sort(Comparator.comparingDouble(item -> point.distance(item.getCenterX(), item.getCenterY())));
+
+      final List<Rectangle2D> nearest = grid.nearest(point, 5, item -> true);
+      assertEquals(5, nearest.size());
+      for (int n = 0; n < nearest.size(); n++) {
+        assertEquals(point.distance(expected.get(n).getCenterX(), expected.get(n).getCenterY()), point.distance(nearest.get(n).getCenterX(), nearest.get(n).getCenterY()), 0.000001);
+      }
+    }
+
+    final List<Rectangle2D> filtered = grid.nearest(new Point2D.Double(500, 500), 3, item -> item.getWidth() > 45);
+    for (final Rectangle2D item : filtered) {
+      assertTrue(item.getWidth() > 45);
+    }
+
+    assertEquals(items.size(), grid.nearest(new Point2D.Double(-10000, -10000), items.size() + 1, item -> true).size());
+  }
+
+  private static Rectangle2D randomRectangle(final Random random) {
+    return new Rectangle2D.Double(random.nextDouble() * 1000, random.nextDouble() * 1000, random.nextDouble() * 50, random.nextDouble() * 50);
+  }
+}